@@ -0,0 +1,81 @@
+package me.rhespanhol.rxtraktjava;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.Result;
+import retrofit2.http.Streaming;
+import rx.Observable;
+import rx.Scheduler;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Adapts {@link Streaming} service methods returning an {@link Observable} of the elements of a JSON array, like
+ * {@code Observable<BaseShow>}, to emit each element as soon as it was read, see {@link JsonArrayOnSubscribe}. All
+ * other methods are left to the next call adapter.
+ * <p>
+ * <p>The Retrofit call is never executed, only its request is sent with the call factory of Retrofit, so these
+ * requests are rate limited, retried and bound to a {@link TraktSession} like any other.
+ */
+final class JsonArrayCallAdapterFactory extends CallAdapter.Factory {
+
+    private final Gson mGson;
+    private final Scheduler mScheduler;
+
+    /**
+     * @param gson Parses the elements.
+     * @param scheduler If not {@code null}, requests are sent and elements are read on it.
+     */
+    JsonArrayCallAdapterFactory(Gson gson, Scheduler scheduler) {
+        this.mGson = gson;
+        this.mScheduler = scheduler;
+    }
+
+    @Override
+    public CallAdapter<?> get(Type returnType, Annotation[] annotations, final Retrofit retrofit) {
+        if (getRawType(returnType) != Observable.class || !isStreaming(annotations)
+                || !(returnType instanceof ParameterizedType)) {
+            return null;
+        }
+        Type elementType = getParameterUpperBound(0, (ParameterizedType) returnType);
+        Class<?> rawElementType = getRawType(elementType);
+        if (rawElementType == List.class || rawElementType == Response.class || rawElementType == Result.class) {
+            return null; // not elements, let the RxJava call adapter handle it
+        }
+        @SuppressWarnings("unchecked")
+        final TypeAdapter<Object> adapter = (TypeAdapter<Object>) mGson.getAdapter(TypeToken.get(elementType));
+        return new CallAdapter<Observable<?>>() {
+            @Override
+            public Type responseType() {
+                // never converted, the body is read by the adapter
+                return ResponseBody.class;
+            }
+
+            @Override
+            public <R> Observable<?> adapt(Call<R> call) {
+                Observable<Object> observable = Observable.create(
+                        new JsonArrayOnSubscribe<>(retrofit.callFactory(), call, adapter));
+                return mScheduler == null ? observable : observable.subscribeOn(mScheduler);
+            }
+        };
+    }
+
+    private static boolean isStreaming(Annotation[] annotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof Streaming) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,186 @@
+package me.rhespanhol.rxtraktjava;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import okhttp3.Call;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.adapter.rxjava.HttpException;
+import rx.Observable;
+import rx.Producer;
+import rx.Subscriber;
+import rx.exceptions.Exceptions;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes the request of a call returning a JSON array and emits each element as soon as it was read from the
+ * response body. Elements are only read when requested, so a slow subscriber holds back reading from the network
+ * instead of buffering the body.
+ * <p>
+ * <p>The request is taken from the Retrofit call on subscribe, which binds it to the {@link TraktSession} the call was
+ * made through, and sent with a call of the given factory instead of executing the Retrofit call.
+ */
+final class JsonArrayOnSubscribe<T> implements Observable.OnSubscribe<T> {
+
+    private final Call.Factory mCallFactory;
+    private final retrofit2.Call<?> mCall;
+    private final TypeAdapter<T> mAdapter;
+
+    JsonArrayOnSubscribe(Call.Factory callFactory, retrofit2.Call<?> call, TypeAdapter<T> adapter) {
+        this.mCallFactory = callFactory;
+        this.mCall = call;
+        this.mAdapter = adapter;
+    }
+
+    @Override
+    public void call(Subscriber<? super T> subscriber) {
+        Request request;
+        try {
+            request = mCall.request();
+        } catch (Throwable e) {
+            Exceptions.throwIfFatal(e);
+            subscriber.onError(e);
+            return;
+        }
+        final Call call = mCallFactory.newCall(request);
+        subscriber.add(Subscriptions.create(new Action0() {
+            @Override
+            public void call() {
+                call.cancel();
+            }
+        }));
+        subscriber.setProducer(new JsonArrayProducer<>(subscriber, call, mAdapter));
+    }
+
+    /**
+     * The outstanding demand is the value of this {@link AtomicLong}. Only one thread drains at a time, executing the
+     * call and reading from the body block that thread.
+     */
+    static final class JsonArrayProducer<T> extends AtomicLong implements Producer {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Subscriber<? super T> mSubscriber;
+        private final Call mCall;
+        private final TypeAdapter<T> mAdapter;
+        private final AtomicInteger mWip = new AtomicInteger();
+
+        // only accessed while draining
+        private ResponseBody mBody;
+        private JsonReader mReader;
+
+        JsonArrayProducer(Subscriber<? super T> subscriber, Call call, TypeAdapter<T> adapter) {
+            this.mSubscriber = subscriber;
+            this.mCall = call;
+            this.mAdapter = adapter;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n < 0) {
+                throw new IllegalArgumentException("n < 0");
+            }
+            if (n == 0) {
+                return;
+            }
+            for (;;) {
+                long requested = get();
+                long next = requested + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+                if (compareAndSet(requested, next)) {
+                    break;
+                }
+            }
+            if (mWip.getAndIncrement() == 0) {
+                drain();
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            for (;;) {
+                long requested = get();
+                long emitted = 0;
+                for (;;) {
+                    if (mSubscriber.isUnsubscribed()) {
+                        close();
+                        return;
+                    }
+                    T item;
+                    try {
+                        if (mReader == null && !open()) {
+                            close();
+                            mSubscriber.onCompleted();
+                            return;
+                        }
+                        if (!mReader.hasNext()) {
+                            mReader.endArray();
+                            close();
+                            mSubscriber.onCompleted();
+                            return;
+                        }
+                        if (emitted == requested) {
+                            break;
+                        }
+                        item = mAdapter.read(mReader);
+                    } catch (Throwable e) {
+                        Exceptions.throwIfFatal(e);
+                        close();
+                        if (!mSubscriber.isUnsubscribed()) {
+                            mSubscriber.onError(e);
+                        }
+                        return;
+                    }
+                    mSubscriber.onNext(item);
+                    emitted++;
+                }
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    addAndGet(-emitted);
+                }
+                missed = mWip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Executes the call and reads up to the first element.
+         *
+         * @return {@code false} if the body is {@code null} instead of an array.
+         */
+        private boolean open() throws IOException, HttpException {
+            Response response = mCall.execute();
+            mBody = response.body();
+            if (!response.isSuccessful()) {
+                ResponseBody errorBody = mBody;
+                mBody = null;
+                throw new HttpException(retrofit2.Response.error(errorBody, response));
+            }
+            mReader = new JsonReader(mBody.charStream());
+            if (mReader.peek() == JsonToken.NULL) {
+                return false;
+            }
+            mReader.beginArray();
+            return true;
+        }
+
+        private void close() {
+            if (mBody != null) {
+                mBody.close();
+                mBody = null;
+            }
+        }
+
+    }
+
+}
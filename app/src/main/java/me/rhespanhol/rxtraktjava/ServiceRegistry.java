@@ -0,0 +1,37 @@
+package me.rhespanhol.rxtraktjava;
+
+import retrofit2.Retrofit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Creates each Retrofit service interface once and hands out the same proxy on every later call.
+ * <p>
+ * <p>Lookups are a single {@link ConcurrentHashMap#get(Object)}, so the read path never locks. If
+ * two threads miss at the same time both may create a proxy, but only the first one published
+ * through {@link ConcurrentMap#putIfAbsent(Object, Object)} is ever returned.
+ */
+abstract class ServiceRegistry {
+
+    private final ConcurrentMap<Class<?>, Object> mServices = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a service on a cache miss, e.g. with {@link Retrofit#create(Class)}.
+     */
+    abstract <T> T create(Class<T> service);
+
+    @SuppressWarnings("unchecked")
+    <T> T get(Class<T> service) {
+        Object instance = mServices.get(service);
+        if (instance == null) {
+            instance = create(service);
+            Object previous = mServices.putIfAbsent(service, instance);
+            if (previous != null) {
+                instance = previous;
+            }
+        }
+        return (T) instance;
+    }
+
+}
@@ -17,8 +17,13 @@
 
 package me.rhespanhol.rxtraktjava;
 
+import com.google.gson.Gson;
+import me.rhespanhol.rxtraktjava.adapters.Projection;
+import me.rhespanhol.rxtraktjava.adapters.StreamingRequestBodyConverterFactory;
+import me.rhespanhol.rxtraktjava.cache.IdIndex;
 import me.rhespanhol.rxtraktjava.entities.AccessToken;
 import me.rhespanhol.rxtraktjava.entities.CheckinError;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
 import me.rhespanhol.rxtraktjava.enums.GrantType;
 import me.rhespanhol.rxtraktjava.enums.ResponseType;
 import me.rhespanhol.rxtraktjava.services.Authentication;
@@ -35,16 +40,26 @@ import me.rhespanhol.rxtraktjava.services.Seasons;
 import me.rhespanhol.rxtraktjava.services.Shows;
 import me.rhespanhol.rxtraktjava.services.Sync;
 import me.rhespanhol.rxtraktjava.services.Users;
+import okhttp3.Cache;
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
+import okhttp3.Request;
 import okhttp3.ResponseBody;
 import retrofit2.Converter;
 import retrofit2.Response;
 import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
 import retrofit2.converter.gson.GsonConverterFactory;
+import rx.Observable;
+import rx.Scheduler;
 import rx.Single;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -71,14 +86,54 @@ public class Trakt {
     public static final String CONTENT_TYPE_JSON = "application/json";
     public static final String HEADER_TRAKT_API_VERSION = "trakt-api-version";
     public static final String HEADER_TRAKT_API_KEY = "trakt-api-key";
+    public static final String HEADER_PAGINATION_PAGE = "X-Pagination-Page";
+    public static final String HEADER_PAGINATION_LIMIT = "X-Pagination-Limit";
+    public static final String HEADER_PAGINATION_PAGE_COUNT = "X-Pagination-Page-Count";
+    public static final String HEADER_PAGINATION_ITEM_COUNT = "X-Pagination-Item-Count";
+
+    /**
+     * How many projections keep their Gson instance and services, see {@link #service(Class, Projection)}.
+     */
+    public static final int MAX_PROJECTIONS = 16;
 
     private OkHttpClient mOkHttpClient;
-    private Retrofit mRetrofit;
+    private Call.Factory mCallFactory;
+    private Gson mGson;
+    private volatile Retrofit mRetrofit;
+    private final ServiceRegistry mServices = new ServiceRegistry() {
+        @Override
+        <T> T create(Class<T> service) {
+            return retrofit().create(service);
+        }
+    };
+    private final TraktRx mRx = new TraktRx(mServices);
+    // guarded by itself
+    private final Map<Projection, ProjectedServices> mProjectedServices =
+            new LinkedHashMap<Projection, ProjectedServices>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Projection, ProjectedServices> eldest) {
+                    return size() > MAX_PROJECTIONS;
+                }
+            };
+    private Scheduler mScheduler;
+    private final TraktRateLimiter mRateLimiter = new TraktRateLimiter();
+    private final TraktRetryPolicy mRetryPolicy = new TraktRetryPolicy();
+    private TraktRetryCallFactory mRetryCallFactory;
+    private TraktRetryCallFactory.Listener mRetryListener;
+    private final TraktCoalescingInterceptor mCoalescingInterceptor = new TraktCoalescingInterceptor();
+    private final TraktCacheInterceptor mCacheInterceptor = new TraktCacheInterceptor();
+    private Cache mCache;
+    private IdIndex mIdIndex;
 
     private String mClientId;
     private String mClientSecret;
     private String mRedirectUri;
-    private AccessToken mAccessToken;
+    private final TraktTokenManager mTokenManager = new TraktTokenManager(new TraktTokenManager.Refresher() {
+        @Override
+        public Single<AccessToken> refreshAccessToken(String refreshToken) {
+            return Trakt.this.refreshAccessToken(refreshToken);
+        }
+    });
 
     /**
      * Get a new API manager instance capable of calling OAuth2 protected endpoints.
@@ -109,16 +164,17 @@ public class Trakt {
      * @param accessToken A valid access token, obtained via e.g. {@link #exchangeCodeForAccessToken(String)}.
      */
     public Trakt setAccessToken(AccessToken accessToken) {
-        this.mAccessToken = accessToken;
+        mTokenManager.setAccessToken(accessToken);
         return this;
     }
 
     public AccessToken getAccessToken() {
-        return mAccessToken;
+        return mTokenManager.getAccessToken();
     }
 
     public String getRefreshToken() {
-        return mAccessToken.refresh_token;
+        AccessToken accessToken = getAccessToken();
+        return accessToken == null ? null : accessToken.refresh_token;
     }
 
     /**
@@ -126,21 +182,189 @@ public class Trakt {
      * token.
      */
     public Trakt setRefreshToken(AccessToken refreshToken) {
-        this.mAccessToken = refreshToken;
+        mTokenManager.setAccessToken(refreshToken);
+        return this;
+    }
+
+    /**
+     * Sets the scheduler {@link TraktRx} services and other {@link rx.Observable} or {@link Single} returning methods
+     * subscribe on, e.g. {@link rx.schedulers.Schedulers#io()}. If not set requests run on the subscribing thread.
+     * <p>
+     * <p>Has no effect once the first request was made.
+     */
+    public Trakt setScheduler(Scheduler scheduler) {
+        this.mScheduler = scheduler;
+        return this;
+    }
+
+    /**
+     * Returns the rate limiter shared by this instance and all of its sessions, e.g. to change the limits.
+     */
+    public TraktRateLimiter getRateLimiter() {
+        return mRateLimiter;
+    }
+
+    /**
+     * Returns the policy for retrying failed requests, e.g. to opt in {@code sync/} writes with {@link
+     * TraktRetryPolicy#retryWritesTo(String)}.
+     */
+    public TraktRetryPolicy getRetryPolicy() {
+        return mRetryPolicy;
+    }
+
+    /**
+     * Sets a listener receiving per-attempt timings of retried requests.
+     */
+    public synchronized Trakt setRetryListener(TraktRetryCallFactory.Listener listener) {
+        mRetryListener = listener;
+        if (mRetryCallFactory != null) {
+            mRetryCallFactory.setListener(listener);
+        }
         return this;
     }
 
     /**
-     * Creates a {@link Retrofit.Builder} that sets the base URL, adds a Gson converter and sets {@link #getOkHttpClient()}
-     * as its client.
+     * Returns the interceptor that lets identical concurrent GET requests share one network call, e.g. to coalesce
+     * more endpoints or read how many requests it saved.
+     */
+    public TraktCoalescingInterceptor getCoalescingInterceptor() {
+        return mCoalescingInterceptor;
+    }
+
+    /**
+     * Enables a size-bounded disk cache for API responses. Cached responses are revalidated with their ETag or last
+     * modified date, unchanged ones are not downloaded again. See {@link TraktCacheInterceptor} for the cache policy.
+     * <p>
+     * <p>Has no effect once the first request was made.
+     *
+     * @param directory A directory used only by this cache, e.g. in the app cache directory.
+     * @param maxSizeBytes The maximum size of the cache, least recently used responses are evicted first.
+     */
+    public Trakt setCache(File directory, long maxSizeBytes) {
+        this.mCache = new Cache(directory, maxSizeBytes);
+        return this;
+    }
+
+    /**
+     * Registers the ids of all movies, shows, seasons, episodes and people parsed from responses with the given index,
+     * so external ids and slugs can be resolved to trakt ids without another request.
+     * <p>
+     * <p>Has no effect once the first request was made.
+     */
+    public Trakt setIdIndex(IdIndex idIndex) {
+        this.mIdIndex = idIndex;
+        return this;
+    }
+
+    public IdIndex getIdIndex() {
+        return mIdIndex;
+    }
+
+    /**
+     * Returns the interceptor setting the cache policy of each endpoint, e.g. to change how long public responses are
+     * used without revalidation.
+     */
+    public TraktCacheInterceptor getCacheInterceptor() {
+        return mCacheInterceptor;
+    }
+
+    /**
+     * Returns the manager that refreshes the access token of this instance, e.g. to register a {@link
+     * TraktTokenManager.Listener} to store refreshed tokens.
+     */
+    public TraktTokenManager getTokenManager() {
+        return mTokenManager;
+    }
+
+    /**
+     * Creates a new lightweight session for another user. The session shares the {@link OkHttpClient}, its connection
+     * pool, the Gson and {@link Retrofit} instances and the services of this instance, but sends its own access token
+     * and refreshes it independently.
+     *
+     * @param accessToken The access token of the user, may be changed later with {@link
+     * TraktSession#setAccessToken(AccessToken)}.
+     */
+    public TraktSession newSession(AccessToken accessToken) {
+        return new TraktSession(this, accessToken);
+    }
+
+    /**
+     * Returns the token manager for the given request: the one of the {@link TraktSession} that created it, otherwise
+     * the one of this instance.
+     */
+    TraktTokenManager getTokenManager(Request request) {
+        TraktSession session = TraktSession.from(request);
+        return session != null ? session.getTokenManager() : mTokenManager;
+    }
+
+    /**
+     * Creates a {@link Retrofit.Builder} that sets the base URL, adds a Gson converter, an RxJava call adapter, a call
+     * adapter binding calls made through a {@link TraktSession} to it, one streaming the elements of {@link
+     * retrofit2.http.Streaming} methods returning an {@link Observable} of list elements (see {@link
+     * JsonArrayCallAdapterFactory}), and sets
+     * {@link #getOkHttpClient()} as its client, wrapped to retry failed requests and to take rate limit permits before
+     * calls are enqueued (see {@link #getCallFactory()}). {@link SyncItems} bodies are streamed, see {@link
+     * StreamingRequestBodyConverterFactory}.
      *
      * @see #getOkHttpClient()
+     * @see #getRetrofitBuilder(Gson)
      */
     protected Retrofit.Builder getRetrofitBuilder() {
+        return getRetrofitBuilder(getGson());
+    }
+
+    /**
+     * Like {@link #getRetrofitBuilder()}, but parses responses with the given Gson instance, e.g. the one of a {@link
+     * Projection}. Request bodies are always written with {@link #getGson()}.
+     */
+    protected Retrofit.Builder getRetrofitBuilder(Gson responseGson) {
         return new Retrofit.Builder()
                 .baseUrl(API_URL)
-                .addConverterFactory(GsonConverterFactory.create(TraktHelper.getGsonBuilder().create()))
-                .client(getOkHttpClient());
+                .addConverterFactory(new StreamingRequestBodyConverterFactory(getGson()))
+                .addConverterFactory(GsonConverterFactory.create(responseGson))
+                .addCallAdapterFactory(TraktSession.CALL_ADAPTER_FACTORY)
+                .addCallAdapterFactory(new JsonArrayCallAdapterFactory(responseGson, mScheduler))
+                .addCallAdapterFactory(mScheduler == null
+                        ? RxJavaCallAdapterFactory.create()
+                        : RxJavaCallAdapterFactory.createWithScheduler(mScheduler))
+                .callFactory(getCallFactory());
+    }
+
+    /**
+     * Returns {@link #getOkHttpClient()} wrapped in a {@link TraktRateLimitCallFactory}, wrapped in a {@link
+     * TraktRetryCallFactory} so every attempt takes its own permit. Requests of calls made through a {@link
+     * TraktSession} are tagged with it first.
+     */
+    synchronized Call.Factory getCallFactory() {
+        if (mCallFactory == null) {
+            mRetryCallFactory = new TraktRetryCallFactory(new TraktRateLimitCallFactory(getOkHttpClient(), this),
+                    mRetryPolicy);
+            mRetryCallFactory.setListener(mRetryListener);
+            mCallFactory = new TraktSession.TaggingCallFactory(mRetryCallFactory);
+        }
+        return mCallFactory;
+    }
+
+    /**
+     * Returns the Gson instance shared by this instance and all of its sessions.
+     *
+     * @see TraktHelper#getGsonBuilder(Projection, IdIndex)
+     */
+    protected synchronized Gson getGson() {
+        if (mGson == null) {
+            mGson = TraktHelper.getGsonBuilder(null, mIdIndex).create();
+        }
+        return mGson;
+    }
+
+    /**
+     * Returns the Gson instance parsing with the given projection, which like {@link #getGson()} registers the ids of
+     * parsed entities with the {@link IdIndex} of this instance.
+     *
+     * @see #service(Class, Projection)
+     */
+    protected Gson getGson(Projection projection) {
+        return projectedServices(projection).mGson;
     }
 
     /**
@@ -159,21 +383,41 @@ public class Trakt {
     }
 
     /**
-     * Adds a network interceptor to add version and auth headers and a regular interceptor to log requests.
+     * Adds an interceptor to add version and auth headers, an interceptor to share identical concurrent GET requests
+     * (see {@link #getCoalescingInterceptor()}), an interceptor adapting to the rate limits reported by trakt (see
+     * {@link #getRateLimiter()}) and an authenticator to refresh expired access tokens. If a cache was set with {@link #setCache(File, long)} adds it
+     * and a network interceptor setting the cache policy of each endpoint.
+     * <p>
+     * <p>The interceptors are application interceptors so that the authenticator sees the access token a failed
+     * request was sent with.
      */
     protected void setOkHttpClientDefaults(OkHttpClient.Builder builder) {
-        builder.addNetworkInterceptor(new TraktInterceptor(this));
+        builder.addInterceptor(new TraktInterceptor(this));
+        builder.addInterceptor(mCoalescingInterceptor);
+        builder.addInterceptor(new TraktRateLimitInterceptor(mRateLimiter));
         builder.authenticator(new TraktAuthenticator(this));
+        if (mCache != null) {
+            builder.cache(mCache);
+            builder.addNetworkInterceptor(mCacheInterceptor);
+        }
     }
 
     /**
-     * Return the {@link Retrofit} instance. If called for the first time builds the instance.
+     * Return the {@link Retrofit} instance. If called for the first time builds the instance, concurrent first calls
+     * all get the same instance.
      */
     protected Retrofit retrofit() {
-        if (mRetrofit == null) {
-            mRetrofit = getRetrofitBuilder().build();
+        Retrofit retrofit = mRetrofit;
+        if (retrofit == null) {
+            synchronized (this) {
+                retrofit = mRetrofit;
+                if (retrofit == null) {
+                    retrofit = getRetrofitBuilder().build();
+                    mRetrofit = retrofit;
+                }
+            }
         }
-        return mRetrofit;
+        return retrofit;
     }
 
     /**
@@ -216,7 +460,7 @@ public class Trakt {
         return authentication().exchangeCodeForAccessToken(
                 GrantType.AUTHORIZATION_CODE.toString(),
                 authCode,
-                getAccessToken().access_token,
+                mClientId,
                 mClientSecret,
                 mRedirectUri
         );
@@ -232,10 +476,19 @@ public class Trakt {
      * <p>On failure re-authorization of your app is required (see {@link #buildAuthenticationUrl}).
      */
     public Single<AccessToken> refreshAccessToken() {
+        return refreshAccessToken(getRefreshToken());
+    }
+
+    /**
+     * Request a new access token for the given refresh token, e.g. the one of a {@link TraktSession}.
+     *
+     * @see #refreshAccessToken()
+     */
+    public Single<AccessToken> refreshAccessToken(String refreshToken) {
         return authentication().refreshAccessToken(
                 GrantType.REFRESH_TOKEN.toString(),
-                getAccessToken().refresh_token,
-                getAccessToken().access_token,
+                refreshToken,
+                mClientId,
                 mClientSecret,
                 mRedirectUri
         );
@@ -252,12 +505,81 @@ public class Trakt {
             return null; // only code 409 can be a check-in error
         }
         Converter<ResponseBody, CheckinError> errorConverter =
-                mRetrofit.responseBodyConverter(CheckinError.class, new Annotation[0]);
+                retrofit().responseBodyConverter(CheckinError.class, new Annotation[0]);
         return errorConverter.convert(response.errorBody());
     }
 
+    /**
+     * Returns the {@link rx.Observable} returning variants of all services.
+     */
+    public TraktRx rx() {
+        return mRx;
+    }
+
+    /**
+     * Executes a call of a list endpoint and emits each element as soon as it was parsed, instead of reading the whole
+     * response into a list first. Peak memory is then about one element, which matters for endpoints like {@link
+     * Sync#watchedShows} whose response can be several megabytes for heavy users.
+     * <p>
+     * <p>Only the request of the call is used, the call itself is not executed. It may come from a {@link
+     * TraktSession}. The request is sent when subscribed to, through {@link #getCallFactory()} like any other call, and
+     * elements are read from the body as they are requested, on the requesting thread: use {@link
+     * rx.Observable#subscribeOn} to move this off the main thread. Unsubscribing cancels the request. An unsuccessful
+     * response emits a {@link retrofit2.adapter.rxjava.HttpException}.
+     * <p>
+     * <p>The streaming methods of the Rx services, like {@link
+     * me.rhespanhol.rxtraktjava.services.rx.RxSync#streamWatchedShows}, do the same without a call.
+     *
+     * @param type The type of the list elements.
+     */
+    public <T> Observable<T> stream(retrofit2.Call<List<T>> call, Class<T> type) {
+        return Observable.create(new JsonArrayOnSubscribe<>(getCallFactory(), call, getGson().getAdapter(type)));
+    }
+
+    /**
+     * Like {@link #stream(retrofit2.Call, Class)}, but only reads the entity fields included in the projection. All
+     * other fields are skipped while parsing and stay {@code null}, which saves allocations and time for large
+     * responses, especially with extended info or images.
+     */
+    public <T> Observable<T> stream(retrofit2.Call<List<T>> call, Class<T> type, Projection projection) {
+        return Observable.create(new JsonArrayOnSubscribe<>(getCallFactory(), call,
+                getGson(projection).getAdapter(type)));
+    }
+
+    /**
+     * Returns a service, like {@link Shows} or {@link me.rhespanhol.rxtraktjava.services.rx.RxShows}, whose responses
+     * are parsed with the given projection: only the entity fields it includes are read, see {@link Projection}.
+     * Requests are sent with the credentials of this instance, use {@link TraktSession#service(Class, Projection)} to
+     * send them with those of a session.
+     * <p>
+     * <p>Projections including the same fields share their services. Services are kept for the {@link
+     * #MAX_PROJECTIONS} most recently used projections, services of other projections keep working but are created
+     * again when requested again.
+     */
+    public <T> T service(Class<T> service, Projection projection) {
+        return projectedServices(projection).get(service);
+    }
+
+    private ProjectedServices projectedServices(Projection projection) {
+        synchronized (mProjectedServices) {
+            ProjectedServices services = mProjectedServices.get(projection);
+            if (services == null) {
+                services = new ProjectedServices(TraktHelper.getGsonBuilder(projection, mIdIndex).create());
+                mProjectedServices.put(projection, services);
+            }
+            return services;
+        }
+    }
+
+    /**
+     * Returns the shared service of this instance, e.g. for a {@link TraktSession} to bind to its credentials.
+     */
+    <T> T sharedService(Class<T> service) {
+        return mServices.get(service);
+    }
+
     public Authentication authentication() {
-        return retrofit().create(Authentication.class);
+        return mServices.get(Authentication.class);
     }
 
     /**
@@ -266,7 +588,7 @@ public class Trakt {
      * likely want to send OAuth to make the calendar more relevant to the user.
      */
     public Calendars calendars() {
-        return retrofit().create(Calendars.class);
+        return mServices.get(Calendars.class);
     }
 
     /**
@@ -275,7 +597,7 @@ public class Trakt {
      * checkin from your phone or tablet in those situations.
      */
     public Checkin checkin() {
-        return retrofit().create(Checkin.class);
+        return mServices.get(Checkin.class);
     }
 
     /**
@@ -284,7 +606,7 @@ public class Trakt {
      * comments.
      */
     public Comments comments() {
-        return retrofit().create(Comments.class);
+        return mServices.get(Comments.class);
     }
 
     /**
@@ -292,15 +614,15 @@ public class Trakt {
      * to cache this list in your app.
      */
     public Genres genres() {
-        return retrofit().create(Genres.class);
+        return mServices.get(Genres.class);
     }
 
     public Movies movies() {
-        return retrofit().create(Movies.class);
+        return mServices.get(Movies.class);
     }
 
     public People people() {
-        return retrofit().create(People.class);
+        return mServices.get(People.class);
     }
 
     /**
@@ -308,7 +630,7 @@ public class Trakt {
      * into the algorithm as well to further personalize what gets recommended.
      */
     public Recommendations recommendations() {
-        return retrofit().create(Recommendations.class);
+        return mServices.get(Recommendations.class);
     }
 
     /**
@@ -317,27 +639,49 @@ public class Trakt {
      * shows, episodes, people, users, and lists.
      */
     public Search search() {
-        return retrofit().create(Search.class);
+        return mServices.get(Search.class);
     }
 
     public Shows shows() {
-        return retrofit().create(Shows.class);
+        return mServices.get(Shows.class);
     }
 
     public Seasons seasons() {
-        return retrofit().create(Seasons.class);
+        return mServices.get(Seasons.class);
     }
 
     public Episodes episodes() {
-        return retrofit().create(Episodes.class);
+        return mServices.get(Episodes.class);
     }
 
     public Sync sync() {
-        return retrofit().create(Sync.class);
+        return mServices.get(Sync.class);
     }
 
     public Users users() {
-        return retrofit().create(Users.class);
+        return mServices.get(Users.class);
+    }
+
+    /**
+     * The Retrofit instance and services parsing responses with the Gson instance of a projection.
+     */
+    private final class ProjectedServices extends ServiceRegistry {
+
+        private final Gson mGson;
+        private Retrofit mRetrofit;
+
+        ProjectedServices(Gson gson) {
+            this.mGson = gson;
+        }
+
+        @Override
+        synchronized <T> T create(Class<T> service) {
+            if (mRetrofit == null) {
+                mRetrofit = getRetrofitBuilder(mGson).build();
+            }
+            return mRetrofit.create(service);
+        }
+
     }
 
 }
@@ -5,12 +5,13 @@ import okhttp3.Authenticator;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.Route;
-import rx.functions.Action1;
 
 import java.io.IOException;
 
 public class TraktAuthenticator implements Authenticator {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final Trakt mTrakt;
 
     public TraktAuthenticator(Trakt trakt) {
@@ -23,37 +24,53 @@ public class TraktAuthenticator implements Authenticator {
     }
 
     /**
-     * If not doing a trakt {@link Trakt#API_URL} request tries to refresh the access token with the refresh token.
+     * If doing a trakt {@link Trakt#API_URL} request tries to refresh the access token with the refresh token.
+     *
+     * @param response The response passed to {@link #authenticate(Route, Response)}.
+     * @param trakt The {@link Trakt} instance whose token, or the token of the {@link TraktSession} that created the
+     * request, to refresh.
+     * @return A request with updated authorization header or null if no auth is possible.
+     */
+    public static Request handleAuthenticate(Response response, Trakt trakt) throws IOException {
+        return handleAuthenticate(response, trakt.getTokenManager(response.request()));
+    }
+
+    /**
+     * If doing a trakt {@link Trakt#API_URL} request refreshes the access token of the given manager. Concurrent
+     * failures share a single refresh, see {@link TraktTokenManager#refresh(String)}.
      *
      * @param response The response passed to {@link #authenticate(Route, Response)}.
-     * @param trakt The {@link Trakt} instance to get the API key from and to set the updated JSON web token on.
+     * @param tokenManager The manager holding the access token that was rejected.
      * @return A request with updated authorization header or null if no auth is possible.
      */
-    public static Request handleAuthenticate(Response response, final Trakt trakt) throws IOException {
+    public static Request handleAuthenticate(Response response, TraktTokenManager tokenManager)
+            throws IOException {
         if (!Trakt.API_HOST.equals(response.request().url().host())) {
             return null; // not a trakt API endpoint (possibly trakt OAuth or other API), give up.
         }
         if (responseCount(response) >= 2) {
             return null; // failed 2 times, give up.
         }
-        if (trakt.getRefreshToken() == null || trakt.getRefreshToken().length() == 0) {
-            return null; // have no refresh token, give up.
-        }
 
-        trakt.refreshAccessToken().doOnSuccess(new Action1<AccessToken>() {
-            @Override
-            public void call(AccessToken accessToken) {
-                trakt.setAccessToken(accessToken);
-
-            }
-        });
+        AccessToken accessToken = tokenManager.refresh(sentAccessToken(response.request()));
+        if (accessToken == null) {
+            return null; // have no refresh token or refresh failed, give up.
+        }
 
         // retry request
         return response.request().newBuilder()
-                .header(Trakt.HEADER_AUTHORIZATION, "Bearer " + trakt.getAccessToken().access_token)
+                .header(Trakt.HEADER_AUTHORIZATION, BEARER_PREFIX + accessToken.access_token)
                 .build();
     }
 
+    private static String sentAccessToken(Request request) {
+        String authorization = request.header(Trakt.HEADER_AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        return authorization.substring(BEARER_PREFIX.length());
+    }
+
     private static int responseCount(Response response) {
         int result = 1;
         while ((response = response.priorResponse()) != null) {
@@ -0,0 +1,83 @@
+package me.rhespanhol.rxtraktjava;
+
+import okhttp3.Cache;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Network interceptor that sets the caching headers of trakt API responses so an OkHttp {@link Cache} stores them.
+ * <p>
+ * <p>Only responses to public requests are stored. They are fresh for the max age registered for the longest matching
+ * path prefix, see {@link #setMaxAge(String, long, TimeUnit)}, and revalidated afterwards. They vary by Authorization
+ * header, so an authenticated request is never answered with them.
+ * <p>
+ * <p>Responses to authenticated requests are user specific and marked {@code private, no-store}. The cache is keyed
+ * by URL, storing them would let sessions of different users overwrite and read each other's entries, and storing
+ * the Authorization header to tell them apart would write access tokens to disk.
+ */
+public class TraktCacheInterceptor implements Interceptor {
+
+    private static final String HEADER_CACHE_CONTROL = "Cache-Control";
+    private static final String HEADER_PRAGMA = "Pragma";
+    private static final String HEADER_VARY = "Vary";
+
+    private final Map<String, Long> mMaxAgeSeconds = new ConcurrentHashMap<>();
+
+    public TraktCacheInterceptor() {
+        setMaxAge("genres/", 1, TimeUnit.DAYS);
+        setMaxAge("movies/", 10, TimeUnit.MINUTES);
+        setMaxAge("shows/", 10, TimeUnit.MINUTES);
+        setMaxAge("people/", 1, TimeUnit.HOURS);
+    }
+
+    /**
+     * Sets how long responses to public GET requests whose path starts with the given prefix may be used without
+     * revalidation. Use 0 to always revalidate.
+     */
+    public TraktCacheInterceptor setMaxAge(String pathPrefix, long duration, TimeUnit unit) {
+        mMaxAgeSeconds.put(pathPrefix.startsWith("/") ? pathPrefix : "/" + pathPrefix, unit.toSeconds(duration));
+        return this;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+        // also rewrite 304 responses, their headers replace the stored ones
+        if (!Trakt.API_HOST.equals(request.url().host()) || !"GET".equals(request.method())
+                || (response.code() != 200 && response.code() != 304)) {
+            return response;
+        }
+
+        Response.Builder builder = response.newBuilder().removeHeader(HEADER_PRAGMA);
+        if (request.header(Trakt.HEADER_AUTHORIZATION) != null) {
+            return builder
+                    .header(HEADER_CACHE_CONTROL, "private, no-store")
+                    .removeHeader(HEADER_VARY)
+                    .build();
+        }
+        long maxAgeSeconds = maxAgeSeconds(request.url().encodedPath());
+        return builder
+                .header(HEADER_CACHE_CONTROL, maxAgeSeconds > 0 ? "public, max-age=" + maxAgeSeconds : "public, no-cache")
+                // stored without an Authorization header, so authenticated requests do not match
+                .header(HEADER_VARY, Trakt.HEADER_AUTHORIZATION)
+                .build();
+    }
+
+    private long maxAgeSeconds(String encodedPath) {
+        String match = null;
+        for (String prefix : mMaxAgeSeconds.keySet()) {
+            if (encodedPath.startsWith(prefix) && (match == null || prefix.length() > match.length())) {
+                match = prefix;
+            }
+        }
+        return match == null ? 0 : mMaxAgeSeconds.get(match);
+    }
+
+}
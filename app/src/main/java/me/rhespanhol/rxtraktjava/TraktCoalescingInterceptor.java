@@ -0,0 +1,142 @@
+package me.rhespanhol.rxtraktjava;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets identical GET requests to {@link Trakt#API_HOST} that are in flight at the same time share one network call.
+ * <p>
+ * <p>Requests are identical if method, URL including the {@code extended} and other query parameters, and the
+ * Authorization header match, so users never see each other's data. The first request is sent, the others wait for
+ * it. The response body is buffered once and every waiting caller gets its own copy, also of error responses, so a
+ * failing endpoint is not hit once per caller. If the shared call fails without a response, e.g. because it was
+ * canceled, waiting callers send their own request.
+ * <p>
+ * <p>Callers share bytes, not parsed entities: entities are mutable and callers may parse the same URL into
+ * different types, e.g. with a {@link me.rhespanhol.rxtraktjava.adapters.Projection}. Parsing the buffered body is
+ * cheap compared to the network call saved.
+ * <p>
+ * <p>Only paths starting with one of the registered prefixes are coalesced; by default the public {@code movies/},
+ * {@code shows/}, {@code genres/} and {@code people/} endpoints whose responses are small enough to buffer.
+ */
+public class TraktCoalescingInterceptor implements Interceptor {
+
+    private final ConcurrentMap<String, InFlight> mInFlight = new ConcurrentHashMap<>();
+    private final Set<String> mPathPrefixes = new CopyOnWriteArraySet<>();
+    private final AtomicLong mCoalescedCount = new AtomicLong();
+
+    public TraktCoalescingInterceptor() {
+        addPathPrefix("movies/");
+        addPathPrefix("shows/");
+        addPathPrefix("genres/");
+        addPathPrefix("people/");
+    }
+
+    /**
+     * Also coalesces GET requests whose path starts with the given prefix, e.g. {@code "calendars/"}.
+     */
+    public TraktCoalescingInterceptor addPathPrefix(String pathPrefix) {
+        mPathPrefixes.add(pathPrefix.startsWith("/") ? pathPrefix : "/" + pathPrefix);
+        return this;
+    }
+
+    /**
+     * Returns how many requests were answered by another request's network call so far.
+     */
+    public long getCoalescedCount() {
+        return mCoalescedCount.get();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!Trakt.API_HOST.equals(request.url().host()) || !"GET".equals(request.method())
+                || !isCoalesced(request.url().encodedPath())) {
+            return chain.proceed(request);
+        }
+
+        String key = key(request);
+        InFlight inFlight = new InFlight();
+        InFlight leader = mInFlight.putIfAbsent(key, inFlight);
+        if (leader != null) {
+            Response shared = leader.await(request);
+            if (shared != null) {
+                mCoalescedCount.incrementAndGet();
+                return shared;
+            }
+            return chain.proceed(request); // shared call failed, try on our own
+        }
+
+        Response response = null;
+        try {
+            response = chain.proceed(request);
+            ResponseBody body = response.body();
+            MediaType contentType = body.contentType();
+            byte[] bytes = body.bytes();
+            inFlight.mResponse = response;
+            inFlight.mContentType = contentType;
+            inFlight.mBody = bytes;
+            return response.newBuilder().body(ResponseBody.create(contentType, bytes)).build();
+        } finally {
+            mInFlight.remove(key, inFlight);
+            inFlight.mDone.countDown();
+        }
+    }
+
+    private boolean isCoalesced(String encodedPath) {
+        for (String prefix : mPathPrefixes) {
+            if (encodedPath.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(Request request) {
+        String authorization = request.header(Trakt.HEADER_AUTHORIZATION);
+        return request.method() + ' ' + request.url() + '\n' + (authorization == null ? "" : authorization);
+    }
+
+    private static final class InFlight {
+
+        final CountDownLatch mDone = new CountDownLatch(1);
+        // published by mDone
+        Response mResponse;
+        MediaType mContentType;
+        byte[] mBody;
+
+        /**
+         * Waits for the shared call, returns a copy of its response for the given request or {@code null} if it failed
+         * without a response.
+         */
+        Response await(Request request) throws IOException {
+            try {
+                mDone.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a shared request");
+            }
+            if (mBody == null) {
+                return null;
+            }
+            return mResponse.newBuilder()
+                    .request(request)
+                    .body(ResponseBody.create(mContentType, mBody))
+                    .build();
+        }
+
+    }
+
+}
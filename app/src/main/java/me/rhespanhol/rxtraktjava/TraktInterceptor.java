@@ -1,5 +1,6 @@
 package me.rhespanhol.rxtraktjava;
 
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
 import okhttp3.Interceptor;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -14,9 +15,20 @@ public class TraktInterceptor implements Interceptor {
         this.mTrakt = mTrakt;
     }
 
+    /**
+     * Uses the access token of the {@link TraktSession} the request was created by, if any, otherwise the one of the
+     * {@link Trakt} instance. If that token has expired waits until {@link TraktTokenManager} refreshed it.
+     */
     @Override
     public Response intercept(Chain chain) throws IOException {
-        return handleIntercept(chain, mTrakt.getClientId(), mTrakt.getAccessToken().access_token);
+        Request request = chain.request();
+        String accessToken = null;
+        // only look up (and possibly refresh) the token if it will be sent, never for the OAuth requests themselves
+        if (Trakt.API_HOST.equals(request.url().host()) && hasNoAuthorizationHeader(request)) {
+            AccessToken token = mTrakt.getTokenManager(request).getValidAccessToken();
+            accessToken = token == null ? null : token.access_token;
+        }
+        return handleIntercept(chain, mTrakt.getClientId(), accessToken);
     }
 
     /**
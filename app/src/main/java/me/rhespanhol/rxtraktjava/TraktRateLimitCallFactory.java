@@ -0,0 +1,208 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates calls that take their {@link TraktRateLimiter} permit before they are handed to the OkHttp dispatcher.
+ * <p>
+ * <p>{@link Call#enqueue(Callback)} reserves a permit and, if the request has to wait for it, enqueues the request
+ * only once the permit is due, using a timer instead of a thread. If trakt still answers with 429, {@link
+ * TraktRateLimitInterceptor} pauses the bucket for the {@code Retry-After} delay and the request is enqueued again
+ * with the next permit, at most {@link #MAX_RATE_LIMITED_RETRIES} times. Dispatcher threads never wait for the rate
+ * limit.
+ * <p>
+ * <p>{@link Call#execute()} runs on the thread of the caller anyway, it waits for the permit and the {@code
+ * Retry-After} delay on that thread.
+ */
+public class TraktRateLimitCallFactory implements Call.Factory {
+
+    public static final int MAX_RATE_LIMITED_RETRIES = 2;
+
+    private final Call.Factory mDelegate;
+    private final Trakt mTrakt;
+    private final TraktRateLimiter mRateLimiter;
+    private final Scheduler.Worker mTimer = Schedulers.computation().createWorker();
+
+    public TraktRateLimitCallFactory(Call.Factory delegate, Trakt trakt) {
+        this.mDelegate = delegate;
+        this.mTrakt = trakt;
+        this.mRateLimiter = trakt.getRateLimiter();
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        if (!Trakt.API_HOST.equals(request.url().host())) {
+            return mDelegate.newCall(request);
+        }
+        return new RateLimitedCall(request);
+    }
+
+    /**
+     * Returns the access token a request will be sent with, see {@link TraktInterceptor}.
+     */
+    private String accessToken(Request request) {
+        String authorization = request.header(Trakt.HEADER_AUTHORIZATION);
+        if (authorization != null) {
+            return TraktRateLimitInterceptor.accessToken(authorization);
+        }
+        AccessToken accessToken = mTrakt.getTokenManager(request).getAccessToken();
+        return accessToken == null ? null : accessToken.access_token;
+    }
+
+    private final class RateLimitedCall implements Call {
+
+        private final Request mRequest;
+
+        // guarded by this
+        private Call mCall;
+        private boolean mExecuted;
+        private boolean mCanceled;
+
+        RateLimitedCall(Request request) {
+            this.mRequest = request;
+        }
+
+        @Override
+        public Request request() {
+            return mRequest;
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            synchronized (this) {
+                checkNotExecuted();
+            }
+            int retries = 0;
+            while (true) {
+                waitFor(reserve());
+                Call call;
+                synchronized (this) {
+                    call = mDelegate.newCall(mRequest);
+                    mCall = call;
+                    if (mCanceled) {
+                        call.cancel();
+                    }
+                }
+                Response response = call.execute();
+                if (response.code() != TraktRateLimitInterceptor.CODE_TOO_MANY_REQUESTS
+                        || retries++ >= MAX_RATE_LIMITED_RETRIES || isCanceled()) {
+                    return response;
+                }
+                // the interceptor paused the bucket, wait for the next permit
+                response.body().close();
+            }
+        }
+
+        @Override
+        public void enqueue(final Callback responseCallback) {
+            synchronized (this) {
+                checkNotExecuted();
+            }
+            admit(new Callback() {
+                private int mRetries;
+
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    responseCallback.onFailure(RateLimitedCall.this, e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    if (response.code() == TraktRateLimitInterceptor.CODE_TOO_MANY_REQUESTS
+                            && mRetries++ < MAX_RATE_LIMITED_RETRIES && !isCanceled()) {
+                        // the interceptor paused the bucket, wait for the next permit
+                        response.body().close();
+                        admit(this);
+                        return;
+                    }
+                    responseCallback.onResponse(RateLimitedCall.this, response);
+                }
+            });
+        }
+
+        /**
+         * Reserves a permit and enqueues a new call for the request once it is due.
+         */
+        private void admit(final Callback callback) {
+            long waitNanos = reserve();
+            final Call call;
+            synchronized (this) {
+                call = mDelegate.newCall(mRequest);
+                mCall = call;
+                if (mCanceled) {
+                    call.cancel();
+                }
+            }
+            if (waitNanos <= 0) {
+                call.enqueue(callback);
+                return;
+            }
+            mTimer.schedule(new Action0() {
+                @Override
+                public void call() {
+                    // a canceled call fails right away when enqueued
+                    call.enqueue(callback);
+                }
+            }, waitNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private long reserve() {
+            return mRateLimiter.acquire(mTrakt.getClientId(), accessToken(mRequest),
+                    TraktRateLimitInterceptor.isWrite(mRequest));
+        }
+
+        private void waitFor(long nanos) throws IOException {
+            if (nanos <= 0) {
+                return;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for a rate limit permit");
+            }
+        }
+
+        private void checkNotExecuted() {
+            if (mExecuted) {
+                throw new IllegalStateException("Already Executed");
+            }
+            mExecuted = true;
+        }
+
+        @Override
+        public void cancel() {
+            Call call;
+            synchronized (this) {
+                mCanceled = true;
+                call = mCall;
+            }
+            if (call != null) {
+                call.cancel();
+            }
+        }
+
+        @Override
+        public synchronized boolean isExecuted() {
+            return mExecuted;
+        }
+
+        @Override
+        public synchronized boolean isCanceled() {
+            return mCanceled;
+        }
+
+    }
+
+}
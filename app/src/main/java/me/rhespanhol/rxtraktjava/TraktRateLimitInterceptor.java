@@ -0,0 +1,138 @@
+package me.rhespanhol.rxtraktjava;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts a {@link TraktRateLimiter} to the rate limits and 429 responses of {@link Trakt#API_HOST}.
+ * <p>
+ * <p>Must run after {@link TraktInterceptor} so the client id and access token headers are set. The interceptor never
+ * waits: permits are taken by {@link TraktRateLimitCallFactory} before a call reaches the OkHttp dispatcher, and a
+ * 429 response is returned to it to send the request again later. Here only the limits reported by the server are
+ * applied to the buckets, and after a 429 response the bucket is paused for the {@code Retry-After} delay.
+ * <p>
+ * <p>Requests of a client not wrapped in a {@link TraktRateLimitCallFactory} are therefore not paced.
+ */
+public class TraktRateLimitInterceptor implements Interceptor {
+
+    public static final String HEADER_RETRY_AFTER = "Retry-After";
+    /**
+     * JSON object with {@code name}, {@code period}, {@code limit} and {@code remaining} of the limit that applied.
+     */
+    public static final String HEADER_RATE_LIMIT = "X-Ratelimit";
+
+    static final int CODE_TOO_MANY_REQUESTS = 429;
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 1;
+
+    private final TraktRateLimiter mRateLimiter;
+
+    public TraktRateLimitInterceptor(TraktRateLimiter rateLimiter) {
+        this.mRateLimiter = rateLimiter;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!Trakt.API_HOST.equals(request.url().host())) {
+            return chain.proceed(request);
+        }
+
+        String clientId = request.header(Trakt.HEADER_TRAKT_API_KEY);
+        String accessToken = accessToken(request.header(Trakt.HEADER_AUTHORIZATION));
+        boolean write = isWrite(request);
+
+        Response response = chain.proceed(request);
+        String limitName = updateLimit(response, clientId, accessToken, write);
+        if (response.code() == CODE_TOO_MANY_REQUESTS) {
+            pause(limitName, clientId, accessToken, write, retryAfterSeconds(response));
+        }
+        return response;
+    }
+
+    static boolean isWrite(Request request) {
+        return !"GET".equals(request.method()) && !"HEAD".equals(request.method());
+    }
+
+    /**
+     * Returns the access token of an Authorization header, or {@code null}.
+     */
+    static String accessToken(String authorization) {
+        if (authorization == null) {
+            return null;
+        }
+        if (authorization.startsWith(BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length());
+        }
+        return authorization;
+    }
+
+    /**
+     * Pauses the bucket of the limit that was exceeded. If the response did not say which one, pauses both the bucket
+     * of the client id and of the access token, as either may have been exceeded.
+     */
+    private void pause(String limitName, String clientId, String accessToken, boolean write, long retryAfterSeconds) {
+        boolean unauthed = limitName != null && limitName.startsWith("UNAUTHED");
+        boolean authed = limitName != null && limitName.startsWith("AUTHED");
+        mRateLimiter.pause(authed && accessToken != null ? null : clientId,
+                unauthed ? null : accessToken,
+                write, retryAfterSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Adapts the bucket to the limit reported in the {@link #HEADER_RATE_LIMIT} header.
+     *
+     * @return The name of the limit, or {@code null} if unknown.
+     */
+    private String updateLimit(Response response, String clientId, String accessToken, boolean write) {
+        String header = response.header(HEADER_RATE_LIMIT);
+        if (header == null) {
+            return null;
+        }
+        try {
+            JsonObject limit = new JsonParser().parse(header).getAsJsonObject();
+            String name = getString(limit, "name");
+            mRateLimiter.updateLimit(clientId,
+                    name != null && name.startsWith("UNAUTHED") ? null : accessToken,
+                    write,
+                    getInt(limit, "limit", 0),
+                    getInt(limit, "period", 0),
+                    getInt(limit, "remaining", -1));
+            return name;
+        } catch (JsonParseException | IllegalStateException | NumberFormatException ignored) {
+            // unexpected format, keep the configured limit
+            return null;
+        }
+    }
+
+    private static String getString(JsonObject object, String member) {
+        JsonElement element = object.get(member);
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
+
+    private static int getInt(JsonObject object, String member, int defaultValue) {
+        JsonElement element = object.get(member);
+        return element == null || element.isJsonNull() ? defaultValue : element.getAsInt();
+    }
+
+    private static long retryAfterSeconds(Response response) {
+        String retryAfter = response.header(HEADER_RETRY_AFTER);
+        if (retryAfter != null) {
+            try {
+                return Math.max(0, Long.parseLong(retryAfter.trim()));
+            } catch (NumberFormatException ignored) {
+                // HTTP date or garbage, use the default
+            }
+        }
+        return DEFAULT_RETRY_AFTER_SECONDS;
+    }
+
+}
@@ -0,0 +1,272 @@
+package me.rhespanhol.rxtraktjava;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets pacing requests to the trakt API, one per client id and one per access token.
+ * <p>
+ * <p>Acquiring a permit never spins or polls: it reserves the next free slot in the bucket and returns how long the
+ * caller has to wait for it, so concurrent callers are served in order at exactly the configured rate. Buckets adapt
+ * to the rate limits and {@code Retry-After} delays reported by the server, see {@link TraktRateLimitInterceptor}.
+ * <p>
+ * <p>Buckets of users are keyed by a SHA-256 hash of the access token, so tokens are not kept beyond the request.
+ */
+public class TraktRateLimiter {
+
+    /** trakt allows 1000 GET requests every 5 minutes per application and per user. */
+    public static final int DEFAULT_GET_LIMIT = 1000;
+    public static final long DEFAULT_GET_PERIOD_SECONDS = 300;
+    /** trakt allows 1 POST, PUT or DELETE request per second per user. */
+    public static final int DEFAULT_WRITE_LIMIT = 1;
+    public static final long DEFAULT_WRITE_PERIOD_SECONDS = 1;
+
+    /** Once this many buckets exist, idle ones are dropped. */
+    private static final int MAX_BUCKETS = 1024;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private final ConcurrentMap<String, Bucket> mBuckets = new ConcurrentHashMap<>();
+    private final int mMaxBuckets;
+
+    private volatile int mGetLimit = DEFAULT_GET_LIMIT;
+    private volatile long mGetPeriodNanos = TimeUnit.SECONDS.toNanos(DEFAULT_GET_PERIOD_SECONDS);
+    private volatile int mWriteLimit = DEFAULT_WRITE_LIMIT;
+    private volatile long mWritePeriodNanos = TimeUnit.SECONDS.toNanos(DEFAULT_WRITE_PERIOD_SECONDS);
+
+    public TraktRateLimiter() {
+        this(MAX_BUCKETS);
+    }
+
+    TraktRateLimiter(int maxBuckets) {
+        this.mMaxBuckets = maxBuckets;
+    }
+
+    /**
+     * Sets the number of GET requests allowed per period, applied to new buckets. The full limit may be used as a
+     * burst.
+     */
+    public TraktRateLimiter setGetLimit(int limit, long period, TimeUnit unit) {
+        mGetLimit = limit;
+        mGetPeriodNanos = unit.toNanos(period);
+        return this;
+    }
+
+    /**
+     * Sets the number of POST, PUT or DELETE requests per user allowed per period, applied to new buckets.
+     */
+    public TraktRateLimiter setWriteLimit(int limit, long period, TimeUnit unit) {
+        mWriteLimit = limit;
+        mWritePeriodNanos = unit.toNanos(period);
+        return this;
+    }
+
+    /**
+     * Reserves a permit for one request in the bucket of the client id and, if there is one, of the access token.
+     *
+     * @param clientId The client id the request is sent with.
+     * @param accessToken The access token the request is sent with, may be {@code null}.
+     * @param write Whether this is a POST, PUT or DELETE request.
+     * @return How long to wait before sending the request, in nanoseconds.
+     */
+    public long acquire(String clientId, String accessToken, boolean write) {
+        long waitNanos = reserve(clientKey(clientId), false);
+        if (accessToken != null) {
+            waitNanos = Math.max(waitNanos, reserve(userKey(accessToken, write), write));
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Adapts the rate of a bucket to a limit reported by the server.
+     *
+     * @param remaining Requests left in the current period as reported by the server, or a negative value if unknown.
+     */
+    public void updateLimit(String clientId, String accessToken, boolean write, int limit, long periodSeconds,
+            int remaining) {
+        if (limit <= 0 || periodSeconds <= 0) {
+            return;
+        }
+        String key = accessToken == null ? clientKey(clientId) : userKey(accessToken, write);
+        long periodNanos = TimeUnit.SECONDS.toNanos(periodSeconds);
+        while (!bucket(key, write).update(System.nanoTime(), limit, periodNanos, remaining)) {
+            // evicted meanwhile, update its replacement
+        }
+    }
+
+    /**
+     * Stops handing out permits for the client id and the access token until the given delay has passed, e.g. after a
+     * 429 response with a {@code Retry-After} header. Pass {@code null} for the one that should keep its permits.
+     */
+    public void pause(String clientId, String accessToken, boolean write, long delay, TimeUnit unit) {
+        long delayNanos = unit.toNanos(delay);
+        if (clientId != null) {
+            pause(clientKey(clientId), false, delayNanos);
+        }
+        if (accessToken != null) {
+            pause(userKey(accessToken, write), write, delayNanos);
+        }
+    }
+
+    private long reserve(String key, boolean write) {
+        while (true) {
+            Bucket bucket = bucket(key, write);
+            // after looking up the bucket, a new one must not look refilled in the future
+            long waitNanos = bucket.reserve(System.nanoTime());
+            if (waitNanos >= 0) {
+                return waitNanos;
+            }
+            // evicted meanwhile, its replacement starts full again but this permit was not counted yet
+        }
+    }
+
+    private void pause(String key, boolean write, long delayNanos) {
+        while (!bucket(key, write).pause(System.nanoTime(), delayNanos)) {
+            // evicted meanwhile, pause its replacement
+        }
+    }
+
+    private Bucket bucket(String key, boolean write) {
+        Bucket bucket = mBuckets.get(key);
+        if (bucket == null) {
+            if (mBuckets.size() >= mMaxBuckets) {
+                evictIdleBuckets();
+            }
+            bucket = write ? new Bucket(mWriteLimit, mWritePeriodNanos) : new Bucket(mGetLimit, mGetPeriodNanos);
+            Bucket previous = mBuckets.putIfAbsent(key, bucket);
+            if (previous != null) {
+                bucket = previous;
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Drops buckets that are full again. A bucket is marked evicted under its lock before it is removed, so a permit
+     * is either counted by a bucket that stays or reserved again from its replacement.
+     */
+    private void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, Bucket> entry : mBuckets.entrySet()) {
+            if (entry.getValue().evictIfIdle(now)) {
+                mBuckets.remove(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    int getBucketCount() {
+        return mBuckets.size();
+    }
+
+    private static String clientKey(String clientId) {
+        return "client:" + clientId;
+    }
+
+    private static String userKey(String accessToken, boolean write) {
+        return (write ? "write:" : "get:") + hash(accessToken);
+    }
+
+    private static String hash(String accessToken) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256").digest(accessToken.getBytes("UTF-8"));
+        } catch (NoSuchAlgorithmException | UnsupportedEncodingException e) {
+            // both are required on every Java and Android platform
+            throw new IllegalStateException(e);
+        }
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * A token bucket that may go into debt: a reservation that finds no permit still takes one and waits until the
+     * bucket has refilled enough to cover it.
+     */
+    static final class Bucket {
+
+        private double mCapacity;
+        private double mPermitsPerNano;
+        private double mAvailable;
+        /** Permits have been refilled up to this time, may be in the future while paused. */
+        private long mRefilledAtNanos;
+        /**
+         * No permit is handed out before this time. Kept apart from {@link #mRefilledAtNanos}, which a concurrent
+         * caller that read the clock later may also have moved past the {@code now} of this one.
+         */
+        private long mPausedUntilNanos;
+        /** Removed from the limiter, permits have to be taken from its replacement. */
+        private boolean mEvicted;
+
+        Bucket(int limit, long periodNanos) {
+            mCapacity = limit;
+            mPermitsPerNano = (double) limit / periodNanos;
+            mAvailable = limit;
+            mRefilledAtNanos = System.nanoTime();
+            mPausedUntilNanos = mRefilledAtNanos;
+        }
+
+        /**
+         * @return How long to wait for the permit in nanoseconds, or -1 if this bucket was evicted.
+         */
+        synchronized long reserve(long now) {
+            if (mEvicted) {
+                return -1;
+            }
+            refill(now);
+            mAvailable -= 1;
+            long waitNanos = Math.max(0, mPausedUntilNanos - now);
+            if (mAvailable < 0) {
+                waitNanos += (long) Math.ceil(-mAvailable / mPermitsPerNano);
+            }
+            return waitNanos;
+        }
+
+        synchronized boolean update(long now, int limit, long periodNanos, int remaining) {
+            if (mEvicted) {
+                return false;
+            }
+            refill(now);
+            mCapacity = limit;
+            mPermitsPerNano = (double) limit / periodNanos;
+            mAvailable = Math.min(mAvailable, mCapacity);
+            if (remaining >= 0) {
+                mAvailable = Math.min(mAvailable, remaining);
+            }
+            return true;
+        }
+
+        synchronized boolean pause(long now, long delayNanos) {
+            if (mEvicted) {
+                return false;
+            }
+            refill(now);
+            mAvailable = Math.min(mAvailable, 0);
+            mPausedUntilNanos = Math.max(mPausedUntilNanos, now + delayNanos);
+            mRefilledAtNanos = Math.max(mRefilledAtNanos, mPausedUntilNanos);
+            return true;
+        }
+
+        synchronized boolean evictIfIdle(long now) {
+            refill(now);
+            mEvicted = mEvicted || mAvailable >= mCapacity;
+            return mEvicted;
+        }
+
+        private void refill(long now) {
+            if (now > mRefilledAtNanos) {
+                mAvailable = Math.min(mCapacity, mAvailable + (now - mRefilledAtNanos) * mPermitsPerNano);
+                mRefilledAtNanos = now;
+            }
+        }
+
+    }
+
+}
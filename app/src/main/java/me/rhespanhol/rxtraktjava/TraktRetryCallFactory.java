@@ -0,0 +1,262 @@
+package me.rhespanhol.rxtraktjava;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import rx.Scheduler;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates calls that send requests to {@link Trakt#API_HOST} again after connection failures and transient server
+ * errors, as allowed by a {@link TraktRetryPolicy}.
+ * <p>
+ * <p>Every attempt is a new call of the delegate, so wrapping a {@link TraktRateLimitCallFactory} makes every
+ * attempt take a rate limit permit. {@link Call#enqueue(Callback)} does not hold a dispatcher thread during the
+ * backoff: the next attempt is enqueued by a timer once the delay has passed. {@link Call#execute()} runs on the
+ * thread of the caller anyway, it waits on that thread.
+ */
+public class TraktRetryCallFactory implements Call.Factory {
+
+    /**
+     * Receives per-attempt timings, e.g. to record how much latency retries add.
+     */
+    public interface Listener {
+
+        /**
+         * Called after an attempt failed and another one is scheduled.
+         *
+         * @param attempt The failed attempt, counting from 1.
+         * @param attemptMillis How long the failed attempt took.
+         * @param delayMillis How long until the next attempt starts.
+         * @param response The failed response, or {@code null} if the attempt threw {@code error}.
+         * @param error The connection failure, or {@code null} if there was a response.
+         */
+        void onRetry(Request request, int attempt, long attemptMillis, long delayMillis, Response response,
+                IOException error);
+
+        /**
+         * Called when a request that was retried at least once is done, whether it eventually succeeded or not.
+         *
+         * @param attempts The number of attempts made.
+         * @param addedMillis How much later the request finished than its first attempt did.
+         */
+        void onRetriesFinished(Request request, int attempts, long addedMillis);
+
+    }
+
+    private final Call.Factory mDelegate;
+    private final TraktRetryPolicy mPolicy;
+    private final Scheduler.Worker mTimer = Schedulers.computation().createWorker();
+    private volatile Listener mListener;
+
+    public TraktRetryCallFactory(Call.Factory delegate, TraktRetryPolicy policy) {
+        this.mDelegate = delegate;
+        this.mPolicy = policy;
+    }
+
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        if (!Trakt.API_HOST.equals(request.url().host())
+                || !mPolicy.isRetryable(request.method(), request.url().encodedPath())) {
+            return mDelegate.newCall(request);
+        }
+        return new RetryingCall(request);
+    }
+
+    private final class RetryingCall implements Call {
+
+        private final Request mRequest;
+
+        // guarded by this
+        private Call mCall;
+        private boolean mExecuted;
+        private boolean mCanceled;
+
+        // only accessed by the current attempt
+        private int mAttempt;
+        private long mStartMillis;
+        private long mFirstAttemptMillis;
+        private long mAttemptStartMillis;
+
+        RetryingCall(Request request) {
+            this.mRequest = request;
+        }
+
+        @Override
+        public Request request() {
+            return mRequest;
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            synchronized (this) {
+                checkNotExecuted();
+            }
+            mStartMillis = System.currentTimeMillis();
+            while (true) {
+                Response response = null;
+                IOException error = null;
+                try {
+                    response = newAttempt().execute();
+                } catch (InterruptedIOException e) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw e; // interrupted by the caller, not a timeout
+                    }
+                    error = e;
+                } catch (IOException e) {
+                    error = e;
+                }
+                long delayMillis = onAttemptFinished(response, error);
+                if (delayMillis < 0) {
+                    if (error != null) {
+                        throw error;
+                    }
+                    return response;
+                }
+                sleep(delayMillis);
+            }
+        }
+
+        @Override
+        public void enqueue(final Callback responseCallback) {
+            synchronized (this) {
+                checkNotExecuted();
+            }
+            mStartMillis = System.currentTimeMillis();
+            attempt(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    if (!retry(this, null, e)) {
+                        responseCallback.onFailure(RetryingCall.this, e);
+                    }
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    if (!retry(this, response, null)) {
+                        responseCallback.onResponse(RetryingCall.this, response);
+                    }
+                }
+            });
+        }
+
+        private void attempt(Callback callback) {
+            newAttempt().enqueue(callback);
+        }
+
+        /**
+         * Enqueues the next attempt once its delay has passed, if the failed attempt should be retried.
+         */
+        private boolean retry(final Callback callback, Response response, IOException error) {
+            long delayMillis = onAttemptFinished(response, error);
+            if (delayMillis < 0) {
+                return false;
+            }
+            mTimer.schedule(new Action0() {
+                @Override
+                public void call() {
+                    // a canceled call fails right away when enqueued
+                    attempt(callback);
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS);
+            return true;
+        }
+
+        private Call newAttempt() {
+            mAttempt++;
+            mAttemptStartMillis = System.currentTimeMillis();
+            synchronized (this) {
+                mCall = mDelegate.newCall(mRequest);
+                if (mCanceled) {
+                    mCall.cancel();
+                }
+                return mCall;
+            }
+        }
+
+        /**
+         * Decides whether to retry after an attempt and notifies the listener.
+         *
+         * @return The delay before the next attempt, or -1 if the request is done.
+         */
+        private long onAttemptFinished(Response response, IOException error) {
+            long nowMillis = System.currentTimeMillis();
+            if (mAttempt == 1) {
+                mFirstAttemptMillis = nowMillis - mAttemptStartMillis;
+            }
+
+            boolean failed = error != null || mPolicy.isRetryable(response.code());
+            long delayMillis = mPolicy.delayMillis(mAttempt);
+            if (!failed || isCanceled() || mAttempt > mPolicy.getMaxRetries()
+                    || nowMillis + delayMillis - mStartMillis > mPolicy.getRetryBudgetMillis()) {
+                Listener listener = mListener;
+                if (mAttempt > 1 && listener != null) {
+                    listener.onRetriesFinished(mRequest, mAttempt, nowMillis - mStartMillis - mFirstAttemptMillis);
+                }
+                return -1;
+            }
+
+            Listener listener = mListener;
+            if (listener != null) {
+                listener.onRetry(mRequest, mAttempt, nowMillis - mAttemptStartMillis, delayMillis, response, error);
+            }
+            if (response != null) {
+                response.body().close();
+            }
+            return delayMillis;
+        }
+
+        private void sleep(long millis) throws IOException {
+            if (millis <= 0) {
+                return;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry");
+            }
+        }
+
+        private void checkNotExecuted() {
+            if (mExecuted) {
+                throw new IllegalStateException("Already Executed");
+            }
+            mExecuted = true;
+        }
+
+        @Override
+        public void cancel() {
+            Call call;
+            synchronized (this) {
+                mCanceled = true;
+                call = mCall;
+            }
+            if (call != null) {
+                call.cancel();
+            }
+        }
+
+        @Override
+        public synchronized boolean isExecuted() {
+            return mExecuted;
+        }
+
+        @Override
+        public synchronized boolean isCanceled() {
+            return mCanceled;
+        }
+
+    }
+
+}
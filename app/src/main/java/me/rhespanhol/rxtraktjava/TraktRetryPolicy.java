@@ -0,0 +1,120 @@
+package me.rhespanhol.rxtraktjava;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which failed requests {@link TraktRetryCallFactory} sends again and how long it waits in between.
+ * <p>
+ * <p>By default only GET and HEAD requests are retried, as they are idempotent. POST requests are retried only if
+ * their path starts with a prefix registered with {@link #retryWritesTo(String)}, e.g. {@code "sync/"} whose adds and
+ * removes can safely be repeated.
+ * <p>
+ * <p>Delays grow exponentially from the base delay up to the maximum delay. With full jitter each delay is picked
+ * at random between zero and that value, so clients failing together do not retry together. Once the retry budget
+ * is used up no further attempts are made.
+ */
+public class TraktRetryPolicy {
+
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 250;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 4000;
+    public static final long DEFAULT_RETRY_BUDGET_MILLIS = 15000;
+
+    private final Random mRandom = new Random();
+    private final Set<String> mWritePathPrefixes = new CopyOnWriteArraySet<>();
+
+    private volatile int mMaxRetries = DEFAULT_MAX_RETRIES;
+    private volatile long mBaseDelayMillis = DEFAULT_BASE_DELAY_MILLIS;
+    private volatile long mMaxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+    private volatile long mRetryBudgetMillis = DEFAULT_RETRY_BUDGET_MILLIS;
+    private volatile boolean mJitter = true;
+
+    /**
+     * Sets how often a request is sent again at most. Set to 0 to disable retries.
+     */
+    public TraktRetryPolicy maxRetries(int maxRetries) {
+        this.mMaxRetries = maxRetries;
+        return this;
+    }
+
+    public TraktRetryPolicy backoff(long baseDelay, long maxDelay, TimeUnit unit) {
+        this.mBaseDelayMillis = unit.toMillis(baseDelay);
+        this.mMaxDelayMillis = unit.toMillis(maxDelay);
+        return this;
+    }
+
+    /**
+     * Whether to randomize each delay between zero and its exponential value. Enabled by default.
+     */
+    public TraktRetryPolicy jitter(boolean jitter) {
+        this.mJitter = jitter;
+        return this;
+    }
+
+    /**
+     * Sets the total time a request may take including all retries. No retry is started that would exceed it.
+     */
+    public TraktRetryPolicy retryBudget(long budget, TimeUnit unit) {
+        this.mRetryBudgetMillis = unit.toMillis(budget);
+        return this;
+    }
+
+    /**
+     * Allows retrying POST, PUT and DELETE requests whose path starts with the given prefix, e.g. {@code "sync/"}.
+     * Only opt in for endpoints where sending the same request twice is harmless.
+     */
+    public TraktRetryPolicy retryWritesTo(String pathPrefix) {
+        mWritePathPrefixes.add(pathPrefix.startsWith("/") ? pathPrefix : "/" + pathPrefix);
+        return this;
+    }
+
+    public int getMaxRetries() {
+        return mMaxRetries;
+    }
+
+    public long getRetryBudgetMillis() {
+        return mRetryBudgetMillis;
+    }
+
+    /**
+     * Whether a request with this method and encoded path may be sent more than once.
+     */
+    public boolean isRetryable(String method, String encodedPath) {
+        if ("GET".equals(method) || "HEAD".equals(method)) {
+            return true;
+        }
+        for (String prefix : mWritePathPrefixes) {
+            if (encodedPath.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a response with this code is worth retrying: server errors that are usually transient.
+     */
+    public boolean isRetryable(int code) {
+        return code == 500 || code == 502 || code == 503 || code == 504
+                // trakt sits behind Cloudflare, which reports an unreachable origin with these
+                || code == 520 || code == 521 || code == 522;
+    }
+
+    /**
+     * Returns the delay before the given retry, counting from 1.
+     */
+    public long delayMillis(int retry) {
+        long delay = mBaseDelayMillis << Math.min(retry - 1, 30);
+        if (delay <= 0 || delay > mMaxDelayMillis) {
+            delay = mMaxDelayMillis;
+        }
+        if (mJitter && delay > 0) {
+            delay = (long) (mRandom.nextDouble() * delay);
+        }
+        return delay;
+    }
+
+}
@@ -0,0 +1,104 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.services.rx.RxCalendars;
+import me.rhespanhol.rxtraktjava.services.rx.RxCheckin;
+import me.rhespanhol.rxtraktjava.services.rx.RxComments;
+import me.rhespanhol.rxtraktjava.services.rx.RxEpisodes;
+import me.rhespanhol.rxtraktjava.services.rx.RxGenres;
+import me.rhespanhol.rxtraktjava.services.rx.RxMovies;
+import me.rhespanhol.rxtraktjava.services.rx.RxPeople;
+import me.rhespanhol.rxtraktjava.services.rx.RxRecommendations;
+import me.rhespanhol.rxtraktjava.services.rx.RxSearch;
+import me.rhespanhol.rxtraktjava.services.rx.RxSeasons;
+import me.rhespanhol.rxtraktjava.services.rx.RxShows;
+import me.rhespanhol.rxtraktjava.services.rx.RxSync;
+import me.rhespanhol.rxtraktjava.services.rx.RxUsers;
+import rx.Observable;
+import rx.Scheduler;
+
+/**
+ * Access to the {@link Observable} returning variants of all services, obtained with {@link Trakt#rx()} or {@link
+ * TraktSession#rx()}.
+ * <p>
+ * <p>Requests run when subscribed to, on the scheduler set with {@link Trakt#setScheduler(Scheduler)} if any.
+ * Unsubscribing before the response arrived cancels the request.
+ */
+public class TraktRx {
+
+    private final ServiceRegistry mServices;
+
+    TraktRx(ServiceRegistry services) {
+        this.mServices = services;
+    }
+
+    /**
+     * See {@link Trakt#calendars()}.
+     */
+    public RxCalendars calendars() {
+        return mServices.get(RxCalendars.class);
+    }
+
+    /**
+     * See {@link Trakt#checkin()}.
+     */
+    public RxCheckin checkin() {
+        return mServices.get(RxCheckin.class);
+    }
+
+    /**
+     * See {@link Trakt#comments()}.
+     */
+    public RxComments comments() {
+        return mServices.get(RxComments.class);
+    }
+
+    /**
+     * See {@link Trakt#genres()}.
+     */
+    public RxGenres genres() {
+        return mServices.get(RxGenres.class);
+    }
+
+    public RxMovies movies() {
+        return mServices.get(RxMovies.class);
+    }
+
+    public RxPeople people() {
+        return mServices.get(RxPeople.class);
+    }
+
+    /**
+     * See {@link Trakt#recommendations()}.
+     */
+    public RxRecommendations recommendations() {
+        return mServices.get(RxRecommendations.class);
+    }
+
+    /**
+     * See {@link Trakt#search()}.
+     */
+    public RxSearch search() {
+        return mServices.get(RxSearch.class);
+    }
+
+    public RxShows shows() {
+        return mServices.get(RxShows.class);
+    }
+
+    public RxSeasons seasons() {
+        return mServices.get(RxSeasons.class);
+    }
+
+    public RxEpisodes episodes() {
+        return mServices.get(RxEpisodes.class);
+    }
+
+    public RxSync sync() {
+        return mServices.get(RxSync.class);
+    }
+
+    public RxUsers users() {
+        return mServices.get(RxUsers.class);
+    }
+
+}
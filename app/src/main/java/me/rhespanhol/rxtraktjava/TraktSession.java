@@ -0,0 +1,364 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.adapters.Projection;
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import me.rhespanhol.rxtraktjava.services.Calendars;
+import me.rhespanhol.rxtraktjava.services.Checkin;
+import me.rhespanhol.rxtraktjava.services.Comments;
+import me.rhespanhol.rxtraktjava.services.Episodes;
+import me.rhespanhol.rxtraktjava.services.Genres;
+import me.rhespanhol.rxtraktjava.services.Movies;
+import me.rhespanhol.rxtraktjava.services.People;
+import me.rhespanhol.rxtraktjava.services.Recommendations;
+import me.rhespanhol.rxtraktjava.services.Search;
+import me.rhespanhol.rxtraktjava.services.Seasons;
+import me.rhespanhol.rxtraktjava.services.Shows;
+import me.rhespanhol.rxtraktjava.services.Sync;
+import me.rhespanhol.rxtraktjava.services.Users;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import rx.Single;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+
+/**
+ * A lightweight per-user handle on a shared {@link Trakt} instance.
+ * <p>
+ * <p>All sessions of one {@link Trakt} use its {@link OkHttpClient}, {@link Retrofit} instance and services, so they
+ * share a single connection pool, dispatcher, Gson instance and the parsed service methods. Only the credentials are
+ * per session: the services of a session are thin proxies that bind each call to the session, and the call factory
+ * of the {@link Trakt} instance tags the request of such a call with it. {@link TraktInterceptor} and {@link
+ * TraktAuthenticator} read the access token and refresh state from that tag instead of from the {@link Trakt}
+ * instance.
+ * <p>
+ * <p>Obtain a session with {@link Trakt#newSession(AccessToken)}.
+ */
+public class TraktSession {
+
+    /**
+     * Binds calls created while a session service is invoked to that session, add it before all other call adapter
+     * factories.
+     */
+    static final CallAdapter.Factory CALL_ADAPTER_FACTORY = new SessionCallAdapterFactory();
+
+    /** The session a call is invoked or executed for on this thread, read when its request is created. */
+    private static final ThreadLocal<TraktSession> CURRENT = new ThreadLocal<>();
+
+    private final Trakt mTrakt;
+    private final TraktTokenManager mTokenManager;
+
+    private final ServiceRegistry mServices = new ServiceRegistry() {
+        @Override
+        <T> T create(Class<T> service) {
+            return bind(service, mTrakt.sharedService(service));
+        }
+    };
+    private final TraktRx mRx = new TraktRx(mServices);
+
+    TraktSession(final Trakt trakt, AccessToken accessToken) {
+        this.mTrakt = trakt;
+        this.mTokenManager = new TraktTokenManager(new TraktTokenManager.Refresher() {
+            @Override
+            public Single<AccessToken> refreshAccessToken(String refreshToken) {
+                return trakt.refreshAccessToken(refreshToken);
+            }
+        });
+        this.mTokenManager.setAccessToken(accessToken);
+    }
+
+    /**
+     * Returns the session a request was created by, or {@code null} if it was made through the {@link Trakt}
+     * instance directly.
+     */
+    public static TraktSession from(Request request) {
+        Object tag = request.tag();
+        return tag instanceof TraktSession ? (TraktSession) tag : null;
+    }
+
+    public Trakt getTrakt() {
+        return mTrakt;
+    }
+
+    /**
+     * Sets the OAuth 2.0 access token of the user of this session.
+     */
+    public TraktSession setAccessToken(AccessToken accessToken) {
+        mTokenManager.setAccessToken(accessToken);
+        return this;
+    }
+
+    public AccessToken getAccessToken() {
+        return mTokenManager.getAccessToken();
+    }
+
+    public String getRefreshToken() {
+        AccessToken accessToken = getAccessToken();
+        return accessToken == null ? null : accessToken.refresh_token;
+    }
+
+    /**
+     * Returns the manager that refreshes the access token of this session.
+     */
+    public TraktTokenManager getTokenManager() {
+        return mTokenManager;
+    }
+
+    /**
+     * Request to refresh the expired access token of this session. See {@link Trakt#refreshAccessToken()}.
+     */
+    public Single<AccessToken> refreshAccessToken() {
+        return mTrakt.refreshAccessToken(getRefreshToken());
+    }
+
+    /**
+     * Returns a proxy of the given service that calls the shared service while this session is current, so the
+     * calls it creates are bound to this session.
+     */
+    private <T> T bind(Class<T> service, final T delegate) {
+        return service.cast(Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[] { service },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                        if (method.getDeclaringClass() == Object.class) {
+                            return method.invoke(this, args);
+                        }
+                        TraktSession previous = enter(TraktSession.this);
+                        try {
+                            return method.invoke(delegate, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            CURRENT.set(previous);
+                        }
+                    }
+                }));
+    }
+
+    private static TraktSession enter(TraktSession session) {
+        TraktSession previous = CURRENT.get();
+        CURRENT.set(session);
+        return previous;
+    }
+
+    /**
+     * Returns the {@link rx.Observable} returning variants of all services, sending the credentials of this session.
+     */
+    public TraktRx rx() {
+        return mRx;
+    }
+
+    /**
+     * Returns a service whose responses are parsed with the given projection, like {@link Trakt#service(Class,
+     * Projection)}, sending the credentials of this session.
+     */
+    public <T> T service(Class<T> service, Projection projection) {
+        return bind(service, mTrakt.service(service, projection));
+    }
+
+    /**
+     * See {@link Trakt#calendars()}.
+     */
+    public Calendars calendars() {
+        return mServices.get(Calendars.class);
+    }
+
+    /**
+     * See {@link Trakt#checkin()}.
+     */
+    public Checkin checkin() {
+        return mServices.get(Checkin.class);
+    }
+
+    /**
+     * See {@link Trakt#comments()}.
+     */
+    public Comments comments() {
+        return mServices.get(Comments.class);
+    }
+
+    /**
+     * See {@link Trakt#genres()}.
+     */
+    public Genres genres() {
+        return mServices.get(Genres.class);
+    }
+
+    public Movies movies() {
+        return mServices.get(Movies.class);
+    }
+
+    public People people() {
+        return mServices.get(People.class);
+    }
+
+    /**
+     * See {@link Trakt#recommendations()}.
+     */
+    public Recommendations recommendations() {
+        return mServices.get(Recommendations.class);
+    }
+
+    /**
+     * See {@link Trakt#search()}.
+     */
+    public Search search() {
+        return mServices.get(Search.class);
+    }
+
+    public Shows shows() {
+        return mServices.get(Shows.class);
+    }
+
+    public Seasons seasons() {
+        return mServices.get(Seasons.class);
+    }
+
+    public Episodes episodes() {
+        return mServices.get(Episodes.class);
+    }
+
+    public Sync sync() {
+        return mServices.get(Sync.class);
+    }
+
+    public Users users() {
+        return mServices.get(Users.class);
+    }
+
+    /**
+     * Tags requests created while a session is current with that session, other requests are passed on unchanged.
+     */
+    static final class TaggingCallFactory implements okhttp3.Call.Factory {
+
+        private final okhttp3.Call.Factory mCallFactory;
+
+        TaggingCallFactory(okhttp3.Call.Factory callFactory) {
+            this.mCallFactory = callFactory;
+        }
+
+        @Override
+        public okhttp3.Call newCall(Request request) {
+            TraktSession session = CURRENT.get();
+            if (session != null && from(request) == null) {
+                request = request.newBuilder().tag(session).build();
+            }
+            return mCallFactory.newCall(request);
+        }
+
+    }
+
+    /**
+     * Wraps the calls of services invoked while a session is current, see {@link #bind(Class, Object)}, before the
+     * next call adapter sees them.
+     */
+    private static final class SessionCallAdapterFactory extends CallAdapter.Factory {
+
+        @Override
+        public CallAdapter<?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+            final CallAdapter<?> delegate = retrofit.nextCallAdapter(this, returnType, annotations);
+            return new CallAdapter<Object>() {
+                @Override
+                public Type responseType() {
+                    return delegate.responseType();
+                }
+
+                @Override
+                public <R> Object adapt(Call<R> call) {
+                    TraktSession session = CURRENT.get();
+                    return delegate.adapt(session == null ? call : new SessionCall<>(call, session));
+                }
+            };
+        }
+
+    }
+
+    /**
+     * Makes its session current while the request of the wrapped call is created. Retrofit creates it synchronously
+     * in {@link #execute()}, {@link #enqueue(Callback)} and {@link #request()}, also for clones made by the RxJava
+     * call adapter on subscribe.
+     */
+    private static final class SessionCall<T> implements Call<T> {
+
+        private final Call<T> mDelegate;
+        private final TraktSession mSession;
+
+        SessionCall(Call<T> delegate, TraktSession session) {
+            this.mDelegate = delegate;
+            this.mSession = session;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            TraktSession previous = enter(mSession);
+            try {
+                return mDelegate.execute();
+            } finally {
+                CURRENT.set(previous);
+            }
+        }
+
+        @Override
+        public void enqueue(final Callback<T> callback) {
+            TraktSession previous = enter(mSession);
+            try {
+                mDelegate.enqueue(new Callback<T>() {
+                    @Override
+                    public void onResponse(Call<T> call, Response<T> response) {
+                        callback.onResponse(SessionCall.this, response);
+                    }
+
+                    @Override
+                    public void onFailure(Call<T> call, Throwable t) {
+                        callback.onFailure(SessionCall.this, t);
+                    }
+                });
+            } finally {
+                CURRENT.set(previous);
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mDelegate.isExecuted();
+        }
+
+        @Override
+        public void cancel() {
+            mDelegate.cancel();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mDelegate.isCanceled();
+        }
+
+        @SuppressWarnings("CloneDoesntCallSuperClone")
+        @Override
+        public Call<T> clone() {
+            return new SessionCall<>(mDelegate.clone(), mSession);
+        }
+
+        @Override
+        public Request request() {
+            TraktSession previous = enter(mSession);
+            try {
+                return mDelegate.request();
+            } finally {
+                CURRENT.set(previous);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,240 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import rx.Single;
+import rx.functions.Action1;
+import rx.schedulers.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the OAuth 2.0 access token of one user and refreshes it.
+ * <p>
+ * <p>Refreshes are single-flight: if several requests need a new token at the same time only the first one sends a
+ * refresh request, the others wait until it finished and then use its result.
+ * <p>
+ * <p>If the token has an {@link AccessToken#expires_in} the manager also refreshes it before it expires. Within the
+ * refresh window (see {@link #setRefreshWindow(long, TimeUnit)}) requests keep using the current token while a
+ * refresh runs in the background; once the token has expired requests wait for the refresh instead of sending a token
+ * that is known to fail.
+ * <p>
+ * <p>After a refresh failed no other refresh is sent for a minute, requests meanwhile use the current token.
+ */
+public class TraktTokenManager {
+
+    public static final long DEFAULT_REFRESH_WINDOW_MILLIS = TimeUnit.DAYS.toMillis(1);
+    /** Wait at least this long before retrying a failed refresh. */
+    private static final long RETRY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Sends the actual refresh request, usually {@link Trakt#refreshAccessToken(String)}.
+     */
+    public interface Refresher {
+
+        Single<AccessToken> refreshAccessToken(String refreshToken);
+
+    }
+
+    public interface Listener {
+
+        /**
+         * Called after a new access token was obtained. Store it together with its refresh token, they replace the
+         * previous ones.
+         */
+        void onAccessTokenRefreshed(AccessToken accessToken);
+
+    }
+
+    private final Refresher mRefresher;
+    private final Object mLock = new Object();
+
+    // guarded by mLock
+    private AccessToken mAccessToken;
+    private long mIssuedAtMillis;
+    private boolean mRefreshing;
+    private long mRefreshCount;
+    private long mNextRefreshMillis;
+
+    private volatile long mRefreshWindowMillis = DEFAULT_REFRESH_WINDOW_MILLIS;
+    private volatile Listener mListener;
+
+    public TraktTokenManager(Refresher refresher) {
+        this.mRefresher = Utils.checkNotNull(refresher, "refresher == null");
+    }
+
+    /**
+     * Sets the access token to send with requests. Its {@link AccessToken#expires_in} counts from now.
+     */
+    public void setAccessToken(AccessToken accessToken) {
+        synchronized (mLock) {
+            mAccessToken = accessToken;
+            mIssuedAtMillis = System.currentTimeMillis();
+            mNextRefreshMillis = 0;
+        }
+    }
+
+    public AccessToken getAccessToken() {
+        synchronized (mLock) {
+            return mAccessToken;
+        }
+    }
+
+    /**
+     * Sets how long before expiry the token is refreshed in the background. At most half of the token lifetime is used.
+     */
+    public void setRefreshWindow(long duration, TimeUnit unit) {
+        mRefreshWindowMillis = unit.toMillis(duration);
+    }
+
+    public void setListener(Listener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * Returns the access token to send with a request. If it has expired, waits for a refresh, shared with all other
+     * callers, unless a refresh failed recently. If it expires soon, starts a refresh in the background and returns
+     * the current token.
+     *
+     * @return The token to use, or {@code null} if there is none.
+     */
+    public AccessToken getValidAccessToken() {
+        AccessToken accessToken;
+        long now = System.currentTimeMillis();
+        boolean expired;
+        synchronized (mLock) {
+            accessToken = mAccessToken;
+            if (!canRefresh(accessToken) || accessToken.expires_in == null) {
+                return accessToken;
+            }
+            long lifetimeMillis = TimeUnit.SECONDS.toMillis(accessToken.expires_in);
+            long expiresAtMillis = mIssuedAtMillis + lifetimeMillis;
+            long refreshAtMillis = expiresAtMillis - Math.min(mRefreshWindowMillis, lifetimeMillis / 2);
+            if (now < refreshAtMillis) {
+                return accessToken;
+            }
+            expired = now >= expiresAtMillis;
+            if (!expired && (mRefreshing || now < mNextRefreshMillis)) {
+                return accessToken;
+            }
+            if (!expired) {
+                mRefreshing = true;
+            }
+        }
+
+        if (expired) {
+            AccessToken refreshed = refresh(accessToken.access_token);
+            return refreshed != null ? refreshed : accessToken;
+        }
+        refreshInBackground(accessToken);
+        return accessToken;
+    }
+
+    /**
+     * Refreshes the access token after a request using {@code failedAccessToken} was rejected. Blocks until the
+     * refresh finished.
+     * <p>
+     * <p>If another thread is refreshing already, waits for its result instead of refreshing again. If the token was
+     * already replaced since {@code failedAccessToken} was sent, returns the new token right away. If a refresh failed
+     * less than a minute ago, returns {@code null} right away.
+     *
+     * @return The new access token, or {@code null} if it could not be refreshed.
+     */
+    public AccessToken refresh(String failedAccessToken) {
+        AccessToken accessToken;
+        synchronized (mLock) {
+            if (mRefreshing) {
+                long refreshCount = mRefreshCount;
+                try {
+                    while (mRefreshing && refreshCount == mRefreshCount) {
+                        mLock.wait();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                return isReplaced(mAccessToken, failedAccessToken) ? mAccessToken : null;
+            }
+            if (isReplaced(mAccessToken, failedAccessToken)) {
+                return mAccessToken;
+            }
+            if (System.currentTimeMillis() < mNextRefreshMillis) {
+                return null; // the last refresh failed, do not send one for every request
+            }
+            accessToken = mAccessToken;
+            if (!canRefresh(accessToken)) {
+                return null;
+            }
+            mRefreshing = true;
+        }
+
+        AccessToken refreshed = null;
+        try {
+            refreshed = mRefresher.refreshAccessToken(accessToken.refresh_token)
+                    .toObservable()
+                    .toBlocking()
+                    .first();
+        } catch (RuntimeException e) {
+            // refresh failed, re-authorization is required
+        }
+        return onRefreshFinished(refreshed);
+    }
+
+    private void refreshInBackground(AccessToken accessToken) {
+        Single<AccessToken> refresh;
+        try {
+            refresh = mRefresher.refreshAccessToken(accessToken.refresh_token);
+        } catch (RuntimeException e) {
+            onRefreshFinished(null);
+            return;
+        }
+        refresh.subscribeOn(Schedulers.io())
+                .subscribe(new Action1<AccessToken>() {
+                    @Override
+                    public void call(AccessToken refreshed) {
+                        onRefreshFinished(refreshed);
+                    }
+                }, new Action1<Throwable>() {
+                    @Override
+                    public void call(Throwable throwable) {
+                        onRefreshFinished(null);
+                    }
+                });
+    }
+
+    /**
+     * Publishes the result of a refresh and wakes up waiting requests.
+     *
+     * @return The new access token, or {@code null} if the refresh failed.
+     */
+    private AccessToken onRefreshFinished(AccessToken refreshed) {
+        synchronized (mLock) {
+            if (refreshed != null && refreshed.access_token != null) {
+                mAccessToken = refreshed;
+                mIssuedAtMillis = System.currentTimeMillis();
+                mNextRefreshMillis = 0;
+            } else {
+                refreshed = null;
+                mNextRefreshMillis = System.currentTimeMillis() + RETRY_MILLIS;
+            }
+            mRefreshing = false;
+            mRefreshCount++;
+            mLock.notifyAll();
+        }
+        Listener listener = mListener;
+        if (refreshed != null && listener != null) {
+            listener.onAccessTokenRefreshed(refreshed);
+        }
+        return refreshed;
+    }
+
+    private static boolean canRefresh(AccessToken accessToken) {
+        return accessToken != null && accessToken.refresh_token != null
+                && accessToken.refresh_token.length() != 0;
+    }
+
+    private static boolean isReplaced(AccessToken current, String failedAccessToken) {
+        return current != null && current.access_token != null
+                && !current.access_token.equals(failedAccessToken);
+    }
+
+}
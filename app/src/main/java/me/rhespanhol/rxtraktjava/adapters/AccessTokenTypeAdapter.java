@@ -0,0 +1,74 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class AccessTokenTypeAdapter extends TypeAdapter<AccessToken> {
+
+    private final Set<String> mFields;
+
+    AccessTokenTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, AccessToken value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("access_token").value(value.access_token);
+        out.name("token_type").value(value.token_type);
+        out.name("expires_in").value(value.expires_in);
+        out.name("refresh_token").value(value.refresh_token);
+        out.name("scope").value(value.scope);
+        out.endObject();
+    }
+
+    @Override
+    public AccessToken read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        AccessToken value = new AccessToken();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "access_token":
+                    value.access_token = Adapters.readString(in);
+                    break;
+                case "token_type":
+                    value.token_type = Adapters.readString(in);
+                    break;
+                case "expires_in":
+                    value.expires_in = Adapters.readInteger(in);
+                    break;
+                case "refresh_token":
+                    value.refresh_token = Adapters.readString(in);
+                    break;
+                case "scope":
+                    value.scope = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,62 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Account;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class AccountTypeAdapter extends TypeAdapter<Account> {
+
+    private final Set<String> mFields;
+
+    AccountTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Account value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("timezone").value(value.timezone);
+        out.name("cover_image").value(value.cover_image);
+        out.endObject();
+    }
+
+    @Override
+    public Account read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Account value = new Account();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "timezone":
+                    value.timezone = Adapters.readString(in);
+                    break;
+                case "cover_image":
+                    value.cover_image = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,66 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Airs;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class AirsTypeAdapter extends TypeAdapter<Airs> {
+
+    private final Set<String> mFields;
+
+    AirsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Airs value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("day").value(value.day);
+        out.name("time").value(value.time);
+        out.name("timezone").value(value.timezone);
+        out.endObject();
+    }
+
+    @Override
+    public Airs read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Airs value = new Airs();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "day":
+                    value.day = Adapters.readString(in);
+                    break;
+                case "time":
+                    value.time = Adapters.readString(in);
+                    break;
+                case "timezone":
+                    value.timezone = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
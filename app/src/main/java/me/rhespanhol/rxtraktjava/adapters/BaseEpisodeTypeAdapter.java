@@ -0,0 +1,77 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.BaseEpisode;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class BaseEpisodeTypeAdapter extends TypeAdapter<BaseEpisode> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final Set<String> mFields;
+
+    BaseEpisodeTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, BaseEpisode value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("number").value(value.number);
+        mDateTimeAdapter.write(out.name("collected_at"), value.collected_at);
+        out.name("plays").value(value.plays);
+        mDateTimeAdapter.write(out.name("last_watched_at"), value.last_watched_at);
+        Adapters.writeBoolean(out.name("completed"), value.completed);
+        out.endObject();
+    }
+
+    @Override
+    public BaseEpisode read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        BaseEpisode value = new BaseEpisode();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "number":
+                    value.number = Adapters.readInteger(in);
+                    break;
+                case "collected_at":
+                    value.collected_at = mDateTimeAdapter.read(in);
+                    break;
+                case "plays":
+                    value.plays = Adapters.readInteger(in);
+                    break;
+                case "last_watched_at":
+                    value.last_watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "completed":
+                    value.completed = Adapters.readBoolean(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,80 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.BaseMovie;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class BaseMovieTypeAdapter extends TypeAdapter<BaseMovie> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final Set<String> mFields;
+
+    BaseMovieTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, BaseMovie value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        mDateTimeAdapter.write(out.name("collected_at"), value.collected_at);
+        mDateTimeAdapter.write(out.name("last_watched_at"), value.last_watched_at);
+        mDateTimeAdapter.write(out.name("listed_at"), value.listed_at);
+        out.name("plays").value(value.plays);
+        out.endObject();
+    }
+
+    @Override
+    public BaseMovie read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        BaseMovie value = new BaseMovie();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                case "collected_at":
+                    value.collected_at = mDateTimeAdapter.read(in);
+                    break;
+                case "last_watched_at":
+                    value.last_watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "listed_at":
+                    value.listed_at = mDateTimeAdapter.read(in);
+                    break;
+                case "plays":
+                    value.plays = Adapters.readInt(in, value.plays);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
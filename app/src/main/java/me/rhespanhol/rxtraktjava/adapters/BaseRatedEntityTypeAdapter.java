@@ -0,0 +1,68 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.BaseRatedEntity;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class BaseRatedEntityTypeAdapter extends TypeAdapter<BaseRatedEntity> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Rating> mRatingAdapter;
+    private final Set<String> mFields;
+
+    BaseRatedEntityTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mRatingAdapter = gson.getAdapter(Rating.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, BaseRatedEntity value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("rated_at"), value.rated_at);
+        mRatingAdapter.write(out.name("rating"), value.rating);
+        out.endObject();
+    }
+
+    @Override
+    public BaseRatedEntity read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        BaseRatedEntity value = new BaseRatedEntity();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "rated_at":
+                    value.rated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rating":
+                    value.rating = mRatingAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
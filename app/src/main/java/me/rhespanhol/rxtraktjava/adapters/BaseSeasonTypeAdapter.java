@@ -0,0 +1,74 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.BaseEpisode;
+import me.rhespanhol.rxtraktjava.entities.BaseSeason;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+final class BaseSeasonTypeAdapter extends TypeAdapter<BaseSeason> {
+
+    private final TypeAdapter<BaseEpisode> mBaseEpisodeAdapter;
+    private final Set<String> mFields;
+
+    BaseSeasonTypeAdapter(Gson gson, Set<String> fields) {
+        this.mBaseEpisodeAdapter = gson.getAdapter(BaseEpisode.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, BaseSeason value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("number").value(value.number);
+        Adapters.writeList(out.name("episodes"), value.episodes, mBaseEpisodeAdapter);
+        out.name("aired").value(value.aired);
+        out.name("completed").value(value.completed);
+        out.endObject();
+    }
+
+    @Override
+    public BaseSeason read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        BaseSeason value = new BaseSeason();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "number":
+                    value.number = Adapters.readInteger(in);
+                    break;
+                case "episodes":
+                    value.episodes = Adapters.readList(in, mBaseEpisodeAdapter);
+                    break;
+                case "aired":
+                    value.aired = Adapters.readInteger(in);
+                    break;
+                case "completed":
+                    value.completed = Adapters.readInteger(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,110 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.BaseSeason;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.Season;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+final class BaseShowTypeAdapter extends TypeAdapter<BaseShow> {
+
+    private final TypeAdapter<BaseSeason> mBaseSeasonAdapter;
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Episode> mEpisodeAdapter;
+    private final TypeAdapter<Season> mSeasonAdapter;
+    private final TypeAdapter<Show> mShowAdapter;
+    private final Set<String> mFields;
+
+    BaseShowTypeAdapter(Gson gson, Set<String> fields) {
+        this.mBaseSeasonAdapter = gson.getAdapter(BaseSeason.class);
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mEpisodeAdapter = gson.getAdapter(Episode.class);
+        this.mSeasonAdapter = gson.getAdapter(Season.class);
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, BaseShow value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mShowAdapter.write(out.name("show"), value.show);
+        Adapters.writeList(out.name("seasons"), value.seasons, mBaseSeasonAdapter);
+        mDateTimeAdapter.write(out.name("last_collected_at"), value.last_collected_at);
+        mDateTimeAdapter.write(out.name("listed_at"), value.listed_at);
+        out.name("plays").value(value.plays);
+        mDateTimeAdapter.write(out.name("last_watched_at"), value.last_watched_at);
+        out.name("aired").value(value.aired);
+        out.name("completed").value(value.completed);
+        Adapters.writeList(out.name("hidden_seasons"), value.hidden_seasons, mSeasonAdapter);
+        mEpisodeAdapter.write(out.name("next_episode"), value.next_episode);
+        out.endObject();
+    }
+
+    @Override
+    public BaseShow read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        BaseShow value = new BaseShow();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                case "seasons":
+                    value.seasons = Adapters.readList(in, mBaseSeasonAdapter);
+                    break;
+                case "last_collected_at":
+                    value.last_collected_at = mDateTimeAdapter.read(in);
+                    break;
+                case "listed_at":
+                    value.listed_at = mDateTimeAdapter.read(in);
+                    break;
+                case "plays":
+                    value.plays = Adapters.readInteger(in);
+                    break;
+                case "last_watched_at":
+                    value.last_watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "aired":
+                    value.aired = Adapters.readInteger(in);
+                    break;
+                case "completed":
+                    value.completed = Adapters.readInteger(in);
+                    break;
+                case "hidden_seasons":
+                    value.hidden_seasons = Adapters.readList(in, mSeasonAdapter);
+                    break;
+                case "next_episode":
+                    value.next_episode = mEpisodeAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,68 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.CalendarMovieEntry;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class CalendarMovieEntryTypeAdapter extends TypeAdapter<CalendarMovieEntry> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final Set<String> mFields;
+
+    CalendarMovieEntryTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, CalendarMovieEntry value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("released"), value.released);
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        out.endObject();
+    }
+
+    @Override
+    public CalendarMovieEntry read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        CalendarMovieEntry value = new CalendarMovieEntry();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "released":
+                    value.released = mDateTimeAdapter.read(in);
+                    break;
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,75 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.CalendarShowEntry;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class CalendarShowEntryTypeAdapter extends TypeAdapter<CalendarShowEntry> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Episode> mEpisodeAdapter;
+    private final TypeAdapter<Show> mShowAdapter;
+    private final Set<String> mFields;
+
+    CalendarShowEntryTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mEpisodeAdapter = gson.getAdapter(Episode.class);
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, CalendarShowEntry value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("first_aired"), value.first_aired);
+        mEpisodeAdapter.write(out.name("episode"), value.episode);
+        mShowAdapter.write(out.name("show"), value.show);
+        out.endObject();
+    }
+
+    @Override
+    public CalendarShowEntry read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        CalendarShowEntry value = new CalendarShowEntry();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "first_aired":
+                    value.first_aired = mDateTimeAdapter.read(in);
+                    break;
+                case "episode":
+                    value.episode = mEpisodeAdapter.read(in);
+                    break;
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
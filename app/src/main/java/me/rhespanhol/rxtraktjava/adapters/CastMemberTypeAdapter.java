@@ -0,0 +1,79 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.CastMember;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.Person;
+import me.rhespanhol.rxtraktjava.entities.Show;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class CastMemberTypeAdapter extends TypeAdapter<CastMember> {
+
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final TypeAdapter<Person> mPersonAdapter;
+    private final TypeAdapter<Show> mShowAdapter;
+    private final Set<String> mFields;
+
+    CastMemberTypeAdapter(Gson gson, Set<String> fields) {
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mPersonAdapter = gson.getAdapter(Person.class);
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, CastMember value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("character").value(value.character);
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        mShowAdapter.write(out.name("show"), value.show);
+        mPersonAdapter.write(out.name("person"), value.person);
+        out.endObject();
+    }
+
+    @Override
+    public CastMember read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        CastMember value = new CastMember();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "character":
+                    value.character = Adapters.readString(in);
+                    break;
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                case "person":
+                    value.person = mPersonAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
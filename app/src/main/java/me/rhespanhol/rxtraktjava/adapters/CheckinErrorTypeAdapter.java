@@ -0,0 +1,61 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.CheckinError;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class CheckinErrorTypeAdapter extends TypeAdapter<CheckinError> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final Set<String> mFields;
+
+    CheckinErrorTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, CheckinError value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("expires_at"), value.expires_at);
+        out.endObject();
+    }
+
+    @Override
+    public CheckinError read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        CheckinError value = new CheckinError();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "expires_at":
+                    value.expires_at = mDateTimeAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,113 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Comment;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.entities.User;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class CommentTypeAdapter extends TypeAdapter<Comment> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Episode> mEpisodeAdapter;
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final TypeAdapter<Show> mShowAdapter;
+    private final TypeAdapter<User> mUserAdapter;
+    private final Set<String> mFields;
+
+    CommentTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mEpisodeAdapter = gson.getAdapter(Episode.class);
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mUserAdapter = gson.getAdapter(User.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Comment value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(value.id);
+        out.name("parent_id").value(value.parent_id);
+        mDateTimeAdapter.write(out.name("created_at"), value.created_at);
+        out.name("comment").value(value.comment);
+        Adapters.writeBoolean(out.name("spoiler"), value.spoiler);
+        Adapters.writeBoolean(out.name("review"), value.review);
+        out.name("replies").value(value.replies);
+        mUserAdapter.write(out.name("user"), value.user);
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        mShowAdapter.write(out.name("show"), value.show);
+        mEpisodeAdapter.write(out.name("episode"), value.episode);
+        out.endObject();
+    }
+
+    @Override
+    public Comment read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Comment value = new Comment();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    value.id = Adapters.readInteger(in);
+                    break;
+                case "parent_id":
+                    value.parent_id = Adapters.readInteger(in);
+                    break;
+                case "created_at":
+                    value.created_at = mDateTimeAdapter.read(in);
+                    break;
+                case "comment":
+                    value.comment = Adapters.readString(in);
+                    break;
+                case "spoiler":
+                    value.spoiler = Adapters.readBoolean(in);
+                    break;
+                case "review":
+                    value.review = Adapters.readBoolean(in);
+                    break;
+                case "replies":
+                    value.replies = Adapters.readInteger(in);
+                    break;
+                case "user":
+                    value.user = mUserAdapter.read(in);
+                    break;
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                case "episode":
+                    value.episode = mEpisodeAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
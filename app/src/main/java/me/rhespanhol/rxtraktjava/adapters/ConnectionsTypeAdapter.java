@@ -0,0 +1,66 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Connections;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class ConnectionsTypeAdapter extends TypeAdapter<Connections> {
+
+    private final Set<String> mFields;
+
+    ConnectionsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Connections value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        Adapters.writeBoolean(out.name("facebook"), value.facebook);
+        Adapters.writeBoolean(out.name("twitter"), value.twitter);
+        Adapters.writeBoolean(out.name("tumblr"), value.tumblr);
+        out.endObject();
+    }
+
+    @Override
+    public Connections read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Connections value = new Connections();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "facebook":
+                    value.facebook = Adapters.readBoolean(in);
+                    break;
+                case "twitter":
+                    value.twitter = Adapters.readBoolean(in);
+                    break;
+                case "tumblr":
+                    value.tumblr = Adapters.readBoolean(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,69 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.CastMember;
+import me.rhespanhol.rxtraktjava.entities.Credits;
+import me.rhespanhol.rxtraktjava.entities.Crew;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+final class CreditsTypeAdapter extends TypeAdapter<Credits> {
+
+    private final TypeAdapter<CastMember> mCastMemberAdapter;
+    private final TypeAdapter<Crew> mCrewAdapter;
+    private final Set<String> mFields;
+
+    CreditsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mCastMemberAdapter = gson.getAdapter(CastMember.class);
+        this.mCrewAdapter = gson.getAdapter(Crew.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Credits value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        Adapters.writeList(out.name("cast"), value.cast, mCastMemberAdapter);
+        mCrewAdapter.write(out.name("crew"), value.crew);
+        out.endObject();
+    }
+
+    @Override
+    public Credits read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Credits value = new Credits();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "cast":
+                    value.cast = Adapters.readList(in, mCastMemberAdapter);
+                    break;
+                case "crew":
+                    value.crew = mCrewAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
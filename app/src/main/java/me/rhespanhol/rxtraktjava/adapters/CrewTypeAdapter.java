@@ -0,0 +1,87 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Crew;
+import me.rhespanhol.rxtraktjava.entities.CrewMember;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+final class CrewTypeAdapter extends TypeAdapter<Crew> {
+
+    private final TypeAdapter<CrewMember> mCrewMemberAdapter;
+    private final Set<String> mFields;
+
+    CrewTypeAdapter(Gson gson, Set<String> fields) {
+        this.mCrewMemberAdapter = gson.getAdapter(CrewMember.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Crew value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        Adapters.writeList(out.name("writing"), value.writing, mCrewMemberAdapter);
+        Adapters.writeList(out.name("production"), value.production, mCrewMemberAdapter);
+        Adapters.writeList(out.name("directing"), value.directing, mCrewMemberAdapter);
+        Adapters.writeList(out.name("costume & make-up"), value.costumeAndMakeUp,
+                mCrewMemberAdapter);
+        Adapters.writeList(out.name("art"), value.art, mCrewMemberAdapter);
+        Adapters.writeList(out.name("sound"), value.sound, mCrewMemberAdapter);
+        Adapters.writeList(out.name("camera"), value.camera, mCrewMemberAdapter);
+        out.endObject();
+    }
+
+    @Override
+    public Crew read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Crew value = new Crew();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "writing":
+                    value.writing = Adapters.readList(in, mCrewMemberAdapter);
+                    break;
+                case "production":
+                    value.production = Adapters.readList(in, mCrewMemberAdapter);
+                    break;
+                case "directing":
+                    value.directing = Adapters.readList(in, mCrewMemberAdapter);
+                    break;
+                case "costume & make-up":
+                    value.costumeAndMakeUp = Adapters.readList(in, mCrewMemberAdapter);
+                    break;
+                case "art":
+                    value.art = Adapters.readList(in, mCrewMemberAdapter);
+                    break;
+                case "sound":
+                    value.sound = Adapters.readList(in, mCrewMemberAdapter);
+                    break;
+                case "camera":
+                    value.camera = Adapters.readList(in, mCrewMemberAdapter);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,200 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link DateTime}s in the format trakt uses for all timestamps, ISO 8601 with milliseconds in Zulu
+ * time (UTC), for example {@code 2014-09-01T09:10:11.000Z}.
+ * <p>
+ * <p>Timestamps in exactly this format are converted with plain arithmetic instead of a Joda {@link
+ * DateTimeFormatter}, which matters for history and watched lists with tens of thousands of them. Anything else, like
+ * the date only {@code released} of movies or an offset other than {@code Z}, falls back to the Joda ISO parser.
+ */
+public class DateTimeTypeAdapter extends TypeAdapter<DateTime> {
+
+    private static final DateTimeFormatter ISO_8601_PARSER = ISODateTimeFormat.dateTimeParser().withZoneUTC();
+    private static final DateTimeFormatter ISO_8601_PRINTER = ISODateTimeFormat.dateTime().withZoneUTC();
+
+    private static final long MILLIS_PER_DAY = 86400000L;
+    private static final int[] DAYS_IN_MONTH = {31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    @Override
+    public void write(JsonWriter out, DateTime value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(format(value.getMillis()));
+        }
+    }
+
+    @Override
+    public DateTime read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String value = in.nextString();
+        try {
+            return new DateTime(parseMillis(value), DateTimeZone.UTC);
+        } catch (IllegalArgumentException e) {
+            throw new JsonSyntaxException(value, e);
+        }
+    }
+
+    /**
+     * Parses an ISO 8601 timestamp to milliseconds since the epoch.
+     *
+     * @throws IllegalArgumentException If the value is not a valid ISO 8601 date or timestamp.
+     */
+    public static long parseMillis(String value) {
+        long millis = parseZuluMillis(value);
+        if (millis != Long.MIN_VALUE) {
+            return millis;
+        }
+        return ISO_8601_PARSER.parseMillis(value);
+    }
+
+    /**
+     * Formats milliseconds since the epoch as {@code yyyy-MM-ddTHH:mm:ss.SSSZ} in UTC.
+     */
+    public static String format(long millis) {
+        long days = floorDiv(millis, MILLIS_PER_DAY);
+        int millisOfDay = (int) (millis - days * MILLIS_PER_DAY);
+
+        // civil date from days since the epoch, see http://howardhinnant.github.io/date_algorithms.html
+        long z = days + 719468;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            return ISO_8601_PRINTER.print(millis);
+        }
+
+        char[] chars = new char[24];
+        write4(chars, 0, (int) year);
+        chars[4] = '-';
+        write2(chars, 5, month);
+        chars[7] = '-';
+        write2(chars, 8, day);
+        chars[10] = 'T';
+        write2(chars, 11, millisOfDay / 3600000);
+        chars[13] = ':';
+        write2(chars, 14, millisOfDay / 60000 % 60);
+        chars[16] = ':';
+        write2(chars, 17, millisOfDay / 1000 % 60);
+        chars[19] = '.';
+        int millisOfSecond = millisOfDay % 1000;
+        chars[20] = (char) ('0' + millisOfSecond / 100);
+        write2(chars, 21, millisOfSecond % 100);
+        chars[23] = 'Z';
+        return new String(chars);
+    }
+
+    /**
+     * Parses {@code yyyy-MM-ddTHH:mm:ss[.fraction]Z}.
+     *
+     * @return The milliseconds since the epoch, or {@link Long#MIN_VALUE} if the value has a different format or is
+     * out of range.
+     */
+    private static long parseZuluMillis(String value) {
+        int length = value.length();
+        if (length < 20 || value.charAt(length - 1) != 'Z'
+                || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'
+                || value.charAt(13) != ':' || value.charAt(16) != ':') {
+            return Long.MIN_VALUE;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 2);
+        int day = digits(value, 8, 2);
+        int hour = digits(value, 11, 2);
+        int minute = digits(value, 14, 2);
+        int second = digits(value, 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > DAYS_IN_MONTH[month - 1]
+                || (month == 2 && day == 29 && !isLeapYear(year))
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+
+        int millisOfSecond = 0;
+        if (length > 20) {
+            // fraction of 1 to 9 digits, only milliseconds are kept
+            int fractionLength = length - 21;
+            if (value.charAt(19) != '.' || fractionLength < 1 || fractionLength > 9) {
+                return Long.MIN_VALUE;
+            }
+            int fraction = digits(value, 20, fractionLength);
+            if (fraction < 0) {
+                return Long.MIN_VALUE;
+            }
+            for (int i = fractionLength; i < 3; i++) {
+                fraction *= 10;
+            }
+            for (int i = fractionLength; i > 3; i--) {
+                fraction /= 10;
+            }
+            millisOfSecond = fraction;
+        }
+
+        // days since the epoch from the civil date, see http://howardhinnant.github.io/date_algorithms.html
+        int y = month <= 2 ? year - 1 : year;
+        int era = (y >= 0 ? y : y - 399) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        long days = era * 146097L + dayOfEra - 719468;
+        return days * MILLIS_PER_DAY + hour * 3600000L + minute * 60000L + second * 1000L + millisOfSecond;
+    }
+
+    /**
+     * Returns the number made of the digits at the given position, or -1 if there is a non-digit.
+     */
+    private static int digits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+    }
+
+    private static long floorDiv(long x, long y) {
+        long quotient = x / y;
+        if ((x % y != 0) && ((x < 0) != (y < 0))) {
+            quotient--;
+        }
+        return quotient;
+    }
+
+    private static void write2(char[] chars, int offset, int value) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+
+    private static void write4(char[] chars, int offset, int value) {
+        write2(chars, offset, value / 100);
+        write2(chars, offset + 2, value % 100);
+    }
+
+}
@@ -0,0 +1,82 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.EpisodeCheckinResponse;
+import me.rhespanhol.rxtraktjava.entities.ShareSettings;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class EpisodeCheckinResponseTypeAdapter extends TypeAdapter<EpisodeCheckinResponse> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Episode> mEpisodeAdapter;
+    private final TypeAdapter<ShareSettings> mShareSettingsAdapter;
+    private final TypeAdapter<Show> mShowAdapter;
+    private final Set<String> mFields;
+
+    EpisodeCheckinResponseTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mEpisodeAdapter = gson.getAdapter(Episode.class);
+        this.mShareSettingsAdapter = gson.getAdapter(ShareSettings.class);
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, EpisodeCheckinResponse value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("watched_at"), value.watched_at);
+        mShareSettingsAdapter.write(out.name("sharing"), value.sharing);
+        mEpisodeAdapter.write(out.name("episode"), value.episode);
+        mShowAdapter.write(out.name("show"), value.show);
+        out.endObject();
+    }
+
+    @Override
+    public EpisodeCheckinResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        EpisodeCheckinResponse value = new EpisodeCheckinResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "watched_at":
+                    value.watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "sharing":
+                    value.sharing = mShareSettingsAdapter.read(in);
+                    break;
+                case "episode":
+                    value.episode = mEpisodeAdapter.read(in);
+                    break;
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,74 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.EpisodeIds;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class EpisodeIdsTypeAdapter extends TypeAdapter<EpisodeIds> {
+
+    private final Set<String> mFields;
+
+    EpisodeIdsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, EpisodeIds value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("trakt").value(value.trakt);
+        out.name("imdb").value(value.imdb);
+        out.name("tmdb").value(value.tmdb);
+        out.name("tvdb").value(value.tvdb);
+        out.name("tvrage").value(value.tvrage);
+        out.endObject();
+    }
+
+    @Override
+    public EpisodeIds read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        EpisodeIds value = new EpisodeIds();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "trakt":
+                    value.trakt = Adapters.readInteger(in);
+                    break;
+                case "imdb":
+                    value.imdb = Adapters.readString(in);
+                    break;
+                case "tmdb":
+                    value.tmdb = Adapters.readInteger(in);
+                    break;
+                case "tvdb":
+                    value.tvdb = Adapters.readInteger(in);
+                    break;
+                case "tvrage":
+                    value.tvrage = Adapters.readInteger(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,115 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.EpisodeIds;
+import me.rhespanhol.rxtraktjava.entities.Images;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+final class EpisodeTypeAdapter extends TypeAdapter<Episode> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<EpisodeIds> mEpisodeIdsAdapter;
+    private final TypeAdapter<Images> mImagesAdapter;
+    private final TypeAdapter<String> mStringAdapter;
+    private final Set<String> mFields;
+
+    EpisodeTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mEpisodeIdsAdapter = gson.getAdapter(EpisodeIds.class);
+        this.mImagesAdapter = gson.getAdapter(Images.class);
+        this.mStringAdapter = gson.getAdapter(String.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Episode value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("title").value(value.title);
+        out.name("overview").value(value.overview);
+        out.name("rating").value(value.rating);
+        out.name("votes").value(value.votes);
+        mDateTimeAdapter.write(out.name("updated_at"), value.updated_at);
+        mImagesAdapter.write(out.name("images"), value.images);
+        Adapters.writeList(out.name("available_translations"), value.available_translations,
+                mStringAdapter);
+        out.name("season").value(value.season);
+        out.name("number").value(value.number);
+        mEpisodeIdsAdapter.write(out.name("ids"), value.ids);
+        out.name("number_abs").value(value.number_abs);
+        mDateTimeAdapter.write(out.name("first_aired"), value.first_aired);
+        out.endObject();
+    }
+
+    @Override
+    public Episode read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Episode value = new Episode();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "title":
+                    value.title = Adapters.readString(in);
+                    break;
+                case "overview":
+                    value.overview = Adapters.readString(in);
+                    break;
+                case "rating":
+                    value.rating = Adapters.readDouble(in);
+                    break;
+                case "votes":
+                    value.votes = Adapters.readInteger(in);
+                    break;
+                case "updated_at":
+                    value.updated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "images":
+                    value.images = mImagesAdapter.read(in);
+                    break;
+                case "available_translations":
+                    value.available_translations = Adapters.readList(in, mStringAdapter);
+                    break;
+                case "season":
+                    value.season = Adapters.readInteger(in);
+                    break;
+                case "number":
+                    value.number = Adapters.readInteger(in);
+                    break;
+                case "ids":
+                    value.ids = mEpisodeIdsAdapter.read(in);
+                    break;
+                case "number_abs":
+                    value.number_abs = Adapters.readInteger(in);
+                    break;
+                case "first_aired":
+                    value.first_aired = mDateTimeAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
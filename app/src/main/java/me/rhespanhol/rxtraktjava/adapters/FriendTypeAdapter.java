@@ -0,0 +1,68 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Friend;
+import me.rhespanhol.rxtraktjava.entities.User;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class FriendTypeAdapter extends TypeAdapter<Friend> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<User> mUserAdapter;
+    private final Set<String> mFields;
+
+    FriendTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mUserAdapter = gson.getAdapter(User.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Friend value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("friends_at"), value.friends_at);
+        mUserAdapter.write(out.name("user"), value.user);
+        out.endObject();
+    }
+
+    @Override
+    public Friend read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Friend value = new Friend();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "friends_at":
+                    value.friends_at = mDateTimeAdapter.read(in);
+                    break;
+                case "user":
+                    value.user = mUserAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
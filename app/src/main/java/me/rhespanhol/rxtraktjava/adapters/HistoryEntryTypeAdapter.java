@@ -0,0 +1,94 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.HistoryEntry;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class HistoryEntryTypeAdapter extends TypeAdapter<HistoryEntry> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Episode> mEpisodeAdapter;
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final TypeAdapter<Show> mShowAdapter;
+    private final Set<String> mFields;
+
+    HistoryEntryTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mEpisodeAdapter = gson.getAdapter(Episode.class);
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, HistoryEntry value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("id").value(value.id);
+        mDateTimeAdapter.write(out.name("watched_at"), value.watched_at);
+        out.name("action").value(value.action);
+        out.name("type").value(value.type);
+        mEpisodeAdapter.write(out.name("episode"), value.episode);
+        mShowAdapter.write(out.name("show"), value.show);
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        out.endObject();
+    }
+
+    @Override
+    public HistoryEntry read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        HistoryEntry value = new HistoryEntry();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "id":
+                    value.id = Adapters.readInteger(in);
+                    break;
+                case "watched_at":
+                    value.watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "action":
+                    value.action = Adapters.readString(in);
+                    break;
+                case "type":
+                    value.type = Adapters.readString(in);
+                    break;
+                case "episode":
+                    value.episode = mEpisodeAdapter.read(in);
+                    break;
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,55 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.cache.IdIndex;
+import me.rhespanhol.rxtraktjava.entities.EpisodeIds;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.PersonIds;
+import me.rhespanhol.rxtraktjava.entities.SeasonIds;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+
+import java.io.IOException;
+
+/**
+ * Registers the ids read by another adapter with an {@link IdIndex}.
+ */
+final class IdIndexTypeAdapter<T> extends TypeAdapter<T> {
+
+    private final TypeAdapter<T> mDelegate;
+    private final IdIndex mIndex;
+
+    IdIndexTypeAdapter(TypeAdapter<T> delegate, IdIndex index) {
+        this.mDelegate = delegate;
+        this.mIndex = index;
+    }
+
+    static boolean isIds(Class<?> type) {
+        return type == MovieIds.class || type == ShowIds.class || type == SeasonIds.class
+                || type == EpisodeIds.class || type == PersonIds.class;
+    }
+
+    @Override
+    public void write(JsonWriter out, T value) throws IOException {
+        mDelegate.write(out, value);
+    }
+
+    @Override
+    public T read(JsonReader in) throws IOException {
+        T value = mDelegate.read(in);
+        if (value instanceof MovieIds) {
+            mIndex.register((MovieIds) value);
+        } else if (value instanceof ShowIds) {
+            mIndex.register((ShowIds) value);
+        } else if (value instanceof SeasonIds) {
+            mIndex.register((SeasonIds) value);
+        } else if (value instanceof EpisodeIds) {
+            mIndex.register((EpisodeIds) value);
+        } else if (value instanceof PersonIds) {
+            mIndex.register((PersonIds) value);
+        }
+        return value;
+    }
+
+}
@@ -0,0 +1,96 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.ImageSizes;
+import me.rhespanhol.rxtraktjava.entities.Images;
+import me.rhespanhol.rxtraktjava.entities.MoreImageSizes;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class ImagesTypeAdapter extends TypeAdapter<Images> {
+
+    private final TypeAdapter<ImageSizes> mImageSizesAdapter;
+    private final TypeAdapter<MoreImageSizes> mMoreImageSizesAdapter;
+    private final Set<String> mFields;
+
+    ImagesTypeAdapter(Gson gson, Set<String> fields) {
+        this.mImageSizesAdapter = gson.getAdapter(ImageSizes.class);
+        this.mMoreImageSizesAdapter = gson.getAdapter(MoreImageSizes.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Images value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mMoreImageSizesAdapter.write(out.name("poster"), value.poster);
+        mMoreImageSizesAdapter.write(out.name("fanart"), value.fanart);
+        mMoreImageSizesAdapter.write(out.name("screenshot"), value.screenshot);
+        mMoreImageSizesAdapter.write(out.name("headshot"), value.headshot);
+        mImageSizesAdapter.write(out.name("banner"), value.banner);
+        mImageSizesAdapter.write(out.name("logo"), value.logo);
+        mImageSizesAdapter.write(out.name("clearart"), value.clearart);
+        mImageSizesAdapter.write(out.name("thumb"), value.thumb);
+        mImageSizesAdapter.write(out.name("avatar"), value.avatar);
+        out.endObject();
+    }
+
+    @Override
+    public Images read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Images value = new Images();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "poster":
+                    value.poster = mMoreImageSizesAdapter.read(in);
+                    break;
+                case "fanart":
+                    value.fanart = mMoreImageSizesAdapter.read(in);
+                    break;
+                case "screenshot":
+                    value.screenshot = mMoreImageSizesAdapter.read(in);
+                    break;
+                case "headshot":
+                    value.headshot = mMoreImageSizesAdapter.read(in);
+                    break;
+                case "banner":
+                    value.banner = mImageSizesAdapter.read(in);
+                    break;
+                case "logo":
+                    value.logo = mImageSizesAdapter.read(in);
+                    break;
+                case "clearart":
+                    value.clearart = mImageSizesAdapter.read(in);
+                    break;
+                case "thumb":
+                    value.thumb = mImageSizesAdapter.read(in);
+                    break;
+                case "avatar":
+                    value.avatar = mImageSizesAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,83 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.LastActivities;
+import me.rhespanhol.rxtraktjava.entities.LastActivity;
+import me.rhespanhol.rxtraktjava.entities.LastActivityMore;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class LastActivitiesTypeAdapter extends TypeAdapter<LastActivities> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<LastActivity> mLastActivityAdapter;
+    private final TypeAdapter<LastActivityMore> mLastActivityMoreAdapter;
+    private final Set<String> mFields;
+
+    LastActivitiesTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mLastActivityAdapter = gson.getAdapter(LastActivity.class);
+        this.mLastActivityMoreAdapter = gson.getAdapter(LastActivityMore.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, LastActivities value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("all"), value.all);
+        mLastActivityMoreAdapter.write(out.name("movies"), value.movies);
+        mLastActivityMoreAdapter.write(out.name("episodes"), value.episodes);
+        mLastActivityAdapter.write(out.name("shows"), value.shows);
+        mLastActivityAdapter.write(out.name("seasons"), value.seasons);
+        out.endObject();
+    }
+
+    @Override
+    public LastActivities read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        LastActivities value = new LastActivities();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "all":
+                    value.all = mDateTimeAdapter.read(in);
+                    break;
+                case "movies":
+                    value.movies = mLastActivityMoreAdapter.read(in);
+                    break;
+                case "episodes":
+                    value.episodes = mLastActivityMoreAdapter.read(in);
+                    break;
+                case "shows":
+                    value.shows = mLastActivityAdapter.read(in);
+                    break;
+                case "seasons":
+                    value.seasons = mLastActivityAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,77 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.LastActivityMore;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class LastActivityMoreTypeAdapter extends TypeAdapter<LastActivityMore> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final Set<String> mFields;
+
+    LastActivityMoreTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, LastActivityMore value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("rated_at"), value.rated_at);
+        mDateTimeAdapter.write(out.name("watchlisted_at"), value.watchlisted_at);
+        mDateTimeAdapter.write(out.name("commented_at"), value.commented_at);
+        mDateTimeAdapter.write(out.name("watched_at"), value.watched_at);
+        mDateTimeAdapter.write(out.name("collected_at"), value.collected_at);
+        out.endObject();
+    }
+
+    @Override
+    public LastActivityMore read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        LastActivityMore value = new LastActivityMore();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "rated_at":
+                    value.rated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "watchlisted_at":
+                    value.watchlisted_at = mDateTimeAdapter.read(in);
+                    break;
+                case "commented_at":
+                    value.commented_at = mDateTimeAdapter.read(in);
+                    break;
+                case "watched_at":
+                    value.watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "collected_at":
+                    value.collected_at = mDateTimeAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
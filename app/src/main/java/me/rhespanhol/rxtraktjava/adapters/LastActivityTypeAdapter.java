@@ -0,0 +1,69 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.LastActivity;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class LastActivityTypeAdapter extends TypeAdapter<LastActivity> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final Set<String> mFields;
+
+    LastActivityTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, LastActivity value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("rated_at"), value.rated_at);
+        mDateTimeAdapter.write(out.name("watchlisted_at"), value.watchlisted_at);
+        mDateTimeAdapter.write(out.name("commented_at"), value.commented_at);
+        out.endObject();
+    }
+
+    @Override
+    public LastActivity read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        LastActivity value = new LastActivity();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "rated_at":
+                    value.rated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "watchlisted_at":
+                    value.watchlisted_at = mDateTimeAdapter.read(in);
+                    break;
+                case "commented_at":
+                    value.commented_at = mDateTimeAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,89 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.ListEntry;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.Person;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class ListEntryTypeAdapter extends TypeAdapter<ListEntry> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Episode> mEpisodeAdapter;
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final TypeAdapter<Person> mPersonAdapter;
+    private final TypeAdapter<Show> mShowAdapter;
+    private final Set<String> mFields;
+
+    ListEntryTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mEpisodeAdapter = gson.getAdapter(Episode.class);
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mPersonAdapter = gson.getAdapter(Person.class);
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, ListEntry value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("listed_at"), value.listed_at);
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        mShowAdapter.write(out.name("show"), value.show);
+        mEpisodeAdapter.write(out.name("episode"), value.episode);
+        mPersonAdapter.write(out.name("person"), value.person);
+        out.endObject();
+    }
+
+    @Override
+    public ListEntry read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ListEntry value = new ListEntry();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "listed_at":
+                    value.listed_at = mDateTimeAdapter.read(in);
+                    break;
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                case "episode":
+                    value.episode = mEpisodeAdapter.read(in);
+                    break;
+                case "person":
+                    value.person = mPersonAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
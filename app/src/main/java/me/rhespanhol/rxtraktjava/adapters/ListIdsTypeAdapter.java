@@ -0,0 +1,62 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.ListIds;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class ListIdsTypeAdapter extends TypeAdapter<ListIds> {
+
+    private final Set<String> mFields;
+
+    ListIdsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, ListIds value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("trakt").value(value.trakt);
+        out.name("slug").value(value.slug);
+        out.endObject();
+    }
+
+    @Override
+    public ListIds read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ListIds value = new ListIds();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "trakt":
+                    value.trakt = Adapters.readInteger(in);
+                    break;
+                case "slug":
+                    value.slug = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
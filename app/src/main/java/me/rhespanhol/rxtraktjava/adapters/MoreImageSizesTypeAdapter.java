@@ -0,0 +1,66 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.MoreImageSizes;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class MoreImageSizesTypeAdapter extends TypeAdapter<MoreImageSizes> {
+
+    private final Set<String> mFields;
+
+    MoreImageSizesTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, MoreImageSizes value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("full").value(value.full);
+        out.name("thumb").value(value.thumb);
+        out.name("medium").value(value.medium);
+        out.endObject();
+    }
+
+    @Override
+    public MoreImageSizes read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        MoreImageSizes value = new MoreImageSizes();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "full":
+                    value.full = Adapters.readString(in);
+                    break;
+                case "thumb":
+                    value.thumb = Adapters.readString(in);
+                    break;
+                case "medium":
+                    value.medium = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
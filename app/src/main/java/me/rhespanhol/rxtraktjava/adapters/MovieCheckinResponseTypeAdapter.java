@@ -0,0 +1,75 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.MovieCheckinResponse;
+import me.rhespanhol.rxtraktjava.entities.ShareSettings;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class MovieCheckinResponseTypeAdapter extends TypeAdapter<MovieCheckinResponse> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final TypeAdapter<ShareSettings> mShareSettingsAdapter;
+    private final Set<String> mFields;
+
+    MovieCheckinResponseTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mShareSettingsAdapter = gson.getAdapter(ShareSettings.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, MovieCheckinResponse value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("watched_at"), value.watched_at);
+        mShareSettingsAdapter.write(out.name("sharing"), value.sharing);
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        out.endObject();
+    }
+
+    @Override
+    public MovieCheckinResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        MovieCheckinResponse value = new MovieCheckinResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "watched_at":
+                    value.watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "sharing":
+                    value.sharing = mShareSettingsAdapter.read(in);
+                    break;
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,88 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.MovieCheckin;
+import me.rhespanhol.rxtraktjava.entities.ShareSettings;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class MovieCheckinTypeAdapter extends TypeAdapter<MovieCheckin> {
+
+    private final TypeAdapter<ShareSettings> mShareSettingsAdapter;
+    private final TypeAdapter<SyncMovie> mSyncMovieAdapter;
+    private final Set<String> mFields;
+
+    MovieCheckinTypeAdapter(Gson gson, Set<String> fields) {
+        this.mShareSettingsAdapter = gson.getAdapter(ShareSettings.class);
+        this.mSyncMovieAdapter = gson.getAdapter(SyncMovie.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, MovieCheckin value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mShareSettingsAdapter.write(out.name("sharing"), value.sharing);
+        out.name("message").value(value.message);
+        out.name("venue_id").value(value.venue_id);
+        out.name("venue_name").value(value.venue_name);
+        out.name("app_version").value(value.app_version);
+        out.name("app_date").value(value.app_date);
+        mSyncMovieAdapter.write(out.name("movie"), value.movie);
+        out.endObject();
+    }
+
+    @Override
+    public MovieCheckin read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        MovieCheckin value = new MovieCheckin();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "sharing":
+                    value.sharing = mShareSettingsAdapter.read(in);
+                    break;
+                case "message":
+                    value.message = Adapters.readString(in);
+                    break;
+                case "venue_id":
+                    value.venue_id = Adapters.readString(in);
+                    break;
+                case "venue_name":
+                    value.venue_name = Adapters.readString(in);
+                    break;
+                case "app_version":
+                    value.app_version = Adapters.readString(in);
+                    break;
+                case "app_date":
+                    value.app_date = Adapters.readString(in);
+                    break;
+                case "movie":
+                    value.movie = mSyncMovieAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
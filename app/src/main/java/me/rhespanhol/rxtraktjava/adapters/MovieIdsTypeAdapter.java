@@ -0,0 +1,70 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class MovieIdsTypeAdapter extends TypeAdapter<MovieIds> {
+
+    private final Set<String> mFields;
+
+    MovieIdsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, MovieIds value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("trakt").value(value.trakt);
+        out.name("imdb").value(value.imdb);
+        out.name("tmdb").value(value.tmdb);
+        out.name("slug").value(value.slug);
+        out.endObject();
+    }
+
+    @Override
+    public MovieIds read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        MovieIds value = new MovieIds();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "trakt":
+                    value.trakt = Adapters.readInteger(in);
+                    break;
+                case "imdb":
+                    value.imdb = Adapters.readString(in);
+                    break;
+                case "tmdb":
+                    value.tmdb = Adapters.readInteger(in);
+                    break;
+                case "slug":
+                    value.slug = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,70 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.MovieTranslation;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class MovieTranslationTypeAdapter extends TypeAdapter<MovieTranslation> {
+
+    private final Set<String> mFields;
+
+    MovieTranslationTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, MovieTranslation value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("language").value(value.language);
+        out.name("title").value(value.title);
+        out.name("overview").value(value.overview);
+        out.name("tagline").value(value.tagline);
+        out.endObject();
+    }
+
+    @Override
+    public MovieTranslation read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        MovieTranslation value = new MovieTranslation();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "language":
+                    value.language = Adapters.readString(in);
+                    break;
+                case "title":
+                    value.title = Adapters.readString(in);
+                    break;
+                case "overview":
+                    value.overview = Adapters.readString(in);
+                    break;
+                case "tagline":
+                    value.tagline = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,135 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Images;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+final class MovieTypeAdapter extends TypeAdapter<Movie> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Images> mImagesAdapter;
+    private final TypeAdapter<MovieIds> mMovieIdsAdapter;
+    private final TypeAdapter<String> mStringAdapter;
+    private final Set<String> mFields;
+
+    MovieTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mImagesAdapter = gson.getAdapter(Images.class);
+        this.mMovieIdsAdapter = gson.getAdapter(MovieIds.class);
+        this.mStringAdapter = gson.getAdapter(String.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Movie value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("title").value(value.title);
+        out.name("overview").value(value.overview);
+        out.name("rating").value(value.rating);
+        out.name("votes").value(value.votes);
+        mDateTimeAdapter.write(out.name("updated_at"), value.updated_at);
+        mImagesAdapter.write(out.name("images"), value.images);
+        Adapters.writeList(out.name("available_translations"), value.available_translations,
+                mStringAdapter);
+        out.name("year").value(value.year);
+        mMovieIdsAdapter.write(out.name("ids"), value.ids);
+        out.name("certification").value(value.certification);
+        out.name("tagline").value(value.tagline);
+        mDateTimeAdapter.write(out.name("released"), value.released);
+        out.name("runtime").value(value.runtime);
+        out.name("trailer").value(value.trailer);
+        out.name("homepage").value(value.homepage);
+        out.name("language").value(value.language);
+        Adapters.writeList(out.name("genres"), value.genres, mStringAdapter);
+        out.endObject();
+    }
+
+    @Override
+    public Movie read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Movie value = new Movie();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "title":
+                    value.title = Adapters.readString(in);
+                    break;
+                case "overview":
+                    value.overview = Adapters.readString(in);
+                    break;
+                case "rating":
+                    value.rating = Adapters.readDouble(in);
+                    break;
+                case "votes":
+                    value.votes = Adapters.readInteger(in);
+                    break;
+                case "updated_at":
+                    value.updated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "images":
+                    value.images = mImagesAdapter.read(in);
+                    break;
+                case "available_translations":
+                    value.available_translations = Adapters.readList(in, mStringAdapter);
+                    break;
+                case "year":
+                    value.year = Adapters.readInteger(in);
+                    break;
+                case "ids":
+                    value.ids = mMovieIdsAdapter.read(in);
+                    break;
+                case "certification":
+                    value.certification = Adapters.readString(in);
+                    break;
+                case "tagline":
+                    value.tagline = Adapters.readString(in);
+                    break;
+                case "released":
+                    value.released = mDateTimeAdapter.read(in);
+                    break;
+                case "runtime":
+                    value.runtime = Adapters.readInteger(in);
+                    break;
+                case "trailer":
+                    value.trailer = Adapters.readString(in);
+                    break;
+                case "homepage":
+                    value.homepage = Adapters.readString(in);
+                    break;
+                case "language":
+                    value.language = Adapters.readString(in);
+                    break;
+                case "genres":
+                    value.genres = Adapters.readList(in, mStringAdapter);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,74 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.PersonIds;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class PersonIdsTypeAdapter extends TypeAdapter<PersonIds> {
+
+    private final Set<String> mFields;
+
+    PersonIdsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, PersonIds value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("trakt").value(value.trakt);
+        out.name("imdb").value(value.imdb);
+        out.name("tmdb").value(value.tmdb);
+        out.name("slug").value(value.slug);
+        out.name("tvrage").value(value.tvrage);
+        out.endObject();
+    }
+
+    @Override
+    public PersonIds read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        PersonIds value = new PersonIds();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "trakt":
+                    value.trakt = Adapters.readInteger(in);
+                    break;
+                case "imdb":
+                    value.imdb = Adapters.readString(in);
+                    break;
+                case "tmdb":
+                    value.tmdb = Adapters.readInteger(in);
+                    break;
+                case "slug":
+                    value.slug = Adapters.readString(in);
+                    break;
+                case "tvrage":
+                    value.tvrage = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,95 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Images;
+import me.rhespanhol.rxtraktjava.entities.Person;
+import me.rhespanhol.rxtraktjava.entities.PersonIds;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class PersonTypeAdapter extends TypeAdapter<Person> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Images> mImagesAdapter;
+    private final TypeAdapter<PersonIds> mPersonIdsAdapter;
+    private final Set<String> mFields;
+
+    PersonTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mImagesAdapter = gson.getAdapter(Images.class);
+        this.mPersonIdsAdapter = gson.getAdapter(PersonIds.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Person value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("name").value(value.name);
+        mPersonIdsAdapter.write(out.name("ids"), value.ids);
+        mImagesAdapter.write(out.name("images"), value.images);
+        out.name("biography").value(value.biography);
+        mDateTimeAdapter.write(out.name("birthday"), value.birthday);
+        mDateTimeAdapter.write(out.name("death"), value.death);
+        out.name("birthplace").value(value.birthplace);
+        out.name("homepage").value(value.homepage);
+        out.endObject();
+    }
+
+    @Override
+    public Person read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Person value = new Person();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "name":
+                    value.name = Adapters.readString(in);
+                    break;
+                case "ids":
+                    value.ids = mPersonIdsAdapter.read(in);
+                    break;
+                case "images":
+                    value.images = mImagesAdapter.read(in);
+                    break;
+                case "biography":
+                    value.biography = Adapters.readString(in);
+                    break;
+                case "birthday":
+                    value.birthday = mDateTimeAdapter.read(in);
+                    break;
+                case "death":
+                    value.death = mDateTimeAdapter.read(in);
+                    break;
+                case "birthplace":
+                    value.birthplace = Adapters.readString(in);
+                    break;
+                case "homepage":
+                    value.homepage = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
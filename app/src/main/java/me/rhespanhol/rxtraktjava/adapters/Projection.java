@@ -0,0 +1,141 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Declares which fields of which entities a call needs. When parsing a response with a projection, all other fields
+ * of these entities are skipped without being materialized, for example the many image URLs of {@link
+ * me.rhespanhol.rxtraktjava.entities.Images} if only ids and timestamps are of interest. Skipped fields stay
+ * {@code null}. Entities without declared fields are read completely.
+ * <p>
+ * <p>Projections are compared by the fields they include, so equal projections share the Gson instance and services
+ * {@link me.rhespanhol.rxtraktjava.Trakt} keeps for them. Still create a projection once and reuse it:
+ * <p>
+ * <pre>{@code
+ * static final Projection IDS_ONLY = new Projection.Builder()
+ *         .fields(BaseMovie.class, "movie", "last_watched_at")
+ *         .fields(Movie.class, "ids")
+ *         .build();
+ * }</pre>
+ * <p>
+ * <p>Use it with {@link me.rhespanhol.rxtraktjava.Trakt#service(Class, Projection)} to get services parsing with it,
+ * or with {@link me.rhespanhol.rxtraktjava.Trakt#stream(retrofit2.Call, Class, Projection)} to stream a list. To use
+ * it with a Retrofit instance of your own, add a converter with {@link #getGson()}, which does not register ids with
+ * an {@link me.rhespanhol.rxtraktjava.cache.IdIndex}.
+ *
+ * @see me.rhespanhol.rxtraktjava.Trakt#service(Class, Projection)
+ * @see me.rhespanhol.rxtraktjava.Trakt#stream(retrofit2.Call, Class, Projection)
+ */
+public class Projection {
+
+    private final Map<Class<?>, Set<String>> mFields;
+    private volatile Gson mGson;
+
+    private Projection(Map<Class<?>, Set<String>> fields) {
+        this.mFields = fields;
+    }
+
+    /**
+     * Returns a Gson instance parsing with this projection, created on first use. {@link
+     * me.rhespanhol.rxtraktjava.Trakt} uses its own, which also registers ids with its {@link
+     * me.rhespanhol.rxtraktjava.cache.IdIndex}.
+     *
+     * @see TraktHelper#getGsonBuilder(Projection)
+     */
+    public Gson getGson() {
+        Gson gson = mGson;
+        if (gson == null) {
+            synchronized (this) {
+                gson = mGson;
+                if (gson == null) {
+                    gson = TraktHelper.getGsonBuilder(this).create();
+                    mGson = gson;
+                }
+            }
+        }
+        return gson;
+    }
+
+    /**
+     * Returns the names of the fields to read of the given entity, or {@code null} to read all fields.
+     */
+    public Set<String> fields(Class<?> entity) {
+        return mFields.get(entity);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Projection)) {
+            return false;
+        }
+        return mFields.equals(((Projection) o).mFields);
+    }
+
+    @Override
+    public int hashCode() {
+        return mFields.hashCode();
+    }
+
+    public static class Builder {
+
+        private final Map<Class<?>, Set<String>> mFields = new HashMap<>();
+
+        /**
+         * Reads only the given fields of an entity. Fields of a super class have to be listed for each sub class, a
+         * projection for {@link me.rhespanhol.rxtraktjava.entities.Movie} does not apply to {@link
+         * me.rhespanhol.rxtraktjava.entities.Show}.
+         *
+         * @param names The JSON names of the fields, which are the field names unless annotated otherwise.
+         * @throws IllegalArgumentException If the entity has no public field with one of the names.
+         */
+        public Builder fields(Class<?> entity, String... names) {
+            Set<String> fields = mFields.get(entity);
+            if (fields == null) {
+                fields = new HashSet<>();
+                mFields.put(entity, fields);
+            }
+            for (String name : names) {
+                checkField(entity, name);
+                fields.add(name);
+            }
+            return this;
+        }
+
+        public Projection build() {
+            Map<Class<?>, Set<String>> fields = new HashMap<>();
+            for (Map.Entry<Class<?>, Set<String>> entry : mFields.entrySet()) {
+                fields.put(entry.getKey(), Collections.unmodifiableSet(new HashSet<>(entry.getValue())));
+            }
+            return new Projection(fields);
+        }
+
+        private static void checkField(Class<?> entity, String name) {
+            for (Field field : entity.getFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                    continue;
+                }
+                SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                String jsonName = serializedName != null ? serializedName.value() : field.getName();
+                if (jsonName.equals(name)) {
+                    return;
+                }
+            }
+            throw new IllegalArgumentException(entity.getSimpleName() + " has no field " + name);
+        }
+
+    }
+
+}
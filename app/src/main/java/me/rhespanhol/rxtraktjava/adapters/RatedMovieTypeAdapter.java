@@ -0,0 +1,75 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.RatedMovie;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class RatedMovieTypeAdapter extends TypeAdapter<RatedMovie> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final TypeAdapter<Rating> mRatingAdapter;
+    private final Set<String> mFields;
+
+    RatedMovieTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mRatingAdapter = gson.getAdapter(Rating.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, RatedMovie value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("rated_at"), value.rated_at);
+        mRatingAdapter.write(out.name("rating"), value.rating);
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        out.endObject();
+    }
+
+    @Override
+    public RatedMovie read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        RatedMovie value = new RatedMovie();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "rated_at":
+                    value.rated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rating":
+                    value.rating = mRatingAdapter.read(in);
+                    break;
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,82 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.RatedSeason;
+import me.rhespanhol.rxtraktjava.entities.Season;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class RatedSeasonTypeAdapter extends TypeAdapter<RatedSeason> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Rating> mRatingAdapter;
+    private final TypeAdapter<Season> mSeasonAdapter;
+    private final TypeAdapter<Show> mShowAdapter;
+    private final Set<String> mFields;
+
+    RatedSeasonTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mRatingAdapter = gson.getAdapter(Rating.class);
+        this.mSeasonAdapter = gson.getAdapter(Season.class);
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, RatedSeason value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mDateTimeAdapter.write(out.name("rated_at"), value.rated_at);
+        mRatingAdapter.write(out.name("rating"), value.rating);
+        mShowAdapter.write(out.name("show"), value.show);
+        mSeasonAdapter.write(out.name("season"), value.season);
+        out.endObject();
+    }
+
+    @Override
+    public RatedSeason read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        RatedSeason value = new RatedSeason();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "rated_at":
+                    value.rated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rating":
+                    value.rating = mRatingAdapter.read(in);
+                    break;
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                case "season":
+                    value.season = mSeasonAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,37 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes a {@link Rating} as its number from 1 to 10. Numbers out of range read as {@code null}.
+ */
+final class RatingTypeAdapter extends TypeAdapter<Rating> {
+
+    private static final Rating[] RATINGS = Rating.values();
+
+    @Override
+    public void write(JsonWriter out, Rating value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+        } else {
+            out.value(value.value);
+        }
+    }
+
+    @Override
+    public Rating read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int value = Adapters.readInt(in, 0);
+        return value >= 1 && value <= RATINGS.length ? RATINGS[value - 1] : null;
+    }
+
+}
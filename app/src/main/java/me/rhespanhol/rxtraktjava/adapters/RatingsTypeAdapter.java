@@ -0,0 +1,72 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Ratings;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+final class RatingsTypeAdapter extends TypeAdapter<Ratings> {
+
+    private final TypeAdapter<Map<String, Integer>> mDistributionAdapter;
+    private final Set<String> mFields;
+
+    RatingsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDistributionAdapter = gson.getAdapter(new TypeToken<Map<String,
+                Integer>>() {
+        });
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Ratings value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("rating").value(value.rating);
+        out.name("votes").value(value.votes);
+        mDistributionAdapter.write(out.name("distribution"), value.distribution);
+        out.endObject();
+    }
+
+    @Override
+    public Ratings read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Ratings value = new Ratings();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "rating":
+                    value.rating = Adapters.readDouble(in);
+                    break;
+                case "votes":
+                    value.votes = Adapters.readInteger(in);
+                    break;
+                case "distribution":
+                    value.distribution = mDistributionAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,97 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.Person;
+import me.rhespanhol.rxtraktjava.entities.SearchResult;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.entities.TraktList;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class SearchResultTypeAdapter extends TypeAdapter<SearchResult> {
+
+    private final TypeAdapter<Episode> mEpisodeAdapter;
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final TypeAdapter<Person> mPersonAdapter;
+    private final TypeAdapter<Show> mShowAdapter;
+    private final TypeAdapter<TraktList> mTraktListAdapter;
+    private final Set<String> mFields;
+
+    SearchResultTypeAdapter(Gson gson, Set<String> fields) {
+        this.mEpisodeAdapter = gson.getAdapter(Episode.class);
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mPersonAdapter = gson.getAdapter(Person.class);
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mTraktListAdapter = gson.getAdapter(TraktList.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, SearchResult value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("type").value(value.type);
+        out.name("score").value(value.score);
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        mShowAdapter.write(out.name("show"), value.show);
+        mEpisodeAdapter.write(out.name("episode"), value.episode);
+        mPersonAdapter.write(out.name("person"), value.person);
+        mTraktListAdapter.write(out.name("list"), value.list);
+        out.endObject();
+    }
+
+    @Override
+    public SearchResult read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SearchResult value = new SearchResult();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "type":
+                    value.type = Adapters.readString(in);
+                    break;
+                case "score":
+                    value.score = Adapters.readDouble(in);
+                    break;
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                case "episode":
+                    value.episode = mEpisodeAdapter.read(in);
+                    break;
+                case "person":
+                    value.person = mPersonAdapter.read(in);
+                    break;
+                case "list":
+                    value.list = mTraktListAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,92 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Images;
+import me.rhespanhol.rxtraktjava.entities.Season;
+import me.rhespanhol.rxtraktjava.entities.SeasonIds;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class SeasonTypeAdapter extends TypeAdapter<Season> {
+
+    private final TypeAdapter<Images> mImagesAdapter;
+    private final TypeAdapter<SeasonIds> mSeasonIdsAdapter;
+    private final Set<String> mFields;
+
+    SeasonTypeAdapter(Gson gson, Set<String> fields) {
+        this.mImagesAdapter = gson.getAdapter(Images.class);
+        this.mSeasonIdsAdapter = gson.getAdapter(SeasonIds.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Season value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("number").value(value.number);
+        mSeasonIdsAdapter.write(out.name("ids"), value.ids);
+        out.name("overview").value(value.overview);
+        out.name("rating").value(value.rating);
+        out.name("votes").value(value.votes);
+        out.name("episode_count").value(value.episode_count);
+        out.name("aired_episodes").value(value.aired_episodes);
+        mImagesAdapter.write(out.name("images"), value.images);
+        out.endObject();
+    }
+
+    @Override
+    public Season read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Season value = new Season();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "number":
+                    value.number = Adapters.readInteger(in);
+                    break;
+                case "ids":
+                    value.ids = mSeasonIdsAdapter.read(in);
+                    break;
+                case "overview":
+                    value.overview = Adapters.readString(in);
+                    break;
+                case "rating":
+                    value.rating = Adapters.readDouble(in);
+                    break;
+                case "votes":
+                    value.votes = Adapters.readInteger(in);
+                    break;
+                case "episode_count":
+                    value.episode_count = Adapters.readInteger(in);
+                    break;
+                case "aired_episodes":
+                    value.aired_episodes = Adapters.readInteger(in);
+                    break;
+                case "images":
+                    value.images = mImagesAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
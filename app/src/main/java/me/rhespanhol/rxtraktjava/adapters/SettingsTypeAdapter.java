@@ -0,0 +1,82 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Account;
+import me.rhespanhol.rxtraktjava.entities.Connections;
+import me.rhespanhol.rxtraktjava.entities.Settings;
+import me.rhespanhol.rxtraktjava.entities.SharingText;
+import me.rhespanhol.rxtraktjava.entities.User;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class SettingsTypeAdapter extends TypeAdapter<Settings> {
+
+    private final TypeAdapter<Account> mAccountAdapter;
+    private final TypeAdapter<Connections> mConnectionsAdapter;
+    private final TypeAdapter<SharingText> mSharingTextAdapter;
+    private final TypeAdapter<User> mUserAdapter;
+    private final Set<String> mFields;
+
+    SettingsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mAccountAdapter = gson.getAdapter(Account.class);
+        this.mConnectionsAdapter = gson.getAdapter(Connections.class);
+        this.mSharingTextAdapter = gson.getAdapter(SharingText.class);
+        this.mUserAdapter = gson.getAdapter(User.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Settings value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mUserAdapter.write(out.name("user"), value.user);
+        mAccountAdapter.write(out.name("account"), value.account);
+        mConnectionsAdapter.write(out.name("connections"), value.connections);
+        mSharingTextAdapter.write(out.name("sharing_text"), value.sharing_text);
+        out.endObject();
+    }
+
+    @Override
+    public Settings read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Settings value = new Settings();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "user":
+                    value.user = mUserAdapter.read(in);
+                    break;
+                case "account":
+                    value.account = mAccountAdapter.read(in);
+                    break;
+                case "connections":
+                    value.connections = mConnectionsAdapter.read(in);
+                    break;
+                case "sharing_text":
+                    value.sharing_text = mSharingTextAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,66 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.ShareSettings;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class ShareSettingsTypeAdapter extends TypeAdapter<ShareSettings> {
+
+    private final Set<String> mFields;
+
+    ShareSettingsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, ShareSettings value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        Adapters.writeBoolean(out.name("facebook"), value.facebook);
+        Adapters.writeBoolean(out.name("twitter"), value.twitter);
+        Adapters.writeBoolean(out.name("tumblr"), value.tumblr);
+        out.endObject();
+    }
+
+    @Override
+    public ShareSettings read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ShareSettings value = new ShareSettings();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "facebook":
+                    value.facebook = Adapters.readBoolean(in);
+                    break;
+                case "twitter":
+                    value.twitter = Adapters.readBoolean(in);
+                    break;
+                case "tumblr":
+                    value.tumblr = Adapters.readBoolean(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
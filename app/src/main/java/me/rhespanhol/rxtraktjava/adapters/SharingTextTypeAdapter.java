@@ -0,0 +1,62 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.SharingText;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class SharingTextTypeAdapter extends TypeAdapter<SharingText> {
+
+    private final Set<String> mFields;
+
+    SharingTextTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, SharingText value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("watching").value(value.watching);
+        out.name("watched").value(value.watched);
+        out.endObject();
+    }
+
+    @Override
+    public SharingText read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SharingText value = new SharingText();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "watching":
+                    value.watching = Adapters.readString(in);
+                    break;
+                case "watched":
+                    value.watched = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
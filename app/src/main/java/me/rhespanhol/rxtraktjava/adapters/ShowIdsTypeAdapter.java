@@ -0,0 +1,78 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class ShowIdsTypeAdapter extends TypeAdapter<ShowIds> {
+
+    private final Set<String> mFields;
+
+    ShowIdsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, ShowIds value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("trakt").value(value.trakt);
+        out.name("imdb").value(value.imdb);
+        out.name("tmdb").value(value.tmdb);
+        out.name("slug").value(value.slug);
+        out.name("tvdb").value(value.tvdb);
+        out.name("tvrage").value(value.tvrage);
+        out.endObject();
+    }
+
+    @Override
+    public ShowIds read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        ShowIds value = new ShowIds();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "trakt":
+                    value.trakt = Adapters.readInteger(in);
+                    break;
+                case "imdb":
+                    value.imdb = Adapters.readString(in);
+                    break;
+                case "tmdb":
+                    value.tmdb = Adapters.readInteger(in);
+                    break;
+                case "slug":
+                    value.slug = Adapters.readString(in);
+                    break;
+                case "tvdb":
+                    value.tvdb = Adapters.readInteger(in);
+                    break;
+                case "tvrage":
+                    value.tvrage = Adapters.readInteger(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
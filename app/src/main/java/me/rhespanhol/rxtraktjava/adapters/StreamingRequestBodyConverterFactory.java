@@ -0,0 +1,86 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Converts {@link SyncItems} request bodies to JSON while they are sent, instead of up front like {@link
+ * retrofit2.converter.gson.GsonConverterFactory}. The JSON is written straight to the connection as the item lists are
+ * walked, so a large history import needs no extra memory for its body.
+ * <p>
+ * <p>The body has no known length and is sent with chunked transfer encoding. It is converted again if the request is
+ * retried, so the items must not be changed until the call finished. If they can not be converted, e.g. because
+ * they were changed concurrently, the call fails with an {@link IOException}.
+ * <p>
+ * <p>Add it before the Gson converter, which handles all other types.
+ */
+public class StreamingRequestBodyConverterFactory extends Converter.Factory {
+
+    private static final MediaType MEDIA_TYPE = MediaType.parse("application/json; charset=UTF-8");
+
+    private final Gson mGson;
+
+    public StreamingRequestBodyConverterFactory(Gson gson) {
+        this.mGson = gson;
+    }
+
+    @Override
+    public Converter<?, RequestBody> requestBodyConverter(Type type, Annotation[] parameterAnnotations,
+            Annotation[] methodAnnotations, Retrofit retrofit) {
+        if (type != SyncItems.class) {
+            return null;
+        }
+        final TypeAdapter<SyncItems> adapter = mGson.getAdapter(SyncItems.class);
+        return new Converter<SyncItems, RequestBody>() {
+            @Override
+            public RequestBody convert(SyncItems value) throws IOException {
+                return new JsonRequestBody<>(mGson, adapter, value);
+            }
+        };
+    }
+
+    private static final class JsonRequestBody<T> extends RequestBody {
+
+        private final Gson mGson;
+        private final TypeAdapter<T> mAdapter;
+        private final T mValue;
+
+        JsonRequestBody(Gson gson, TypeAdapter<T> adapter, T value) {
+            this.mGson = gson;
+            this.mAdapter = adapter;
+            this.mValue = value;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return MEDIA_TYPE;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            // the stream writes through to the sink and emits each full segment, do not close it, that closes the sink
+            JsonWriter writer = mGson.newJsonWriter(new OutputStreamWriter(sink.outputStream(), "UTF-8"));
+            try {
+                mAdapter.write(writer, mValue);
+            } catch (RuntimeException e) {
+                // thrown on an OkHttp thread it would not reach the callback, fail the call instead
+                throw new IOException("Could not write request body", e);
+            }
+            writer.flush();
+        }
+
+    }
+
+}
@@ -0,0 +1,91 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.EpisodeIds;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class SyncEpisodeTypeAdapter extends TypeAdapter<SyncEpisode> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<EpisodeIds> mEpisodeIdsAdapter;
+    private final TypeAdapter<Rating> mRatingAdapter;
+    private final Set<String> mFields;
+
+    SyncEpisodeTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mEpisodeIdsAdapter = gson.getAdapter(EpisodeIds.class);
+        this.mRatingAdapter = gson.getAdapter(Rating.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, SyncEpisode value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("season").value(value.season);
+        out.name("number").value(value.number);
+        mEpisodeIdsAdapter.write(out.name("ids"), value.ids);
+        mDateTimeAdapter.write(out.name("collected_at"), value.collected_at);
+        mDateTimeAdapter.write(out.name("watched_at"), value.watched_at);
+        mDateTimeAdapter.write(out.name("rated_at"), value.rated_at);
+        mRatingAdapter.write(out.name("rating"), value.rating);
+        out.endObject();
+    }
+
+    @Override
+    public SyncEpisode read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SyncEpisode value = new SyncEpisode();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "season":
+                    value.season = Adapters.readInteger(in);
+                    break;
+                case "number":
+                    value.number = Adapters.readInteger(in);
+                    break;
+                case "ids":
+                    value.ids = mEpisodeIdsAdapter.read(in);
+                    break;
+                case "collected_at":
+                    value.collected_at = mDateTimeAdapter.read(in);
+                    break;
+                case "watched_at":
+                    value.watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rated_at":
+                    value.rated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rating":
+                    value.rating = mRatingAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,89 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncErrors;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+final class SyncErrorsTypeAdapter extends TypeAdapter<SyncErrors> {
+
+    private final TypeAdapter<Integer> mIntegerAdapter;
+    private final TypeAdapter<SyncEpisode> mSyncEpisodeAdapter;
+    private final TypeAdapter<SyncMovie> mSyncMovieAdapter;
+    private final TypeAdapter<SyncSeason> mSyncSeasonAdapter;
+    private final TypeAdapter<SyncShow> mSyncShowAdapter;
+    private final Set<String> mFields;
+
+    SyncErrorsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mIntegerAdapter = gson.getAdapter(Integer.class);
+        this.mSyncEpisodeAdapter = gson.getAdapter(SyncEpisode.class);
+        this.mSyncMovieAdapter = gson.getAdapter(SyncMovie.class);
+        this.mSyncSeasonAdapter = gson.getAdapter(SyncSeason.class);
+        this.mSyncShowAdapter = gson.getAdapter(SyncShow.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, SyncErrors value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        Adapters.writeList(out.name("movies"), value.movies, mSyncMovieAdapter);
+        Adapters.writeList(out.name("shows"), value.shows, mSyncShowAdapter);
+        Adapters.writeList(out.name("seasons"), value.seasons, mSyncSeasonAdapter);
+        Adapters.writeList(out.name("episodes"), value.episodes, mSyncEpisodeAdapter);
+        Adapters.writeList(out.name("ids"), value.ids, mIntegerAdapter);
+        out.endObject();
+    }
+
+    @Override
+    public SyncErrors read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SyncErrors value = new SyncErrors();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "movies":
+                    value.movies = Adapters.readList(in, mSyncMovieAdapter);
+                    break;
+                case "shows":
+                    value.shows = Adapters.readList(in, mSyncShowAdapter);
+                    break;
+                case "seasons":
+                    value.seasons = Adapters.readList(in, mSyncSeasonAdapter);
+                    break;
+                case "episodes":
+                    value.episodes = Adapters.readList(in, mSyncEpisodeAdapter);
+                    break;
+                case "ids":
+                    value.ids = Adapters.readList(in, mIntegerAdapter);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,83 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class SyncMovieTypeAdapter extends TypeAdapter<SyncMovie> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<MovieIds> mMovieIdsAdapter;
+    private final TypeAdapter<Rating> mRatingAdapter;
+    private final Set<String> mFields;
+
+    SyncMovieTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mMovieIdsAdapter = gson.getAdapter(MovieIds.class);
+        this.mRatingAdapter = gson.getAdapter(Rating.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, SyncMovie value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mMovieIdsAdapter.write(out.name("ids"), value.ids);
+        mDateTimeAdapter.write(out.name("collected_at"), value.collected_at);
+        mDateTimeAdapter.write(out.name("watched_at"), value.watched_at);
+        mDateTimeAdapter.write(out.name("rated_at"), value.rated_at);
+        mRatingAdapter.write(out.name("rating"), value.rating);
+        out.endObject();
+    }
+
+    @Override
+    public SyncMovie read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SyncMovie value = new SyncMovie();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "ids":
+                    value.ids = mMovieIdsAdapter.read(in);
+                    break;
+                case "collected_at":
+                    value.collected_at = mDateTimeAdapter.read(in);
+                    break;
+                case "watched_at":
+                    value.watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rated_at":
+                    value.rated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rating":
+                    value.rating = mRatingAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,76 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.SyncErrors;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.SyncStats;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class SyncResponseTypeAdapter extends TypeAdapter<SyncResponse> {
+
+    private final TypeAdapter<SyncErrors> mSyncErrorsAdapter;
+    private final TypeAdapter<SyncStats> mSyncStatsAdapter;
+    private final Set<String> mFields;
+
+    SyncResponseTypeAdapter(Gson gson, Set<String> fields) {
+        this.mSyncErrorsAdapter = gson.getAdapter(SyncErrors.class);
+        this.mSyncStatsAdapter = gson.getAdapter(SyncStats.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, SyncResponse value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mSyncStatsAdapter.write(out.name("added"), value.added);
+        mSyncStatsAdapter.write(out.name("existing"), value.existing);
+        mSyncStatsAdapter.write(out.name("deleted"), value.deleted);
+        mSyncErrorsAdapter.write(out.name("not_found"), value.not_found);
+        out.endObject();
+    }
+
+    @Override
+    public SyncResponse read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SyncResponse value = new SyncResponse();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "added":
+                    value.added = mSyncStatsAdapter.read(in);
+                    break;
+                case "existing":
+                    value.existing = mSyncStatsAdapter.read(in);
+                    break;
+                case "deleted":
+                    value.deleted = mSyncStatsAdapter.read(in);
+                    break;
+                case "not_found":
+                    value.not_found = mSyncErrorsAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,88 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+final class SyncSeasonTypeAdapter extends TypeAdapter<SyncSeason> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Rating> mRatingAdapter;
+    private final TypeAdapter<SyncEpisode> mSyncEpisodeAdapter;
+    private final Set<String> mFields;
+
+    SyncSeasonTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mRatingAdapter = gson.getAdapter(Rating.class);
+        this.mSyncEpisodeAdapter = gson.getAdapter(SyncEpisode.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, SyncSeason value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("number").value(value.number);
+        Adapters.writeList(out.name("episodes"), value.episodes, mSyncEpisodeAdapter);
+        mDateTimeAdapter.write(out.name("collected_at"), value.collected_at);
+        mDateTimeAdapter.write(out.name("watched_at"), value.watched_at);
+        mDateTimeAdapter.write(out.name("rated_at"), value.rated_at);
+        mRatingAdapter.write(out.name("rating"), value.rating);
+        out.endObject();
+    }
+
+    @Override
+    public SyncSeason read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SyncSeason value = new SyncSeason();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "number":
+                    value.number = Adapters.readInteger(in);
+                    break;
+                case "episodes":
+                    value.episodes = Adapters.readList(in, mSyncEpisodeAdapter);
+                    break;
+                case "collected_at":
+                    value.collected_at = mDateTimeAdapter.read(in);
+                    break;
+                case "watched_at":
+                    value.watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rated_at":
+                    value.rated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rating":
+                    value.rating = mRatingAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,91 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+final class SyncShowTypeAdapter extends TypeAdapter<SyncShow> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Rating> mRatingAdapter;
+    private final TypeAdapter<ShowIds> mShowIdsAdapter;
+    private final TypeAdapter<SyncSeason> mSyncSeasonAdapter;
+    private final Set<String> mFields;
+
+    SyncShowTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mRatingAdapter = gson.getAdapter(Rating.class);
+        this.mShowIdsAdapter = gson.getAdapter(ShowIds.class);
+        this.mSyncSeasonAdapter = gson.getAdapter(SyncSeason.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, SyncShow value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mShowIdsAdapter.write(out.name("ids"), value.ids);
+        Adapters.writeList(out.name("seasons"), value.seasons, mSyncSeasonAdapter);
+        mDateTimeAdapter.write(out.name("collected_at"), value.collected_at);
+        mDateTimeAdapter.write(out.name("watched_at"), value.watched_at);
+        mDateTimeAdapter.write(out.name("rated_at"), value.rated_at);
+        mRatingAdapter.write(out.name("rating"), value.rating);
+        out.endObject();
+    }
+
+    @Override
+    public SyncShow read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SyncShow value = new SyncShow();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "ids":
+                    value.ids = mShowIdsAdapter.read(in);
+                    break;
+                case "seasons":
+                    value.seasons = Adapters.readList(in, mSyncSeasonAdapter);
+                    break;
+                case "collected_at":
+                    value.collected_at = mDateTimeAdapter.read(in);
+                    break;
+                case "watched_at":
+                    value.watched_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rated_at":
+                    value.rated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "rating":
+                    value.rating = mRatingAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
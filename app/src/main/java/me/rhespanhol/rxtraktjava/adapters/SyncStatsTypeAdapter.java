@@ -0,0 +1,70 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.SyncStats;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class SyncStatsTypeAdapter extends TypeAdapter<SyncStats> {
+
+    private final Set<String> mFields;
+
+    SyncStatsTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, SyncStats value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("movies").value(value.movies);
+        out.name("shows").value(value.shows);
+        out.name("seasons").value(value.seasons);
+        out.name("episodes").value(value.episodes);
+        out.endObject();
+    }
+
+    @Override
+    public SyncStats read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        SyncStats value = new SyncStats();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "movies":
+                    value.movies = Adapters.readInteger(in);
+                    break;
+                case "shows":
+                    value.shows = Adapters.readInteger(in);
+                    break;
+                case "seasons":
+                    value.seasons = Adapters.readInteger(in);
+                    break;
+                case "episodes":
+                    value.episodes = Adapters.readInteger(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,53 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.enums.TraktEnum;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes a {@link TraktEnum} by its {@link TraktEnum#toString()} value. Reading is a single map lookup;
+ * only values that do not match exactly fall back to a case-insensitive search.
+ */
+final class TraktEnumTypeAdapter<E extends Enum<E>> extends TypeAdapter<E> {
+
+    private final E[] mConstants;
+    private final Map<String, E> mByValue;
+
+    TraktEnumTypeAdapter(Class<E> enumClass) {
+        this.mConstants = enumClass.getEnumConstants();
+        this.mByValue = new HashMap<>(mConstants.length * 2);
+        for (E constant : mConstants) {
+            mByValue.put(constant.toString(), constant);
+        }
+    }
+
+    @Override
+    public void write(JsonWriter out, E value) throws IOException {
+        out.value(value == null ? null : value.toString());
+    }
+
+    @Override
+    public E read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String value = in.nextString();
+        E constant = mByValue.get(value);
+        if (constant == null) {
+            for (E candidate : mConstants) {
+                if (candidate.toString().equalsIgnoreCase(value)) {
+                    return candidate;
+                }
+            }
+        }
+        return constant;
+    }
+
+}
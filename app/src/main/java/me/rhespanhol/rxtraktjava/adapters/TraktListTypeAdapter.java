@@ -0,0 +1,103 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.ListIds;
+import me.rhespanhol.rxtraktjava.entities.TraktList;
+import me.rhespanhol.rxtraktjava.enums.ListPrivacy;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class TraktListTypeAdapter extends TypeAdapter<TraktList> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<ListIds> mListIdsAdapter;
+    private final TypeAdapter<ListPrivacy> mListPrivacyAdapter;
+    private final Set<String> mFields;
+
+    TraktListTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mListIdsAdapter = gson.getAdapter(ListIds.class);
+        this.mListPrivacyAdapter = gson.getAdapter(ListPrivacy.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, TraktList value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        mListIdsAdapter.write(out.name("ids"), value.ids);
+        out.name("name").value(value.name);
+        out.name("description").value(value.description);
+        mListPrivacyAdapter.write(out.name("privacy"), value.privacy);
+        Adapters.writeBoolean(out.name("display_numbers"), value.display_numbers);
+        Adapters.writeBoolean(out.name("allow_comments"), value.allow_comments);
+        mDateTimeAdapter.write(out.name("updated_at"), value.updated_at);
+        out.name("item_count").value(value.item_count);
+        out.name("comment_count").value(value.comment_count);
+        out.name("likes").value(value.likes);
+        out.endObject();
+    }
+
+    @Override
+    public TraktList read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        TraktList value = new TraktList();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "ids":
+                    value.ids = mListIdsAdapter.read(in);
+                    break;
+                case "name":
+                    value.name = Adapters.readString(in);
+                    break;
+                case "description":
+                    value.description = Adapters.readString(in);
+                    break;
+                case "privacy":
+                    value.privacy = mListPrivacyAdapter.read(in);
+                    break;
+                case "display_numbers":
+                    value.display_numbers = Adapters.readBoolean(in);
+                    break;
+                case "allow_comments":
+                    value.allow_comments = Adapters.readBoolean(in);
+                    break;
+                case "updated_at":
+                    value.updated_at = mDateTimeAdapter.read(in);
+                    break;
+                case "item_count":
+                    value.item_count = Adapters.readInteger(in);
+                    break;
+                case "comment_count":
+                    value.comment_count = Adapters.readInteger(in);
+                    break;
+                case "likes":
+                    value.likes = Adapters.readInteger(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
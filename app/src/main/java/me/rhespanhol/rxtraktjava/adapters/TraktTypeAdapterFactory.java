@@ -0,0 +1,349 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import me.rhespanhol.rxtraktjava.cache.IdIndex;
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import me.rhespanhol.rxtraktjava.entities.Account;
+import me.rhespanhol.rxtraktjava.entities.Airs;
+import me.rhespanhol.rxtraktjava.entities.BaseEpisode;
+import me.rhespanhol.rxtraktjava.entities.BaseMovie;
+import me.rhespanhol.rxtraktjava.entities.BaseRatedEntity;
+import me.rhespanhol.rxtraktjava.entities.BaseSeason;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.CalendarMovieEntry;
+import me.rhespanhol.rxtraktjava.entities.CalendarShowEntry;
+import me.rhespanhol.rxtraktjava.entities.CastMember;
+import me.rhespanhol.rxtraktjava.entities.CheckinError;
+import me.rhespanhol.rxtraktjava.entities.Comment;
+import me.rhespanhol.rxtraktjava.entities.Connections;
+import me.rhespanhol.rxtraktjava.entities.Credits;
+import me.rhespanhol.rxtraktjava.entities.Crew;
+import me.rhespanhol.rxtraktjava.entities.CrewMember;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.EpisodeCheckin;
+import me.rhespanhol.rxtraktjava.entities.EpisodeCheckinResponse;
+import me.rhespanhol.rxtraktjava.entities.EpisodeIds;
+import me.rhespanhol.rxtraktjava.entities.Followed;
+import me.rhespanhol.rxtraktjava.entities.Follower;
+import me.rhespanhol.rxtraktjava.entities.Friend;
+import me.rhespanhol.rxtraktjava.entities.Genre;
+import me.rhespanhol.rxtraktjava.entities.HistoryEntry;
+import me.rhespanhol.rxtraktjava.entities.ImageSizes;
+import me.rhespanhol.rxtraktjava.entities.Images;
+import me.rhespanhol.rxtraktjava.entities.LastActivities;
+import me.rhespanhol.rxtraktjava.entities.LastActivity;
+import me.rhespanhol.rxtraktjava.entities.LastActivityMore;
+import me.rhespanhol.rxtraktjava.entities.ListEntry;
+import me.rhespanhol.rxtraktjava.entities.ListIds;
+import me.rhespanhol.rxtraktjava.entities.MoreImageSizes;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.MovieCheckin;
+import me.rhespanhol.rxtraktjava.entities.MovieCheckinResponse;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.MovieTranslation;
+import me.rhespanhol.rxtraktjava.entities.Person;
+import me.rhespanhol.rxtraktjava.entities.PersonIds;
+import me.rhespanhol.rxtraktjava.entities.RatedEpisode;
+import me.rhespanhol.rxtraktjava.entities.RatedMovie;
+import me.rhespanhol.rxtraktjava.entities.RatedSeason;
+import me.rhespanhol.rxtraktjava.entities.RatedShow;
+import me.rhespanhol.rxtraktjava.entities.Ratings;
+import me.rhespanhol.rxtraktjava.entities.SearchResult;
+import me.rhespanhol.rxtraktjava.entities.Season;
+import me.rhespanhol.rxtraktjava.entities.SeasonIds;
+import me.rhespanhol.rxtraktjava.entities.Settings;
+import me.rhespanhol.rxtraktjava.entities.ShareSettings;
+import me.rhespanhol.rxtraktjava.entities.SharingText;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncErrors;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+import me.rhespanhol.rxtraktjava.entities.SyncStats;
+import me.rhespanhol.rxtraktjava.entities.TraktList;
+import me.rhespanhol.rxtraktjava.entities.Translation;
+import me.rhespanhol.rxtraktjava.entities.TrendingMovie;
+import me.rhespanhol.rxtraktjava.entities.TrendingShow;
+import me.rhespanhol.rxtraktjava.entities.User;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedEpisode;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedSeason;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import me.rhespanhol.rxtraktjava.enums.TraktEnum;
+
+import java.util.Set;
+
+/**
+ * Provides {@link TypeAdapter}s for all entities and all {@link TraktEnum}s that read and write fields directly
+ * instead of through Gson's reflective binding. This avoids the reflection cost of creating the adapters and of
+ * setting each field, which adds up for large lists, especially on Android.
+ * <p>
+ * <p>Registered by {@link me.rhespanhol.rxtraktjava.TraktHelper#getGsonBuilder()}. Each adapter lists the public
+ * fields of its entity including inherited ones: when adding a field to an entity add it to its adapter as well.
+ * Types without an adapter here fall back to the adapters registered later or to reflective binding.
+ * <p>
+ * <p>With a {@link Projection} the adapters skip all fields the projection does not include. With an {@link IdIndex}
+ * all ids that are read are registered with it.
+ */
+public class TraktTypeAdapterFactory implements TypeAdapterFactory {
+
+    private final Projection mProjection;
+    private final IdIndex mIdIndex;
+
+    public TraktTypeAdapterFactory() {
+        this(null, null);
+    }
+
+    /**
+     * @param projection The fields to read, or {@code null} to read all fields.
+     * @param idIndex The index to register ids with, or {@code null}.
+     */
+    public TraktTypeAdapterFactory(Projection projection, IdIndex idIndex) {
+        this.mProjection = projection;
+        this.mIdIndex = idIndex;
+    }
+
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        Class<? super T> rawType = type.getRawType();
+        if (rawType.isEnum()) {
+            return (TypeAdapter<T>) createEnumTypeAdapter(rawType);
+        }
+        TypeAdapter<?> adapter = createEntityTypeAdapter(gson, rawType);
+        if (adapter != null && mIdIndex != null && IdIndexTypeAdapter.isIds(rawType)) {
+            adapter = new IdIndexTypeAdapter(adapter, mIdIndex);
+        }
+        return (TypeAdapter<T>) adapter;
+    }
+
+    private TypeAdapter<?> createEntityTypeAdapter(Gson gson, Class<?> rawType) {
+        Set<String> fields = mProjection == null ? null : mProjection.fields(rawType);
+        if (rawType == AccessToken.class) {
+            return new AccessTokenTypeAdapter(gson, fields);
+        }
+        if (rawType == Account.class) {
+            return new AccountTypeAdapter(gson, fields);
+        }
+        if (rawType == Airs.class) {
+            return new AirsTypeAdapter(gson, fields);
+        }
+        if (rawType == BaseEpisode.class) {
+            return new BaseEpisodeTypeAdapter(gson, fields);
+        }
+        if (rawType == BaseMovie.class) {
+            return new BaseMovieTypeAdapter(gson, fields);
+        }
+        if (rawType == BaseRatedEntity.class) {
+            return new BaseRatedEntityTypeAdapter(gson, fields);
+        }
+        if (rawType == BaseSeason.class) {
+            return new BaseSeasonTypeAdapter(gson, fields);
+        }
+        if (rawType == BaseShow.class) {
+            return new BaseShowTypeAdapter(gson, fields);
+        }
+        if (rawType == CalendarMovieEntry.class) {
+            return new CalendarMovieEntryTypeAdapter(gson, fields);
+        }
+        if (rawType == CalendarShowEntry.class) {
+            return new CalendarShowEntryTypeAdapter(gson, fields);
+        }
+        if (rawType == CastMember.class) {
+            return new CastMemberTypeAdapter(gson, fields);
+        }
+        if (rawType == CheckinError.class) {
+            return new CheckinErrorTypeAdapter(gson, fields);
+        }
+        if (rawType == Comment.class) {
+            return new CommentTypeAdapter(gson, fields);
+        }
+        if (rawType == Connections.class) {
+            return new ConnectionsTypeAdapter(gson, fields);
+        }
+        if (rawType == Credits.class) {
+            return new CreditsTypeAdapter(gson, fields);
+        }
+        if (rawType == Crew.class) {
+            return new CrewTypeAdapter(gson, fields);
+        }
+        if (rawType == CrewMember.class) {
+            return new CrewMemberTypeAdapter(gson, fields);
+        }
+        if (rawType == Episode.class) {
+            return new EpisodeTypeAdapter(gson, fields);
+        }
+        if (rawType == EpisodeCheckin.class) {
+            return new EpisodeCheckinTypeAdapter(gson, fields);
+        }
+        if (rawType == EpisodeCheckinResponse.class) {
+            return new EpisodeCheckinResponseTypeAdapter(gson, fields);
+        }
+        if (rawType == EpisodeIds.class) {
+            return new EpisodeIdsTypeAdapter(gson, fields);
+        }
+        if (rawType == Followed.class) {
+            return new FollowedTypeAdapter(gson, fields);
+        }
+        if (rawType == Follower.class) {
+            return new FollowerTypeAdapter(gson, fields);
+        }
+        if (rawType == Friend.class) {
+            return new FriendTypeAdapter(gson, fields);
+        }
+        if (rawType == Genre.class) {
+            return new GenreTypeAdapter(gson, fields);
+        }
+        if (rawType == HistoryEntry.class) {
+            return new HistoryEntryTypeAdapter(gson, fields);
+        }
+        if (rawType == ImageSizes.class) {
+            return new ImageSizesTypeAdapter(gson, fields);
+        }
+        if (rawType == Images.class) {
+            return new ImagesTypeAdapter(gson, fields);
+        }
+        if (rawType == LastActivities.class) {
+            return new LastActivitiesTypeAdapter(gson, fields);
+        }
+        if (rawType == LastActivity.class) {
+            return new LastActivityTypeAdapter(gson, fields);
+        }
+        if (rawType == LastActivityMore.class) {
+            return new LastActivityMoreTypeAdapter(gson, fields);
+        }
+        if (rawType == ListEntry.class) {
+            return new ListEntryTypeAdapter(gson, fields);
+        }
+        if (rawType == ListIds.class) {
+            return new ListIdsTypeAdapter(gson, fields);
+        }
+        if (rawType == MoreImageSizes.class) {
+            return new MoreImageSizesTypeAdapter(gson, fields);
+        }
+        if (rawType == Movie.class) {
+            return new MovieTypeAdapter(gson, fields);
+        }
+        if (rawType == MovieCheckin.class) {
+            return new MovieCheckinTypeAdapter(gson, fields);
+        }
+        if (rawType == MovieCheckinResponse.class) {
+            return new MovieCheckinResponseTypeAdapter(gson, fields);
+        }
+        if (rawType == MovieIds.class) {
+            return new MovieIdsTypeAdapter(gson, fields);
+        }
+        if (rawType == MovieTranslation.class) {
+            return new MovieTranslationTypeAdapter(gson, fields);
+        }
+        if (rawType == Person.class) {
+            return new PersonTypeAdapter(gson, fields);
+        }
+        if (rawType == PersonIds.class) {
+            return new PersonIdsTypeAdapter(gson, fields);
+        }
+        if (rawType == RatedEpisode.class) {
+            return new RatedEpisodeTypeAdapter(gson, fields);
+        }
+        if (rawType == RatedMovie.class) {
+            return new RatedMovieTypeAdapter(gson, fields);
+        }
+        if (rawType == RatedSeason.class) {
+            return new RatedSeasonTypeAdapter(gson, fields);
+        }
+        if (rawType == RatedShow.class) {
+            return new RatedShowTypeAdapter(gson, fields);
+        }
+        if (rawType == Ratings.class) {
+            return new RatingsTypeAdapter(gson, fields);
+        }
+        if (rawType == SearchResult.class) {
+            return new SearchResultTypeAdapter(gson, fields);
+        }
+        if (rawType == Season.class) {
+            return new SeasonTypeAdapter(gson, fields);
+        }
+        if (rawType == SeasonIds.class) {
+            return new SeasonIdsTypeAdapter(gson, fields);
+        }
+        if (rawType == Settings.class) {
+            return new SettingsTypeAdapter(gson, fields);
+        }
+        if (rawType == ShareSettings.class) {
+            return new ShareSettingsTypeAdapter(gson, fields);
+        }
+        if (rawType == SharingText.class) {
+            return new SharingTextTypeAdapter(gson, fields);
+        }
+        if (rawType == Show.class) {
+            return new ShowTypeAdapter(gson, fields);
+        }
+        if (rawType == ShowIds.class) {
+            return new ShowIdsTypeAdapter(gson, fields);
+        }
+        if (rawType == SyncEpisode.class) {
+            return new SyncEpisodeTypeAdapter(gson, fields);
+        }
+        if (rawType == SyncErrors.class) {
+            return new SyncErrorsTypeAdapter(gson, fields);
+        }
+        if (rawType == SyncItems.class) {
+            return new SyncItemsTypeAdapter(gson, fields);
+        }
+        if (rawType == SyncMovie.class) {
+            return new SyncMovieTypeAdapter(gson, fields);
+        }
+        if (rawType == SyncResponse.class) {
+            return new SyncResponseTypeAdapter(gson, fields);
+        }
+        if (rawType == SyncSeason.class) {
+            return new SyncSeasonTypeAdapter(gson, fields);
+        }
+        if (rawType == SyncShow.class) {
+            return new SyncShowTypeAdapter(gson, fields);
+        }
+        if (rawType == SyncStats.class) {
+            return new SyncStatsTypeAdapter(gson, fields);
+        }
+        if (rawType == TraktList.class) {
+            return new TraktListTypeAdapter(gson, fields);
+        }
+        if (rawType == Translation.class) {
+            return new TranslationTypeAdapter(gson, fields);
+        }
+        if (rawType == TrendingMovie.class) {
+            return new TrendingMovieTypeAdapter(gson, fields);
+        }
+        if (rawType == TrendingShow.class) {
+            return new TrendingShowTypeAdapter(gson, fields);
+        }
+        if (rawType == User.class) {
+            return new UserTypeAdapter(gson, fields);
+        }
+        if (rawType == WatchlistedEpisode.class) {
+            return new WatchlistedEpisodeTypeAdapter(gson, fields);
+        }
+        if (rawType == WatchlistedSeason.class) {
+            return new WatchlistedSeasonTypeAdapter(gson, fields);
+        }
+        return null;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static TypeAdapter<?> createEnumTypeAdapter(Class<?> enumClass) {
+        if (enumClass == Rating.class) {
+            return new RatingTypeAdapter();
+        }
+        if (TraktEnum.class.isAssignableFrom(enumClass)) {
+            return new TraktEnumTypeAdapter(enumClass);
+        }
+        return null;
+    }
+
+}
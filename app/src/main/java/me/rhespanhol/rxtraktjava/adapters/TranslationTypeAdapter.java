@@ -0,0 +1,66 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Translation;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class TranslationTypeAdapter extends TypeAdapter<Translation> {
+
+    private final Set<String> mFields;
+
+    TranslationTypeAdapter(Gson gson, Set<String> fields) {
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, Translation value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("language").value(value.language);
+        out.name("title").value(value.title);
+        out.name("overview").value(value.overview);
+        out.endObject();
+    }
+
+    @Override
+    public Translation read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        Translation value = new Translation();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "language":
+                    value.language = Adapters.readString(in);
+                    break;
+                case "title":
+                    value.title = Adapters.readString(in);
+                    break;
+                case "overview":
+                    value.overview = Adapters.readString(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,65 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.TrendingMovie;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class TrendingMovieTypeAdapter extends TypeAdapter<TrendingMovie> {
+
+    private final TypeAdapter<Movie> mMovieAdapter;
+    private final Set<String> mFields;
+
+    TrendingMovieTypeAdapter(Gson gson, Set<String> fields) {
+        this.mMovieAdapter = gson.getAdapter(Movie.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, TrendingMovie value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("watchers").value(value.watchers);
+        mMovieAdapter.write(out.name("movie"), value.movie);
+        out.endObject();
+    }
+
+    @Override
+    public TrendingMovie read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        TrendingMovie value = new TrendingMovie();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "watchers":
+                    value.watchers = Adapters.readInteger(in);
+                    break;
+                case "movie":
+                    value.movie = mMovieAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
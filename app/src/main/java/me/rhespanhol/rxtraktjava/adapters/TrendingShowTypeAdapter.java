@@ -0,0 +1,65 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.entities.TrendingShow;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class TrendingShowTypeAdapter extends TypeAdapter<TrendingShow> {
+
+    private final TypeAdapter<Show> mShowAdapter;
+    private final Set<String> mFields;
+
+    TrendingShowTypeAdapter(Gson gson, Set<String> fields) {
+        this.mShowAdapter = gson.getAdapter(Show.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, TrendingShow value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("watchers").value(value.watchers);
+        mShowAdapter.write(out.name("show"), value.show);
+        out.endObject();
+    }
+
+    @Override
+    public TrendingShow read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        TrendingShow value = new TrendingShow();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "watchers":
+                    value.watchers = Adapters.readInteger(in);
+                    break;
+                case "show":
+                    value.show = mShowAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
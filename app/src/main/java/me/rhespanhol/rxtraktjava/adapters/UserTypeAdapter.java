@@ -0,0 +1,104 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.entities.Images;
+import me.rhespanhol.rxtraktjava.entities.User;
+import org.joda.time.DateTime;
+
+import java.io.IOException;
+import java.util.Set;
+
+final class UserTypeAdapter extends TypeAdapter<User> {
+
+    private final TypeAdapter<DateTime> mDateTimeAdapter;
+    private final TypeAdapter<Images> mImagesAdapter;
+    private final Set<String> mFields;
+
+    UserTypeAdapter(Gson gson, Set<String> fields) {
+        this.mDateTimeAdapter = gson.getAdapter(DateTime.class);
+        this.mImagesAdapter = gson.getAdapter(Images.class);
+        this.mFields = fields;
+    }
+
+    @Override
+    public void write(JsonWriter out, User value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("username").value(value.username);
+        Adapters.writeBoolean(out.name("private"), value.isPrivate);
+        out.name("name").value(value.name);
+        Adapters.writeBoolean(out.name("vip"), value.vip);
+        Adapters.writeBoolean(out.name("vip_ep"), value.vip_ep);
+        mDateTimeAdapter.write(out.name("joined_at"), value.joined_at);
+        out.name("location").value(value.location);
+        out.name("about").value(value.about);
+        out.name("gender").value(value.gender);
+        out.name("age").value(value.age);
+        mImagesAdapter.write(out.name("images"), value.images);
+        out.endObject();
+    }
+
+    @Override
+    public User read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        User value = new User();
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (mFields != null && !mFields.contains(name)) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "username":
+                    value.username = Adapters.readString(in);
+                    break;
+                case "private":
+                    value.isPrivate = Adapters.readBoolean(in);
+                    break;
+                case "name":
+                    value.name = Adapters.readString(in);
+                    break;
+                case "vip":
+                    value.vip = Adapters.readBoolean(in);
+                    break;
+                case "vip_ep":
+                    value.vip_ep = Adapters.readBoolean(in);
+                    break;
+                case "joined_at":
+                    value.joined_at = mDateTimeAdapter.read(in);
+                    break;
+                case "location":
+                    value.location = Adapters.readString(in);
+                    break;
+                case "about":
+                    value.about = Adapters.readString(in);
+                    break;
+                case "gender":
+                    value.gender = Adapters.readString(in);
+                    break;
+                case "age":
+                    value.age = Adapters.readInt(in, value.age);
+                    break;
+                case "images":
+                    value.images = mImagesAdapter.read(in);
+                    break;
+                default:
+                    in.skipValue();
+            }
+        }
+        in.endObject();
+        return value;
+    }
+
+}
@@ -0,0 +1,34 @@
+package me.rhespanhol.rxtraktjava.cache;
+
+/**
+ * A snapshot of the counters of an {@link EntityCache}.
+ */
+public class CacheStats {
+
+    public final long hitCount;
+    public final long missCount;
+    public final long evictionCount;
+    public final int size;
+
+    CacheStats(long hitCount, long missCount, long evictionCount, int size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * Returns the share of lookups answered from the cache, or 1 if there were none.
+     */
+    public double hitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{hits=" + hitCount + ", misses=" + missCount + ", evictions=" + evictionCount
+                + ", size=" + size + '}';
+    }
+
+}
@@ -0,0 +1,161 @@
+package me.rhespanhol.rxtraktjava.cache;
+
+import me.rhespanhol.rxtraktjava.enums.Extended;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A size-bounded in-memory cache of entities keyed by their trakt id.
+ * <p>
+ * <p>Each entry remembers the {@link Extended} level it was fetched with. A lookup only hits if that level includes
+ * everything the requested level would return: a {@link Extended#FULLIMAGES} entry answers any request, a {@link
+ * Extended#DEFAULT_MIN} entry only minimal ones. Entries expire after a fixed time to live; when the cache is full the
+ * least recently used entry is evicted.
+ * <p>
+ * <p>Other keys, like slugs, can be registered as aliases of a trakt id. Cached entities are shared between callers
+ * and must not be modified.
+ */
+public class EntityCache<V> {
+
+    private static final int LEVEL_MIN = 0;
+    private static final int LEVEL_FULL = 1;
+    private static final int LEVEL_IMAGES = 2;
+
+    private final int mMaxSize;
+    private final long mTtlMillis;
+
+    // all guarded by this
+    private final LinkedHashMap<Integer, CachedEntity<V>> mEntries;
+    private final LinkedHashMap<String, Integer> mAliases;
+    private long mHitCount;
+    private long mMissCount;
+    private long mEvictionCount;
+
+    public EntityCache(final int maxSize, long ttl, TimeUnit unit) {
+        this.mMaxSize = maxSize;
+        this.mTtlMillis = unit.toMillis(ttl);
+        this.mEntries = new LinkedHashMap<Integer, CachedEntity<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedEntity<V>> eldest) {
+                if (size() > mMaxSize) {
+                    mEvictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.mAliases = new LinkedHashMap<String, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > 2 * mMaxSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the entity with the given trakt id if it is cached with at least the requested extended level.
+     */
+    public synchronized V get(int traktId, Extended extended) {
+        CachedEntity<V> entry = mEntries.get(traktId);
+        if (entry == null) {
+            mMissCount++;
+            return null;
+        }
+        if (entry.mExpiresAtMillis <= System.currentTimeMillis()) {
+            mEntries.remove(traktId);
+            mEvictionCount++;
+            mMissCount++;
+            return null;
+        }
+        if (!covers(entry.mLevel, level(extended))) {
+            mMissCount++;
+            return null;
+        }
+        mHitCount++;
+        return entry.mValue;
+    }
+
+    /**
+     * Returns the entity registered under the given alias, see {@link #get(int, Extended)}.
+     */
+    public synchronized V get(String alias, Extended extended) {
+        Integer traktId = mAliases.get(alias);
+        if (traktId == null) {
+            mMissCount++;
+            return null;
+        }
+        return get(traktId, extended);
+    }
+
+    /**
+     * Caches an entity fetched with the given extended level. Does not replace an entry of a higher level that has
+     * not expired yet.
+     */
+    public synchronized void put(int traktId, Extended extended, V value) {
+        int level = level(extended);
+        CachedEntity<V> existing = mEntries.get(traktId);
+        if (existing != null && existing.mExpiresAtMillis > System.currentTimeMillis()
+                && level != existing.mLevel && covers(existing.mLevel, level)) {
+            return;
+        }
+        mEntries.put(traktId, new CachedEntity<>(value, level, System.currentTimeMillis() + mTtlMillis));
+    }
+
+    /**
+     * Registers another key, e.g. a slug, under which the entity with the given trakt id can be found.
+     */
+    public synchronized void putAlias(String alias, int traktId) {
+        mAliases.put(alias, traktId);
+    }
+
+    public synchronized void remove(int traktId) {
+        mEntries.remove(traktId);
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+        mAliases.clear();
+    }
+
+    public synchronized CacheStats stats() {
+        return new CacheStats(mHitCount, mMissCount, mEvictionCount, mEntries.size());
+    }
+
+    private static int level(Extended extended) {
+        if (extended == null) {
+            return LEVEL_MIN;
+        }
+        switch (extended) {
+            case FULL:
+                return LEVEL_FULL;
+            case FULLIMAGES:
+                return LEVEL_FULL | LEVEL_IMAGES;
+            case IMAGES:
+            case NOSEASONSIMAGES:
+                return LEVEL_IMAGES;
+            default:
+                return LEVEL_MIN;
+        }
+    }
+
+    private static boolean covers(int cachedLevel, int requestedLevel) {
+        return (cachedLevel & requestedLevel) == requestedLevel;
+    }
+
+    private static final class CachedEntity<V> {
+
+        final V mValue;
+        final int mLevel;
+        final long mExpiresAtMillis;
+
+        CachedEntity(V value, int level, long expiresAtMillis) {
+            this.mValue = value;
+            this.mLevel = level;
+            this.mExpiresAtMillis = expiresAtMillis;
+        }
+
+    }
+
+}
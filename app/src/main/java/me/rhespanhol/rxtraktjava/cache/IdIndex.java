@@ -0,0 +1,297 @@
+package me.rhespanhol.rxtraktjava.cache;
+
+import me.rhespanhol.rxtraktjava.entities.EpisodeIds;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.PersonIds;
+import me.rhespanhol.rxtraktjava.entities.SeasonIds;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+import me.rhespanhol.rxtraktjava.enums.IdType;
+import me.rhespanhol.rxtraktjava.util.IntIntMap;
+import me.rhespanhol.rxtraktjava.util.ObjectIntMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Maps the imdb, tmdb, tvdb and tvrage ids and slugs of movies, shows, seasons, episodes and people to their trakt
+ * id, so data from other sources can be matched locally instead of with {@link
+ * me.rhespanhol.rxtraktjava.services.Search#idLookup}.
+ * <p>
+ * <p>Numeric ids, including the number of imdb ids, are kept in maps with primitive {@code int} keys and values, so
+ * neither lookups nor registrations box. Set the index with {@link me.rhespanhol.rxtraktjava.Trakt#setIdIndex(IdIndex)}
+ * to register the ids of every entity that is parsed from a response.
+ * <p>
+ * <p>The index can be saved with {@link #writeTo(OutputStream)} and restored with {@link #readFrom(InputStream)}, so
+ * mappings survive restarts. It is safe to use from multiple threads.
+ */
+public class IdIndex {
+
+    /** Returned by lookups if the id is not known. */
+    public static final int NOT_FOUND = -1;
+
+    private static final int FORMAT_VERSION = 1;
+
+    /** The prefix of imdb ids of movies, shows and episodes. */
+    private static final String IMDB_TITLE = "tt";
+    /** The prefix of imdb ids of people. */
+    private static final String IMDB_NAME = "nm";
+
+    private final Ids mMovies = new Ids(IMDB_TITLE);
+    private final Ids mShows = new Ids(IMDB_TITLE);
+    private final Ids mSeasons = new Ids(IMDB_TITLE);
+    private final Ids mEpisodes = new Ids(IMDB_TITLE);
+    private final Ids mPeople = new Ids(IMDB_NAME);
+
+    public Ids movies() {
+        return mMovies;
+    }
+
+    public Ids shows() {
+        return mShows;
+    }
+
+    public Ids seasons() {
+        return mSeasons;
+    }
+
+    public Ids episodes() {
+        return mEpisodes;
+    }
+
+    public Ids people() {
+        return mPeople;
+    }
+
+    /**
+     * Writes all mappings to the stream. Does not close it.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(FORMAT_VERSION);
+        for (Ids ids : all()) {
+            ids.writeTo(data);
+        }
+        data.flush();
+    }
+
+    /**
+     * Adds the mappings written with {@link #writeTo(OutputStream)} to this index, replacing known ones. Does not
+     * close the stream.
+     */
+    public void readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        int version = data.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported id index format " + version);
+        }
+        for (Ids ids : all()) {
+            ids.readFrom(data);
+        }
+    }
+
+    private Ids[] all() {
+        return new Ids[] { mMovies, mShows, mSeasons, mEpisodes, mPeople };
+    }
+
+    public void register(MovieIds ids) {
+        if (ids.trakt != null) {
+            mMovies.register(ids.trakt, ids.slug, ids.imdb, ids.tmdb, null, null);
+        }
+    }
+
+    public void register(ShowIds ids) {
+        if (ids.trakt != null) {
+            mShows.register(ids.trakt, ids.slug, ids.imdb, ids.tmdb, ids.tvdb, ids.tvrage);
+        }
+    }
+
+    public void register(SeasonIds ids) {
+        if (ids.trakt != null) {
+            mSeasons.register(ids.trakt, null, null, ids.tmdb, ids.tvdb, ids.tvrage);
+        }
+    }
+
+    public void register(EpisodeIds ids) {
+        if (ids.trakt != null) {
+            mEpisodes.register(ids.trakt, null, ids.imdb, ids.tmdb, ids.tvdb, ids.tvrage);
+        }
+    }
+
+    public void register(PersonIds ids) {
+        if (ids.trakt != null) {
+            int tvrage = parseNumber(ids.tvrage, 0);
+            mPeople.register(ids.trakt, ids.slug, ids.imdb, ids.tmdb, null, tvrage >= 0 ? tvrage : null);
+        }
+    }
+
+    /**
+     * Returns the number of an imdb id with the given prefix, like {@code tt0903747} for {@code tt}, or -1 if it has a
+     * different prefix or format.
+     */
+    static int parseImdb(String imdb, String prefix) {
+        if (imdb == null || !imdb.startsWith(prefix)) {
+            return -1;
+        }
+        return parseNumber(imdb, prefix.length());
+    }
+
+    /**
+     * Returns the non-negative number starting at the given index, or -1 if there is none or it is too large.
+     */
+    static int parseNumber(String value, int start) {
+        if (value == null || value.length() <= start || value.length() - start > 9) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    /**
+     * The ids of one kind of entity. Only imdb ids with the prefix of the kind, {@code tt} for titles and {@code nm}
+     * for people, are kept and found, so {@code tt0000123} and {@code nm0000123} do not match each other.
+     */
+    public static class Ids {
+
+        private final String mImdbPrefix;
+        private final IntIntMap mImdb = new IntIntMap();
+        private final IntIntMap mTmdb = new IntIntMap();
+        private final IntIntMap mTvdb = new IntIntMap();
+        private final IntIntMap mTvrage = new IntIntMap();
+        private final ObjectIntMap<String> mSlugs = new ObjectIntMap<>();
+
+        Ids(String imdbPrefix) {
+            this.mImdbPrefix = imdbPrefix;
+        }
+
+        /**
+         * Looks up an id of the given type, a trakt id is returned as is.
+         *
+         * @return The trakt id, or {@link #NOT_FOUND}.
+         */
+        public int traktIdFor(IdType type, String id) {
+            switch (type) {
+                case IMDB:
+                    return traktIdForImdb(id);
+                case TMDB:
+                    int tmdb = parseNumber(id, 0);
+                    return tmdb < 0 ? NOT_FOUND : traktIdForTmdb(tmdb);
+                case TVDB:
+                    int tvdb = parseNumber(id, 0);
+                    return tvdb < 0 ? NOT_FOUND : traktIdForTvdb(tvdb);
+                case TVRAGE:
+                    int tvrage = parseNumber(id, 0);
+                    return tvrage < 0 ? NOT_FOUND : traktIdForTvrage(tvrage);
+                default:
+                    int trakt = parseNumber(id, 0);
+                    return trakt < 0 ? NOT_FOUND : trakt;
+            }
+        }
+
+        public synchronized int traktIdForImdb(String imdb) {
+            int number = parseImdb(imdb, mImdbPrefix);
+            return number < 0 ? NOT_FOUND : mImdb.get(number, NOT_FOUND);
+        }
+
+        public synchronized int traktIdForTmdb(int tmdb) {
+            return mTmdb.get(tmdb, NOT_FOUND);
+        }
+
+        public synchronized int traktIdForTvdb(int tvdb) {
+            return mTvdb.get(tvdb, NOT_FOUND);
+        }
+
+        public synchronized int traktIdForTvrage(int tvrage) {
+            return mTvrage.get(tvrage, NOT_FOUND);
+        }
+
+        public synchronized int traktIdForSlug(String slug) {
+            return slug == null ? NOT_FOUND : mSlugs.get(slug, NOT_FOUND);
+        }
+
+        /**
+         * Resolves an id like the service methods accept it: a trakt id is returned as is, an imdb id or a slug is
+         * looked up.
+         *
+         * @return The trakt id, or {@link #NOT_FOUND}.
+         */
+        public int resolve(String id) {
+            int traktId = parseNumber(id, 0);
+            if (traktId >= 0) {
+                return traktId;
+            }
+            int imdb = traktIdForImdb(id);
+            return imdb != NOT_FOUND ? imdb : traktIdForSlug(id);
+        }
+
+        synchronized void register(int trakt, String slug, String imdb, Integer tmdb, Integer tvdb,
+                Integer tvrage) {
+            if (slug != null) {
+                mSlugs.put(slug, trakt);
+            }
+            int imdbNumber = parseImdb(imdb, mImdbPrefix);
+            if (imdbNumber >= 0) {
+                mImdb.put(imdbNumber, trakt);
+            }
+            if (tmdb != null) {
+                mTmdb.put(tmdb, trakt);
+            }
+            if (tvdb != null) {
+                mTvdb.put(tvdb, trakt);
+            }
+            if (tvrage != null) {
+                mTvrage.put(tvrage, trakt);
+            }
+        }
+
+        synchronized void writeTo(DataOutputStream out) throws IOException {
+            writeMap(out, mImdb);
+            writeMap(out, mTmdb);
+            writeMap(out, mTvdb);
+            writeMap(out, mTvrage);
+            out.writeInt(mSlugs.size());
+            for (String slug : mSlugs.keys()) {
+                out.writeUTF(slug);
+                out.writeInt(mSlugs.get(slug, NOT_FOUND));
+            }
+        }
+
+        synchronized void readFrom(DataInputStream in) throws IOException {
+            readMap(in, mImdb);
+            readMap(in, mTmdb);
+            readMap(in, mTvdb);
+            readMap(in, mTvrage);
+            for (int i = in.readInt(); i > 0; i--) {
+                mSlugs.put(in.readUTF(), in.readInt());
+            }
+        }
+
+        private static void writeMap(DataOutputStream out, IntIntMap map) throws IOException {
+            int[] keys = map.keys();
+            out.writeInt(keys.length);
+            for (int key : keys) {
+                out.writeInt(key);
+                out.writeInt(map.get(key, NOT_FOUND));
+            }
+        }
+
+        private static void readMap(DataInputStream in, IntIntMap map) throws IOException {
+            for (int i = in.readInt(); i > 0; i--) {
+                map.put(in.readInt(), in.readInt());
+            }
+        }
+
+    }
+
+}
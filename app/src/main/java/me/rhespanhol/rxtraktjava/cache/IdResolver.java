@@ -0,0 +1,258 @@
+package me.rhespanhol.rxtraktjava.cache;
+
+import me.rhespanhol.rxtraktjava.TraktRx;
+import me.rhespanhol.rxtraktjava.entities.SearchResult;
+import me.rhespanhol.rxtraktjava.enums.IdType;
+import me.rhespanhol.rxtraktjava.enums.Type;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resolves many external ids to trakt ids, e.g. when importing a library keyed by imdb or tvdb ids.
+ * <p>
+ * <p>Duplicate ids are resolved once. Ids already in the {@link IdIndex} are answered locally, only the others are
+ * looked up with {@link me.rhespanhol.rxtraktjava.services.Search#idLookup}, several at a time. Lookups go through the
+ * same client as all other requests, so they are paced by its rate limiter and retried by its retry policy. Every
+ * lookup result is added to the index; persist it with {@link IdIndex#writeTo(java.io.OutputStream)} to skip the
+ * lookups next time.
+ */
+public class IdResolver {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    private static final Type[] TYPES = { Type.MOVIE, Type.SHOW, Type.EPISODE, Type.PERSON };
+
+    private final TraktRx mTrakt;
+    private final IdIndex mIndex;
+    private volatile int mMaxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    public IdResolver(TraktRx trakt, IdIndex index) {
+        this.mTrakt = trakt;
+        this.mIndex = index;
+    }
+
+    /**
+     * Sets how many lookups are sent at the same time.
+     */
+    public IdResolver setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency < 1");
+        }
+        mMaxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    public Observable<Resolution> resolve(Iterable<ExternalId> ids) {
+        return resolve(Observable.from(ids));
+    }
+
+    /**
+     * Resolves the ids in no particular order. Emits one {@link Resolution} per item matching an id, or a single one
+     * that is not {@link Resolution#isFound() found} if nothing matched. A lookup that fails, after the retries of the
+     * client, emits a single {@link Resolution#isFailed() failed} resolution for its id, the other ids are still
+     * resolved.
+     */
+    public Observable<Resolution> resolve(Observable<ExternalId> ids) {
+        return ids.distinct().flatMap(new Func1<ExternalId, Observable<Resolution>>() {
+            @Override
+            public Observable<Resolution> call(ExternalId id) {
+                List<Resolution> known = lookupLocally(id);
+                return known.isEmpty() ? lookup(id) : Observable.from(known);
+            }
+        }, mMaxConcurrency);
+    }
+
+    /**
+     * Returns the matches in the index, or an empty list if the id has to be looked up. Tmdb, tvdb and tvrage ids of
+     * different types of items overlap, so without a type a match in one table does not rule out matches of other
+     * types, those are always looked up. Imdb ids are unique across all types.
+     */
+    private List<Resolution> lookupLocally(ExternalId id) {
+        List<Resolution> known = new ArrayList<>(1);
+        Type only = id.type != null ? id.type : typeOf(id.idType);
+        if (only == null && id.idType != IdType.IMDB) {
+            return known;
+        }
+        for (Type type : TYPES) {
+            if (only == null || only == type) {
+                int traktId = ids(type).traktIdFor(id.idType, id.id);
+                if (traktId != IdIndex.NOT_FOUND) {
+                    known.add(new Resolution(id, type, traktId));
+                }
+            }
+        }
+        return known;
+    }
+
+    /**
+     * Returns the type of item a trakt id belongs to, or {@code null} for external ids.
+     */
+    private static Type typeOf(IdType idType) {
+        switch (idType) {
+            case TRAKT_MOVIE:
+                return Type.MOVIE;
+            case TRAKT_SHOW:
+                return Type.SHOW;
+            case TRAKT_EPISODE:
+                return Type.EPISODE;
+            default:
+                return null;
+        }
+    }
+
+    private IdIndex.Ids ids(Type type) {
+        switch (type) {
+            case MOVIE:
+                return mIndex.movies();
+            case SHOW:
+                return mIndex.shows();
+            case EPISODE:
+                return mIndex.episodes();
+            default:
+                return mIndex.people();
+        }
+    }
+
+    private Observable<Resolution> lookup(final ExternalId id) {
+        return mTrakt.search().idLookup(id.idType, id.id, null, null)
+                .flatMapIterable(new Func1<List<SearchResult>, List<Resolution>>() {
+                    @Override
+                    public List<Resolution> call(List<SearchResult> results) {
+                        List<Resolution> resolutions = new ArrayList<>(1);
+                        if (results != null) {
+                            for (SearchResult result : results) {
+                                Resolution resolution = register(id, result);
+                                if (resolution != null && (id.type == null || id.type == resolution.type)) {
+                                    resolutions.add(resolution);
+                                }
+                            }
+                        }
+                        if (resolutions.isEmpty()) {
+                            resolutions.add(new Resolution(id, null, IdIndex.NOT_FOUND));
+                        }
+                        return resolutions;
+                    }
+                })
+                .onErrorReturn(new Func1<Throwable, Resolution>() {
+                    @Override
+                    public Resolution call(Throwable error) {
+                        return new Resolution(id, error);
+                    }
+                });
+    }
+
+    private Resolution register(ExternalId id, SearchResult result) {
+        if (result.movie != null && result.movie.ids != null && result.movie.ids.trakt != null) {
+            mIndex.register(result.movie.ids);
+            return new Resolution(id, Type.MOVIE, result.movie.ids.trakt);
+        }
+        if (result.show != null && result.show.ids != null && result.show.ids.trakt != null) {
+            mIndex.register(result.show.ids);
+            return new Resolution(id, Type.SHOW, result.show.ids.trakt);
+        }
+        if (result.episode != null && result.episode.ids != null && result.episode.ids.trakt != null) {
+            mIndex.register(result.episode.ids);
+            return new Resolution(id, Type.EPISODE, result.episode.ids.trakt);
+        }
+        if (result.person != null && result.person.ids != null && result.person.ids.trakt != null) {
+            mIndex.register(result.person.ids);
+            return new Resolution(id, Type.PERSON, result.person.ids.trakt);
+        }
+        return null;
+    }
+
+    /**
+     * An id of another database, or a trakt id.
+     */
+    public static class ExternalId {
+
+        public final IdType idType;
+        public final String id;
+        /**
+         * The type of item the id belongs to, or {@code null} to match any. Without a type, tmdb, tvdb and tvrage ids
+         * are not answered from the index but always looked up.
+         */
+        public final Type type;
+
+        public ExternalId(IdType idType, String id) {
+            this(idType, id, null);
+        }
+
+        public ExternalId(IdType idType, String id, Type type) {
+            if (idType == null || id == null) {
+                throw new IllegalArgumentException("idType == null || id == null");
+            }
+            this.idType = idType;
+            this.id = id;
+            this.type = type;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ExternalId)) {
+                return false;
+            }
+            ExternalId other = (ExternalId) o;
+            return idType == other.idType && id.equals(other.id) && type == other.type;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = idType.hashCode();
+            result = 31 * result + id.hashCode();
+            result = 31 * result + (type != null ? type.hashCode() : 0);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return idType + ":" + id;
+        }
+
+    }
+
+    public static class Resolution {
+
+        public final ExternalId externalId;
+        /** The type of the matching item, or {@code null} if none matched. */
+        public final Type type;
+        /** The trakt id of the matching item, or {@link IdIndex#NOT_FOUND}. */
+        public final int traktId;
+        /** Why the lookup failed, or {@code null} if it did not. */
+        public final Throwable error;
+
+        Resolution(ExternalId externalId, Type type, int traktId) {
+            this.externalId = externalId;
+            this.type = type;
+            this.traktId = traktId;
+            this.error = null;
+        }
+
+        Resolution(ExternalId externalId, Throwable error) {
+            this.externalId = externalId;
+            this.type = null;
+            this.traktId = IdIndex.NOT_FOUND;
+            this.error = error;
+        }
+
+        public boolean isFound() {
+            return traktId != IdIndex.NOT_FOUND;
+        }
+
+        /**
+         * Whether the id could not be looked up. Unlike an id that is not {@link #isFound() found}, it may still
+         * exist, resolve it again later.
+         */
+        public boolean isFailed() {
+            return error != null;
+        }
+
+    }
+
+}
@@ -0,0 +1,170 @@
+package me.rhespanhol.rxtraktjava.cache;
+
+import me.rhespanhol.rxtraktjava.TraktRx;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.Person;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import rx.Observable;
+import rx.functions.Action1;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers movie, show, episode and person summary requests from {@link EntityCache}s and only asks trakt on a miss.
+ * <p>
+ * <p>Ids may be trakt ids or anything else the summary endpoints accept, like slugs. Fetched entities are cached by
+ * their trakt id; the id they were requested with and their slug are registered as aliases.
+ */
+public class SummaryCache {
+
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    public static final long DEFAULT_TTL_MINUTES = 60;
+
+    private final TraktRx mTrakt;
+    private final EntityCache<Movie> mMovies;
+    private final EntityCache<Show> mShows;
+    private final EntityCache<Episode> mEpisodes;
+    private final EntityCache<Person> mPeople;
+
+    public SummaryCache(TraktRx trakt) {
+        this(trakt, DEFAULT_MAX_SIZE, DEFAULT_TTL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @param maxSize The maximum number of entities cached per type.
+     * @param ttl How long a cached entity is used before it is fetched again.
+     */
+    public SummaryCache(TraktRx trakt, int maxSize, long ttl, TimeUnit unit) {
+        this.mTrakt = trakt;
+        this.mMovies = new EntityCache<>(maxSize, ttl, unit);
+        this.mShows = new EntityCache<>(maxSize, ttl, unit);
+        this.mEpisodes = new EntityCache<>(maxSize, ttl, unit);
+        this.mPeople = new EntityCache<>(maxSize, ttl, unit);
+    }
+
+    public EntityCache<Movie> movies() {
+        return mMovies;
+    }
+
+    public EntityCache<Show> shows() {
+        return mShows;
+    }
+
+    public EntityCache<Episode> episodes() {
+        return mEpisodes;
+    }
+
+    public EntityCache<Person> people() {
+        return mPeople;
+    }
+
+    /**
+     * See {@link me.rhespanhol.rxtraktjava.services.Movies#summary(String, Extended)}.
+     */
+    public Observable<Movie> movie(final String movieId, final Extended extended) {
+        Movie cached = lookup(mMovies, movieId, extended);
+        if (cached != null) {
+            return Observable.just(cached);
+        }
+        return mTrakt.movies().summary(movieId, extended).doOnNext(new Action1<Movie>() {
+            @Override
+            public void call(Movie movie) {
+                if (movie != null && movie.ids != null && movie.ids.trakt != null) {
+                    store(mMovies, movie.ids.trakt, movieId, movie.ids.slug, extended, movie);
+                }
+            }
+        });
+    }
+
+    /**
+     * See {@link me.rhespanhol.rxtraktjava.services.Shows#summary(String, Extended)}.
+     */
+    public Observable<Show> show(final String showId, final Extended extended) {
+        Show cached = lookup(mShows, showId, extended);
+        if (cached != null) {
+            return Observable.just(cached);
+        }
+        return mTrakt.shows().summary(showId, extended).doOnNext(new Action1<Show>() {
+            @Override
+            public void call(Show show) {
+                if (show != null && show.ids != null && show.ids.trakt != null) {
+                    store(mShows, show.ids.trakt, showId, show.ids.slug, extended, show);
+                }
+            }
+        });
+    }
+
+    /**
+     * See {@link me.rhespanhol.rxtraktjava.services.Episodes#summary(String, int, int, Extended)}.
+     */
+    public Observable<Episode> episode(String showId, int season, int episode, final Extended extended) {
+        final String alias = showId + '/' + season + '/' + episode;
+        Episode cached = mEpisodes.get(alias, extended);
+        if (cached != null) {
+            return Observable.just(cached);
+        }
+        return mTrakt.episodes().summary(showId, season, episode, extended).doOnNext(new Action1<Episode>() {
+            @Override
+            public void call(Episode episode) {
+                if (episode != null && episode.ids != null && episode.ids.trakt != null) {
+                    store(mEpisodes, episode.ids.trakt, alias, null, extended, episode);
+                }
+            }
+        });
+    }
+
+    /**
+     * See {@link me.rhespanhol.rxtraktjava.services.People#summary(String, Extended)}.
+     */
+    public Observable<Person> person(final String personId, final Extended extended) {
+        Person cached = lookup(mPeople, personId, extended);
+        if (cached != null) {
+            return Observable.just(cached);
+        }
+        return mTrakt.people().summary(personId, extended).doOnNext(new Action1<Person>() {
+            @Override
+            public void call(Person person) {
+                if (person != null && person.ids != null && person.ids.trakt != null) {
+                    store(mPeople, person.ids.trakt, personId, person.ids.slug, extended, person);
+                }
+            }
+        });
+    }
+
+    private static <V> V lookup(EntityCache<V> cache, String id, Extended extended) {
+        int traktId = parseTraktId(id);
+        return traktId >= 0 ? cache.get(traktId, extended) : cache.get(id, extended);
+    }
+
+    private static <V> void store(EntityCache<V> cache, int traktId, String requestedId, String slug,
+            Extended extended, V value) {
+        cache.put(traktId, extended, value);
+        if (parseTraktId(requestedId) < 0) {
+            cache.putAlias(requestedId, traktId);
+        }
+        if (slug != null) {
+            cache.putAlias(slug, traktId);
+        }
+    }
+
+    /**
+     * Returns the trakt id if the given id is one, otherwise -1.
+     */
+    private static int parseTraktId(String id) {
+        if (id == null || id.length() == 0 || id.length() > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+}
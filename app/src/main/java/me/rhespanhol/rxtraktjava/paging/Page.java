@@ -0,0 +1,69 @@
+package me.rhespanhol.rxtraktjava.paging;
+
+import me.rhespanhol.rxtraktjava.Trakt;
+import retrofit2.Response;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a paginated endpoint together with the pagination headers trakt sent with it.
+ */
+public class Page<T> {
+
+    public final List<T> items;
+    /** The number of this page, starting at 1. */
+    public final int page;
+    public final int limit;
+    /** The total number of pages, or {@code null} if trakt did not send it. */
+    public final Integer pageCount;
+    /** The total number of items, or {@code null} if trakt did not send it. */
+    public final Integer itemCount;
+
+    public Page(List<T> items, int page, int limit, Integer pageCount, Integer itemCount) {
+        this.items = items == null ? Collections.<T>emptyList() : items;
+        this.page = page;
+        this.limit = limit;
+        this.pageCount = pageCount;
+        this.itemCount = itemCount;
+    }
+
+    /**
+     * Reads a page from a successful response. Header values that are missing fall back to what was requested.
+     */
+    public static <T> Page<T> from(Response<List<T>> response, int page, int limit) {
+        return new Page<>(response.body(),
+                intHeader(response, Trakt.HEADER_PAGINATION_PAGE, page),
+                intHeader(response, Trakt.HEADER_PAGINATION_LIMIT, limit),
+                intHeader(response, Trakt.HEADER_PAGINATION_PAGE_COUNT),
+                intHeader(response, Trakt.HEADER_PAGINATION_ITEM_COUNT));
+    }
+
+    /**
+     * Whether there are no further pages. Without a page count a page with less than {@link #limit} items is the last.
+     */
+    public boolean isLast() {
+        if (pageCount != null) {
+            return page >= pageCount;
+        }
+        return items.size() < limit;
+    }
+
+    private static int intHeader(Response<?> response, String name, int defaultValue) {
+        Integer value = intHeader(response, name);
+        return value == null ? defaultValue : value;
+    }
+
+    private static Integer intHeader(Response<?> response, String name) {
+        String value = response.headers().get(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+}
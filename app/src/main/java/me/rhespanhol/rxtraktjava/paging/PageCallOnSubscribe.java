@@ -0,0 +1,65 @@
+package me.rhespanhol.rxtraktjava.paging;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.adapter.rxjava.HttpException;
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+import java.util.List;
+
+/**
+ * Fetches a single page asynchronously on the dispatcher of the OkHttp client, so several pages can be in flight
+ * without occupying a thread each.
+ */
+final class PageCallOnSubscribe<T> implements Observable.OnSubscribe<Page<T>> {
+
+    private final PageSource<T> mSource;
+    private final int mPage;
+    private final int mLimit;
+
+    PageCallOnSubscribe(PageSource<T> source, int page, int limit) {
+        this.mSource = source;
+        this.mPage = page;
+        this.mLimit = limit;
+    }
+
+    @Override
+    public void call(final Subscriber<? super Page<T>> subscriber) {
+        final Call<List<T>> call = mSource.page(mPage, mLimit);
+        subscriber.add(Subscriptions.create(new Action0() {
+            @Override
+            public void call() {
+                call.cancel();
+            }
+        }));
+        if (subscriber.isUnsubscribed()) {
+            return;
+        }
+        call.enqueue(new Callback<List<T>>() {
+            @Override
+            public void onResponse(Call<List<T>> call, Response<List<T>> response) {
+                if (subscriber.isUnsubscribed()) {
+                    return;
+                }
+                if (!response.isSuccessful()) {
+                    subscriber.onError(new HttpException(response));
+                    return;
+                }
+                subscriber.onNext(Page.from(response, mPage, mLimit));
+                subscriber.onCompleted();
+            }
+
+            @Override
+            public void onFailure(Call<List<T>> call, Throwable t) {
+                if (!subscriber.isUnsubscribed()) {
+                    subscriber.onError(t);
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,26 @@
+package me.rhespanhol.rxtraktjava.paging;
+
+import retrofit2.Call;
+
+import java.util.List;
+
+/**
+ * Creates the call for one page of a paginated endpoint, for example
+ * <p>
+ * <pre>{@code
+ * new PageSource<HistoryEntry>() {
+ *     public Call<List<HistoryEntry>> page(int page, int limit) {
+ *         return trakt.users().history(username, page, limit, Extended.DEFAULT_MIN);
+ *     }
+ * }
+ * }</pre>
+ */
+public interface PageSource<T> {
+
+    /**
+     * @param page The page to fetch, starting at 1.
+     * @param limit The number of items per page.
+     */
+    Call<List<T>> page(int page, int limit);
+
+}
@@ -0,0 +1,102 @@
+package me.rhespanhol.rxtraktjava.paging;
+
+import rx.Observable;
+import rx.functions.Func1;
+
+/**
+ * Streams the items of paginated endpoints like {@link me.rhespanhol.rxtraktjava.services.Users#history}, {@link
+ * me.rhespanhol.rxtraktjava.services.Movies#popular} or {@link me.rhespanhol.rxtraktjava.services.Search#textQuery}
+ * without collecting all pages first.
+ * <p>
+ * <p>Pages are fetched on demand: the next page is only requested once the subscriber requested more items than the
+ * pages fetched so far contained. A subscriber that requests items in small batches therefore walks even very long
+ * lists with at most one page in memory. The stream ends after the last page as reported by the {@code
+ * X-Pagination-Page-Count} header, or after a page with less than {@code limit} items if the header is missing.
+ * <p>
+ * <p>Pages are fetched synchronously on the thread that requests items, use {@link Observable#subscribeOn} to move
+ * them off the main thread. A failed page emits an {@link retrofit2.adapter.rxjava.HttpException} or the {@link
+ * java.io.IOException} of the call.
+ * <p>
+ * <p>To read a complete list as fast as possible use {@link #all(PageSource, int, int)} instead, which fetches pages
+ * in parallel.
+ */
+public class Paging {
+
+    /** The number of items per page, trakt returns 10 if no limit is sent. */
+    public static final int DEFAULT_LIMIT = 100;
+    /** The number of pages fetched at the same time by {@link #all(PageSource, int, int)}. */
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    public static <T> Observable<T> stream(PageSource<T> source) {
+        return stream(source, DEFAULT_LIMIT);
+    }
+
+    /**
+     * @param limit The number of items fetched per page.
+     */
+    public static <T> Observable<T> stream(PageSource<T> source, int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit < 1");
+        }
+        return Observable.create(new PagingOnSubscribe<>(source, 1, limit));
+    }
+
+    public static <T> Observable<T> all(PageSource<T> source) {
+        return all(source, DEFAULT_LIMIT, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Emits the items of all pages, in page order. The first page is fetched alone to learn the page count from the
+     * {@code X-Pagination-Page-Count} header, then up to {@code maxConcurrency} of the remaining pages are fetched at
+     * the same time. Pages that arrive early are held back until all pages before them were emitted.
+     * <p>
+     * <p>If trakt sends no page count the remaining pages are fetched one after another like {@link
+     * #stream(PageSource, int)}.
+     *
+     * @param limit The number of items fetched per page.
+     * @param maxConcurrency The maximum number of pages fetched at the same time. The client {@link
+     * okhttp3.Dispatcher} limits concurrent requests to one host as well.
+     */
+    public static <T> Observable<T> all(final PageSource<T> source, final int limit, final int maxConcurrency) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit < 1");
+        }
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency < 1");
+        }
+        return page(source, 1, limit).concatMap(new Func1<Page<T>, Observable<T>>() {
+            @Override
+            public Observable<T> call(Page<T> first) {
+                Observable<T> items = Observable.from(first.items);
+                if (first.isLast()) {
+                    return items;
+                }
+                if (first.pageCount == null) {
+                    return items.concatWith(Observable.create(new PagingOnSubscribe<>(source, 2, limit)));
+                }
+                Observable<T> remaining = Observable.range(2, first.pageCount - 1)
+                        .concatMapEager(new Func1<Integer, Observable<Page<T>>>() {
+                            @Override
+                            public Observable<Page<T>> call(Integer page) {
+                                return page(source, page, limit);
+                            }
+                        }, maxConcurrency, maxConcurrency)
+                        .concatMap(new Func1<Page<T>, Observable<T>>() {
+                            @Override
+                            public Observable<T> call(Page<T> page) {
+                                return Observable.from(page.items);
+                            }
+                        });
+                return items.concatWith(remaining);
+            }
+        });
+    }
+
+    /**
+     * Fetches a single page, asynchronously on the dispatcher of the OkHttp client.
+     */
+    public static <T> Observable<Page<T>> page(PageSource<T> source, int page, int limit) {
+        return Observable.create(new PageCallOnSubscribe<>(source, page, limit));
+    }
+
+}
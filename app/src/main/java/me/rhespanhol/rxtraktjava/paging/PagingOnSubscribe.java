@@ -0,0 +1,165 @@
+package me.rhespanhol.rxtraktjava.paging;
+
+import retrofit2.Call;
+import retrofit2.Response;
+import retrofit2.adapter.rxjava.HttpException;
+import rx.Observable;
+import rx.Producer;
+import rx.Subscriber;
+import rx.exceptions.Exceptions;
+import rx.functions.Action0;
+import rx.subscriptions.Subscriptions;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Emits the items of all pages of a {@link PageSource}, fetching a page only once all items of the previous page
+ * were requested and emitted.
+ */
+final class PagingOnSubscribe<T> implements Observable.OnSubscribe<T> {
+
+    private final PageSource<T> mSource;
+    private final int mFirstPage;
+    private final int mLimit;
+
+    PagingOnSubscribe(PageSource<T> source, int firstPage, int limit) {
+        this.mSource = source;
+        this.mFirstPage = firstPage;
+        this.mLimit = limit;
+    }
+
+    @Override
+    public void call(Subscriber<? super T> subscriber) {
+        final PagingProducer<T> producer = new PagingProducer<>(subscriber, mSource, mFirstPage, mLimit);
+        subscriber.add(Subscriptions.create(new Action0() {
+            @Override
+            public void call() {
+                producer.cancel();
+            }
+        }));
+        subscriber.setProducer(producer);
+    }
+
+    /**
+     * The outstanding demand is the value of this {@link AtomicLong}. Only one thread drains at a time, page fetches
+     * block that thread.
+     */
+    static final class PagingProducer<T> extends AtomicLong implements Producer {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Subscriber<? super T> mSubscriber;
+        private final PageSource<T> mSource;
+        private final int mLimit;
+        private final AtomicInteger mWip = new AtomicInteger();
+        private volatile Call<List<T>> mCall;
+
+        // only accessed while draining
+        private Iterator<T> mItems;
+        private int mNextPage;
+        private boolean mLastPage;
+
+        PagingProducer(Subscriber<? super T> subscriber, PageSource<T> source, int firstPage, int limit) {
+            this.mSubscriber = subscriber;
+            this.mSource = source;
+            this.mNextPage = firstPage;
+            this.mLimit = limit;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n < 0) {
+                throw new IllegalArgumentException("n < 0");
+            }
+            if (n == 0) {
+                return;
+            }
+            for (;;) {
+                long requested = get();
+                long next = requested + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+                if (compareAndSet(requested, next)) {
+                    break;
+                }
+            }
+            if (mWip.getAndIncrement() == 0) {
+                drain();
+            }
+        }
+
+        void cancel() {
+            Call<List<T>> call = mCall;
+            if (call != null) {
+                call.cancel();
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            for (;;) {
+                long requested = get();
+                long emitted = 0;
+                for (;;) {
+                    if (mSubscriber.isUnsubscribed()) {
+                        return;
+                    }
+                    if (mItems == null || !mItems.hasNext()) {
+                        if (mLastPage) {
+                            mSubscriber.onCompleted();
+                            return;
+                        }
+                        if (emitted == requested) {
+                            break;
+                        }
+                        try {
+                            fetchNextPage();
+                        } catch (Throwable e) {
+                            Exceptions.throwIfFatal(e);
+                            if (!mSubscriber.isUnsubscribed()) {
+                                mSubscriber.onError(e);
+                            }
+                            return;
+                        }
+                        continue;
+                    }
+                    if (emitted == requested) {
+                        break;
+                    }
+                    mSubscriber.onNext(mItems.next());
+                    emitted++;
+                }
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    addAndGet(-emitted);
+                }
+                missed = mWip.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void fetchNextPage() throws Exception {
+            Call<List<T>> call = mSource.page(mNextPage, mLimit);
+            mCall = call;
+            if (mSubscriber.isUnsubscribed()) {
+                call.cancel();
+            }
+            Response<List<T>> response = call.execute();
+            mCall = null;
+            if (!response.isSuccessful()) {
+                throw new HttpException(response);
+            }
+            Page<T> page = Page.from(response, mNextPage, mLimit);
+            mItems = page.items.iterator();
+            mLastPage = page.isLast();
+            mNextPage++;
+        }
+
+    }
+
+}
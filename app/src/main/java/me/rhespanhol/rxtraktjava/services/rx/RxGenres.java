@@ -0,0 +1,27 @@
+package me.rhespanhol.rxtraktjava.services.rx;
+
+import java.util.List;
+
+import me.rhespanhol.rxtraktjava.entities.Genre;
+import me.rhespanhol.rxtraktjava.services.Genres;
+import retrofit2.http.GET;
+import rx.Observable;
+
+/**
+ * {@link Observable} variant of {@link Genres}. Unsubscribing cancels the underlying HTTP call.
+ */
+public interface RxGenres {
+
+    /**
+     * Get a list of all genres for shows, including names and slugs.
+     */
+    @GET("genres/movies")
+    Observable<List<Genre>> movies();
+
+    /**
+     * Get a list of all genres for movies, including names and slugs.
+     */
+    @GET("genres/shows")
+    Observable<List<Genre>> shows();
+
+}
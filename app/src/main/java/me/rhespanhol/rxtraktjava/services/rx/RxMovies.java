@@ -0,0 +1,117 @@
+package me.rhespanhol.rxtraktjava.services.rx;
+
+import java.util.List;
+
+import me.rhespanhol.rxtraktjava.entities.Comment;
+import me.rhespanhol.rxtraktjava.entities.Credits;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.MovieTranslation;
+import me.rhespanhol.rxtraktjava.entities.Ratings;
+import me.rhespanhol.rxtraktjava.entities.TrendingMovie;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import me.rhespanhol.rxtraktjava.services.Movies;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import rx.Observable;
+
+/**
+ * {@link Observable} variant of {@link Movies}. Unsubscribing cancels the underlying HTTP call.
+ */
+public interface RxMovies {
+
+    /**
+     * Returns the most popular movies. Popularity is calculated using the rating percentage and the number of ratings.
+     *
+     * @param page Number of page of results to be returned. If {@code null} defaults to 1.
+     * @param limit Number of results to return per page. If {@code null} defaults to 10.
+     */
+    @GET("movies/popular")
+    Observable<List<Movie>> popular(
+            @Query("page") Integer page,
+            @Query("limit") Integer limit,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * Returns all movies being watched right now. Movies with the most users are returned first.
+     *
+     * @param page Number of page of results to be returned. If {@code null} defaults to 1.
+     * @param limit Number of results to return per page. If {@code null} defaults to 10.
+     */
+    @GET("movies/trending")
+    Observable<List<TrendingMovie>> trending(
+            @Query("page") Integer page,
+            @Query("limit") Integer limit,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * Returns a single movie's details.
+     *
+     * @param movieId trakt ID, trakt slug, or IMDB ID. Example: "tron-legacy-2010".
+     */
+    @GET("movies/{id}")
+    Observable<Movie> summary(
+            @Path("id") String movieId,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * Returns all translations for a movie, including language and translated values for title, tagline and overview.
+     *
+     * @param movieId trakt ID, trakt slug, or IMDB ID. Example: "tron-legacy-2010".
+     */
+    @GET("movies/{id}/translations")
+    Observable<List<MovieTranslation>> translations(
+            @Path("id") String movieId
+    );
+
+    /**
+     * Returns a single translation for a movie. If the translation does not exist, the returned list will be empty.
+     *
+     * @param movieId trakt ID, trakt slug, or IMDB ID. Example: "tron-legacy-2010".
+     * @param language 2-letter language code (ISO 639-1).
+     */
+    @GET("movies/{id}/translations/{language}")
+    Observable<List<MovieTranslation>> translation(
+            @Path("id") String movieId,
+            @Path("language") String language
+    );
+
+    /**
+     * Returns all top level comments for a movie. Most recent comments returned first.
+     *
+     * @param movieId trakt ID, trakt slug, or IMDB ID. Example: "tron-legacy-2010".
+     * @param page Number of page of results to be returned. If {@code null} defaults to 1.
+     * @param limit Number of results to return per page. If {@code null} defaults to 10.
+     */
+    @GET("movies/{id}/comments")
+    Observable<List<Comment>> comments(
+            @Path("id") String movieId,
+            @Query("page") Integer page,
+            @Query("limit") Integer limit,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * Returns all actors, directors, writers, and producers for a movie.
+     *
+     * @param movieId trakt ID, trakt slug, or IMDB ID. Example: "tron-legacy-2010".
+     */
+    @GET("movies/{id}/people")
+    Observable<Credits> people(
+            @Path("id") String movieId
+    );
+
+    /**
+     * Returns rating (between 0 and 10) and distribution for a movie.
+     *
+     * @param movieId trakt ID, trakt slug, or IMDB ID. Example: "tron-legacy-2010".
+     */
+    @GET("movies/{id}/ratings")
+    Observable<Ratings> ratings(
+            @Path("id") String movieId
+    );
+
+}
@@ -0,0 +1,38 @@
+package me.rhespanhol.rxtraktjava.services.rx;
+
+import me.rhespanhol.rxtraktjava.entities.Credits;
+import me.rhespanhol.rxtraktjava.entities.Person;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import me.rhespanhol.rxtraktjava.services.People;
+import retrofit2.http.GET;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import rx.Observable;
+
+/**
+ * {@link Observable} variant of {@link People}. Unsubscribing cancels the underlying HTTP call.
+ */
+public interface RxPeople {
+
+    /**
+     * Returns a single person's details.
+     *
+     * @param personId trakt ID, trakt slug, or IMDB ID Example: bryan-cranston.
+     */
+    @GET("people/{id}")
+    Observable<Person> summary(
+            @Path("id") String personId,
+            @Query("extended") Extended extended
+    );
+
+    @GET("people/{id}/movies")
+    Observable<Credits> movieCredits(
+            @Path("id") String personId
+    );
+
+    @GET("people/{id}/shows")
+    Observable<Credits> showCredits(
+            @Path("id") String personId
+    );
+
+}
@@ -0,0 +1,305 @@
+package me.rhespanhol.rxtraktjava.services.rx;
+
+import java.util.List;
+
+import me.rhespanhol.rxtraktjava.entities.BaseMovie;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.LastActivities;
+import me.rhespanhol.rxtraktjava.entities.RatedEpisode;
+import me.rhespanhol.rxtraktjava.entities.RatedMovie;
+import me.rhespanhol.rxtraktjava.entities.RatedSeason;
+import me.rhespanhol.rxtraktjava.entities.RatedShow;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedEpisode;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedSeason;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import me.rhespanhol.rxtraktjava.enums.RatingsFilter;
+import me.rhespanhol.rxtraktjava.services.Sync;
+import retrofit2.http.Body;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+import rx.Observable;
+
+/**
+ * {@link Observable} variant of {@link Sync}. Unsubscribing cancels the underlying HTTP call.
+ */
+public interface RxSync {
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> This method is a useful first step in the syncing process. We recommended caching these dates locally, then
+     * you can compare to know exactly what data has changed recently. This can greatly optimize your syncs so you don't
+     * pull down a ton of data only to see nothing has actually changed.
+     */
+    @GET("sync/last_activities")
+    Observable<LastActivities> lastActivities();
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Get all collected movies in a user's collection. A collected item indicates availability to watch digitally
+     * or on physical media.
+     */
+    @GET("sync/collection/movies")
+    Observable<List<BaseMovie>> collectionMovies(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Get all collected shows in a user's collection. A collected item indicates availability to watch digitally or
+     * on physical media.
+     */
+    @GET("sync/collection/shows")
+    Observable<List<BaseShow>> collectionShows(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Like {@link #collectionShows(Extended)}, but emits each show as soon as it was read from the response, as
+     * requested by the subscriber, instead of reading the whole collection into a list first.
+     */
+    @Streaming
+    @GET("sync/collection/shows")
+    Observable<BaseShow> streamCollectionShows(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Add one or more items to a user's collection including the format of the item.
+     *
+     * @param items A list of movies, shows, seasons or episodes.
+     */
+    @POST("sync/collection")
+    Observable<SyncResponse> addItemsToCollection(
+            @Body SyncItems items
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Remove one or more items from a user's collection.
+     *
+     * @param items A list of movies, shows, seasons or episodes.
+     */
+    @POST("sync/collection/remove")
+    Observable<SyncResponse> deleteItemsFromCollection(
+            @Body SyncItems items
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Returns all movies a user has watched.
+     */
+    @GET("sync/watched/movies")
+    Observable<List<BaseMovie>> watchedMovies(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Returns all shows a user has watched.
+     */
+    @GET("sync/watched/shows")
+    Observable<List<BaseShow>> watchedShows(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Like {@link #watchedShows(Extended)}, but emits each show as soon as it was read from the response, as
+     * requested by the subscriber, instead of reading the whole response into a list first.
+     */
+    @Streaming
+    @GET("sync/watched/shows")
+    Observable<BaseShow> streamWatchedShows(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Add items to a user's watch history. Accepts shows, seasons, episodes and movies. If only a show is passed,
+     * assumes all seasons are to be marked watched. Same for seasons. Send a <code>watched_at</code> UTC datetime to
+     * mark items as watched in the past. This is useful for syncing past watches from a media center.
+     *
+     * @param items A list of movies, shows, seasons or episodes.
+     */
+    @POST("sync/history")
+    Observable<SyncResponse> addItemsToWatchedHistory(
+            @Body SyncItems items
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Remove items from a user's watch history including all watches, scrobbles, and checkins. Accepts shows,
+     * seasons, episodes and movies. If only a show is passed, assumes all seasons are to be removed from history. Same
+     * for seasons.
+     *
+     * @param items A list of movies, shows, seasons or episodes.
+     */
+    @POST("sync/history/remove")
+    Observable<SyncResponse> deleteItemsFromWatchedHistory(
+            @Body SyncItems items
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Get a user's ratings filtered by movies. You can filter for a specific rating between 1 and 10.
+     *
+     * @param filter Filter for a specific rating.
+     */
+    @GET("sync/ratings/movies{rating}")
+    Observable<List<RatedMovie>> ratingsMovies(
+            @Path(value = "rating", encoded = true) RatingsFilter filter,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Get a user's ratings filtered by shows. You can filter for a specific rating between 1 and 10.
+     *
+     * @param filter Filter for a specific rating.
+     */
+    @GET("sync/ratings/shows{rating}")
+    Observable<List<RatedShow>> ratingsShows(
+            @Path(value = "rating", encoded = true) RatingsFilter filter,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Get a user's ratings filtered by seasons. You can filter for a specific rating between 1 and 10.
+     *
+     * @param filter Filter for a specific rating.
+     */
+    @GET("sync/ratings/seasons{rating}")
+    Observable<List<RatedSeason>> ratingsSeasons(
+            @Path(value = "rating", encoded = true) RatingsFilter filter,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Get a user's ratings filtered by episodes. You can filter for a specific rating between 1 and 10.
+     *
+     * @param filter Filter for a specific rating.
+     */
+    @GET("sync/ratings/episodes{rating}")
+    Observable<List<RatedEpisode>> ratingsEpisodes(
+            @Path(value = "rating", encoded = true) RatingsFilter filter,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Rate one or more items.
+     *
+     * @param items A list of movies, shows, seasons or episodes.
+     */
+    @POST("sync/ratings")
+    Observable<SyncResponse> addRatings(
+            @Body SyncItems items
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Delete ratings for one or more items.
+     *
+     * @param items A list of movies, shows, seasons or episodes.
+     */
+    @POST("sync/ratings/remove")
+    Observable<SyncResponse> deleteRatings(
+            @Body SyncItems items
+    );
+
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Returns all items in a user's watchlist filtered by movies. When an item is watched, it will be automatically
+     * removed from the watchlist. To track what the user is actively watching, use the progress APIs.
+     */
+    @GET("sync/watchlist/movies")
+    Observable<List<BaseMovie>> watchlistMovies(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Returns all items in a user's watchlist filtered by shows. When an item is watched, it will be automatically
+     * removed from the watchlist. To track what the user is actively watching, use the progress APIs.
+     */
+    @GET("sync/watchlist/shows")
+    Observable<List<BaseShow>> watchlistShows(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Returns all items in a user's watchlist filtered by seasons. When an item is watched, it will be
+     * automatically removed from the watchlist. To track what the user is actively watching, use the progress APIs.
+     */
+    @GET("sync/watchlist/seasons")
+    Observable<List<WatchlistedSeason>> watchlistSeasons(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Returns all items in a user's watchlist filtered by episodes. When an item is watched, it will be
+     * automatically removed from the watchlist. To track what the user is actively watching, use the progress APIs.
+     */
+    @GET("sync/watchlist/episodes")
+    Observable<List<WatchlistedEpisode>> watchlistEpisodes(
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Add one of more items to a user's watchlist.
+     *
+     * @param items A list of movies, shows, seasons or episodes.
+     */
+    @POST("sync/watchlist")
+    Observable<SyncResponse> addItemsToWatchlist(
+            @Body SyncItems items
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Delete one or more items from a user's watchlist.
+     *
+     * @param items A list of movies, shows, seasons or episodes.
+     */
+    @POST("sync/watchlist/remove")
+    Observable<SyncResponse> deleteItemsFromWatchlist(
+            @Body SyncItems items
+    );
+
+}
@@ -0,0 +1,444 @@
+package me.rhespanhol.rxtraktjava.services.rx;
+
+import java.util.List;
+
+import me.rhespanhol.rxtraktjava.entities.BaseMovie;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.Followed;
+import me.rhespanhol.rxtraktjava.entities.Follower;
+import me.rhespanhol.rxtraktjava.entities.Friend;
+import me.rhespanhol.rxtraktjava.entities.HistoryEntry;
+import me.rhespanhol.rxtraktjava.entities.ListEntry;
+import me.rhespanhol.rxtraktjava.entities.RatedEpisode;
+import me.rhespanhol.rxtraktjava.entities.RatedMovie;
+import me.rhespanhol.rxtraktjava.entities.RatedSeason;
+import me.rhespanhol.rxtraktjava.entities.RatedShow;
+import me.rhespanhol.rxtraktjava.entities.Settings;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.TraktList;
+import me.rhespanhol.rxtraktjava.entities.User;
+import me.rhespanhol.rxtraktjava.entities.Username;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedEpisode;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedSeason;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import me.rhespanhol.rxtraktjava.enums.HistoryType;
+import me.rhespanhol.rxtraktjava.enums.RatingsFilter;
+import me.rhespanhol.rxtraktjava.services.Users;
+import retrofit2.http.Body;
+import retrofit2.http.DELETE;
+import retrofit2.http.GET;
+import retrofit2.http.POST;
+import retrofit2.http.PUT;
+import retrofit2.http.Path;
+import retrofit2.http.Query;
+import retrofit2.http.Streaming;
+import rx.Observable;
+
+/**
+ * {@link Observable} variant of {@link Users}. Unsubscribing cancels the underlying HTTP call.
+ */
+public interface RxUsers {
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Get the user's settings so you can align your app's experience with what they're used to on the trakt
+     * website.
+     */
+    @GET("users/settings")
+    Observable<Settings> settings();
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Get a user's profile information. If the user is private, info will only be returned if you send OAuth and
+     * are either that user or an approved follower.
+     *
+     * @param username Example: "sean".
+     */
+    @GET("users/{username}")
+    Observable<User> profile(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Get all collected movies in a user's collection. A collected item indicates availability to watch digitally
+     * or on physical media.
+     *
+     * @param username Example: "sean".
+     */
+    @GET("users/{username}/collection/movies")
+    Observable<List<BaseMovie>> collectionMovies(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Get all collected shows in a user's collection. A collected item indicates availability to watch digitally or
+     * on physical media.
+     *
+     * @param username Example: "sean".
+     */
+    @GET("users/{username}/collection/shows")
+    Observable<List<BaseShow>> collectionShows(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Returns all custom lists for a user.
+     */
+    @GET("users/{username}/lists")
+    Observable<List<TraktList>> lists(
+            @Path("username") Username username
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Create a new custom list. The name is the only required field, but the other info is recommended to ask for.
+     */
+    @POST("users/{username}/lists")
+    Observable<TraktList> createList(
+            @Path("username") Username username,
+            @Body TraktList list
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Update a custom list by sending 1 or more parameters. If you update the list name, the original slug will
+     * still be retained so existing references to this list won't break.
+     */
+    @PUT("users/{username}/lists/{id}")
+    Observable<TraktList> updateList(
+            @Path("username") Username username,
+            @Path("id") String id,
+            @Body TraktList list
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Remove a custom list and all items it contains.
+     */
+    @DELETE("users/{username}/lists/{id}")
+    Observable<Void> deleteList(
+            @Path("username") Username username,
+            @Path("id") String id
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Get all items on a custom list. Items can be movies, shows, seasons, episodes, or people.
+     */
+    @GET("users/{username}/lists/{id}/items")
+    Observable<List<ListEntry>> listItems(
+            @Path("username") Username username,
+            @Path("id") String id,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Add one or more items to a custom list. Items can be movies, shows, seasons, episodes, or people.
+     */
+    @POST("users/{username}/lists/{id}/items")
+    Observable<SyncResponse> addListItems(
+            @Path("username") Username username,
+            @Path("id") String id,
+            @Body SyncItems items
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p> Remove one or more items from a custom list.
+     */
+    @POST("users/{username}/lists/{id}/items/remove")
+    Observable<SyncResponse> deleteListItems(
+            @Path("username") Username username,
+            @Path("id") String id,
+            @Body SyncItems items
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p>If the user has a private profile, the follow request will require approval (approved_at will be null). If a
+     * user is public, they will be followed immediately (approved_at will have a date).
+     *
+     * <p>Note: If this user is already being followed, a 409 HTTP status code will returned.
+     */
+    @POST("users/{username}/follow")
+    Observable<Followed> follow(
+            @Path("username") Username username
+    );
+
+    /**
+     * <b>OAuth Required</b>
+     *
+     * <p>Unfollow someone you already follow.
+     */
+    @DELETE("users/{username}/follow")
+    Observable<Void> unfollow(
+            @Path("username") Username username
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns all followers including when the relationship began.
+     */
+    @GET("users/{username}/followers")
+    Observable<List<Follower>> followers(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns all user's they follow including when the relationship began.
+     */
+    @GET("users/{username}/following")
+    Observable<List<Follower>> following(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns all friends for a user including when the relationship began. Friendship is a 2 way relationship where
+     * each user follows the other.
+     */
+    @GET("users/{username}/friends")
+    Observable<List<Friend>> friends(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns movies and episodes that a user has watched, sorted by most recent.
+     *
+     * <p>The {@code id} uniquely identifies each history event and can be used to remove events individually using the
+     * {@code POST /sync/history/remove method}. The action will be set to {@code scrobble}, {@code checkin}, or {@code
+     * watch}.
+     *
+     * @param username Example: "sean".
+     */
+    @GET("users/{username}/history")
+    Observable<List<HistoryEntry>> history(
+            @Path("username") Username username,
+            @Query("page") Integer page,
+            @Query("limit") Integer limit,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns movies or episodes that a user has watched, sorted by most recent.
+     *
+     * <p>The {@code id} uniquely identifies each history event and can be used to remove events individually using the
+     * {@code POST /sync/history/remove method}. The action will be set to {@code scrobble}, {@code checkin}, or {@code
+     * watch}.
+     *
+     * @param username Example: "sean".
+     */
+    @GET("users/{username}/history/{type}")
+    Observable<List<HistoryEntry>> history(
+            @Path("username") Username username,
+            @Path("type") HistoryType type,
+            @Query("page") Integer page,
+            @Query("limit") Integer limit,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns the history for just the specified item. For example, {@code /history/movies/12601} would return all
+     * watches for TRON: Legacy and {@code /history/shows/1388} would return all watched episodes for Breaking Bad. If
+     * an invalid {@code id} is sent, a 404 error will be returned. If the {@code id} is valid, but there is no history,
+     * an empty array will be returned.
+     *
+     * <p>The {@code id} uniquely identifies each history event and can be used to remove events individually using the
+     * {@code POST /sync/history/remove method}. The action will be set to {@code scrobble}, {@code checkin}, or {@code
+     * watch}.
+     *
+     * @param username Example: "sean".
+     */
+    @GET("users/{username}/history/{type}/{id}")
+    Observable<List<HistoryEntry>> history(
+            @Path("username") Username username,
+            @Path("type") HistoryType type,
+            @Path("id") int id,
+            @Query("page") Integer page,
+            @Query("limit") Integer limit,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Get a user's ratings filtered by movies. You can filter for a specific rating between 1 and 10.
+     *
+     * @param username Example: "sean".
+     * @param filter Filter for a specific rating.
+     */
+    @GET("users/{username}/ratings/movies{rating}")
+    Observable<List<RatedMovie>> ratingsMovies(
+            @Path("username") Username username,
+            @Path(value = "rating", encoded = true) RatingsFilter filter,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Get a user's ratings filtered by shows. You can filter for a specific rating between 1 and 10.
+     *
+     * @param username Example: "sean".
+     * @param filter Filter for a specific rating.
+     */
+    @GET("users/{username}/ratings/shows{rating}")
+    Observable<List<RatedShow>> ratingsShows(
+            @Path("username") Username username,
+            @Path(value = "rating", encoded = true) RatingsFilter filter,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Get a user's ratings filtered by seasons. You can filter for a specific rating between 1 and 10.
+     *
+     * @param username Example: "sean".
+     * @param filter Filter for a specific rating.
+     */
+    @GET("users/{username}/ratings/seasons{rating}")
+    Observable<List<RatedSeason>> ratingsSeasons(
+            @Path("username") Username username,
+            @Path(value = "rating", encoded = true) RatingsFilter filter,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Get a user's ratings filtered by episodes. You can filter for a specific rating between 1 and 10.
+     *
+     * @param username Example: "sean".
+     * @param filter Filter for a specific rating.
+     */
+    @GET("users/{username}/ratings/episodes{rating}")
+    Observable<List<RatedEpisode>> ratingsEpisodes(
+            @Path("username") Username username,
+            @Path(value = "rating", encoded = true) RatingsFilter filter,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns all items in a user's watchlist filtered by movies. When an item is watched, it will be automatically
+     * removed from the watchlist. To track what the user is actively watching, use the progress APIs.
+     */
+    @GET("users/{username}/watchlist/movies")
+    Observable<List<BaseMovie>> watchlistMovies(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns all items in a user's watchlist filtered by shows. When an item is watched, it will be automatically
+     * removed from the watchlist. To track what the user is actively watching, use the progress APIs.
+     */
+    @GET("users/{username}/watchlist/shows")
+    Observable<List<BaseShow>> watchlistShows(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns all items in a user's watchlist filtered by seasons. When an item is watched, it will be automatically
+     * removed from the watchlist. To track what the user is actively watching, use the progress APIs.
+     */
+    @GET("users/{username}/watchlist/seasons")
+    Observable<List<WatchlistedSeason>> watchlistSeasons(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p>Returns all items in a user's watchlist filtered by episodes. When an item is watched, it will be
+     * automatically removed from the watchlist. To track what the user is actively watching, use the progress APIs.
+     */
+    @GET("users/{username}/watchlist/episodes")
+    Observable<List<WatchlistedEpisode>> watchlistEpisodes(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Returns all movies or shows a user has watched sorted by most plays.
+     *
+     * @param username Example: "sean".
+     */
+    @GET("users/{username}/watched/movies")
+    Observable<List<BaseMovie>> watchedMovies(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Returns all movies or shows a user has watched sorted by most plays.
+     *
+     * @param username Example: "sean".
+     */
+    @GET("users/{username}/watched/shows")
+    Observable<List<BaseShow>> watchedShows(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+    /**
+     * <b>OAuth Optional</b>
+     *
+     * <p> Like {@link #watchedShows(Username, Extended)}, but emits each show as soon as it was read from the response,
+     * as requested by the subscriber, instead of reading the whole response into a list first.
+     *
+     * @param username Example: "sean".
+     */
+    @Streaming
+    @GET("users/{username}/watched/shows")
+    Observable<BaseShow> streamWatchedShows(
+            @Path("username") Username username,
+            @Query(value = "extended", encoded = true) Extended extended
+    );
+
+}
@@ -0,0 +1,475 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.TraktRx;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncErrors;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+import me.rhespanhol.rxtraktjava.entities.SyncStats;
+import org.joda.time.DateTime;
+import retrofit2.adapter.rxjava.HttpException;
+import rx.Observable;
+import rx.functions.Func1;
+import rx.functions.Func2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Adds items to and removes items from the lists of a user's library in chunks of bounded size, so large changes do
+ * not run into timeouts or rejected requests.
+ * <p>
+ * <p>Each movie, episode, history id, show or season without episodes and episode of a season counts as one item.
+ * Shows and seasons are split between chunks where needed. Every part keeps the ids of the show or season, but only
+ * the first part its rating and dates, so e.g. the show is rated once. The collected and watched dates of a show or
+ * season apply to the items in it, in later parts they are set on those of the items that have none of their own.
+ * <p>
+ * <p>Chunks are sent several at a time, their responses are merged into one: stats are summed up, items that were not
+ * found are collected. If some chunks fail, the others are still sent and the result is a {@link
+ * PartialSyncException} with the merged responses and the failed chunks.
+ */
+public class ChunkedSync {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    /** trakt allows one write per second per user, more parallel requests only wait in the rate limiter. */
+    public static final int DEFAULT_MAX_CONCURRENCY = 2;
+
+    private final TraktRx mTrakt;
+    private volatile int mChunkSize = DEFAULT_CHUNK_SIZE;
+    private volatile int mMaxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    public ChunkedSync(TraktRx trakt) {
+        this.mTrakt = trakt;
+    }
+
+    /**
+     * Sets the maximum number of items sent with one request.
+     */
+    public ChunkedSync setChunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize < 1");
+        }
+        mChunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets how many chunks are sent at the same time.
+     */
+    public ChunkedSync setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency < 1");
+        }
+        mMaxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    public Observable<SyncResponse> add(SyncList list, SyncItems items) {
+        return send(list, items, false);
+    }
+
+    public Observable<SyncResponse> remove(SyncList list, SyncItems items) {
+        return send(list, items, true);
+    }
+
+    private Observable<SyncResponse> send(final SyncList list, SyncItems items, final boolean removal) {
+        final List<SyncItems> chunks = split(items, mChunkSize);
+        if (chunks.size() == 1) {
+            return removal ? list.remove(mTrakt.sync(), items) : list.add(mTrakt.sync(), items);
+        }
+        return Observable.range(0, chunks.size())
+                .flatMap(new Func1<Integer, Observable<ChunkResult>>() {
+                    @Override
+                    public Observable<ChunkResult> call(final Integer index) {
+                        SyncItems chunk = chunks.get(index);
+                        Observable<SyncResponse> request = removal
+                                ? list.remove(mTrakt.sync(), chunk)
+                                : list.add(mTrakt.sync(), chunk);
+                        return request
+                                .map(new Func1<SyncResponse, ChunkResult>() {
+                                    @Override
+                                    public ChunkResult call(SyncResponse response) {
+                                        return new ChunkResult(index, response, null);
+                                    }
+                                })
+                                .onErrorReturn(new Func1<Throwable, ChunkResult>() {
+                                    @Override
+                                    public ChunkResult call(Throwable error) {
+                                        return new ChunkResult(index, null, error);
+                                    }
+                                });
+                    }
+                }, mMaxConcurrency)
+                .toSortedList(new Func2<ChunkResult, ChunkResult, Integer>() {
+                    @Override
+                    public Integer call(ChunkResult first, ChunkResult second) {
+                        return first.mIndex < second.mIndex ? -1 : (first.mIndex == second.mIndex ? 0 : 1);
+                    }
+                })
+                .flatMap(new Func1<List<ChunkResult>, Observable<SyncResponse>>() {
+                    @Override
+                    public Observable<SyncResponse> call(List<ChunkResult> results) {
+                        SyncResponse merged = null;
+                        List<SyncItems> failedChunks = new ArrayList<>();
+                        List<Throwable> errors = new ArrayList<>();
+                        for (ChunkResult result : results) {
+                            if (result.mError != null) {
+                                failedChunks.add(chunks.get(result.mIndex));
+                                errors.add(result.mError);
+                            } else {
+                                merged = merge(merged, result.mResponse);
+                            }
+                        }
+                        if (!errors.isEmpty()) {
+                            return Observable.error(new PartialSyncException(merged, failedChunks, errors));
+                        }
+                        return Observable.just(merged);
+                    }
+                });
+    }
+
+    /**
+     * Splits the items into chunks of at most {@code chunkSize} items. Returns a list with just {@code items} if they
+     * fit into one chunk.
+     */
+    public static List<SyncItems> split(SyncItems items, int chunkSize) {
+        if (count(items) <= chunkSize) {
+            return Collections.singletonList(items);
+        }
+        Chunker chunker = new Chunker(chunkSize);
+        if (items.movies != null) {
+            for (SyncMovie movie : items.movies) {
+                chunker.current().movies.add(movie);
+                chunker.mCount++;
+            }
+        }
+        if (items.shows != null) {
+            for (SyncShow show : items.shows) {
+                chunker.add(show);
+            }
+        }
+        if (items.episodes != null) {
+            for (SyncEpisode episode : items.episodes) {
+                chunker.current().episodes.add(episode);
+                chunker.mCount++;
+            }
+        }
+        if (items.ids != null) {
+            for (Integer id : items.ids) {
+                chunker.current().ids.add(id);
+                chunker.mCount++;
+            }
+        }
+        return chunker.chunks();
+    }
+
+    /**
+     * Merges two responses into a new one.
+     */
+    public static SyncResponse merge(SyncResponse first, SyncResponse second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        SyncResponse merged = new SyncResponse();
+        merged.added = merge(first.added, second.added);
+        merged.existing = merge(first.existing, second.existing);
+        merged.deleted = merge(first.deleted, second.deleted);
+        merged.not_found = merge(first.not_found, second.not_found);
+        return merged;
+    }
+
+    private static SyncStats merge(SyncStats first, SyncStats second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        SyncStats merged = new SyncStats();
+        merged.movies = sum(first.movies, second.movies);
+        merged.shows = sum(first.shows, second.shows);
+        merged.seasons = sum(first.seasons, second.seasons);
+        merged.episodes = sum(first.episodes, second.episodes);
+        return merged;
+    }
+
+    private static SyncErrors merge(SyncErrors first, SyncErrors second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        SyncErrors merged = new SyncErrors();
+        merged.movies = concat(first.movies, second.movies);
+        merged.shows = concat(first.shows, second.shows);
+        merged.seasons = concat(first.seasons, second.seasons);
+        merged.episodes = concat(first.episodes, second.episodes);
+        merged.ids = concat(first.ids, second.ids);
+        return merged;
+    }
+
+    private static Integer sum(Integer first, Integer second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null ? first : first + second;
+    }
+
+    private static <T> List<T> concat(List<T> first, List<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        List<T> merged = new ArrayList<>(first.size() + second.size());
+        merged.addAll(first);
+        merged.addAll(second);
+        return merged;
+    }
+
+    /**
+     * Whether trakt will never accept a change that failed with the error, so sending it again is pointless. Errors
+     * that are neither connection failures nor HTTP errors, like a response that could not be parsed, would occur
+     * again as well.
+     */
+    static boolean isRejected(Throwable error) {
+        if (error instanceof IOException) {
+            return false;
+        }
+        if (!(error instanceof HttpException)) {
+            return true;
+        }
+        int code = ((HttpException) error).code();
+        // 401 and 403 may succeed with new credentials, 408 and 429 later
+        return code >= 400 && code < 500 && code != 401 && code != 403 && code != 408 && code != 429;
+    }
+
+    /**
+     * Returns the number of items as counted for chunks.
+     */
+    static int count(SyncItems items) {
+        int count = 0;
+        if (items.movies != null) {
+            count += items.movies.size();
+        }
+        if (items.shows != null) {
+            for (SyncShow show : items.shows) {
+                count += count(show);
+            }
+        }
+        if (items.episodes != null) {
+            count += items.episodes.size();
+        }
+        if (items.ids != null) {
+            count += items.ids.size();
+        }
+        return count;
+    }
+
+    private static int count(SyncShow show) {
+        if (show.seasons == null || show.seasons.isEmpty()) {
+            return 1;
+        }
+        int count = 0;
+        for (SyncSeason season : show.seasons) {
+            count += season.episodes == null || season.episodes.isEmpty() ? 1 : season.episodes.size();
+        }
+        return count;
+    }
+
+    /**
+     * The response to or the error of one chunk.
+     */
+    private static final class ChunkResult {
+
+        final int mIndex;
+        final SyncResponse mResponse;
+        final Throwable mError;
+
+        ChunkResult(int index, SyncResponse response, Throwable error) {
+            this.mIndex = index;
+            this.mResponse = response;
+            this.mError = error;
+        }
+
+    }
+
+    /**
+     * Fills chunks one after another.
+     */
+    private static final class Chunker {
+
+        private final int mChunkSize;
+        private final List<SyncItems> mChunks = new ArrayList<>();
+        private SyncItems mCurrent;
+        int mCount;
+
+        Chunker(int chunkSize) {
+            this.mChunkSize = chunkSize;
+        }
+
+        /**
+         * Returns the chunk to add the next item to, starting a new one if the current one is full.
+         */
+        SyncItems current() {
+            if (mCurrent == null || mCount >= mChunkSize) {
+                mCurrent = new SyncItems()
+                        .movies(new ArrayList<SyncMovie>())
+                        .shows(new ArrayList<SyncShow>())
+                        .episodes(new ArrayList<SyncEpisode>())
+                        .ids(new ArrayList<Integer>());
+                mChunks.add(mCurrent);
+                mCount = 0;
+            }
+            return mCurrent;
+        }
+
+        void add(SyncShow show) {
+            if (show.seasons == null || show.seasons.isEmpty()) {
+                current().shows.add(show);
+                mCount++;
+                return;
+            }
+            SyncItems chunk = null;
+            SyncShow showPart = null;
+            boolean firstShowPart = true;
+            for (SyncSeason season : show.seasons) {
+                if (season.episodes == null || season.episodes.isEmpty()) {
+                    if (current() != chunk) {
+                        firstShowPart = showPart == null;
+                        showPart = part(show, firstShowPart);
+                        chunk = current();
+                        chunk.shows.add(showPart);
+                    }
+                    showPart.seasons.add(firstShowPart
+                            ? season : inherit(season, show.collected_at, show.watched_at));
+                    mCount++;
+                    continue;
+                }
+                DateTime collectedAt = season.collected_at != null ? season.collected_at : show.collected_at;
+                DateTime watchedAt = season.watched_at != null ? season.watched_at : show.watched_at;
+                SyncSeason seasonPart = null;
+                boolean firstSeasonPart = true;
+                for (SyncEpisode episode : season.episodes) {
+                    if (current() != chunk) {
+                        firstShowPart = showPart == null;
+                        showPart = part(show, firstShowPart);
+                        chunk = current();
+                        chunk.shows.add(showPart);
+                        firstSeasonPart = seasonPart == null && firstSeasonPart;
+                        seasonPart = null;
+                    }
+                    if (seasonPart == null) {
+                        seasonPart = firstShowPart
+                                ? part(season, firstSeasonPart, null, null)
+                                : part(season, firstSeasonPart, show.collected_at, show.watched_at);
+                        showPart.seasons.add(seasonPart);
+                    }
+                    seasonPart.episodes.add(firstSeasonPart ? episode : inherit(episode, collectedAt, watchedAt));
+                    mCount++;
+                }
+            }
+        }
+
+        List<SyncItems> chunks() {
+            // leave out empty lists, the API treats them like missing ones but they waste bytes
+            for (SyncItems chunk : mChunks) {
+                if (chunk.movies.isEmpty()) {
+                    chunk.movies = null;
+                }
+                if (chunk.shows.isEmpty()) {
+                    chunk.shows = null;
+                }
+                if (chunk.episodes.isEmpty()) {
+                    chunk.episodes = null;
+                }
+                if (chunk.ids.isEmpty()) {
+                    chunk.ids = null;
+                }
+            }
+            return mChunks;
+        }
+
+        /**
+         * Returns a part of a show without its seasons, only the first part has its rating and dates.
+         */
+        private static SyncShow part(SyncShow show, boolean first) {
+            SyncShow part = new SyncShow()
+                    .id(show.ids)
+                    .seasons(new ArrayList<SyncSeason>());
+            if (first) {
+                part.collected_at = show.collected_at;
+                part.watched_at = show.watched_at;
+                part.rated_at = show.rated_at;
+                part.rating = show.rating;
+            }
+            return part;
+        }
+
+        /**
+         * Returns a part of a season without its episodes, only the first part has its rating and dates. The first
+         * part gets the given dates of the show if the season has none of its own.
+         */
+        private static SyncSeason part(SyncSeason season, boolean first, DateTime collectedAt, DateTime watchedAt) {
+            SyncSeason part = new SyncSeason()
+                    .episodes(new ArrayList<SyncEpisode>());
+            part.number = season.number;
+            if (first) {
+                part.collected_at = season.collected_at != null ? season.collected_at : collectedAt;
+                part.watched_at = season.watched_at != null ? season.watched_at : watchedAt;
+                part.rated_at = season.rated_at;
+                part.rating = season.rating;
+            }
+            return part;
+        }
+
+        /**
+         * Returns the season, or a copy of it with the given dates where it has none of its own.
+         */
+        private static SyncSeason inherit(SyncSeason season, DateTime collectedAt, DateTime watchedAt) {
+            if ((season.collected_at != null || collectedAt == null)
+                    && (season.watched_at != null || watchedAt == null)) {
+                return season;
+            }
+            SyncSeason copy = new SyncSeason()
+                    .episodes(season.episodes)
+                    .collectedAt(season.collected_at != null ? season.collected_at : collectedAt)
+                    .watchedAt(season.watched_at != null ? season.watched_at : watchedAt)
+                    .ratedAt(season.rated_at)
+                    .rating(season.rating);
+            copy.number = season.number;
+            return copy;
+        }
+
+        /**
+         * Returns the episode, or a copy of it with the given dates where it has none of its own.
+         */
+        private static SyncEpisode inherit(SyncEpisode episode, DateTime collectedAt, DateTime watchedAt) {
+            if ((episode.collected_at != null || collectedAt == null)
+                    && (episode.watched_at != null || watchedAt == null)) {
+                return episode;
+            }
+            SyncEpisode copy = new SyncEpisode()
+                    .id(episode.ids)
+                    .collectedAt(episode.collected_at != null ? episode.collected_at : collectedAt)
+                    .watchedAt(episode.watched_at != null ? episode.watched_at : watchedAt)
+                    .ratedAt(episode.rated_at)
+                    .rating(episode.rating);
+            copy.season = episode.season;
+            copy.number = episode.number;
+            return copy;
+        }
+
+    }
+
+}
@@ -0,0 +1,236 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.TraktRx;
+import me.rhespanhol.rxtraktjava.entities.BaseMovie;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.LastActivities;
+import me.rhespanhol.rxtraktjava.entities.RatedEpisode;
+import me.rhespanhol.rxtraktjava.entities.RatedMovie;
+import me.rhespanhol.rxtraktjava.entities.RatedSeason;
+import me.rhespanhol.rxtraktjava.entities.RatedShow;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedEpisode;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedSeason;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import me.rhespanhol.rxtraktjava.enums.RatingsFilter;
+import me.rhespanhol.rxtraktjava.services.rx.RxSync;
+import rx.Observable;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps a local copy of a user's library up to date by only fetching what changed.
+ * <p>
+ * <p>Each sync first requests {@code sync/last_activities}, one small request, and compares it to the activities of
+ * the previous sync, the watermark. Only the lists of categories with a newer change date are fetched, in parallel.
+ * If nothing changed since the watermark no further request is sent at all.
+ * <p>
+ * <p>The watermark moves past every change once a sync succeeds. Lists a {@link LibraryState} refused because they
+ * may predate a write stay {@link LibraryState#getStaleCategories() stale}, pass them to {@link
+ * #changesSince(LastActivities, Set, Extended)} to fetch them again.
+ * <p>
+ * <p>Use {@link TraktRx} of a {@link me.rhespanhol.rxtraktjava.TraktSession} to sync the library of its user.
+ */
+public class DeltaSync {
+
+    public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+    private final TraktRx mTrakt;
+    private volatile int mMaxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+    public DeltaSync(TraktRx trakt) {
+        this.mTrakt = trakt;
+    }
+
+    /**
+     * Sets how many lists are fetched at the same time.
+     */
+    public DeltaSync setMaxConcurrency(int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency < 1");
+        }
+        mMaxConcurrency = maxConcurrency;
+        return this;
+    }
+
+    /**
+     * Fetches the lists of all categories that changed since the watermark.
+     *
+     * @param watermark The {@link SyncChanges#lastActivities} of the previous sync, or {@code null} to fetch
+     * everything.
+     * @param extended The level of detail to fetch lists with.
+     */
+    public Observable<SyncChanges> changesSince(LastActivities watermark, Extended extended) {
+        return changesSince(watermark, Collections.<SyncCategory>emptySet(), extended);
+    }
+
+    /**
+     * Fetches the lists of all categories that changed since the watermark, and the lists of the given categories
+     * whether they changed or not.
+     *
+     * @param watermark The {@link SyncChanges#lastActivities} of the previous sync, or {@code null} to fetch
+     * everything.
+     * @param refetch The categories to fetch in any case, usually the {@link LibraryState#getStaleCategories() stale
+     * categories} of the state the changes are applied to.
+     * @param extended The level of detail to fetch lists with.
+     */
+    public Observable<SyncChanges> changesSince(final LastActivities watermark, final Set<SyncCategory> refetch,
+            final Extended extended) {
+        return mTrakt.sync().lastActivities().flatMap(new Func1<LastActivities, Observable<SyncChanges>>() {
+            @Override
+            public Observable<SyncChanges> call(LastActivities activities) {
+                return fetchChanges(watermark, refetch, activities, extended);
+            }
+        });
+    }
+
+    private Observable<SyncChanges> fetchChanges(LastActivities watermark, Set<SyncCategory> refetch,
+            final LastActivities activities, Extended extended) {
+        List<Observable<Fetched>> requests = new ArrayList<>();
+        boolean unchanged = isUnchanged(watermark, activities);
+        for (SyncCategory category : SyncCategory.values()) {
+            if (refetch.contains(category) || (!unchanged && category.hasChanged(watermark, activities))) {
+                requests.add(fetch(category, extended));
+            }
+        }
+        if (requests.isEmpty()) {
+            SyncChanges changes = new SyncChanges();
+            changes.lastActivities = activities;
+            return Observable.just(changes);
+        }
+        return Observable.merge(requests, mMaxConcurrency)
+                .toList()
+                .map(new Func1<List<Fetched>, SyncChanges>() {
+                    @Override
+                    public SyncChanges call(List<Fetched> fetched) {
+                        SyncChanges changes = new SyncChanges();
+                        changes.lastActivities = activities;
+                        for (Fetched list : fetched) {
+                            apply(changes, list.mCategory, list.mItems);
+                        }
+                        return changes;
+                    }
+                });
+    }
+
+    /**
+     * The {@link LastActivities#all} date covers every category, if it did not move nothing changed.
+     */
+    private static boolean isUnchanged(LastActivities watermark, LastActivities activities) {
+        return watermark != null && watermark.all != null && activities.all != null
+                && !activities.all.isAfter(watermark.all);
+    }
+
+    private Observable<Fetched> fetch(final SyncCategory category, Extended extended) {
+        RxSync sync = mTrakt.sync();
+        Observable<? extends List<?>> request;
+        switch (category) {
+            case MOVIES_WATCHED:
+                request = sync.watchedMovies(extended);
+                break;
+            case MOVIES_COLLECTED:
+                request = sync.collectionMovies(extended);
+                break;
+            case MOVIES_RATED:
+                request = sync.ratingsMovies(RatingsFilter.ALL, extended);
+                break;
+            case MOVIES_WATCHLISTED:
+                request = sync.watchlistMovies(extended);
+                break;
+            case EPISODES_WATCHED:
+                request = sync.watchedShows(extended);
+                break;
+            case EPISODES_COLLECTED:
+                request = sync.collectionShows(extended);
+                break;
+            case EPISODES_RATED:
+                request = sync.ratingsEpisodes(RatingsFilter.ALL, extended);
+                break;
+            case EPISODES_WATCHLISTED:
+                request = sync.watchlistEpisodes(extended);
+                break;
+            case SHOWS_RATED:
+                request = sync.ratingsShows(RatingsFilter.ALL, extended);
+                break;
+            case SHOWS_WATCHLISTED:
+                request = sync.watchlistShows(extended);
+                break;
+            case SEASONS_RATED:
+                request = sync.ratingsSeasons(RatingsFilter.ALL, extended);
+                break;
+            case SEASONS_WATCHLISTED:
+                request = sync.watchlistSeasons(extended);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown category " + category);
+        }
+        return request.map(new Func1<List<?>, Fetched>() {
+            @Override
+            public Fetched call(List<?> items) {
+                return new Fetched(category, items);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void apply(SyncChanges changes, SyncCategory category, List<?> items) {
+        changes.changed.add(category);
+        switch (category) {
+            case MOVIES_WATCHED:
+                changes.watchedMovies = (List<BaseMovie>) items;
+                break;
+            case MOVIES_COLLECTED:
+                changes.collectedMovies = (List<BaseMovie>) items;
+                break;
+            case MOVIES_RATED:
+                changes.ratedMovies = (List<RatedMovie>) items;
+                break;
+            case MOVIES_WATCHLISTED:
+                changes.watchlistedMovies = (List<BaseMovie>) items;
+                break;
+            case EPISODES_WATCHED:
+                changes.watchedShows = (List<BaseShow>) items;
+                break;
+            case EPISODES_COLLECTED:
+                changes.collectedShows = (List<BaseShow>) items;
+                break;
+            case EPISODES_RATED:
+                changes.ratedEpisodes = (List<RatedEpisode>) items;
+                break;
+            case EPISODES_WATCHLISTED:
+                changes.watchlistedEpisodes = (List<WatchlistedEpisode>) items;
+                break;
+            case SHOWS_RATED:
+                changes.ratedShows = (List<RatedShow>) items;
+                break;
+            case SHOWS_WATCHLISTED:
+                changes.watchlistedShows = (List<BaseShow>) items;
+                break;
+            case SEASONS_RATED:
+                changes.ratedSeasons = (List<RatedSeason>) items;
+                break;
+            case SEASONS_WATCHLISTED:
+                changes.watchlistedSeasons = (List<WatchlistedSeason>) items;
+                break;
+        }
+    }
+
+    /**
+     * A fetched list, applied to {@link SyncChanges} once all requests finished.
+     */
+    private static final class Fetched {
+
+        final SyncCategory mCategory;
+        final List<?> mItems;
+
+        Fetched(SyncCategory category, List<?> items) {
+            this.mCategory = category;
+            this.mItems = items;
+        }
+
+    }
+
+}
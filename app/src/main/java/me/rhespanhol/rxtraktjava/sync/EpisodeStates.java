@@ -0,0 +1,144 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.entities.BaseEpisode;
+import me.rhespanhol.rxtraktjava.entities.BaseSeason;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.util.IntObjectMap;
+import org.joda.time.DateTime;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The episodes of a watched or collected list in compact form: per season a bit set of episode numbers and arrays of
+ * play counts and timestamps indexed by episode number. Seasons and episodes with numbers that are not {@link
+ * ProgressIndex#isValidNumber(int) valid} are left out. Immutable once built.
+ */
+final class EpisodeStates {
+
+    private final IntObjectMap<ShowState> mShows;
+
+    /**
+     * @param plays Whether to keep play counts, only watched lists have them.
+     */
+    EpisodeStates(List<BaseShow> shows, boolean plays) {
+        mShows = new IntObjectMap<>(shows == null ? 0 : shows.size());
+        if (shows == null) {
+            return;
+        }
+        for (BaseShow show : shows) {
+            if (show == null || show.show == null || show.show.ids == null || show.show.ids.trakt == null) {
+                continue;
+            }
+            mShows.put(show.show.ids.trakt, new ShowState(show.seasons, plays));
+        }
+    }
+
+    ShowState show(int showId) {
+        return mShows.get(showId);
+    }
+
+    SeasonState season(int showId, int season) {
+        ShowState show = mShows.get(showId);
+        return show == null ? null : show.mSeasons.get(season);
+    }
+
+    int[] showIds() {
+        return mShows.keys();
+    }
+
+    static final class ShowState {
+
+        final IntObjectMap<SeasonState> mSeasons;
+        final int mCount;
+        /** Packed season and episode of the next episode to watch, see {@link ProgressIndex#nextEpisode(int)}. */
+        final int mNextEpisode;
+
+        ShowState(List<BaseSeason> seasons, boolean plays) {
+            mSeasons = new IntObjectMap<>(seasons == null ? 0 : seasons.size());
+            int count = 0;
+            int furthestSeason = -1;
+            if (seasons != null) {
+                for (BaseSeason season : seasons) {
+                    if (season == null || season.number == null || !ProgressIndex.isValidNumber(season.number)) {
+                        continue;
+                    }
+                    SeasonState state = new SeasonState(season.episodes, plays);
+                    mSeasons.put(season.number, state);
+                    count += state.mCount;
+                    // specials do not count towards progress
+                    if (season.number > 0 && state.mCount > 0 && season.number > furthestSeason) {
+                        furthestSeason = season.number;
+                    }
+                }
+            }
+            mCount = count;
+            if (furthestSeason < 0) {
+                mNextEpisode = -1;
+            } else {
+                int next = mSeasons.get(furthestSeason).mEpisodes.nextClearBit(1);
+                mNextEpisode = ProgressIndex.isValidNumber(next) ? ProgressIndex.pack(furthestSeason, next) : -1;
+            }
+        }
+
+    }
+
+    static final class SeasonState {
+
+        final BitSet mEpisodes;
+        /** Plays by episode number, {@code null} for collected episodes. */
+        final int[] mPlays;
+        /** Last watched or collected time in milliseconds by episode number, 0 if unknown. */
+        final long[] mAt;
+        final int mCount;
+
+        SeasonState(List<BaseEpisode> episodes, boolean plays) {
+            int maxNumber = -1;
+            if (episodes != null) {
+                for (BaseEpisode episode : episodes) {
+                    if (isValid(episode) && episode.number > maxNumber) {
+                        maxNumber = episode.number;
+                    }
+                }
+            }
+            mEpisodes = new BitSet(maxNumber + 1);
+            mPlays = plays ? new int[maxNumber + 1] : null;
+            mAt = new long[maxNumber + 1];
+            if (episodes != null) {
+                for (BaseEpisode episode : episodes) {
+                    if (!isValid(episode)) {
+                        continue;
+                    }
+                    int number = episode.number;
+                    mEpisodes.set(number);
+                    if (mPlays != null && episode.plays != null) {
+                        mPlays[number] = episode.plays;
+                    }
+                    DateTime at = plays ? episode.last_watched_at : episode.collected_at;
+                    if (at != null) {
+                        mAt[number] = at.getMillis();
+                    }
+                }
+            }
+            mCount = mEpisodes.cardinality();
+        }
+
+        private static boolean isValid(BaseEpisode episode) {
+            return episode != null && episode.number != null && ProgressIndex.isValidNumber(episode.number);
+        }
+
+        boolean contains(int episode) {
+            return episode >= 0 && mEpisodes.get(episode);
+        }
+
+        int plays(int episode) {
+            return mPlays != null && episode >= 0 && episode < mPlays.length ? mPlays[episode] : 0;
+        }
+
+        long at(int episode) {
+            return episode >= 0 && episode < mAt.length ? mAt[episode] : 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,647 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.entities.BaseEpisode;
+import me.rhespanhol.rxtraktjava.entities.BaseMovie;
+import me.rhespanhol.rxtraktjava.entities.BaseSeason;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.RatedEpisode;
+import me.rhespanhol.rxtraktjava.entities.RatedMovie;
+import me.rhespanhol.rxtraktjava.entities.RatedSeason;
+import me.rhespanhol.rxtraktjava.entities.RatedShow;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncErrors;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+import me.rhespanhol.rxtraktjava.entities.SyncStats;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedEpisode;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedSeason;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import me.rhespanhol.rxtraktjava.util.IntIntMap;
+import me.rhespanhol.rxtraktjava.util.IntObjectMap;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A local copy of a user's library that reflects the user's own changes right after they succeeded, so reading it
+ * after a write needs no request.
+ * <p>
+ * <p>Fill it with {@link #update(SyncChanges, long)} after every {@link DeltaSync}, and {@link #apply(SyncList,
+ * boolean, SyncItems, SyncResponse)} every successful write to it, or set it as the listener of a {@link
+ * SyncWriteQueue} or {@link SyncOutbox}. Items trakt did not find are left out. Writes the state can not follow
+ * exactly mark the affected {@link SyncCategory categories} as {@link #isStale(SyncCategory) stale} instead, until the
+ * next sync fetches them again. Other categories stay valid. That includes marking a whole show as watched, removing
+ * history entries by id, and writes whose counts in the response differ from the changes applied, e.g. plays trakt
+ * already had because a change was sent again.
+ * <p>
+ * <p>A sync started before a write may return lists without it. Take the {@link #getGeneration() generation} before
+ * starting a sync and pass it to {@link #update(SyncChanges, long)}: categories written since are left as they are and
+ * stay stale instead of being replaced by the older lists. The watermark of the sync moves past them anyway, so pass
+ * the {@link #getStaleCategories() stale categories} to the next {@link DeltaSync} to fetch them again.
+ * <p>
+ * <p>Items are identified by trakt id, episodes and seasons by the trakt id of their show and their numbers. The state
+ * is safe to use from multiple threads.
+ */
+public class LibraryState implements SyncWriteQueue.Listener, SyncOutbox.Listener {
+
+    private final Map<SyncCategory, Values> mValues = new EnumMap<>(SyncCategory.class);
+    private final Set<SyncCategory> mStale = EnumSet.allOf(SyncCategory.class);
+    /** The generation of the last write to each category. */
+    private final Map<SyncCategory, Long> mWritten = new EnumMap<>(SyncCategory.class);
+    private long mGeneration;
+
+    public LibraryState() {
+        for (SyncCategory category : SyncCategory.values()) {
+            mValues.put(category, new Values());
+        }
+    }
+
+    /**
+     * Whether the category was not synced yet or changed in a way this state could not follow. Its values may be
+     * outdated until the next {@link #update(SyncChanges, long)} that includes it.
+     */
+    public synchronized boolean isStale(SyncCategory category) {
+        return mStale.contains(category);
+    }
+
+    public synchronized Set<SyncCategory> getStaleCategories() {
+        return EnumSet.copyOf(mStale);
+    }
+
+    /**
+     * Returns the generation of the state, which increases with every write applied to it.
+     */
+    public synchronized long getGeneration() {
+        return mGeneration;
+    }
+
+    public int moviePlays(int movieId) {
+        return get(SyncCategory.MOVIES_WATCHED, movieId, 0);
+    }
+
+    public boolean isMovieCollected(int movieId) {
+        return get(SyncCategory.MOVIES_COLLECTED, movieId, 0) != 0;
+    }
+
+    /**
+     * @return The rating from 1 to 10, or 0 if not rated.
+     */
+    public int movieRating(int movieId) {
+        return get(SyncCategory.MOVIES_RATED, movieId, 0);
+    }
+
+    public boolean isMovieWatchlisted(int movieId) {
+        return get(SyncCategory.MOVIES_WATCHLISTED, movieId, 0) != 0;
+    }
+
+    public int showRating(int showId) {
+        return get(SyncCategory.SHOWS_RATED, showId, 0);
+    }
+
+    public boolean isShowWatchlisted(int showId) {
+        return get(SyncCategory.SHOWS_WATCHLISTED, showId, 0) != 0;
+    }
+
+    public int seasonRating(int showId, int season) {
+        return get(SyncCategory.SEASONS_RATED, showId, number(season, 0));
+    }
+
+    public boolean isSeasonWatchlisted(int showId, int season) {
+        return get(SyncCategory.SEASONS_WATCHLISTED, showId, number(season, 0)) != 0;
+    }
+
+    public int episodePlays(int showId, int season, int episode) {
+        return get(SyncCategory.EPISODES_WATCHED, showId, number(season, episode));
+    }
+
+    public boolean isEpisodeCollected(int showId, int season, int episode) {
+        return get(SyncCategory.EPISODES_COLLECTED, showId, number(season, episode)) != 0;
+    }
+
+    public int episodeRating(int showId, int season, int episode) {
+        return get(SyncCategory.EPISODES_RATED, showId, number(season, episode));
+    }
+
+    public boolean isEpisodeWatchlisted(int showId, int season, int episode) {
+        return get(SyncCategory.EPISODES_WATCHLISTED, showId, number(season, episode)) != 0;
+    }
+
+    /**
+     * Replaces the categories that changed with the fetched lists and marks them as not stale. Categories written
+     * after the given generation are not replaced but marked as stale, the lists may predate the write. The next sync
+     * has to fetch the {@link #getStaleCategories() stale categories} again, whether they changed or not.
+     *
+     * @param generation The {@link #getGeneration() generation} taken before the sync was started.
+     */
+    public synchronized void update(SyncChanges changes, long generation) {
+        for (SyncCategory category : changes.changed) {
+            Long written = mWritten.get(category);
+            if (written != null && written > generation) {
+                mStale.add(category);
+                continue;
+            }
+            Values values = mValues.get(category);
+            values.clear();
+            switch (category) {
+                case MOVIES_WATCHED:
+                    putMovies(values, changes.watchedMovies, true);
+                    break;
+                case MOVIES_COLLECTED:
+                    putMovies(values, changes.collectedMovies, false);
+                    break;
+                case MOVIES_RATED:
+                    if (changes.ratedMovies != null) {
+                        for (RatedMovie rated : changes.ratedMovies) {
+                            if (rated.movie != null && rated.movie.ids != null && rated.movie.ids.trakt != null) {
+                                put(values, rated.movie.ids.trakt, 0, rated.rating);
+                            }
+                        }
+                    }
+                    break;
+                case MOVIES_WATCHLISTED:
+                    putMovies(values, changes.watchlistedMovies, false);
+                    break;
+                case EPISODES_WATCHED:
+                    putEpisodes(values, changes.watchedShows, true);
+                    break;
+                case EPISODES_COLLECTED:
+                    putEpisodes(values, changes.collectedShows, false);
+                    break;
+                case EPISODES_RATED:
+                    if (changes.ratedEpisodes != null) {
+                        for (RatedEpisode rated : changes.ratedEpisodes) {
+                            if (showId(rated.show) != 0 && rated.episode != null && rated.episode.season != null
+                                    && rated.episode.number != null) {
+                                put(values, showId(rated.show), number(rated.episode.season, rated.episode.number),
+                                        rated.rating);
+                            }
+                        }
+                    }
+                    break;
+                case EPISODES_WATCHLISTED:
+                    if (changes.watchlistedEpisodes != null) {
+                        for (WatchlistedEpisode listed : changes.watchlistedEpisodes) {
+                            if (showId(listed.show) != 0 && listed.episode != null && listed.episode.season != null
+                                    && listed.episode.number != null) {
+                                values.put(showId(listed.show), number(listed.episode.season, listed.episode.number),
+                                        1);
+                            }
+                        }
+                    }
+                    break;
+                case SHOWS_RATED:
+                    if (changes.ratedShows != null) {
+                        for (RatedShow rated : changes.ratedShows) {
+                            if (showId(rated.show) != 0) {
+                                put(values, showId(rated.show), 0, rated.rating);
+                            }
+                        }
+                    }
+                    break;
+                case SHOWS_WATCHLISTED:
+                    if (changes.watchlistedShows != null) {
+                        for (BaseShow listed : changes.watchlistedShows) {
+                            if (showId(listed.show) != 0) {
+                                values.put(showId(listed.show), 0, 1);
+                            }
+                        }
+                    }
+                    break;
+                case SEASONS_RATED:
+                    if (changes.ratedSeasons != null) {
+                        for (RatedSeason rated : changes.ratedSeasons) {
+                            if (showId(rated.show) != 0 && rated.season != null && rated.season.number != null) {
+                                put(values, showId(rated.show), number(rated.season.number, 0), rated.rating);
+                            }
+                        }
+                    }
+                    break;
+                case SEASONS_WATCHLISTED:
+                    if (changes.watchlistedSeasons != null) {
+                        for (WatchlistedSeason listed : changes.watchlistedSeasons) {
+                            if (showId(listed.show) != 0 && listed.season != null && listed.season.number != null) {
+                                values.put(showId(listed.show), number(listed.season.number, 0), 1);
+                            }
+                        }
+                    }
+                    break;
+            }
+            mStale.remove(category);
+        }
+    }
+
+    /**
+     * Applies a successful addition to or removal from a list.
+     *
+     * @param response The response to the write, items it reports as not found are left out.
+     */
+    public synchronized void apply(SyncList list, boolean removal, SyncItems items, SyncResponse response) {
+        mGeneration++;
+        NotFound notFound = new NotFound(response == null ? null : response.not_found);
+        Counts counts = new Counts();
+        if (items.ids != null && !items.ids.isEmpty()) {
+            // history entries by id, which items they belong to is unknown
+            stale(SyncCategory.MOVIES_WATCHED);
+            stale(SyncCategory.EPISODES_WATCHED);
+        }
+        if (items.movies != null) {
+            SyncCategory category = movieCategory(list);
+            for (SyncMovie movie : items.movies) {
+                if (movie.ids == null || movie.ids.trakt == null) {
+                    stale(category);
+                } else if (!notFound.mMovies.contains(movie.ids.trakt)) {
+                    change(category, list, removal, movie.ids.trakt, 0, movie.rating, counts);
+                }
+            }
+        }
+        if (items.shows != null) {
+            for (SyncShow show : items.shows) {
+                applyShow(list, removal, show, notFound, counts);
+            }
+        }
+        if (items.episodes != null && !items.episodes.isEmpty()) {
+            // the show and numbers of episodes given by id only are unknown
+            stale(episodeCategory(list));
+        }
+        if (response != null) {
+            verify(list, removal, response, counts);
+        }
+    }
+
+    /**
+     * Marks the categories a write may have changed as stale.
+     */
+    public synchronized void invalidate(SyncList list, SyncItems items) {
+        mGeneration++;
+        if (items.movies != null && !items.movies.isEmpty()) {
+            stale(movieCategory(list));
+        }
+        if ((items.shows != null && !items.shows.isEmpty()) || (items.episodes != null && !items.episodes.isEmpty())) {
+            stale(episodeCategory(list));
+            if (list == SyncList.RATINGS) {
+                stale(SyncCategory.SHOWS_RATED);
+                stale(SyncCategory.SEASONS_RATED);
+            } else if (list == SyncList.WATCHLIST) {
+                stale(SyncCategory.SHOWS_WATCHLISTED);
+                stale(SyncCategory.SEASONS_WATCHLISTED);
+            }
+        }
+        if (items.ids != null && !items.ids.isEmpty()) {
+            stale(SyncCategory.MOVIES_WATCHED);
+            stale(SyncCategory.EPISODES_WATCHED);
+        }
+    }
+
+    @Override
+    public void onFlushed(SyncList list, boolean removal, SyncItems items, SyncResponse response) {
+        apply(list, removal, items, response);
+    }
+
+    @Override
+    public void onFlushFailed(SyncList list, boolean removal, SyncItems items, Throwable error) {
+        // written anyway if only the response could not be read
+        invalidate(list, items);
+    }
+
+    @Override
+    public void onReplayed(List<SyncOutbox.Operation> operations, SyncResponse response) {
+        // the operations have the same target and were sent together, the response counts all of them
+        SyncOutbox.Operation first = operations.get(0);
+        if (first.list != null) {
+            apply(first.list, first.removal, SyncOutbox.merge(operations), response);
+        }
+    }
+
+    @Override
+    public void onDropped(List<SyncOutbox.Operation> operations, Throwable error) {
+        // written anyway if only the response could not be read
+        SyncOutbox.Operation first = operations.get(0);
+        if (first.list != null) {
+            invalidate(first.list, SyncOutbox.merge(operations));
+        }
+    }
+
+    private void applyShow(SyncList list, boolean removal, SyncShow show, NotFound notFound, Counts counts) {
+        boolean wholeItems = list == SyncList.RATINGS || list == SyncList.WATCHLIST;
+        if (show.ids == null || show.ids.trakt == null) {
+            invalidate(list, new SyncItems().shows(show));
+            return;
+        }
+        int showId = show.ids.trakt;
+        if (notFound.mShows.contains(showId)) {
+            return;
+        }
+        if (show.seasons == null || show.seasons.isEmpty()) {
+            if (wholeItems) {
+                change(list == SyncList.RATINGS ? SyncCategory.SHOWS_RATED : SyncCategory.SHOWS_WATCHLISTED, list,
+                        removal, showId, 0, show.rating, counts);
+            } else {
+                // all episodes of the show, which ones is unknown
+                stale(episodeCategory(list));
+            }
+            return;
+        }
+        if (notFound.mHasNested) {
+            invalidate(list, new SyncItems().shows(show));
+            return;
+        }
+        for (SyncSeason season : show.seasons) {
+            if (season.number == null) {
+                stale(episodeCategory(list));
+            } else if (season.episodes == null || season.episodes.isEmpty()) {
+                if (wholeItems) {
+                    change(list == SyncList.RATINGS ? SyncCategory.SEASONS_RATED : SyncCategory.SEASONS_WATCHLISTED,
+                            list, removal, showId, number(season.number, 0), season.rating, counts);
+                } else {
+                    stale(episodeCategory(list));
+                }
+            } else {
+                for (SyncEpisode episode : season.episodes) {
+                    if (episode.number == null) {
+                        stale(episodeCategory(list));
+                    } else {
+                        change(episodeCategory(list), list, removal, showId, number(season.number, episode.number),
+                                episode.rating, counts);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies the change to one item and counts it like trakt does in its response.
+     */
+    private void change(SyncCategory category, SyncList list, boolean removal, int id, int number, Rating rating,
+            Counts counts) {
+        mWritten.put(category, mGeneration);
+        Values values = mValues.get(category);
+        if (removal) {
+            int removed = values.remove(id, number);
+            // removing an item from the history deletes all of its plays
+            counts.add(category, list != SyncList.HISTORY ? 1 : removed);
+        } else if (list == SyncList.HISTORY) {
+            values.put(id, number, values.get(id, number) + 1);
+            counts.add(category, 1);
+        } else if (list == SyncList.RATINGS) {
+            if (rating == null) {
+                mStale.add(category);
+            } else {
+                values.put(id, number, rating.value);
+                counts.add(category, 1);
+            }
+        } else {
+            values.put(id, number, 1);
+            counts.add(category, 1);
+        }
+    }
+
+    private void stale(SyncCategory category) {
+        mStale.add(category);
+        mWritten.put(category, mGeneration);
+    }
+
+    /**
+     * Marks the categories as stale whose changes trakt counted differently than they were applied, e.g. a play it
+     * already had, or a removal of an item that was not in the list.
+     */
+    private void verify(SyncList list, boolean removal, SyncResponse response, Counts counts) {
+        SyncStats reported = removal ? response.deleted : sum(response.added, response.existing);
+        if (reported == null) {
+            reported = new SyncStats();
+        }
+        verify(movieCategory(list), counts.mMovies, reported.movies);
+        verify(episodeCategory(list), counts.mEpisodes, reported.episodes);
+        if (list == SyncList.RATINGS) {
+            verify(SyncCategory.SHOWS_RATED, counts.mShows, reported.shows);
+            verify(SyncCategory.SEASONS_RATED, counts.mSeasons, reported.seasons);
+        } else if (list == SyncList.WATCHLIST) {
+            verify(SyncCategory.SHOWS_WATCHLISTED, counts.mShows, reported.shows);
+            verify(SyncCategory.SEASONS_WATCHLISTED, counts.mSeasons, reported.seasons);
+        }
+    }
+
+    private void verify(SyncCategory category, int applied, Integer reported) {
+        if (applied != (reported == null ? 0 : reported)) {
+            stale(category);
+        }
+    }
+
+    private static SyncStats sum(SyncStats first, SyncStats second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        SyncStats sum = new SyncStats();
+        sum.movies = sum(first.movies, second.movies);
+        sum.shows = sum(first.shows, second.shows);
+        sum.seasons = sum(first.seasons, second.seasons);
+        sum.episodes = sum(first.episodes, second.episodes);
+        return sum;
+    }
+
+    private static Integer sum(Integer first, Integer second) {
+        if (first == null || second == null) {
+            return first == null ? second : first;
+        }
+        return first + second;
+    }
+
+    private synchronized int get(SyncCategory category, int id, int number) {
+        return mValues.get(category).get(id, number);
+    }
+
+    private static SyncCategory movieCategory(SyncList list) {
+        switch (list) {
+            case COLLECTION:
+                return SyncCategory.MOVIES_COLLECTED;
+            case HISTORY:
+                return SyncCategory.MOVIES_WATCHED;
+            case RATINGS:
+                return SyncCategory.MOVIES_RATED;
+            default:
+                return SyncCategory.MOVIES_WATCHLISTED;
+        }
+    }
+
+    private static SyncCategory episodeCategory(SyncList list) {
+        switch (list) {
+            case COLLECTION:
+                return SyncCategory.EPISODES_COLLECTED;
+            case HISTORY:
+                return SyncCategory.EPISODES_WATCHED;
+            case RATINGS:
+                return SyncCategory.EPISODES_RATED;
+            default:
+                return SyncCategory.EPISODES_WATCHLISTED;
+        }
+    }
+
+    private static void putMovies(Values values, List<BaseMovie> movies, boolean plays) {
+        if (movies == null) {
+            return;
+        }
+        for (BaseMovie movie : movies) {
+            if (movie.movie != null && movie.movie.ids != null && movie.movie.ids.trakt != null) {
+                values.put(movie.movie.ids.trakt, 0, plays ? Math.max(movie.plays, 1) : 1);
+            }
+        }
+    }
+
+    private static void putEpisodes(Values values, List<BaseShow> shows, boolean plays) {
+        if (shows == null) {
+            return;
+        }
+        for (BaseShow show : shows) {
+            int showId = showId(show.show);
+            if (showId == 0 || show.seasons == null) {
+                continue;
+            }
+            for (BaseSeason season : show.seasons) {
+                if (season.number == null || season.episodes == null) {
+                    continue;
+                }
+                for (BaseEpisode episode : season.episodes) {
+                    if (episode.number != null) {
+                        int value = plays && episode.plays != null ? Math.max(episode.plays, 1) : 1;
+                        values.put(showId, number(season.number, episode.number), value);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void put(Values values, int id, int number, Rating rating) {
+        if (rating != null) {
+            values.put(id, number, rating.value);
+        }
+    }
+
+    private static int showId(Show show) {
+        return show == null || show.ids == null || show.ids.trakt == null ? 0 : show.ids.trakt;
+    }
+
+    /**
+     * Packs a season and episode number, both are far below 65536. Movies and shows use 0.
+     */
+    private static int number(int season, int episode) {
+        return (season & 0xffff) << 16 | (episode & 0xffff);
+    }
+
+    /**
+     * The values of one category, by trakt id of the movie or show and then by {@link #number(int, int) number}.
+     * Absent values are 0.
+     */
+    private static final class Values {
+
+        private final IntObjectMap<IntIntMap> mItems = new IntObjectMap<>();
+
+        int get(int id, int number) {
+            IntIntMap numbers = mItems.get(id);
+            return numbers == null ? 0 : numbers.get(number, 0);
+        }
+
+        void put(int id, int number, int value) {
+            IntIntMap numbers = mItems.get(id);
+            if (numbers == null) {
+                // movies and shows only ever use number 0
+                numbers = new IntIntMap(number == 0 ? 1 : 8);
+                mItems.put(id, numbers);
+            }
+            numbers.put(number, value);
+        }
+
+        /**
+         * @return The removed value, 0 if there was none.
+         */
+        int remove(int id, int number) {
+            IntIntMap numbers = mItems.get(id);
+            if (numbers == null) {
+                return 0;
+            }
+            int value = numbers.get(number, 0);
+            numbers.remove(number);
+            if (numbers.isEmpty()) {
+                mItems.remove(id);
+            }
+            return value;
+        }
+
+        void clear() {
+            mItems.clear();
+        }
+
+    }
+
+    /**
+     * The number of changes applied per type of item.
+     */
+    private static final class Counts {
+
+        int mMovies;
+        int mShows;
+        int mSeasons;
+        int mEpisodes;
+
+        void add(SyncCategory category, int count) {
+            switch (category) {
+                case MOVIES_WATCHED:
+                case MOVIES_COLLECTED:
+                case MOVIES_RATED:
+                case MOVIES_WATCHLISTED:
+                    mMovies += count;
+                    break;
+                case SHOWS_RATED:
+                case SHOWS_WATCHLISTED:
+                    mShows += count;
+                    break;
+                case SEASONS_RATED:
+                case SEASONS_WATCHLISTED:
+                    mSeasons += count;
+                    break;
+                default:
+                    mEpisodes += count;
+                    break;
+            }
+        }
+
+    }
+
+    /**
+     * The trakt ids of the movies and shows a response reports as not found, and whether it reports seasons or
+     * episodes.
+     */
+    private static final class NotFound {
+
+        final Set<Integer> mMovies = new HashSet<>();
+        final Set<Integer> mShows = new HashSet<>();
+        final boolean mHasNested;
+
+        NotFound(SyncErrors errors) {
+            if (errors != null && errors.movies != null) {
+                for (SyncMovie movie : errors.movies) {
+                    if (movie.ids != null && movie.ids.trakt != null) {
+                        mMovies.add(movie.ids.trakt);
+                    }
+                }
+            }
+            if (errors != null && errors.shows != null) {
+                for (SyncShow show : errors.shows) {
+                    if (show.ids != null && show.ids.trakt != null) {
+                        mShows.add(show.ids.trakt);
+                    }
+                }
+            }
+            mHasNested = errors != null && ((errors.seasons != null && !errors.seasons.isEmpty())
+                    || (errors.episodes != null && !errors.episodes.isEmpty()));
+        }
+
+    }
+
+}
@@ -0,0 +1,384 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The append-only file backing a {@link SyncOutbox}.
+ * <p>
+ * <p>Each record is its length, a CRC32 checksum and the payload: either an operation with its sequence number, or
+ * the sequence number of a completed operation. Records are written with a single write and are only acknowledged
+ * after the file was synced to disk. If several threads append at the same time, one sync covers all of their
+ * records. When reading the file, a record cut short by a crash ends it, and the file is truncated after the last
+ * intact record. A complete record whose checksum does not match is skipped, the records after it are still read.
+ * An intact operation that can not be decoded, e.g. with a list this version does not know, is skipped as well.
+ * <p>
+ * <p>If a write fails, the file is cut back to the end of the last complete record. If that fails as well, or syncing
+ * the file fails, it is unknown what is on disk, and the journal rejects all further writes until it is opened again.
+ * Completed operations are still removed from memory then, they are only sent again after the journal is reopened.
+ * <p>
+ * <p>Once many operations completed, the file is rewritten with just the pending ones, to a temporary file that then
+ * replaces it. It also keeps the last sequence number, so sequence numbers are never reused, even once the rewritten
+ * file is opened again.
+ */
+final class OutboxJournal {
+
+    private static final byte TYPE_OPERATION = 1;
+    private static final byte TYPE_DONE = 2;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_PAYLOAD_SIZE = 64 * 1024 * 1024;
+    /** Rewrite the file once this many completed operations are recorded in it. */
+    private static final int COMPACT_THRESHOLD = 256;
+    private static final String UTF_8 = "UTF-8";
+
+    private final File mFile;
+    private final Gson mGson = TraktHelper.getGsonBuilder().create();
+    /** Taken before {@code this} by threads that sync or replace the file. */
+    private final Object mSyncLock = new Object();
+
+    // guarded by this
+    private RandomAccessFile mRaf;
+    private final Map<Long, SyncOutbox.Operation> mPending = new LinkedHashMap<>();
+    private long mNextSequence = 1;
+    private int mDoneCount;
+    private long mWriteCount;
+    private boolean mFailed;
+
+    // guarded by mSyncLock
+    private long mSyncedCount;
+
+    OutboxJournal(File file) throws IOException {
+        this.mFile = file;
+        long length = file.exists() ? read() : 0;
+        mRaf = new RandomAccessFile(file, "rw");
+        if (mRaf.length() != length) {
+            // drop the damaged tail so new records follow the last intact one
+            mRaf.setLength(length);
+            mRaf.getFD().sync();
+        }
+        mRaf.seek(length);
+    }
+
+    /**
+     * Appends operations and waits until they are on disk. If that fails, none of them is sent.
+     *
+     * @return The operations with their sequence numbers.
+     */
+    List<SyncOutbox.Operation> append(List<SyncOutbox.Operation> operations) throws IOException {
+        List<SyncOutbox.Operation> appended = new ArrayList<>(operations.size());
+        long count;
+        synchronized (this) {
+            for (SyncOutbox.Operation operation : operations) {
+                appended.add(operation.withSequence(mNextSequence++));
+            }
+            for (SyncOutbox.Operation operation : appended) {
+                write(encode(operation));
+            }
+            for (SyncOutbox.Operation operation : appended) {
+                mPending.put(operation.sequence, operation);
+            }
+            count = mWriteCount;
+        }
+        try {
+            sync(count);
+        } catch (IOException e) {
+            synchronized (this) {
+                for (SyncOutbox.Operation operation : appended) {
+                    mPending.remove(operation.sequence);
+                }
+            }
+            throw e;
+        }
+        return appended;
+    }
+
+    /**
+     * Records that the operations completed and waits until that is on disk. They are no longer pending even if that
+     * fails.
+     */
+    void markDone(List<SyncOutbox.Operation> operations) throws IOException {
+        long count;
+        boolean compact;
+        synchronized (this) {
+            List<Long> done = new ArrayList<>(operations.size());
+            for (SyncOutbox.Operation operation : operations) {
+                if (mPending.remove(operation.sequence) != null) {
+                    done.add(operation.sequence);
+                }
+            }
+            for (Long sequence : done) {
+                write(encodeDone(sequence));
+                mDoneCount++;
+            }
+            count = mWriteCount;
+            compact = mDoneCount >= COMPACT_THRESHOLD && mDoneCount >= mPending.size();
+        }
+        if (compact) {
+            compact();
+        } else {
+            sync(count);
+        }
+    }
+
+    /**
+     * Returns the oldest pending operations that have the same target, at most {@code maxOperations} with at most
+     * {@code maxItems} items in total, but at least one.
+     */
+    synchronized List<SyncOutbox.Operation> nextBatch(int maxOperations, int maxItems) {
+        List<SyncOutbox.Operation> batch = new ArrayList<>();
+        int items = 0;
+        for (SyncOutbox.Operation operation : mPending.values()) {
+            if (batch.size() >= maxOperations || (!batch.isEmpty() && !batch.get(0).hasSameTarget(operation))) {
+                break;
+            }
+            int count = ChunkedSync.count(operation.items);
+            if (!batch.isEmpty() && items + count > maxItems) {
+                break;
+            }
+            batch.add(operation);
+            items += count;
+        }
+        return batch;
+    }
+
+    synchronized int getPendingCount() {
+        return mPending.size();
+    }
+
+    void close() throws IOException {
+        synchronized (mSyncLock) {
+            synchronized (this) {
+                mRaf.close();
+            }
+        }
+    }
+
+    /**
+     * Writes a record, or cuts the file back to where it was if that fails.
+     */
+    private void write(byte[] record) throws IOException {
+        if (mFailed) {
+            throw new IOException("Journal failed, reopen " + mFile);
+        }
+        long offset = mRaf.getFilePointer();
+        try {
+            mRaf.write(record);
+        } catch (IOException e) {
+            try {
+                mRaf.setLength(offset);
+                mRaf.seek(offset);
+            } catch (IOException rollbackError) {
+                mFailed = true;
+            }
+            throw e;
+        }
+        mWriteCount++;
+    }
+
+    /**
+     * Syncs the file unless another thread already synced at least {@code count} records.
+     */
+    private void sync(long count) throws IOException {
+        synchronized (mSyncLock) {
+            if (mSyncedCount >= count) {
+                return;
+            }
+            long written;
+            RandomAccessFile raf;
+            synchronized (this) {
+                if (mFailed) {
+                    throw new IOException("Journal failed, reopen " + mFile);
+                }
+                written = mWriteCount;
+                raf = mRaf;
+            }
+            try {
+                raf.getFD().sync();
+            } catch (IOException e) {
+                // the records may or may not be on disk, retrying the sync would not tell
+                synchronized (this) {
+                    mFailed = true;
+                }
+                throw e;
+            }
+            mSyncedCount = written;
+        }
+    }
+
+    private void compact() throws IOException {
+        synchronized (mSyncLock) {
+            synchronized (this) {
+                File temp = new File(mFile.getPath() + ".tmp");
+                RandomAccessFile raf = new RandomAccessFile(temp, "rw");
+                try {
+                    raf.setLength(0);
+                    for (SyncOutbox.Operation operation : mPending.values()) {
+                        raf.write(encode(operation));
+                    }
+                    long last = mNextSequence - 1;
+                    if (!mPending.containsKey(last)) {
+                        // the last operation completed, a record of that keeps its sequence number from being reused
+                        raf.write(encodeDone(last));
+                    }
+                    raf.getFD().sync();
+                } finally {
+                    raf.close();
+                }
+                mRaf.close();
+                if (!temp.renameTo(mFile)) {
+                    // keep using the old file, it is still complete
+                    mRaf = new RandomAccessFile(mFile, "rw");
+                    mRaf.seek(mRaf.length());
+                    throw new IOException("Could not replace " + mFile);
+                }
+                mRaf = new RandomAccessFile(mFile, "rw");
+                mRaf.seek(mRaf.length());
+                mDoneCount = 0;
+                mSyncedCount = mWriteCount;
+            }
+        }
+    }
+
+    /**
+     * Reads all intact records.
+     *
+     * @return The length of the file up to the end of the last intact record.
+     */
+    private long read() throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+        long length = 0;
+        long offset = 0;
+        try {
+            for (;;) {
+                int size;
+                int checksum;
+                byte[] payload;
+                try {
+                    size = in.readInt();
+                    checksum = in.readInt();
+                    if (size <= 0 || size > MAX_PAYLOAD_SIZE) {
+                        break;
+                    }
+                    payload = new byte[size];
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    break;
+                }
+                offset += HEADER_SIZE + size;
+                if (checksum(payload) != checksum) {
+                    // damaged, but its length is plausible and all of it is there, the next record may be intact
+                    continue;
+                }
+                if (!decode(payload)) {
+                    break;
+                }
+                length = offset;
+            }
+        } finally {
+            in.close();
+        }
+        return length;
+    }
+
+    /**
+     * Applies a record read from the file.
+     *
+     * @return Whether the record could be read.
+     */
+    private boolean decode(byte[] payload) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type;
+        long sequence;
+        try {
+            type = in.readByte();
+            sequence = in.readLong();
+        } catch (IOException e) {
+            return false;
+        }
+        mNextSequence = Math.max(mNextSequence, sequence + 1);
+        if (type == TYPE_DONE) {
+            if (mPending.remove(sequence) != null) {
+                mDoneCount++;
+            }
+            return true;
+        }
+        if (type != TYPE_OPERATION) {
+            return false;
+        }
+        try {
+            String listName = in.readUTF();
+            boolean removal = in.readBoolean();
+            String username = in.readUTF();
+            String listId = in.readUTF();
+            byte[] json = new byte[in.readInt()];
+            in.readFully(json);
+            SyncList list = listName.length() == 0 ? null : SyncList.valueOf(listName);
+            SyncItems items = mGson.fromJson(new String(json, UTF_8), SyncItems.class);
+            if (items == null) {
+                throw new JsonParseException("No items");
+            }
+            mPending.put(sequence, new SyncOutbox.Operation(sequence, list, removal,
+                    username.length() == 0 ? null : username, listId.length() == 0 ? null : listId, items));
+        } catch (IOException | IllegalArgumentException | JsonParseException e) {
+            // the checksum matched, so the record is complete but can never be sent, skip it
+        }
+        return true;
+    }
+
+    private byte[] encode(SyncOutbox.Operation operation) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TYPE_OPERATION);
+        out.writeLong(operation.sequence);
+        out.writeUTF(operation.list == null ? "" : operation.list.name());
+        out.writeBoolean(operation.removal);
+        out.writeUTF(operation.username == null ? "" : operation.username);
+        out.writeUTF(operation.listId == null ? "" : operation.listId);
+        byte[] json = mGson.toJson(operation.items).getBytes(UTF_8);
+        out.writeInt(json.length);
+        out.write(json);
+        return record(bytes.toByteArray());
+    }
+
+    private static byte[] encodeDone(long sequence) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(9);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TYPE_DONE);
+        out.writeLong(sequence);
+        return record(bytes.toByteArray());
+    }
+
+    private static byte[] record(byte[] payload) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + payload.length);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(payload.length);
+        out.writeInt(checksum(payload));
+        out.write(payload);
+        return bytes.toByteArray();
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+
+}
@@ -0,0 +1,49 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Signals that some chunks of a {@link ChunkedSync} change failed while others were sent. The changes of the sent
+ * chunks are applied, so send only {@link #getFailedChunks()} again, e.g. to not add history plays twice.
+ */
+public class PartialSyncException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient SyncResponse mResponse;
+    private final transient List<SyncItems> mFailedChunks;
+    private final transient List<Throwable> mErrors;
+
+    PartialSyncException(SyncResponse response, List<SyncItems> failedChunks, List<Throwable> errors) {
+        super(failedChunks.size() + " chunks failed", errors.get(0));
+        this.mResponse = response;
+        this.mFailedChunks = Collections.unmodifiableList(failedChunks);
+        this.mErrors = Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * Returns the merged responses to the chunks that were sent, or {@code null} if none was.
+     */
+    public SyncResponse getResponse() {
+        return mResponse;
+    }
+
+    /**
+     * Returns the chunks that failed, in the order they were split.
+     */
+    public List<SyncItems> getFailedChunks() {
+        return mFailedChunks;
+    }
+
+    /**
+     * Returns the error of each of {@link #getFailedChunks()}, at the same index.
+     */
+    public List<Throwable> getErrors() {
+        return mErrors;
+    }
+
+}
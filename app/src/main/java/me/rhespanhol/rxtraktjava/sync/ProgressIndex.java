@@ -0,0 +1,164 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+
+import java.util.List;
+
+/**
+ * Answers which episodes of which shows a user watched or collected, built from the output of {@link
+ * me.rhespanhol.rxtraktjava.services.Sync#watchedShows} and {@link
+ * me.rhespanhol.rxtraktjava.services.Sync#collectionShows}.
+ * <p>
+ * <p>Instead of thousands of {@link me.rhespanhol.rxtraktjava.entities.BaseEpisode} objects with boxed numbers and
+ * {@link org.joda.time.DateTime}s, the index keeps a bit set of episode numbers and primitive arrays of play counts
+ * and timestamps per season, in maps keyed by primitive trakt show id and season number. All queries are constant
+ * time. Seasons and episodes numbered above {@link #MAX_NUMBER} are left out, their numbers do not fit into a
+ * {@link #nextEpisode(int) packed episode}.
+ * <p>
+ * <p>The index is immutable and safe to share between threads. After a {@link DeltaSync} create an updated index with
+ * {@link #update(SyncChanges)}.
+ */
+public class ProgressIndex {
+
+    /** The highest season or episode number the index keeps. */
+    public static final int MAX_NUMBER = 0xFFFF;
+
+    private final EpisodeStates mWatched;
+    private final EpisodeStates mCollected;
+
+    /**
+     * @param watched The shows of {@code sync/watched/shows}, may be {@code null}.
+     * @param collected The shows of {@code sync/collection/shows}, may be {@code null}.
+     */
+    public ProgressIndex(List<BaseShow> watched, List<BaseShow> collected) {
+        this(new EpisodeStates(watched, true), new EpisodeStates(collected, false));
+    }
+
+    private ProgressIndex(EpisodeStates watched, EpisodeStates collected) {
+        this.mWatched = watched;
+        this.mCollected = collected;
+    }
+
+    /**
+     * Returns an index with the watched and collected lists of the changes replaced, or this index if neither
+     * changed.
+     */
+    public ProgressIndex update(SyncChanges changes) {
+        if (changes.watchedShows == null && changes.collectedShows == null) {
+            return this;
+        }
+        return new ProgressIndex(
+                changes.watchedShows == null ? mWatched : new EpisodeStates(changes.watchedShows, true),
+                changes.collectedShows == null ? mCollected : new EpisodeStates(changes.collectedShows, false));
+    }
+
+    public boolean isWatched(int showId, int season, int episode) {
+        EpisodeStates.SeasonState state = mWatched.season(showId, season);
+        return state != null && state.contains(episode);
+    }
+
+    public boolean isCollected(int showId, int season, int episode) {
+        EpisodeStates.SeasonState state = mCollected.season(showId, season);
+        return state != null && state.contains(episode);
+    }
+
+    /**
+     * Returns how often an episode was watched, 0 if never.
+     */
+    public int plays(int showId, int season, int episode) {
+        EpisodeStates.SeasonState state = mWatched.season(showId, season);
+        return state == null ? 0 : state.plays(episode);
+    }
+
+    /**
+     * Returns when an episode was last watched in milliseconds since the epoch, 0 if never or unknown.
+     */
+    public long lastWatchedAt(int showId, int season, int episode) {
+        EpisodeStates.SeasonState state = mWatched.season(showId, season);
+        return state == null ? 0 : state.at(episode);
+    }
+
+    /**
+     * Returns when an episode was collected in milliseconds since the epoch, 0 if not collected or unknown.
+     */
+    public long collectedAt(int showId, int season, int episode) {
+        EpisodeStates.SeasonState state = mCollected.season(showId, season);
+        return state == null ? 0 : state.at(episode);
+    }
+
+    /**
+     * Returns the number of watched episodes of a show, including specials.
+     */
+    public int watchedCount(int showId) {
+        EpisodeStates.ShowState show = mWatched.show(showId);
+        return show == null ? 0 : show.mCount;
+    }
+
+    public int watchedCount(int showId, int season) {
+        EpisodeStates.SeasonState state = mWatched.season(showId, season);
+        return state == null ? 0 : state.mCount;
+    }
+
+    /**
+     * Returns the number of collected episodes of a show, including specials.
+     */
+    public int collectedCount(int showId) {
+        EpisodeStates.ShowState show = mCollected.show(showId);
+        return show == null ? 0 : show.mCount;
+    }
+
+    public int collectedCount(int showId, int season) {
+        EpisodeStates.SeasonState state = mCollected.season(showId, season);
+        return state == null ? 0 : state.mCount;
+    }
+
+    /**
+     * Returns the next episode to watch: the first unwatched episode of the furthest season with watched episodes,
+     * ignoring specials. That is the episode after the furthest watched one unless episodes before it were skipped.
+     * The index does not know which episodes exist, so the episode may not have aired yet.
+     *
+     * @return The season and episode number packed into one int, see {@link #season(int)} and {@link #episode(int)},
+     * or -1 if no episode of the show was watched, or the next one would be numbered above {@link #MAX_NUMBER}.
+     */
+    public int nextEpisode(int showId) {
+        EpisodeStates.ShowState show = mWatched.show(showId);
+        return show == null ? -1 : show.mNextEpisode;
+    }
+
+    /**
+     * Returns the trakt ids of all shows with watched episodes.
+     */
+    public int[] watchedShowIds() {
+        return mWatched.showIds();
+    }
+
+    /**
+     * Returns the trakt ids of all shows with collected episodes.
+     */
+    public int[] collectedShowIds() {
+        return mCollected.showIds();
+    }
+
+    public static int season(int packedEpisode) {
+        return packedEpisode >>> 16;
+    }
+
+    public static int episode(int packedEpisode) {
+        return packedEpisode & 0xFFFF;
+    }
+
+    /**
+     * @throws IllegalArgumentException If a number is negative or above {@link #MAX_NUMBER}, it would be cut off.
+     */
+    static int pack(int season, int episode) {
+        if (!isValidNumber(season) || !isValidNumber(episode)) {
+            throw new IllegalArgumentException("Can not pack season " + season + " episode " + episode);
+        }
+        return (season << 16) | episode;
+    }
+
+    static boolean isValidNumber(int number) {
+        return number >= 0 && number <= MAX_NUMBER;
+    }
+
+}
@@ -0,0 +1,124 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.entities.LastActivities;
+import me.rhespanhol.rxtraktjava.entities.LastActivity;
+import org.joda.time.DateTime;
+
+/**
+ * The parts of a user's library that {@link LastActivities} reports a last change date for and that can be fetched
+ * with a {@link me.rhespanhol.rxtraktjava.services.Sync} list endpoint.
+ */
+public enum SyncCategory {
+
+    /** {@code sync/watched/movies} */
+    MOVIES_WATCHED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return activities.movies == null ? null : activities.movies.watched_at;
+        }
+    },
+    /** {@code sync/collection/movies} */
+    MOVIES_COLLECTED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return activities.movies == null ? null : activities.movies.collected_at;
+        }
+    },
+    /** {@code sync/ratings/movies} */
+    MOVIES_RATED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return ratedAt(activities.movies);
+        }
+    },
+    /** {@code sync/watchlist/movies} */
+    MOVIES_WATCHLISTED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return watchlistedAt(activities.movies);
+        }
+    },
+    /** {@code sync/watched/shows}, changes whenever an episode is watched. */
+    EPISODES_WATCHED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return activities.episodes == null ? null : activities.episodes.watched_at;
+        }
+    },
+    /** {@code sync/collection/shows}, changes whenever an episode is collected. */
+    EPISODES_COLLECTED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return activities.episodes == null ? null : activities.episodes.collected_at;
+        }
+    },
+    /** {@code sync/ratings/episodes} */
+    EPISODES_RATED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return ratedAt(activities.episodes);
+        }
+    },
+    /** {@code sync/watchlist/episodes} */
+    EPISODES_WATCHLISTED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return watchlistedAt(activities.episodes);
+        }
+    },
+    /** {@code sync/ratings/shows} */
+    SHOWS_RATED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return ratedAt(activities.shows);
+        }
+    },
+    /** {@code sync/watchlist/shows} */
+    SHOWS_WATCHLISTED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return watchlistedAt(activities.shows);
+        }
+    },
+    /** {@code sync/ratings/seasons} */
+    SEASONS_RATED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return ratedAt(activities.seasons);
+        }
+    },
+    /** {@code sync/watchlist/seasons} */
+    SEASONS_WATCHLISTED {
+        @Override
+        DateTime changedAt(LastActivities activities) {
+            return watchlistedAt(activities.seasons);
+        }
+    };
+
+    /**
+     * Returns when this category last changed according to the given activities, or {@code null} if unknown.
+     */
+    abstract DateTime changedAt(LastActivities activities);
+
+    /**
+     * Whether this category changed after the watermark. Without a watermark or a known change date it is assumed
+     * to have changed.
+     */
+    public boolean hasChanged(LastActivities watermark, LastActivities current) {
+        DateTime changedAt = changedAt(current);
+        if (watermark == null || changedAt == null) {
+            return true;
+        }
+        DateTime syncedAt = changedAt(watermark);
+        return syncedAt == null || changedAt.isAfter(syncedAt);
+    }
+
+    private static DateTime ratedAt(LastActivity activity) {
+        return activity == null ? null : activity.rated_at;
+    }
+
+    private static DateTime watchlistedAt(LastActivity activity) {
+        return activity == null ? null : activity.watchlisted_at;
+    }
+
+}
@@ -0,0 +1,51 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.entities.BaseMovie;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.LastActivities;
+import me.rhespanhol.rxtraktjava.entities.RatedEpisode;
+import me.rhespanhol.rxtraktjava.entities.RatedMovie;
+import me.rhespanhol.rxtraktjava.entities.RatedSeason;
+import me.rhespanhol.rxtraktjava.entities.RatedShow;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedEpisode;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedSeason;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The result of {@link DeltaSync#changesSince(LastActivities, me.rhespanhol.rxtraktjava.enums.Extended)}: the full
+ * current list of every category that changed since the watermark. Lists of unchanged categories are {@code null}.
+ * <p>
+ * <p>Once the changes are applied, store {@link #lastActivities} as the watermark for the next sync.
+ */
+public class SyncChanges {
+
+    /** The activities the changes were detected with, the next watermark. */
+    public LastActivities lastActivities;
+    public final Set<SyncCategory> changed = EnumSet.noneOf(SyncCategory.class);
+
+    public List<BaseMovie> watchedMovies;
+    public List<BaseMovie> collectedMovies;
+    public List<RatedMovie> ratedMovies;
+    public List<BaseMovie> watchlistedMovies;
+
+    /** Shows with their watched seasons and episodes. */
+    public List<BaseShow> watchedShows;
+    /** Shows with their collected seasons and episodes. */
+    public List<BaseShow> collectedShows;
+    public List<RatedEpisode> ratedEpisodes;
+    public List<WatchlistedEpisode> watchlistedEpisodes;
+
+    public List<RatedShow> ratedShows;
+    public List<BaseShow> watchlistedShows;
+
+    public List<RatedSeason> ratedSeasons;
+    public List<WatchlistedSeason> watchlistedSeasons;
+
+    public boolean hasChanges() {
+        return !changed.isEmpty();
+    }
+
+}
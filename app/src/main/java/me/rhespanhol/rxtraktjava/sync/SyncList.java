@@ -0,0 +1,67 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.services.rx.RxSync;
+import rx.Observable;
+
+/**
+ * The parts of a user's library that items can be added to and removed from with a
+ * {@link me.rhespanhol.rxtraktjava.services.Sync} endpoint.
+ */
+public enum SyncList {
+
+    /** {@code sync/collection} */
+    COLLECTION {
+        @Override
+        Observable<SyncResponse> add(RxSync sync, SyncItems items) {
+            return sync.addItemsToCollection(items);
+        }
+
+        @Override
+        Observable<SyncResponse> remove(RxSync sync, SyncItems items) {
+            return sync.deleteItemsFromCollection(items);
+        }
+    },
+    /** {@code sync/history}, every item added is one play. */
+    HISTORY {
+        @Override
+        Observable<SyncResponse> add(RxSync sync, SyncItems items) {
+            return sync.addItemsToWatchedHistory(items);
+        }
+
+        @Override
+        Observable<SyncResponse> remove(RxSync sync, SyncItems items) {
+            return sync.deleteItemsFromWatchedHistory(items);
+        }
+    },
+    /** {@code sync/ratings} */
+    RATINGS {
+        @Override
+        Observable<SyncResponse> add(RxSync sync, SyncItems items) {
+            return sync.addRatings(items);
+        }
+
+        @Override
+        Observable<SyncResponse> remove(RxSync sync, SyncItems items) {
+            return sync.deleteRatings(items);
+        }
+    },
+    /** {@code sync/watchlist} */
+    WATCHLIST {
+        @Override
+        Observable<SyncResponse> add(RxSync sync, SyncItems items) {
+            return sync.addItemsToWatchlist(items);
+        }
+
+        @Override
+        Observable<SyncResponse> remove(RxSync sync, SyncItems items) {
+            return sync.deleteItemsFromWatchlist(items);
+        }
+    };
+
+    abstract Observable<SyncResponse> add(RxSync sync, SyncItems items);
+
+    abstract Observable<SyncResponse> remove(RxSync sync, SyncItems items);
+
+}
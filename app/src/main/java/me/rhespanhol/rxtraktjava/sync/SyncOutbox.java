@@ -0,0 +1,424 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.TraktRx;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.Username;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stores changes to a user's library on disk first and sends them in the background, so they survive a missing
+ * network connection, trakt being down and the app being killed.
+ * <p>
+ * <p>Adding a change returns once it is written to the journal file, see {@link OutboxJournal}. Large changes are
+ * split into chunks with {@link ChunkedSync#split(SyncItems, int)} first, each stored as a change of its own, so a
+ * failed chunk is sent again alone. Changes are sent in the order they were added, consecutive changes to the same
+ * list are sent together up to the size of a chunk. If sending fails the outbox waits and tries again, with a growing
+ * delay; call {@link #replay()} once the network is back to try right away. Changes rejected by trakt with a client
+ * error, or that fail in another way than with a connection or HTTP error, are dropped and reported to the {@link
+ * Listener}.
+ * <p>
+ * <p>Changes are sent at least once: if the app is killed after trakt received a change but before it was marked done
+ * in the journal, it is sent again. Pending changes are also kept in memory.
+ * <p>
+ * <p>Use one outbox and one file per user, with the {@link TraktRx} of the user's
+ * {@link me.rhespanhol.rxtraktjava.TraktSession}. Set it up, then {@link #start()} it. {@link #close()} it when the
+ * user signs out.
+ */
+public class SyncOutbox {
+
+    public static final int DEFAULT_MAX_BATCH_OPERATIONS = 100;
+    public static final long DEFAULT_MIN_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    public static final long DEFAULT_MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    public interface Listener {
+
+        /**
+         * Called after a batch of changes was sent.
+         */
+        void onReplayed(List<Operation> operations, SyncResponse response);
+
+        /**
+         * Called if trakt rejected a batch of changes. They are not sent again.
+         */
+        void onDropped(List<Operation> operations, Throwable error);
+
+    }
+
+    private final TraktRx mTrakt;
+    private final OutboxJournal mJournal;
+    private final Object mLock = new Object();
+
+    // guarded by mLock
+    private Scheduler.Worker mWorker;
+    private boolean mStarted;
+    private boolean mReplaying;
+    private boolean mClosed;
+    private int mRetries;
+    private Scheduler.Worker mRetryTimer;
+
+    private volatile int mMaxBatchOperations = DEFAULT_MAX_BATCH_OPERATIONS;
+    private volatile long mMinRetryDelayMillis = DEFAULT_MIN_RETRY_DELAY_MILLIS;
+    private volatile long mMaxRetryDelayMillis = DEFAULT_MAX_RETRY_DELAY_MILLIS;
+    private volatile Scheduler mScheduler = Schedulers.io();
+    private volatile Listener mListener;
+
+    /**
+     * Opens the outbox stored in the file, creating it if needed. Nothing is sent until {@link #start()} is called.
+     */
+    public SyncOutbox(TraktRx trakt, File file) throws IOException {
+        this.mTrakt = trakt;
+        this.mJournal = new OutboxJournal(file);
+    }
+
+    /**
+     * Sets how many changes to the same list are sent together at most.
+     */
+    public SyncOutbox setMaxBatchOperations(int maxBatchOperations) {
+        if (maxBatchOperations < 1) {
+            throw new IllegalArgumentException("maxBatchOperations < 1");
+        }
+        mMaxBatchOperations = maxBatchOperations;
+        return this;
+    }
+
+    /**
+     * Sets how long to wait after the first failure, the delay doubles with every further one up to {@code maxDelay}.
+     */
+    public SyncOutbox setRetryDelay(long minDelay, long maxDelay, TimeUnit unit) {
+        mMinRetryDelayMillis = unit.toMillis(minDelay);
+        mMaxRetryDelayMillis = unit.toMillis(maxDelay);
+        return this;
+    }
+
+    /**
+     * Sets the scheduler changes are sent on, {@link Schedulers#io()} by default.
+     */
+    public SyncOutbox setScheduler(Scheduler scheduler) {
+        mScheduler = scheduler;
+        return this;
+    }
+
+    public SyncOutbox setListener(Listener listener) {
+        mListener = listener;
+        return this;
+    }
+
+    /**
+     * Returns the number of changes not sent yet.
+     */
+    public int getPendingCount() {
+        return mJournal.getPendingCount();
+    }
+
+    public void add(SyncList list, SyncItems items) throws IOException {
+        append(new Operation(0, list, false, null, null, items));
+    }
+
+    public void remove(SyncList list, SyncItems items) throws IOException {
+        append(new Operation(0, list, true, null, null, items));
+    }
+
+    /**
+     * See {@link me.rhespanhol.rxtraktjava.services.Users#addListItems(Username, String, SyncItems)}.
+     */
+    public void addListItems(Username username, String listId, SyncItems items) throws IOException {
+        append(new Operation(0, null, false, username.toString(), listId, items));
+    }
+
+    /**
+     * See {@link me.rhespanhol.rxtraktjava.services.Users#deleteListItems(Username, String, SyncItems)}.
+     */
+    public void deleteListItems(Username username, String listId, SyncItems items) throws IOException {
+        append(new Operation(0, null, true, username.toString(), listId, items));
+    }
+
+    /**
+     * Starts sending changes, including those left from before. Changes added before that are only stored.
+     */
+    public void start() {
+        synchronized (mLock) {
+            if (mStarted) {
+                return;
+            }
+            mStarted = true;
+        }
+        if (mJournal.getPendingCount() > 0) {
+            startReplay();
+        }
+    }
+
+    /**
+     * Sends pending changes now instead of waiting for the next retry, e.g. when the network is back. Starts the
+     * outbox if needed.
+     */
+    public void replay() {
+        synchronized (mLock) {
+            mStarted = true;
+            mRetries = 0;
+            if (mRetryTimer != null) {
+                mRetryTimer.unsubscribe();
+                mRetryTimer = null;
+            }
+        }
+        startReplay();
+    }
+
+    /**
+     * Stops sending changes and closes the journal file. Pending changes are sent when the outbox is opened again.
+     */
+    public void close() throws IOException {
+        synchronized (mLock) {
+            mClosed = true;
+            if (mRetryTimer != null) {
+                mRetryTimer.unsubscribe();
+                mRetryTimer = null;
+            }
+            if (mWorker != null) {
+                mWorker.unsubscribe();
+                mWorker = null;
+            }
+        }
+        mJournal.close();
+    }
+
+    private void append(Operation operation) throws IOException {
+        if (operation.items == null) {
+            throw new IllegalArgumentException("items == null");
+        }
+        synchronized (mLock) {
+            if (mClosed) {
+                throw new IOException("Outbox is closed");
+            }
+        }
+        List<SyncItems> chunks = ChunkedSync.split(operation.items, ChunkedSync.DEFAULT_CHUNK_SIZE);
+        List<Operation> operations = new ArrayList<>(chunks.size());
+        for (SyncItems chunk : chunks) {
+            operations.add(new Operation(0, operation.list, operation.removal, operation.username, operation.listId,
+                    chunk));
+        }
+        mJournal.append(operations);
+        synchronized (mLock) {
+            if (mRetryTimer != null) {
+                // sent with the next retry
+                return;
+            }
+        }
+        startReplay();
+    }
+
+    private void startReplay() {
+        synchronized (mLock) {
+            if (!mStarted || mReplaying || mClosed) {
+                return;
+            }
+            mReplaying = true;
+        }
+        scheduleNext();
+    }
+
+    private void scheduleNext() {
+        synchronized (mLock) {
+            if (mClosed) {
+                mReplaying = false;
+                return;
+            }
+            if (mWorker == null) {
+                mWorker = mScheduler.createWorker();
+            }
+            mWorker.schedule(new Action0() {
+                @Override
+                public void call() {
+                    sendNext();
+                }
+            });
+        }
+    }
+
+    private void sendNext() {
+        final List<Operation> batch = mJournal.nextBatch(mMaxBatchOperations, ChunkedSync.DEFAULT_CHUNK_SIZE);
+        if (batch.isEmpty()) {
+            synchronized (mLock) {
+                mReplaying = false;
+            }
+            // an operation may have been added after the batch was taken
+            if (mJournal.getPendingCount() > 0) {
+                startReplay();
+            }
+            return;
+        }
+        Observable<SyncResponse> request;
+        try {
+            request = request(batch.get(0), merge(batch));
+        } catch (RuntimeException e) {
+            onFailed(batch, e);
+            return;
+        }
+        request.subscribe(new Subscriber<SyncResponse>() {
+            private SyncResponse mResponse;
+
+            @Override
+            public void onNext(SyncResponse response) {
+                mResponse = response;
+            }
+
+            @Override
+            public void onCompleted() {
+                markDone(batch);
+                Listener listener = mListener;
+                if (listener != null) {
+                    listener.onReplayed(batch, mResponse);
+                }
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                onFailed(batch, e);
+            }
+        });
+    }
+
+    private Observable<SyncResponse> request(Operation operation, SyncItems items) {
+        if (operation.list != null) {
+            return operation.removal
+                    ? operation.list.remove(mTrakt.sync(), items)
+                    : operation.list.add(mTrakt.sync(), items);
+        }
+        Username username = new Username(operation.username);
+        return operation.removal
+                ? mTrakt.users().deleteListItems(username, operation.listId, items)
+                : mTrakt.users().addListItems(username, operation.listId, items);
+    }
+
+    private void onFailed(List<Operation> batch, Throwable error) {
+        if (ChunkedSync.isRejected(error)) {
+            markDone(batch);
+            Listener listener = mListener;
+            if (listener != null) {
+                listener.onDropped(batch, error);
+            }
+        } else {
+            retryLater();
+        }
+    }
+
+    /**
+     * Marks the operations done and continues with the next ones.
+     */
+    private void markDone(List<Operation> batch) {
+        try {
+            mJournal.markDone(batch);
+        } catch (IOException e) {
+            // they are done anyway, the journal only sends them again after it is reopened
+        }
+        synchronized (mLock) {
+            mRetries = 0;
+        }
+        scheduleNext();
+    }
+
+    private void retryLater() {
+        synchronized (mLock) {
+            mReplaying = false;
+            if (mClosed || mRetryTimer != null) {
+                return;
+            }
+            long delay = mMinRetryDelayMillis << Math.min(mRetries++, 30);
+            if (delay <= 0 || delay > mMaxRetryDelayMillis) {
+                delay = mMaxRetryDelayMillis;
+            }
+            final Scheduler.Worker timer = mScheduler.createWorker();
+            mRetryTimer = timer;
+            timer.schedule(new Action0() {
+                @Override
+                public void call() {
+                    synchronized (mLock) {
+                        if (mRetryTimer != timer) {
+                            return;
+                        }
+                        mRetryTimer = null;
+                    }
+                    timer.unsubscribe();
+                    startReplay();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the items of all operations of a batch.
+     */
+    static SyncItems merge(List<Operation> batch) {
+        if (batch.size() == 1) {
+            return batch.get(0).items;
+        }
+        SyncItems merged = new SyncItems();
+        for (Operation operation : batch) {
+            merged.movies = concat(merged.movies, operation.items.movies);
+            merged.shows = concat(merged.shows, operation.items.shows);
+            merged.episodes = concat(merged.episodes, operation.items.episodes);
+            merged.ids = concat(merged.ids, operation.items.ids);
+        }
+        return merged;
+    }
+
+    private static <T> List<T> concat(List<T> merged, List<T> items) {
+        if (items == null || items.isEmpty()) {
+            return merged;
+        }
+        if (merged == null) {
+            merged = new ArrayList<>(items.size());
+        }
+        merged.addAll(items);
+        return merged;
+    }
+
+    /**
+     * A change stored in the outbox.
+     */
+    public static final class Operation {
+
+        /** Increases with every change added to the outbox. */
+        public final long sequence;
+        /** The list of the library changed, or {@code null} for a custom list. */
+        public final SyncList list;
+        /** Whether items are removed, or added. */
+        public final boolean removal;
+        /** The owner of the custom list, or {@code null}. */
+        public final String username;
+        /** The id of the custom list, or {@code null}. */
+        public final String listId;
+        public final SyncItems items;
+
+        Operation(long sequence, SyncList list, boolean removal, String username, String listId, SyncItems items) {
+            this.sequence = sequence;
+            this.list = list;
+            this.removal = removal;
+            this.username = username;
+            this.listId = listId;
+            this.items = items;
+        }
+
+        Operation withSequence(long sequence) {
+            return new Operation(sequence, list, removal, username, listId, items);
+        }
+
+        boolean hasSameTarget(Operation other) {
+            return list == other.list && removal == other.removal
+                    && (username == null ? other.username == null : username.equals(other.username))
+                    && (listId == null ? other.listId == null : listId.equals(other.listId));
+        }
+
+    }
+
+}
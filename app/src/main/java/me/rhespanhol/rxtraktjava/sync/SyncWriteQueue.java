@@ -0,0 +1,628 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.TraktRx;
+import me.rhespanhol.rxtraktjava.entities.EpisodeIds;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+import org.joda.time.DateTime;
+import rx.Observable;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects additions to and removals from the lists of a user's library and sends them in batches, instead of one
+ * request per change.
+ * <p>
+ * <p>Changes to the same item in the same list are coalesced: adding it again replaces the pending addition, e.g.
+ * with a newer rating, and removing it drops the pending addition. The removal itself is still sent, the item may
+ * have been in the list before. Adding an item after removing it drops the removal, except for the history where
+ * both are needed to replace existing plays. Every distinct {@link SyncMovie#watched_at} added to the history is
+ * kept as a play of its own, as is every play added without one.
+ * <p>
+ * <p>Changes to a list are sent in the order they were made. Additions and removals go to different endpoints, so
+ * a change is put into the latest batch of its direction unless a later batch of the other direction touches the
+ * same movie, show or episode, e.g. a whole show and one of its episodes; then it starts a new batch. Episodes given
+ * by their own ids may belong to any show, so they never skip over a batch with shows, and vice versa.
+ * <p>
+ * <p>Pending changes are sent once {@link #setMaxBatchSize(int) enough} are queued, once the {@link
+ * #setFlushDelay(long, TimeUnit) flush delay} passed after the first one, or on {@link #flush()}. Batches are sent one
+ * at a time in the order they were flushed. Batches with many episodes are split into chunks with {@link
+ * ChunkedSync#split(SyncItems, int)}, each is sent and reported as a batch of its own. Results are reported to the
+ * {@link Listener}.
+ * <p>
+ * <p>If sending a batch fails, it is sent again after a growing delay, and the batches flushed after it wait for it;
+ * call {@link #flush()} once the network is back to try right away. Batches rejected by trakt are dropped. Pending
+ * changes are only kept in memory, use a {@link SyncOutbox} for changes that have to survive restarts.
+ * <p>
+ * <p>Use one queue per user, with the {@link TraktRx} of the user's {@link me.rhespanhol.rxtraktjava.TraktSession}.
+ */
+public class SyncWriteQueue {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final long DEFAULT_FLUSH_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    public static final long DEFAULT_MIN_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    public static final long DEFAULT_MAX_RETRY_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    public interface Listener {
+
+        /**
+         * Called after a batch was sent.
+         *
+         * @param removal Whether the items were removed from the list, or added to it.
+         */
+        void onFlushed(SyncList list, boolean removal, SyncItems items, SyncResponse response);
+
+        /**
+         * Called if trakt rejected a batch. The items are not sent again.
+         */
+        void onFlushFailed(SyncList list, boolean removal, SyncItems items, Throwable error);
+
+    }
+
+    private final TraktRx mTrakt;
+    private final Object mLock = new Object();
+
+    // guarded by mLock
+    private final Map<SyncList, List<Run>> mPending = new EnumMap<>(SyncList.class);
+    private final ArrayDeque<Batch> mOutgoing = new ArrayDeque<>();
+    private int mPendingCount;
+    private long mUnkeyedCount;
+    private boolean mSending;
+    private Scheduler.Worker mTimer;
+    private int mRetries;
+    private Scheduler.Worker mRetryTimer;
+
+    private volatile int mMaxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private volatile long mFlushDelayMillis = DEFAULT_FLUSH_DELAY_MILLIS;
+    private volatile long mMinRetryDelayMillis = DEFAULT_MIN_RETRY_DELAY_MILLIS;
+    private volatile long mMaxRetryDelayMillis = DEFAULT_MAX_RETRY_DELAY_MILLIS;
+    private volatile Scheduler mScheduler = Schedulers.computation();
+    private volatile Listener mListener;
+
+    public SyncWriteQueue(TraktRx trakt) {
+        this.mTrakt = trakt;
+    }
+
+    /**
+     * Sets how many pending changes cause an immediate flush.
+     */
+    public SyncWriteQueue setMaxBatchSize(int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize < 1");
+        }
+        mMaxBatchSize = maxBatchSize;
+        return this;
+    }
+
+    /**
+     * Sets how long after the first pending change a flush happens at the latest.
+     */
+    public SyncWriteQueue setFlushDelay(long delay, TimeUnit unit) {
+        mFlushDelayMillis = unit.toMillis(delay);
+        return this;
+    }
+
+    /**
+     * Sets how long to wait after the first failure, the delay doubles with every further one up to {@code maxDelay}.
+     */
+    public SyncWriteQueue setRetryDelay(long minDelay, long maxDelay, TimeUnit unit) {
+        mMinRetryDelayMillis = unit.toMillis(minDelay);
+        mMaxRetryDelayMillis = unit.toMillis(maxDelay);
+        return this;
+    }
+
+    /**
+     * Sets the scheduler the flush and retry delays are timed on, {@link Schedulers#computation()} by default.
+     */
+    public SyncWriteQueue setScheduler(Scheduler scheduler) {
+        mScheduler = scheduler;
+        return this;
+    }
+
+    public SyncWriteQueue setListener(Listener listener) {
+        mListener = listener;
+        return this;
+    }
+
+    /**
+     * Returns the number of changes not flushed yet.
+     */
+    public int getPendingCount() {
+        synchronized (mLock) {
+            return mPendingCount;
+        }
+    }
+
+    public void add(SyncList list, SyncMovie movie) {
+        enqueue(list, MOVIES, key(movie), movie.watched_at, movie, false);
+    }
+
+    public void remove(SyncList list, SyncMovie movie) {
+        enqueue(list, MOVIES, key(movie), null, movie, true);
+    }
+
+    public void add(SyncList list, SyncShow show) {
+        enqueue(list, SHOWS, key(show), show.watched_at, show, false);
+    }
+
+    public void remove(SyncList list, SyncShow show) {
+        enqueue(list, SHOWS, key(show), null, show, true);
+    }
+
+    public void add(SyncList list, SyncEpisode episode) {
+        enqueue(list, EPISODES, key(episode), episode.watched_at, episode, false);
+    }
+
+    public void remove(SyncList list, SyncEpisode episode) {
+        enqueue(list, EPISODES, key(episode), null, episode, true);
+    }
+
+    /**
+     * Sends all pending changes now, and batches waiting to be sent again without waiting for the next retry.
+     */
+    public void flush() {
+        flush(true);
+    }
+
+    private void flush(boolean retryNow) {
+        synchronized (mLock) {
+            cancelTimer();
+            for (Map.Entry<SyncList, List<Run>> entry : mPending.entrySet()) {
+                for (Run run : entry.getValue()) {
+                    SyncItems items = new SyncItems();
+                    collect(run, MOVIES, items);
+                    collect(run, SHOWS, items);
+                    collect(run, EPISODES, items);
+                    if (items.movies != null || items.shows != null || items.episodes != null) {
+                        addBatches(entry.getKey(), run.mRemoval, items);
+                    }
+                }
+            }
+            mPending.clear();
+            mPendingCount = 0;
+            if (mRetryTimer != null && retryNow) {
+                // sending waits for the retry, take it over
+                mRetryTimer.unsubscribe();
+                mRetryTimer = null;
+                mRetries = 0;
+            } else if (mSending) {
+                return;
+            }
+            mSending = true;
+        }
+        sendNext();
+    }
+
+    private void addBatches(SyncList list, boolean removal, SyncItems items) {
+        for (SyncItems chunk : ChunkedSync.split(items, ChunkedSync.DEFAULT_CHUNK_SIZE)) {
+            mOutgoing.add(new Batch(list, removal, chunk));
+        }
+    }
+
+    private <T> void enqueue(SyncList list, Kind<T> kind, String key, DateTime watchedAt, T item, boolean removal) {
+        boolean flush;
+        synchronized (mLock) {
+            String itemId = kind.itemId(item);
+            if (key == null) {
+                // without ids the item can not be matched, never coalesce it
+                key = "#" + mUnkeyedCount++;
+            }
+            List<Run> runs = mPending.get(list);
+            if (runs == null) {
+                runs = new ArrayList<>();
+                mPending.put(list, runs);
+            }
+            coalesce(list, runs, kind, key, watchedAt, removal);
+
+            Run run = null;
+            for (int i = runs.size() - 1; i >= 0; i--) {
+                Run candidate = runs.get(i);
+                if (candidate.mRemoval == removal) {
+                    run = candidate;
+                    break;
+                }
+                if (candidate.overlaps(kind, itemId)) {
+                    break; // must be sent after this one
+                }
+            }
+            if (run == null) {
+                run = new Run(removal);
+                runs.add(run);
+            }
+            Map<String, Changes<T>> items = kind.changes(run);
+            Changes<T> changes = items.get(key);
+            if (changes == null) {
+                changes = new Changes<>(itemId);
+                items.put(key, changes);
+            }
+            if (removal) {
+                changes.mRemoval = item;
+            } else {
+                // without a date every addition to the history is a play at the time it is sent
+                Object additionKey = list != SyncList.HISTORY ? null : watchedAt != null ? watchedAt : new Object();
+                changes.mAdditions.put(additionKey, item);
+            }
+            mPendingCount++;
+
+            flush = mPendingCount >= mMaxBatchSize;
+            if (!flush && mTimer == null) {
+                scheduleTimer();
+            }
+        }
+        if (flush) {
+            flush(false);
+        }
+    }
+
+    /**
+     * Drops the pending changes to an item that a new change replaces. Replaced changes are dropped instead of
+     * updated in place, the new one is queued after all changes made before it.
+     */
+    private <T> void coalesce(SyncList list, List<Run> runs, Kind<T> kind, String key, DateTime watchedAt,
+            boolean removal) {
+        for (Iterator<Run> iterator = runs.iterator(); iterator.hasNext(); ) {
+            Run run = iterator.next();
+            Map<String, Changes<T>> items = kind.changes(run);
+            Changes<T> changes = items.get(key);
+            if (changes == null) {
+                continue;
+            }
+            if (removal || list != SyncList.HISTORY) {
+                // a removal replaces all earlier changes, outside of the history so does an addition
+                mPendingCount -= changes.size();
+                items.remove(key);
+            } else if (!run.mRemoval && watchedAt != null && changes.mAdditions.remove(watchedAt) != null) {
+                // the same play again, a removal before it is kept to replace existing plays
+                mPendingCount--;
+                if (changes.size() == 0) {
+                    items.remove(key);
+                }
+            }
+            if (run.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void scheduleTimer() {
+        final Scheduler.Worker timer = mScheduler.createWorker();
+        mTimer = timer;
+        timer.schedule(new Action0() {
+            @Override
+            public void call() {
+                synchronized (mLock) {
+                    if (mTimer != timer) {
+                        return;
+                    }
+                }
+                flush(false);
+            }
+        }, mFlushDelayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelTimer() {
+        if (mTimer != null) {
+            mTimer.unsubscribe();
+            mTimer = null;
+        }
+    }
+
+    private void sendNext() {
+        final Batch batch;
+        synchronized (mLock) {
+            batch = mOutgoing.poll();
+            if (batch == null) {
+                mSending = false;
+                return;
+            }
+        }
+        Observable<SyncResponse> request;
+        try {
+            request = batch.mRemoval
+                    ? batch.mList.remove(mTrakt.sync(), batch.mItems)
+                    : batch.mList.add(mTrakt.sync(), batch.mItems);
+        } catch (RuntimeException e) {
+            onFailed(batch, e);
+            return;
+        }
+        request.subscribe(new Subscriber<SyncResponse>() {
+            private SyncResponse mResponse;
+
+            @Override
+            public void onNext(SyncResponse response) {
+                mResponse = response;
+            }
+
+            @Override
+            public void onCompleted() {
+                synchronized (mLock) {
+                    mRetries = 0;
+                }
+                Listener listener = mListener;
+                if (listener != null) {
+                    listener.onFlushed(batch.mList, batch.mRemoval, batch.mItems, mResponse);
+                }
+                sendNext();
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                onFailed(batch, e);
+            }
+        });
+    }
+
+    private void onFailed(Batch batch, Throwable error) {
+        if (!ChunkedSync.isRejected(error)) {
+            retryLater(batch);
+            return;
+        }
+        Listener listener = mListener;
+        if (listener != null) {
+            listener.onFlushFailed(batch.mList, batch.mRemoval, batch.mItems, error);
+        }
+        sendNext();
+    }
+
+    /**
+     * Puts the batch back in front of the others and sends it again after the retry delay.
+     */
+    private void retryLater(Batch batch) {
+        synchronized (mLock) {
+            mOutgoing.addFirst(batch);
+            long delay = mMinRetryDelayMillis << Math.min(mRetries++, 30);
+            if (delay <= 0 || delay > mMaxRetryDelayMillis) {
+                delay = mMaxRetryDelayMillis;
+            }
+            final Scheduler.Worker timer = mScheduler.createWorker();
+            mRetryTimer = timer;
+            timer.schedule(new Action0() {
+                @Override
+                public void call() {
+                    synchronized (mLock) {
+                        if (mRetryTimer != timer) {
+                            return;
+                        }
+                        mRetryTimer = null;
+                    }
+                    timer.unsubscribe();
+                    sendNext();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static <T> void collect(Run run, Kind<T> kind, SyncItems items) {
+        List<T> list = new ArrayList<>();
+        for (Changes<T> changes : kind.changes(run).values()) {
+            if (changes.mRemoval != null) {
+                list.add(changes.mRemoval);
+            }
+            list.addAll(changes.mAdditions.values());
+        }
+        if (!list.isEmpty()) {
+            kind.set(items, list);
+        }
+    }
+
+    static String key(SyncMovie movie) {
+        MovieIds ids = movie.ids;
+        return ids == null ? null : idsKey(ids.trakt, ids.slug, ids.imdb, ids.tmdb, null);
+    }
+
+    static String key(SyncShow show) {
+        String key = itemId(show);
+        if (key == null || show.seasons == null) {
+            return key;
+        }
+        // the same show with other seasons or episodes is a different item
+        StringBuilder builder = new StringBuilder(key);
+        for (SyncSeason season : show.seasons) {
+            builder.append('/').append(season.number);
+            if (season.episodes != null) {
+                for (SyncEpisode episode : season.episodes) {
+                    builder.append(',').append(episode.number);
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Returns the key of the show itself, without its seasons and episodes, or {@code null} if it has no ids.
+     */
+    static String itemId(SyncShow show) {
+        ShowIds ids = show.ids;
+        return ids == null ? null : idsKey(ids.trakt, ids.slug, ids.imdb, ids.tmdb, ids.tvdb);
+    }
+
+    static String key(SyncEpisode episode) {
+        EpisodeIds ids = episode.ids;
+        return ids == null ? null : idsKey(ids.trakt, null, ids.imdb, ids.tmdb, ids.tvdb);
+    }
+
+    /**
+     * Returns a key identifying an item by the first of its ids that is set, or {@code null} if none is.
+     */
+    private static String idsKey(Integer trakt, String slug, String imdb, Integer tmdb, Integer tvdb) {
+        if (trakt != null) {
+            return "trakt:" + trakt;
+        }
+        if (slug != null) {
+            return "slug:" + slug;
+        }
+        if (imdb != null) {
+            return "imdb:" + imdb;
+        }
+        if (tmdb != null) {
+            return "tmdb:" + tmdb;
+        }
+        if (tvdb != null) {
+            return "tvdb:" + tvdb;
+        }
+        return null;
+    }
+
+    /**
+     * Accesses the changes to and the list of one kind of items.
+     */
+    private interface Kind<T> {
+
+        Map<String, Changes<T>> changes(Run run);
+
+        void set(SyncItems items, List<T> list);
+
+        /**
+         * Returns the id of the movie, show or episode an item changes, or {@code null} if it has no ids.
+         */
+        String itemId(T item);
+
+    }
+
+    private static final Kind<SyncMovie> MOVIES = new Kind<SyncMovie>() {
+        @Override
+        public Map<String, Changes<SyncMovie>> changes(Run run) {
+            return run.mMovies;
+        }
+
+        @Override
+        public void set(SyncItems items, List<SyncMovie> list) {
+            items.movies(list);
+        }
+
+        @Override
+        public String itemId(SyncMovie movie) {
+            return key(movie);
+        }
+    };
+
+    private static final Kind<SyncShow> SHOWS = new Kind<SyncShow>() {
+        @Override
+        public Map<String, Changes<SyncShow>> changes(Run run) {
+            return run.mShows;
+        }
+
+        @Override
+        public void set(SyncItems items, List<SyncShow> list) {
+            items.shows(list);
+        }
+
+        @Override
+        public String itemId(SyncShow show) {
+            return SyncWriteQueue.itemId(show);
+        }
+    };
+
+    private static final Kind<SyncEpisode> EPISODES = new Kind<SyncEpisode>() {
+        @Override
+        public Map<String, Changes<SyncEpisode>> changes(Run run) {
+            return run.mEpisodes;
+        }
+
+        @Override
+        public void set(SyncItems items, List<SyncEpisode> list) {
+            items.episodes(list);
+        }
+
+        @Override
+        public String itemId(SyncEpisode episode) {
+            return key(episode);
+        }
+    };
+
+    /**
+     * The pending changes to one item.
+     */
+    private static final class Changes<T> {
+
+        /** The id of the movie, show or episode, {@code null} if it has none. */
+        final String mItemId;
+        T mRemoval;
+        /** By watched at date for the history, or a key of its own without one, else a single entry. */
+        final Map<Object, T> mAdditions = new LinkedHashMap<>(2);
+
+        Changes(String itemId) {
+            this.mItemId = itemId;
+        }
+
+        int size() {
+            return (mRemoval != null ? 1 : 0) + mAdditions.size();
+        }
+
+    }
+
+    /**
+     * Pending additions to or removals from one list that can be sent in one batch, by item.
+     */
+    private static final class Run {
+
+        final boolean mRemoval;
+        final Map<String, Changes<SyncMovie>> mMovies = new LinkedHashMap<>();
+        final Map<String, Changes<SyncShow>> mShows = new LinkedHashMap<>();
+        final Map<String, Changes<SyncEpisode>> mEpisodes = new LinkedHashMap<>();
+
+        Run(boolean removal) {
+            this.mRemoval = removal;
+        }
+
+        boolean isEmpty() {
+            return mMovies.isEmpty() && mShows.isEmpty() && mEpisodes.isEmpty();
+        }
+
+        /**
+         * Whether this run may change the same movie, show or episode as an item of the given kind and id. Items
+         * without ids may be any item of their kind.
+         */
+        boolean overlaps(Kind<?> kind, String itemId) {
+            if (kind == MOVIES) {
+                return overlaps(mMovies, itemId);
+            }
+            // episodes by their own ids may belong to any of the shows
+            return kind == SHOWS
+                    ? overlaps(mShows, itemId) || !mEpisodes.isEmpty()
+                    : overlaps(mEpisodes, itemId) || !mShows.isEmpty();
+        }
+
+        private static boolean overlaps(Map<String, ? extends Changes<?>> items, String itemId) {
+            for (Changes<?> changes : items.values()) {
+                if (itemId == null || changes.mItemId == null || itemId.equals(changes.mItemId)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+    }
+
+    private static final class Batch {
+
+        final SyncList mList;
+        final boolean mRemoval;
+        final SyncItems mItems;
+
+        Batch(SyncList list, boolean removal, SyncItems items) {
+            this.mList = list;
+            this.mRemoval = removal;
+            this.mItems = items;
+        }
+
+    }
+
+}
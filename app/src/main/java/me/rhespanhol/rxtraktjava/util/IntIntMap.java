@@ -0,0 +1,180 @@
+package me.rhespanhol.rxtraktjava.util;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from {@code int} keys to {@code int} values backed by two plain arrays, so nothing is boxed. Uses open
+ * addressing with linear probing. Not thread-safe.
+ */
+public class IntIntMap {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] mKeys;
+    private int[] mValues;
+    private int mMask;
+    /** Number of non-zero keys in the table, key 0 marks a free slot and is stored separately. */
+    private int mSize;
+    private boolean mHasZeroKey;
+    private int mZeroValue;
+
+    public IntIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize The number of mappings the map holds without growing.
+     */
+    public IntIntMap(int expectedSize) {
+        allocate(IntObjectMap.capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return mHasZeroKey ? mSize + 1 : mSize;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return mHasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value for the key, or {@code defaultValue} if there is none.
+     */
+    public int get(int key, int defaultValue) {
+        if (key == 0) {
+            return mHasZeroKey ? mZeroValue : defaultValue;
+        }
+        int index = indexOf(key);
+        return index >= 0 ? mValues[index] : defaultValue;
+    }
+
+    public void put(int key, int value) {
+        if (key == 0) {
+            mHasZeroKey = true;
+            mZeroValue = value;
+            return;
+        }
+        int index = IntObjectMap.mix(key) & mMask;
+        for (;;) {
+            int current = mKeys[index];
+            if (current == 0) {
+                mKeys[index] = key;
+                mValues[index] = value;
+                if (++mSize > threshold()) {
+                    rehash(mKeys.length * 2);
+                }
+                return;
+            }
+            if (current == key) {
+                mValues[index] = value;
+                return;
+            }
+            index = (index + 1) & mMask;
+        }
+    }
+
+    /**
+     * @return Whether there was a value for the key.
+     */
+    public boolean remove(int key) {
+        if (key == 0) {
+            boolean had = mHasZeroKey;
+            mHasZeroKey = false;
+            return had;
+        }
+        int gap = indexOf(key);
+        if (gap < 0) {
+            return false;
+        }
+        // shift following entries of the probe sequence back so lookups do not stop at the gap
+        int index = gap;
+        for (;;) {
+            index = (index + 1) & mMask;
+            int current = mKeys[index];
+            if (current == 0) {
+                break;
+            }
+            int ideal = IntObjectMap.mix(current) & mMask;
+            if (((index - ideal) & mMask) >= ((index - gap) & mMask)) {
+                mKeys[gap] = current;
+                mValues[gap] = mValues[index];
+                gap = index;
+            }
+        }
+        mKeys[gap] = 0;
+        mSize--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(mKeys, 0);
+        mSize = 0;
+        mHasZeroKey = false;
+    }
+
+    /**
+     * Returns all keys, in no particular order.
+     */
+    public int[] keys() {
+        int[] keys = new int[size()];
+        int count = 0;
+        if (mHasZeroKey) {
+            keys[count++] = 0;
+        }
+        for (int key : mKeys) {
+            if (key != 0) {
+                keys[count++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private int indexOf(int key) {
+        int index = IntObjectMap.mix(key) & mMask;
+        for (;;) {
+            int current = mKeys[index];
+            if (current == key) {
+                return index;
+            }
+            if (current == 0) {
+                return -1;
+            }
+            index = (index + 1) & mMask;
+        }
+    }
+
+    private int threshold() {
+        return mKeys.length / 4 * 3;
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new int[capacity];
+        mValues = new int[capacity];
+        mMask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        int[] keys = mKeys;
+        int[] values = mValues;
+        allocate(capacity);
+        for (int i = 0; i < keys.length; i++) {
+            int key = keys[i];
+            if (key != 0) {
+                int index = IntObjectMap.mix(key) & mMask;
+                while (mKeys[index] != 0) {
+                    index = (index + 1) & mMask;
+                }
+                mKeys[index] = key;
+                mValues[index] = values[i];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+package me.rhespanhol.rxtraktjava.util;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from {@code int} keys to objects that stores keys in a plain {@code int[]}, so neither lookups nor
+ * inserts box the key. Uses open addressing with linear probing. Not thread-safe.
+ */
+public class IntObjectMap<V> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private int[] mKeys;
+    private Object[] mValues;
+    private int mMask;
+    /** Number of non-zero keys in the table, key 0 marks a free slot and is stored separately. */
+    private int mSize;
+    private boolean mHasZeroKey;
+    private V mZeroValue;
+
+    public IntObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize The number of mappings the map holds without growing.
+     */
+    public IntObjectMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return mHasZeroKey ? mSize + 1 : mSize;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public boolean containsKey(int key) {
+        if (key == 0) {
+            return mHasZeroKey;
+        }
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value for the key, or {@code null} if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        if (key == 0) {
+            return mZeroValue;
+        }
+        int index = indexOf(key);
+        return index >= 0 ? (V) mValues[index] : null;
+    }
+
+    /**
+     * @return The previous value for the key, or {@code null} if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (key == 0) {
+            V previous = mZeroValue;
+            mHasZeroKey = true;
+            mZeroValue = value;
+            return previous;
+        }
+        int index = mix(key) & mMask;
+        for (;;) {
+            int current = mKeys[index];
+            if (current == 0) {
+                mKeys[index] = key;
+                mValues[index] = value;
+                if (++mSize > threshold()) {
+                    rehash(mKeys.length * 2);
+                }
+                return null;
+            }
+            if (current == key) {
+                V previous = (V) mValues[index];
+                mValues[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mMask;
+        }
+    }
+
+    /**
+     * @return The removed value, or {@code null} if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        if (key == 0) {
+            V previous = mZeroValue;
+            mHasZeroKey = false;
+            mZeroValue = null;
+            return previous;
+        }
+        int gap = indexOf(key);
+        if (gap < 0) {
+            return null;
+        }
+        V previous = (V) mValues[gap];
+        // shift following entries of the probe sequence back so lookups do not stop at the gap
+        int index = gap;
+        for (;;) {
+            index = (index + 1) & mMask;
+            int current = mKeys[index];
+            if (current == 0) {
+                break;
+            }
+            int ideal = mix(current) & mMask;
+            if (((index - ideal) & mMask) >= ((index - gap) & mMask)) {
+                mKeys[gap] = current;
+                mValues[gap] = mValues[index];
+                gap = index;
+            }
+        }
+        mKeys[gap] = 0;
+        mValues[gap] = null;
+        mSize--;
+        return previous;
+    }
+
+    public void clear() {
+        Arrays.fill(mKeys, 0);
+        Arrays.fill(mValues, null);
+        mSize = 0;
+        mHasZeroKey = false;
+        mZeroValue = null;
+    }
+
+    /**
+     * Returns all keys, in no particular order.
+     */
+    public int[] keys() {
+        int[] keys = new int[size()];
+        int count = 0;
+        if (mHasZeroKey) {
+            keys[count++] = 0;
+        }
+        for (int key : mKeys) {
+            if (key != 0) {
+                keys[count++] = key;
+            }
+        }
+        return keys;
+    }
+
+    private int indexOf(int key) {
+        int index = mix(key) & mMask;
+        for (;;) {
+            int current = mKeys[index];
+            if (current == key) {
+                return index;
+            }
+            if (current == 0) {
+                return -1;
+            }
+            index = (index + 1) & mMask;
+        }
+    }
+
+    private int threshold() {
+        return mKeys.length / 4 * 3;
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new int[capacity];
+        mValues = new Object[capacity];
+        mMask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        int[] keys = mKeys;
+        Object[] values = mValues;
+        allocate(capacity);
+        for (int i = 0; i < keys.length; i++) {
+            int key = keys[i];
+            if (key != 0) {
+                int index = mix(key) & mMask;
+                while (mKeys[index] != 0) {
+                    index = (index + 1) & mMask;
+                }
+                mKeys[index] = key;
+                mValues[index] = values[i];
+            }
+        }
+    }
+
+    static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity / 4 * 3 < expectedSize) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+}
@@ -0,0 +1,165 @@
+package me.rhespanhol.rxtraktjava.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A hash map from object keys to {@code int} values that stores values in a plain {@code int[]}, so they are never
+ * boxed. Uses open addressing with linear probing. {@code null} keys are not supported. Not thread-safe.
+ */
+public class ObjectIntMap<K> {
+
+    private static final int MIN_CAPACITY = 8;
+
+    private Object[] mKeys;
+    private int[] mValues;
+    private int mMask;
+    private int mSize;
+
+    public ObjectIntMap() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize The number of mappings the map holds without growing.
+     */
+    public ObjectIntMap(int expectedSize) {
+        allocate(IntObjectMap.capacityFor(expectedSize));
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    public boolean containsKey(K key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value for the key, or {@code defaultValue} if there is none.
+     */
+    public int get(K key, int defaultValue) {
+        int index = indexOf(key);
+        return index >= 0 ? mValues[index] : defaultValue;
+    }
+
+    public void put(K key, int value) {
+        if (key == null) {
+            throw new NullPointerException("key == null");
+        }
+        int index = IntObjectMap.mix(key.hashCode()) & mMask;
+        for (;;) {
+            Object current = mKeys[index];
+            if (current == null) {
+                mKeys[index] = key;
+                mValues[index] = value;
+                if (++mSize > threshold()) {
+                    rehash(mKeys.length * 2);
+                }
+                return;
+            }
+            if (current.equals(key)) {
+                mValues[index] = value;
+                return;
+            }
+            index = (index + 1) & mMask;
+        }
+    }
+
+    /**
+     * @return Whether there was a value for the key.
+     */
+    public boolean remove(K key) {
+        int gap = indexOf(key);
+        if (gap < 0) {
+            return false;
+        }
+        // shift following entries of the probe sequence back so lookups do not stop at the gap
+        int index = gap;
+        for (;;) {
+            index = (index + 1) & mMask;
+            Object current = mKeys[index];
+            if (current == null) {
+                break;
+            }
+            int ideal = IntObjectMap.mix(current.hashCode()) & mMask;
+            if (((index - ideal) & mMask) >= ((index - gap) & mMask)) {
+                mKeys[gap] = current;
+                mValues[gap] = mValues[index];
+                gap = index;
+            }
+        }
+        mKeys[gap] = null;
+        mSize--;
+        return true;
+    }
+
+    public void clear() {
+        Arrays.fill(mKeys, null);
+        mSize = 0;
+    }
+
+    /**
+     * Returns all keys, in no particular order.
+     */
+    @SuppressWarnings("unchecked")
+    public List<K> keys() {
+        List<K> keys = new ArrayList<>(mSize);
+        for (Object key : mKeys) {
+            if (key != null) {
+                keys.add((K) key);
+            }
+        }
+        return keys;
+    }
+
+    private int indexOf(Object key) {
+        if (key == null) {
+            return -1;
+        }
+        int index = IntObjectMap.mix(key.hashCode()) & mMask;
+        for (;;) {
+            Object current = mKeys[index];
+            if (current == null) {
+                return -1;
+            }
+            if (current.equals(key)) {
+                return index;
+            }
+            index = (index + 1) & mMask;
+        }
+    }
+
+    private int threshold() {
+        return mKeys.length / 4 * 3;
+    }
+
+    private void allocate(int capacity) {
+        mKeys = new Object[capacity];
+        mValues = new int[capacity];
+        mMask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        Object[] keys = mKeys;
+        int[] values = mValues;
+        allocate(capacity);
+        for (int i = 0; i < keys.length; i++) {
+            Object key = keys[i];
+            if (key != null) {
+                int index = IntObjectMap.mix(key.hashCode()) & mMask;
+                while (mKeys[index] != null) {
+                    index = (index + 1) & mMask;
+                }
+                mKeys[index] = key;
+                mValues[index] = values[i];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.adapter.rxjava.HttpException;
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Action1;
+import rx.observers.TestSubscriber;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that list responses are streamed element by element, both through {@link Trakt#stream} and the streaming
+ * methods of the Rx services.
+ */
+public class JsonArrayOnSubscribeTest {
+
+    private static final int SHOWS = 20;
+
+    private MockWebServer mServer;
+    private MockTrakt mTrakt;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        mTrakt = new MockTrakt(mServer);
+        mTrakt.getRetryPolicy().backoff(10, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void emitsElementsAsTheyAreRead() {
+        // the whole body takes about a second to arrive
+        String body = shows(SHOWS);
+        mServer.enqueue(new MockResponse().setBody(body).throttleBody(body.length() / 10, 100, TimeUnit.MILLISECONDS));
+        final long[] firstMillis = new long[1];
+        final long[] completedMillis = new long[1];
+
+        List<BaseShow> shows = mTrakt.rx().sync().streamWatchedShows(null)
+                .doOnNext(new Action1<BaseShow>() {
+                    @Override
+                    public void call(BaseShow show) {
+                        if (firstMillis[0] == 0) {
+                            firstMillis[0] = System.currentTimeMillis();
+                        }
+                    }
+                })
+                .doOnCompleted(new Action0() {
+                    @Override
+                    public void call() {
+                        completedMillis[0] = System.currentTimeMillis();
+                    }
+                })
+                .toList().toBlocking().single();
+
+        assertEquals(SHOWS, shows.size());
+        assertEquals("Show 0", shows.get(0).show.title);
+        assertEquals("Show " + (SHOWS - 1), shows.get(SHOWS - 1).show.title);
+        assertTrue(completedMillis[0] - firstMillis[0] >= 500);
+    }
+
+    @Test
+    public void readsOnlyRequestedElements() {
+        mServer.enqueue(new MockResponse().setBody(shows(3)));
+        TestSubscriber<BaseShow> subscriber = new TestSubscriber<>(0);
+
+        mTrakt.stream(mTrakt.sync().watchedShows(null), BaseShow.class).subscribe(subscriber);
+        subscriber.assertNoValues();
+        assertEquals(0, mServer.getRequestCount());
+
+        subscriber.requestMore(1);
+        assertEquals(1, subscriber.getOnNextEvents().size());
+        subscriber.assertNotCompleted();
+
+        subscriber.requestMore(1);
+        assertEquals(2, subscriber.getOnNextEvents().size());
+        subscriber.assertNotCompleted();
+
+        subscriber.requestMore(10);
+        subscriber.assertValueCount(3);
+        subscriber.assertCompleted();
+        subscriber.assertNoErrors();
+    }
+
+    @Test
+    public void truncatedArrayFailsAfterTheReadElements() {
+        String body = shows(2);
+        mServer.enqueue(new MockResponse().setBody(body.substring(0, body.length() - 20)));
+        TestSubscriber<BaseShow> subscriber = new TestSubscriber<>();
+
+        mTrakt.rx().sync().streamCollectionShows(null).subscribe(subscriber);
+
+        subscriber.assertValueCount(1);
+        subscriber.assertError(EOFException.class);
+    }
+
+    @Test
+    public void unsuccessfulResponseFails() {
+        mServer.enqueue(new MockResponse().setResponseCode(404));
+        TestSubscriber<BaseShow> subscriber = new TestSubscriber<>();
+
+        mTrakt.rx().sync().streamWatchedShows(null).subscribe(subscriber);
+
+        subscriber.assertNoValues();
+        subscriber.assertError(HttpException.class);
+    }
+
+    @Test
+    public void requestsGoThroughTheCallFactory() throws InterruptedException {
+        // retried like any other call, and sent with the token of the session
+        mServer.enqueue(new MockResponse().setResponseCode(503));
+        mServer.enqueue(new MockResponse().setBody(shows(1)));
+        AccessToken token = new AccessToken();
+        token.access_token = "session";
+        TraktSession session = mTrakt.newSession(token);
+
+        Observable<BaseShow> shows = mTrakt.stream(session.sync().watchedShows(null), BaseShow.class);
+
+        assertEquals(1, shows.toList().toBlocking().single().size());
+        assertEquals(2, mServer.getRequestCount());
+        mServer.takeRequest();
+        RecordedRequest request = mServer.takeRequest();
+        assertEquals("Bearer session", request.getHeader(Trakt.HEADER_AUTHORIZATION));
+    }
+
+    private static String shows(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"plays\":").append(i + 1)
+                    .append(",\"show\":{\"title\":\"Show ").append(i)
+                    .append("\",\"ids\":{\"trakt\":").append(i + 1).append("}}}");
+        }
+        return json.append(']').toString();
+    }
+
+}
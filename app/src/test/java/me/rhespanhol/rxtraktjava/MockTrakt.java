@@ -0,0 +1,59 @@
+package me.rhespanhol.rxtraktjava;
+
+import com.google.gson.Gson;
+import okhttp3.Dns;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Retrofit;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link Trakt} instance sending requests for {@link Trakt#API_HOST} to a {@link MockWebServer}, over plain HTTP.
+ * Unlike pointing the base URL at the server, the host stays {@link Trakt#API_HOST}, so all interceptors apply.
+ */
+public class MockTrakt extends Trakt {
+
+    private final MockWebServer mServer;
+
+    public MockTrakt(MockWebServer server) {
+        super("client id", "client secret", "redirect uri");
+        this.mServer = server;
+    }
+
+    /**
+     * Returns the URL of the given API path, as the server will be asked for it.
+     */
+    public HttpUrl url(String path) {
+        return new HttpUrl.Builder()
+                .scheme("http")
+                .host(API_HOST)
+                .port(mServer.getPort())
+                .encodedPath("/" + path)
+                .build();
+    }
+
+    @Override
+    protected Retrofit.Builder getRetrofitBuilder(Gson responseGson) {
+        return super.getRetrofitBuilder(responseGson).baseUrl(url(""));
+    }
+
+    @Override
+    protected void setOkHttpClientDefaults(OkHttpClient.Builder builder) {
+        super.setOkHttpClientDefaults(builder);
+        builder.dns(new Dns() {
+            @Override
+            public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+                if (API_HOST.equals(hostname)) {
+                    return Collections.singletonList(InetAddress.getByName(mServer.getHostName()));
+                }
+                return Dns.SYSTEM.lookup(hostname);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,103 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.benchmark.Benchmarks;
+import me.rhespanhol.rxtraktjava.services.Shows;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares getting a service from the {@link ServiceRegistry} of {@link Trakt} with creating it with {@link
+ * Retrofit#create(Class)} on every call, as the service accessors did before, from one and from several threads.
+ */
+public class ServiceRegistryBenchmark {
+
+    private static final int COUNT = 100000;
+    private static final int THREADS = 4;
+
+    private Trakt mTrakt;
+    private Retrofit mRetrofit;
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+        mTrakt = new Trakt("client id", "client secret", "redirect uri");
+        mRetrofit = mTrakt.retrofit();
+    }
+
+    @Test
+    public void singleThread() throws Exception {
+        Benchmarks.measure("1 thread: Retrofit.create", COUNT, create());
+        Benchmarks.measure("1 thread: registry", COUNT, registry());
+    }
+
+    @Test
+    public void multipleThreads() throws Exception {
+        Benchmarks.measure(THREADS + " threads: Retrofit.create", COUNT, concurrently(create()));
+        Benchmarks.measure(THREADS + " threads: registry", COUNT, concurrently(registry()));
+    }
+
+    private Benchmarks.Operation create() {
+        return new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                long sum = 0;
+                for (int i = 0; i < count; i++) {
+                    sum += System.identityHashCode(mRetrofit.create(Shows.class));
+                }
+                return sum;
+            }
+        };
+    }
+
+    private Benchmarks.Operation registry() {
+        return new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                long sum = 0;
+                for (int i = 0; i < count; i++) {
+                    sum += System.identityHashCode(mTrakt.shows());
+                }
+                return sum;
+            }
+        };
+    }
+
+    /**
+     * Splits the operations over {@link #THREADS} threads, the result is the time for all of them.
+     */
+    private static Benchmarks.Operation concurrently(final Benchmarks.Operation operation) {
+        return new Benchmarks.Operation() {
+            @Override
+            public long run(final int count) throws Exception {
+                ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+                try {
+                    List<Future<Long>> results = new ArrayList<>();
+                    for (int i = 0; i < THREADS; i++) {
+                        results.add(executor.submit(new Callable<Long>() {
+                            @Override
+                            public Long call() throws Exception {
+                                return operation.run(count / THREADS);
+                            }
+                        }));
+                    }
+                    long sum = 0;
+                    for (Future<Long> result : results) {
+                        sum += result.get();
+                    }
+                    return sum;
+                } finally {
+                    executor.shutdown();
+                }
+            }
+        };
+    }
+
+}
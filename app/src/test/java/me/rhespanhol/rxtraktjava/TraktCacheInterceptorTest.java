@@ -0,0 +1,131 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.BufferedSource;
+import okio.Okio;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TraktCacheInterceptorTest {
+
+    private static final String TOKEN = "secret-access-token";
+
+    @Rule
+    public final TemporaryFolder mFolder = new TemporaryFolder();
+
+    private MockWebServer mServer;
+    private File mCacheDirectory;
+    private MockTrakt mTrakt;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        // answers with the token the request was sent with, if any
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String authorization = request.getHeader(Trakt.HEADER_AUTHORIZATION);
+                String title = authorization == null ? "public" : authorization.substring("Bearer ".length());
+                String show = "{\"title\":\"" + title + "\",\"ids\":{\"trakt\":1}}";
+                if (request.getPath().startsWith("/sync/")) {
+                    return new MockResponse().setBody("[{\"plays\":1,\"show\":" + show + "}]");
+                }
+                return new MockResponse().setBody(show);
+            }
+        });
+        mServer.start();
+        mCacheDirectory = mFolder.newFolder("cache");
+        mTrakt = new MockTrakt(mServer);
+        mTrakt.setCache(mCacheDirectory, 1024 * 1024);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void publicResponsesAreCached() throws IOException {
+        assertEquals("public", summary(mTrakt).title);
+        assertEquals("public", summary(mTrakt).title);
+
+        assertEquals(1, mServer.getRequestCount());
+        assertTrue(cacheFiles().length > 0);
+    }
+
+    @Test
+    public void authenticatedResponsesAreNotStored() throws IOException {
+        TraktSession first = mTrakt.newSession(token(TOKEN + "-1"));
+        TraktSession second = mTrakt.newSession(token(TOKEN + "-2"));
+
+        assertEquals(TOKEN + "-1", watchedShow(first));
+        assertEquals(TOKEN + "-2", watchedShow(second));
+        assertEquals(TOKEN + "-1", watchedShow(first));
+
+        // every session gets its own data, none of it from the disk
+        assertEquals(3, mServer.getRequestCount());
+        assertNoTokenInCache();
+    }
+
+    @Test
+    public void authenticatedRequestsAreNotAnsweredWithPublicResponses() throws IOException {
+        TraktSession session = mTrakt.newSession(token(TOKEN));
+
+        assertEquals("public", summary(mTrakt).title);
+        assertEquals(TOKEN, session.shows().summary("show", Extended.DEFAULT_MIN).execute().body().title);
+        assertEquals("public", summary(mTrakt).title);
+
+        assertEquals(2, mServer.getRequestCount());
+        assertNoTokenInCache();
+    }
+
+    private static Show summary(Trakt trakt) throws IOException {
+        return trakt.shows().summary("show", Extended.DEFAULT_MIN).execute().body();
+    }
+
+    private static String watchedShow(TraktSession session) throws IOException {
+        List<BaseShow> shows = session.sync().watchedShows(null).execute().body();
+        return shows.get(0).show.title;
+    }
+
+    private File[] cacheFiles() {
+        File[] files = mCacheDirectory.listFiles();
+        return files == null ? new File[0] : files;
+    }
+
+    private void assertNoTokenInCache() throws IOException {
+        for (File file : cacheFiles()) {
+            BufferedSource source = Okio.buffer(Okio.source(file));
+            try {
+                assertFalse(file.getName(), source.readUtf8().contains(TOKEN));
+            } finally {
+                source.close();
+            }
+        }
+    }
+
+    private static AccessToken token(String accessToken) {
+        AccessToken token = new AccessToken();
+        token.access_token = accessToken;
+        return token;
+    }
+
+}
@@ -0,0 +1,150 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TraktCoalescingInterceptorTest {
+
+    private static final int CALLERS = 8;
+    private static final String SHOW = "{\"title\":\"Game of Thrones\",\"ids\":{\"trakt\":353}}";
+
+    private MockWebServer mServer;
+    private MockTrakt mTrakt;
+    private ExecutorService mExecutor;
+    /** The first request waits for this before it is answered. */
+    private final CountDownLatch mRelease = new CountDownLatch(1);
+    private final AtomicInteger mRequests = new AtomicInteger();
+    private volatile int mCode = 200;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (mRequests.getAndIncrement() == 0) {
+                    mRelease.await(5, TimeUnit.SECONDS);
+                }
+                return new MockResponse().setResponseCode(mCode).setBody(SHOW);
+            }
+        });
+        mServer.start();
+        mTrakt = new MockTrakt(mServer);
+        mExecutor = Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mExecutor.shutdownNow();
+        mServer.shutdown();
+    }
+
+    @Test
+    public void concurrentIdenticalRequestsShareOneCall() throws Exception {
+        List<Future<Response<Show>>> responses = executeConcurrently();
+        mRelease.countDown();
+
+        List<Show> shows = new ArrayList<>();
+        for (Future<Response<Show>> response : responses) {
+            Show show = response.get(5, TimeUnit.SECONDS).body();
+            assertEquals("Game of Thrones", show.title);
+            shows.add(show);
+        }
+        assertEquals(1, mServer.getRequestCount());
+        assertEquals(CALLERS - 1, mTrakt.getCoalescingInterceptor().getCoalescedCount());
+        // every caller parsed its own copy
+        assertNotSame(shows.get(0), shows.get(1));
+    }
+
+    @Test
+    public void errorResponsesAreShared() throws Exception {
+        mCode = 404;
+        List<Future<Response<Show>>> responses = executeConcurrently();
+        mRelease.countDown();
+
+        for (Future<Response<Show>> response : responses) {
+            Response<Show> show = response.get(5, TimeUnit.SECONDS);
+            assertEquals(404, show.code());
+            assertEquals(SHOW, show.errorBody().string());
+        }
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void callersSendTheirOwnRequestIfTheSharedCallIsCanceled() throws Exception {
+        final Call<Show> leader = summary();
+        Future<Response<Show>> leaderResponse = mExecutor.submit(new Callable<Response<Show>>() {
+            @Override
+            public Response<Show> call() throws IOException {
+                return leader.execute();
+            }
+        });
+        mServer.takeRequest();
+        List<Future<Response<Show>>> responses = executeConcurrently();
+        Thread.sleep(200);
+
+        leader.cancel();
+
+        for (Future<Response<Show>> response : responses) {
+            assertEquals("Game of Thrones", response.get(5, TimeUnit.SECONDS).body().title);
+        }
+        try {
+            leaderResponse.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        mRelease.countDown();
+        // the waiting callers do not coalesce with each other once the shared call failed
+        assertEquals(1 + CALLERS, mServer.getRequestCount());
+    }
+
+    /**
+     * Executes {@link #CALLERS} identical calls at once, and waits until they are all waiting for the first one.
+     */
+    private List<Future<Response<Show>>> executeConcurrently() throws InterruptedException {
+        List<Future<Response<Show>>> responses = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            final Call<Show> call = summary();
+            responses.add(mExecutor.submit(new Callable<Response<Show>>() {
+                @Override
+                public Response<Show> call() throws IOException {
+                    return call.execute();
+                }
+            }));
+        }
+        Thread.sleep(300);
+        return responses;
+    }
+
+    private Call<Show> summary() {
+        return mTrakt.shows().summary("game-of-thrones", Extended.DEFAULT_MIN);
+    }
+
+}
@@ -0,0 +1,303 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link TraktRateLimitCallFactory} delays enqueuing instead of blocking, and that {@link
+ * TraktRateLimitInterceptor} only adapts the buckets.
+ */
+public class TraktRateLimitCallFactoryTest {
+
+    private static final long WRITE_PERIOD_MILLIS = 100;
+
+    private Trakt mTrakt;
+    private FakeCallFactory mDelegate;
+    private TraktRateLimitCallFactory mCallFactory;
+
+    @Before
+    public void setUp() {
+        mTrakt = new Trakt("client id", "client secret", "redirect uri");
+        AccessToken accessToken = new AccessToken();
+        accessToken.access_token = "token";
+        mTrakt.setAccessToken(accessToken);
+        mTrakt.getRateLimiter().setWriteLimit(1, WRITE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        mDelegate = new FakeCallFactory();
+        mCallFactory = new TraktRateLimitCallFactory(mDelegate, mTrakt);
+    }
+
+    @Test
+    public void enqueueDoesNotWaitForPermit() throws Exception {
+        int count = 4;
+        CountDownLatch done = new CountDownLatch(count);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            mCallFactory.newCall(post()).enqueue(new LatchCallback(done));
+        }
+        // all permits but the first are due later, none of the calls blocked
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < WRITE_PERIOD_MILLIS);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(count, mDelegate.mEnqueued.size());
+        for (int i = 1; i < count; i++) {
+            // a timer may fire late, but never before the permit is due
+            long sinceFirstMillis = TimeUnit.NANOSECONDS.toMillis(
+                    mDelegate.mEnqueuedAtNanos.get(i) - mDelegate.mEnqueuedAtNanos.get(0));
+            assertTrue("after " + sinceFirstMillis, sinceFirstMillis >= i * WRITE_PERIOD_MILLIS - 10);
+        }
+    }
+
+    @Test
+    public void executeWaitsForPermitOnCallingThread() throws Exception {
+        long start = System.nanoTime();
+        mCallFactory.newCall(post()).execute().body().close();
+        mCallFactory.newCall(post()).execute().body().close();
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("elapsed " + elapsedMillis, elapsedMillis >= WRITE_PERIOD_MILLIS - 10);
+        assertEquals(2, mDelegate.mEnqueued.size());
+    }
+
+    @Test
+    public void executeAgainAfterTooManyRequests() throws Exception {
+        mDelegate.mCodes.add(429);
+        mDelegate.mCodes.add(429);
+        mDelegate.mCodes.add(429);
+        mDelegate.mCodes.add(200);
+
+        Response response = mCallFactory.newCall(post()).execute();
+
+        // gives up after the maximum number of retries
+        assertEquals(429, response.code());
+        assertEquals(1 + TraktRateLimitCallFactory.MAX_RATE_LIMITED_RETRIES, mDelegate.mEnqueued.size());
+    }
+
+    @Test
+    public void enqueueAgainAfterTooManyRequests() throws Exception {
+        mDelegate.mCodes.add(429);
+        mDelegate.mCodes.add(200);
+        CountDownLatch done = new CountDownLatch(1);
+        LatchCallback callback = new LatchCallback(done);
+        mCallFactory.newCall(post()).enqueue(callback);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertEquals(2, mDelegate.mEnqueued.size());
+        assertEquals(200, callback.mCode);
+    }
+
+    @Test
+    public void canceledCallFails() throws Exception {
+        mCallFactory.newCall(post()).enqueue(new LatchCallback(new CountDownLatch(1)));
+        CountDownLatch done = new CountDownLatch(1);
+        LatchCallback callback = new LatchCallback(done);
+        Call call = mCallFactory.newCall(post());
+        call.enqueue(callback);
+        call.cancel();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        assertTrue(call.isCanceled());
+        assertNotNull(callback.mError);
+    }
+
+    @Test
+    public void interceptorDoesNotWait() throws Exception {
+        TraktRateLimiter rateLimiter = new TraktRateLimiter();
+        rateLimiter.setWriteLimit(1, 1, TimeUnit.HOURS);
+        TraktRateLimitInterceptor interceptor = new TraktRateLimitInterceptor(rateLimiter);
+        rateLimiter.acquire("client id", "token", true);
+
+        FakeChain chain = new FakeChain(authorized(post()), 429);
+        long start = System.nanoTime();
+        Response response = interceptor.intercept(chain);
+
+        // neither waits for a permit nor for Retry-After, the call factory does that
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(429, response.code());
+        assertEquals(1, chain.mProceeded.size());
+        // the limit that was exceeded is unknown, so the client id and the user are both paused
+        assertTrue(rateLimiter.acquire("client id", null, false) > 0);
+        assertTrue(rateLimiter.acquire("other client", "token", true) > 0);
+    }
+
+    @Test
+    public void interceptorPausesExceededLimitOnly() throws Exception {
+        TraktRateLimiter rateLimiter = new TraktRateLimiter();
+        TraktRateLimitInterceptor interceptor = new TraktRateLimitInterceptor(rateLimiter);
+        FakeChain chain = new FakeChain(authorized(post()), 429);
+        chain.mRateLimit = "{\"name\":\"AUTHED_API_POST_LIMIT\",\"period\":1,\"limit\":1,\"remaining\":0}";
+        interceptor.intercept(chain);
+
+        assertEquals(0, rateLimiter.acquire("client id", null, false));
+        assertTrue(rateLimiter.acquire("other client", "token", true) > 0);
+    }
+
+    private static Request post() {
+        return new Request.Builder()
+                .url(Trakt.API_URL + "sync/history")
+                .post(RequestBody.create(MediaType.parse("application/json"), "{}"))
+                .build();
+    }
+
+    private static Request authorized(Request request) {
+        return request.newBuilder()
+                .header(Trakt.HEADER_TRAKT_API_KEY, "client id")
+                .header(Trakt.HEADER_AUTHORIZATION, "Bearer token")
+                .build();
+    }
+
+    private static Response response(Request request, int code) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .header(TraktRateLimitInterceptor.HEADER_RETRY_AFTER, "0")
+                .body(ResponseBody.create(MediaType.parse("application/json"), "[]"))
+                .build();
+    }
+
+    private static final class LatchCallback implements Callback {
+
+        private final CountDownLatch mDone;
+        private volatile int mCode;
+        private volatile IOException mError;
+
+        LatchCallback(CountDownLatch done) {
+            this.mDone = done;
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            mError = e;
+            mDone.countDown();
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+            mCode = response.code();
+            response.body().close();
+            mDone.countDown();
+        }
+
+    }
+
+    /**
+     * Answers executed and enqueued calls right away with the queued response codes, or 200.
+     */
+    private static final class FakeCallFactory implements Call.Factory {
+
+        final List<Call> mEnqueued = new ArrayList<>();
+        final List<Long> mEnqueuedAtNanos = new ArrayList<>();
+        final List<Integer> mCodes = new ArrayList<>();
+
+        @Override
+        public Call newCall(final Request request) {
+            return new Call() {
+                private boolean mCanceled;
+
+                @Override
+                public Request request() {
+                    return request;
+                }
+
+                @Override
+                public Response execute() {
+                    synchronized (FakeCallFactory.this) {
+                        mEnqueued.add(this);
+                        mEnqueuedAtNanos.add(System.nanoTime());
+                        return response(request, mCodes.isEmpty() ? 200 : mCodes.remove(0));
+                    }
+                }
+
+                @Override
+                public void enqueue(Callback responseCallback) {
+                    int code;
+                    synchronized (FakeCallFactory.this) {
+                        mEnqueued.add(this);
+                        mEnqueuedAtNanos.add(System.nanoTime());
+                        code = mCodes.isEmpty() ? 200 : mCodes.remove(0);
+                    }
+                    try {
+                        if (isCanceled()) {
+                            responseCallback.onFailure(this, new IOException("Canceled"));
+                        } else {
+                            responseCallback.onResponse(this, response(request, code));
+                        }
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+
+                @Override
+                public synchronized void cancel() {
+                    mCanceled = true;
+                }
+
+                @Override
+                public boolean isExecuted() {
+                    return true;
+                }
+
+                @Override
+                public synchronized boolean isCanceled() {
+                    return mCanceled;
+                }
+            };
+        }
+
+    }
+
+    private static final class FakeChain implements Interceptor.Chain {
+
+        private final Request mRequest;
+        private final int mCode;
+        final List<Request> mProceeded = new ArrayList<>();
+        String mRateLimit;
+
+        FakeChain(Request request, int code) {
+            this.mRequest = request;
+            this.mCode = code;
+        }
+
+        @Override
+        public Request request() {
+            return mRequest;
+        }
+
+        @Override
+        public Response proceed(Request request) {
+            mProceeded.add(request);
+            Response response = response(request, mCode);
+            if (mRateLimit != null) {
+                response = response.newBuilder().header(TraktRateLimitInterceptor.HEADER_RATE_LIMIT, mRateLimit).build();
+            }
+            return response;
+        }
+
+        @Override
+        public okhttp3.Connection connection() {
+            return null;
+        }
+
+    }
+
+}
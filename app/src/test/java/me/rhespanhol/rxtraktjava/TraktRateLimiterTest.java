@@ -0,0 +1,110 @@
+package me.rhespanhol.rxtraktjava;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TraktRateLimiterTest {
+
+    private static final int THREADS = 8;
+    private static final long PERIOD_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    public void concurrentAcquireReservesDistinctSlots() throws Exception {
+        final TraktRateLimiter rateLimiter = new TraktRateLimiter()
+                .setWriteLimit(1, 1, TimeUnit.HOURS);
+        List<Long> waits = acquireConcurrently(new Callable<Long>() {
+            @Override
+            public Long call() {
+                return rateLimiter.acquire("client id", "token", true);
+            }
+        }, 200);
+
+        Collections.sort(waits);
+        assertEquals(Long.valueOf(0), waits.get(0));
+        for (int i = 1; i < waits.size(); i++) {
+            // each permit is one period after the previous one, none is handed out twice
+            long gap = waits.get(i) - waits.get(i - 1);
+            assertTrue("gap " + gap, gap > PERIOD_NANOS - TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    @Test
+    public void evictionDoesNotHandOutExtraPermits() throws Exception {
+        final int users = 64;
+        // constantly evicts, every user takes one permit per hour only
+        final TraktRateLimiter rateLimiter = new TraktRateLimiter(2)
+                .setWriteLimit(1, 1, TimeUnit.HOURS);
+        final int[] next = new int[1];
+        List<Long> waits = acquireConcurrently(new Callable<Long>() {
+            @Override
+            public Long call() {
+                int user;
+                synchronized (next) {
+                    user = next[0]++ % users;
+                }
+                return rateLimiter.acquire("client id", "token " + user, true);
+            }
+        }, users * 50);
+
+        int immediate = 0;
+        for (long wait : waits) {
+            if (wait == 0) {
+                immediate++;
+            }
+        }
+        assertEquals(users, immediate);
+    }
+
+    @Test
+    public void idleBucketsAreEvicted() {
+        TraktRateLimiter rateLimiter = new TraktRateLimiter(4)
+                .setGetLimit(1000, 1, TimeUnit.NANOSECONDS);
+        for (int i = 0; i < 100; i++) {
+            rateLimiter.acquire("client id", "token " + i, false);
+        }
+
+        assertTrue(rateLimiter.getBucketCount() <= 5);
+    }
+
+    private static List<Long> acquireConcurrently(final Callable<Long> acquire, final int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(new Callable<List<Long>>() {
+                    @Override
+                    public List<Long> call() throws Exception {
+                        start.await();
+                        List<Long> waits = new ArrayList<>();
+                        for (int i = 0; i < count / THREADS; i++) {
+                            waits.add(acquire.call());
+                        }
+                        return waits;
+                    }
+                }));
+            }
+            start.countDown();
+            List<Long> waits = new ArrayList<>();
+            for (Future<List<Long>> future : futures) {
+                waits.addAll(future.get(10, TimeUnit.SECONDS));
+            }
+            return waits;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,279 @@
+package me.rhespanhol.rxtraktjava;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that {@link TraktRetryCallFactory} schedules retries instead of blocking, and the backoff of {@link
+ * TraktRetryPolicy}.
+ */
+public class TraktRetryCallFactoryTest {
+
+    private static final long DELAY_MILLIS = 200;
+
+    private TraktRetryPolicy mPolicy;
+    private FakeCallFactory mDelegate;
+    private TraktRetryCallFactory mCallFactory;
+    private RecordingListener mListener;
+
+    @Before
+    public void setUp() {
+        mPolicy = new TraktRetryPolicy()
+                .backoff(DELAY_MILLIS, 10 * DELAY_MILLIS, TimeUnit.MILLISECONDS)
+                .jitter(false);
+        mDelegate = new FakeCallFactory();
+        mCallFactory = new TraktRetryCallFactory(mDelegate, mPolicy);
+        mListener = new RecordingListener();
+        mCallFactory.setListener(mListener);
+    }
+
+    @Test
+    public void enqueueDoesNotWaitForBackoff() throws Exception {
+        mDelegate.mCodes.add(503);
+        CountDownLatch done = new CountDownLatch(1);
+        LatchCallback callback = new LatchCallback(done);
+
+        long start = System.nanoTime();
+        mCallFactory.newCall(get()).enqueue(callback);
+        // the first attempt is answered right away, the retry is due later
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < DELAY_MILLIS);
+        assertEquals(1, mDelegate.mCalls.size());
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= DELAY_MILLIS);
+        assertEquals(200, callback.mCode);
+        assertEquals(2, mDelegate.mCalls.size());
+        assertEquals(1, mListener.mRetries);
+        assertEquals(2, mListener.mAttempts);
+    }
+
+    @Test
+    public void executeRetriesConnectionFailures() throws Exception {
+        mDelegate.mCodes.add(-1);
+        mDelegate.mCodes.add(-1);
+
+        Response response = mCallFactory.newCall(get()).execute();
+
+        assertEquals(200, response.code());
+        assertEquals(3, mDelegate.mCalls.size());
+        assertEquals(3, mListener.mAttempts);
+    }
+
+    @Test
+    public void budgetStopsRetries() throws Exception {
+        mPolicy.maxRetries(10).retryBudget(DELAY_MILLIS + DELAY_MILLIS / 2, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < 10; i++) {
+            mDelegate.mCodes.add(503);
+        }
+
+        Response response = mCallFactory.newCall(get()).execute();
+
+        // the second retry would start after 3 delays
+        assertEquals(503, response.code());
+        assertEquals(2, mDelegate.mCalls.size());
+    }
+
+    @Test
+    public void writesAreRetriedOnlyIfOptedIn() throws Exception {
+        mDelegate.mCodes.add(503);
+        assertEquals(503, mCallFactory.newCall(post()).execute().code());
+
+        mPolicy.retryWritesTo("sync/");
+        mDelegate.mCodes.add(503);
+        assertEquals(200, mCallFactory.newCall(post()).execute().code());
+        assertEquals(3, mDelegate.mCalls.size());
+    }
+
+    @Test
+    public void canceledDuringBackoff() throws Exception {
+        mDelegate.mCodes.add(503);
+        CountDownLatch done = new CountDownLatch(1);
+        LatchCallback callback = new LatchCallback(done);
+        Call call = mCallFactory.newCall(get());
+        call.enqueue(callback);
+        call.cancel();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotNull(callback.mError);
+        // the scheduled attempt was canceled before it was sent
+        assertFalse(mDelegate.mSent.get(mDelegate.mSent.size() - 1));
+    }
+
+    @Test
+    public void delaysGrowExponentially() {
+        assertEquals(DELAY_MILLIS, mPolicy.delayMillis(1));
+        assertEquals(2 * DELAY_MILLIS, mPolicy.delayMillis(2));
+        assertEquals(4 * DELAY_MILLIS, mPolicy.delayMillis(3));
+        assertEquals(8 * DELAY_MILLIS, mPolicy.delayMillis(4));
+        assertEquals(10 * DELAY_MILLIS, mPolicy.delayMillis(5));
+        assertEquals(10 * DELAY_MILLIS, mPolicy.delayMillis(40));
+    }
+
+    @Test
+    public void jitterSpreadsDelays() {
+        mPolicy.jitter(true);
+        Set<Long> delays = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            long delay = mPolicy.delayMillis(3);
+            assertTrue(delay >= 0 && delay <= 4 * DELAY_MILLIS);
+            delays.add(delay);
+        }
+        assertTrue(delays.size() > 10);
+    }
+
+    private static Request get() {
+        return new Request.Builder().url(Trakt.API_URL + "shows/trending").build();
+    }
+
+    private static Request post() {
+        return new Request.Builder()
+                .url(Trakt.API_URL + "sync/history")
+                .post(RequestBody.create(MediaType.parse("application/json"), "{}"))
+                .build();
+    }
+
+    private static Response response(Request request, int code) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .body(ResponseBody.create(MediaType.parse("application/json"), "[]"))
+                .build();
+    }
+
+    private static final class RecordingListener implements TraktRetryCallFactory.Listener {
+
+        volatile int mRetries;
+        volatile int mAttempts;
+
+        @Override
+        public void onRetry(Request request, int attempt, long attemptMillis, long delayMillis, Response response,
+                IOException error) {
+            mRetries++;
+        }
+
+        @Override
+        public void onRetriesFinished(Request request, int attempts, long addedMillis) {
+            mAttempts = attempts;
+        }
+
+    }
+
+    private static final class LatchCallback implements Callback {
+
+        private final CountDownLatch mDone;
+        private volatile int mCode;
+        private volatile IOException mError;
+
+        LatchCallback(CountDownLatch done) {
+            this.mDone = done;
+        }
+
+        @Override
+        public void onFailure(Call call, IOException e) {
+            mError = e;
+            mDone.countDown();
+        }
+
+        @Override
+        public void onResponse(Call call, Response response) {
+            mCode = response.code();
+            response.body().close();
+            mDone.countDown();
+        }
+
+    }
+
+    /**
+     * Answers calls right away with the queued response codes, -1 for a connection failure, or 200.
+     */
+    private static final class FakeCallFactory implements Call.Factory {
+
+        final List<Call> mCalls = new ArrayList<>();
+        final List<Boolean> mSent = new ArrayList<>();
+        final List<Integer> mCodes = new ArrayList<>();
+
+        @Override
+        public Call newCall(final Request request) {
+            return new Call() {
+                private boolean mCanceled;
+
+                @Override
+                public Request request() {
+                    return request;
+                }
+
+                @Override
+                public Response execute() throws IOException {
+                    int code;
+                    synchronized (FakeCallFactory.this) {
+                        mCalls.add(this);
+                        mSent.add(!isCanceled());
+                        code = mCodes.isEmpty() ? 200 : mCodes.remove(0);
+                    }
+                    if (isCanceled()) {
+                        throw new IOException("Canceled");
+                    }
+                    if (code < 0) {
+                        throw new IOException("Connection reset");
+                    }
+                    return response(request, code);
+                }
+
+                @Override
+                public void enqueue(Callback responseCallback) {
+                    Response response;
+                    try {
+                        response = execute();
+                    } catch (IOException e) {
+                        responseCallback.onFailure(this, e);
+                        return;
+                    }
+                    try {
+                        responseCallback.onResponse(this, response);
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                }
+
+                @Override
+                public synchronized void cancel() {
+                    mCanceled = true;
+                }
+
+                @Override
+                public boolean isExecuted() {
+                    return true;
+                }
+
+                @Override
+                public synchronized boolean isCanceled() {
+                    return mCanceled;
+                }
+            };
+        }
+
+    }
+
+}
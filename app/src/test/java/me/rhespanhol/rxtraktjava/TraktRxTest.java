@@ -0,0 +1,218 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import me.rhespanhol.rxtraktjava.services.Calendars;
+import me.rhespanhol.rxtraktjava.services.Checkin;
+import me.rhespanhol.rxtraktjava.services.Comments;
+import me.rhespanhol.rxtraktjava.services.Episodes;
+import me.rhespanhol.rxtraktjava.services.Genres;
+import me.rhespanhol.rxtraktjava.services.Movies;
+import me.rhespanhol.rxtraktjava.services.People;
+import me.rhespanhol.rxtraktjava.services.Recommendations;
+import me.rhespanhol.rxtraktjava.services.Search;
+import me.rhespanhol.rxtraktjava.services.Seasons;
+import me.rhespanhol.rxtraktjava.services.Shows;
+import me.rhespanhol.rxtraktjava.services.Sync;
+import me.rhespanhol.rxtraktjava.services.Users;
+import me.rhespanhol.rxtraktjava.services.rx.RxCalendars;
+import me.rhespanhol.rxtraktjava.services.rx.RxCheckin;
+import me.rhespanhol.rxtraktjava.services.rx.RxComments;
+import me.rhespanhol.rxtraktjava.services.rx.RxEpisodes;
+import me.rhespanhol.rxtraktjava.services.rx.RxGenres;
+import me.rhespanhol.rxtraktjava.services.rx.RxMovies;
+import me.rhespanhol.rxtraktjava.services.rx.RxPeople;
+import me.rhespanhol.rxtraktjava.services.rx.RxRecommendations;
+import me.rhespanhol.rxtraktjava.services.rx.RxSearch;
+import me.rhespanhol.rxtraktjava.services.rx.RxSeasons;
+import me.rhespanhol.rxtraktjava.services.rx.RxShows;
+import me.rhespanhol.rxtraktjava.services.rx.RxSync;
+import me.rhespanhol.rxtraktjava.services.rx.RxUsers;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.adapter.rxjava.HttpException;
+import retrofit2.http.Streaming;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TraktRxTest {
+
+    private static final String SHOW = "{\"title\":\"Game of Thrones\",\"ids\":{\"trakt\":353}}";
+
+    /** Every Rx service and the Call service it mirrors. */
+    private static final Map<Class<?>, Class<?>> SERVICES = new LinkedHashMap<>();
+
+    static {
+        SERVICES.put(RxCalendars.class, Calendars.class);
+        SERVICES.put(RxCheckin.class, Checkin.class);
+        SERVICES.put(RxComments.class, Comments.class);
+        SERVICES.put(RxEpisodes.class, Episodes.class);
+        SERVICES.put(RxGenres.class, Genres.class);
+        SERVICES.put(RxMovies.class, Movies.class);
+        SERVICES.put(RxPeople.class, People.class);
+        SERVICES.put(RxRecommendations.class, Recommendations.class);
+        SERVICES.put(RxSearch.class, Search.class);
+        SERVICES.put(RxSeasons.class, Seasons.class);
+        SERVICES.put(RxShows.class, Shows.class);
+        SERVICES.put(RxSync.class, Sync.class);
+        SERVICES.put(RxUsers.class, Users.class);
+    }
+
+    private MockWebServer mServer;
+    private MockTrakt mTrakt;
+    private volatile int mCode = 200;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(mCode).setBody(SHOW);
+            }
+        });
+        mServer.start();
+        mTrakt = new MockTrakt(mServer);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void everyCallHasAnRxVariant() throws NoSuchMethodException {
+        for (Map.Entry<Class<?>, Class<?>> entry : SERVICES.entrySet()) {
+            Class<?> rxService = entry.getKey();
+            for (Method method : entry.getValue().getMethods()) {
+                if (method.getReturnType() != Call.class) {
+                    continue;
+                }
+                Method rxMethod = rxService.getMethod(method.getName(), method.getParameterTypes());
+                String name = rxService.getSimpleName() + "." + method.getName();
+                assertEquals(name, Observable.class, rxMethod.getReturnType());
+                assertEquals(name, typeArgument(method.getGenericReturnType()),
+                        typeArgument(rxMethod.getGenericReturnType()));
+                // the same endpoint with the same parameters
+                assertEquals(name, Arrays.asList(method.getAnnotations()).toString(),
+                        Arrays.asList(rxMethod.getAnnotations()).toString());
+                assertEquals(name, Arrays.deepToString(method.getParameterAnnotations()),
+                        Arrays.deepToString(rxMethod.getParameterAnnotations()));
+            }
+        }
+    }
+
+    @Test
+    public void everyRxMethodHasACallVariant() throws NoSuchMethodException {
+        for (Map.Entry<Class<?>, Class<?>> entry : SERVICES.entrySet()) {
+            for (Method rxMethod : entry.getKey().getMethods()) {
+                // streaming variants emit the elements of a list, there is no Call for them
+                if (rxMethod.isAnnotationPresent(Streaming.class)) {
+                    continue;
+                }
+                Method method = entry.getValue().getMethod(rxMethod.getName(), rxMethod.getParameterTypes());
+                assertEquals(entry.getKey().getSimpleName() + "." + rxMethod.getName(), Call.class,
+                        method.getReturnType());
+            }
+        }
+    }
+
+    @Test
+    public void servicesAreCreatedOnce() {
+        assertSame(mTrakt.rx(), mTrakt.rx());
+        assertSame(mTrakt.rx().shows(), mTrakt.rx().shows());
+        assertNotNull(mTrakt.rx().sync());
+    }
+
+    @Test
+    public void rxCallSendsTheSameRequest() throws Exception {
+        Show show = mTrakt.rx().shows().summary("game-of-thrones", Extended.FULL).toBlocking().single();
+        mTrakt.shows().summary("game-of-thrones", Extended.FULL).execute();
+
+        assertEquals("Game of Thrones", show.title);
+        assertEquals(353, (int) show.ids.trakt);
+        assertEquals(mServer.takeRequest().getPath(), mServer.takeRequest().getPath());
+    }
+
+    @Test
+    public void requestIsSentWhenSubscribed() {
+        Observable<Show> summary = mTrakt.rx().shows().summary("game-of-thrones", Extended.DEFAULT_MIN);
+
+        assertEquals(0, mServer.getRequestCount());
+        summary.toBlocking().single();
+        summary.toBlocking().single();
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    @Test
+    public void withoutSchedulerRequestsRunOnTheSubscribingThread() {
+        TestSubscriber<Show> subscriber = new TestSubscriber<>();
+
+        mTrakt.rx().shows().summary("game-of-thrones", Extended.DEFAULT_MIN).subscribe(subscriber);
+
+        // completed before subscribe returned
+        subscriber.assertCompleted();
+        assertSame(Thread.currentThread(), subscriber.getLastSeenThread());
+    }
+
+    @Test
+    public void requestsRunOnTheScheduler() {
+        mTrakt.setScheduler(Schedulers.newThread());
+        TestSubscriber<Show> subscriber = new TestSubscriber<>();
+
+        mTrakt.rx().shows().summary("game-of-thrones", Extended.DEFAULT_MIN).subscribe(subscriber);
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertValueCount(1);
+        assertNotEquals(Thread.currentThread(), subscriber.getLastSeenThread());
+    }
+
+    @Test
+    public void errorResponsesAreEmittedAsErrors() {
+        mCode = 404;
+        TestSubscriber<Show> subscriber = new TestSubscriber<>();
+
+        mTrakt.rx().shows().summary("game-of-thrones", Extended.DEFAULT_MIN).subscribe(subscriber);
+
+        subscriber.assertError(HttpException.class);
+        assertEquals(404, ((HttpException) subscriber.getOnErrorEvents().get(0)).code());
+    }
+
+    @Test
+    public void sessionRxCallsSendTheSessionToken() throws InterruptedException {
+        AccessToken token = new AccessToken();
+        token.access_token = "session";
+
+        mTrakt.newSession(token).rx().shows().summary("game-of-thrones", Extended.DEFAULT_MIN).toBlocking().single();
+
+        assertTrue(mServer.takeRequest().getHeader(Trakt.HEADER_AUTHORIZATION).endsWith("session"));
+    }
+
+    private static Type typeArgument(Type type) {
+        return ((ParameterizedType) type).getActualTypeArguments()[0];
+    }
+
+}
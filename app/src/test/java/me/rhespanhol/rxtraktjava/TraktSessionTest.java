@@ -0,0 +1,135 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.adapters.Projection;
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import me.rhespanhol.rxtraktjava.entities.Settings;
+import me.rhespanhol.rxtraktjava.entities.User;
+import me.rhespanhol.rxtraktjava.services.Users;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func1;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TraktSessionTest {
+
+    private static final int SESSIONS = 20;
+
+    private MockWebServer mServer;
+    private Trakt mTrakt;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        // answers with the user of the access token
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String authorization = request.getHeader(Trakt.HEADER_AUTHORIZATION);
+                String username = authorization == null ? null : authorization.substring("Bearer ".length());
+                return new MockResponse()
+                        .setBody("{\"user\":{\"username\":\"" + username + "\",\"name\":\"Name\"}}");
+            }
+        });
+        mServer.start();
+        mTrakt = new MockTrakt(mServer);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void sessionsSendTheirOwnToken() throws IOException {
+        mTrakt.setAccessToken(token("trakt"));
+        TraktSession first = mTrakt.newSession(token("first"));
+        TraktSession second = mTrakt.newSession(token("second"));
+
+        assertEquals("first", first.users().settings().execute().body().user.username);
+        assertEquals("second", second.users().settings().execute().body().user.username);
+        assertEquals("trakt", mTrakt.users().settings().execute().body().user.username);
+        // a clone is bound to the session as well
+        assertEquals("first", first.users().settings().clone().execute().body().user.username);
+    }
+
+    @Test
+    public void concurrentRxCallsKeepTheirSession() {
+        List<Observable<String>> usernames = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            TraktSession session = mTrakt.newSession(token("user" + i));
+            usernames.add(session.rx().users().settings()
+                    .subscribeOn(Schedulers.io())
+                    .map(new Func1<Settings, String>() {
+                        @Override
+                        public String call(Settings settings) {
+                            return settings.user.username;
+                        }
+                    }));
+        }
+
+        List<String> received = Observable.merge(usernames).toSortedList().toBlocking().single();
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            expected.add("user" + i);
+        }
+        Collections.sort(expected);
+        assertEquals(expected, received);
+    }
+
+    @Test
+    public void sessionsShareTheServicesOfTrakt() {
+        TraktSession first = mTrakt.newSession(token("first"));
+        TraktSession second = mTrakt.newSession(token("second"));
+
+        // thin handles, but the same shared service behind them
+        assertSame(first.users(), first.users());
+        assertNotSame(first.users(), second.users());
+        assertSame(mTrakt.users(), mTrakt.sharedService(Users.class));
+    }
+
+    @Test
+    public void projectedServicesSendTheSessionToken() throws IOException {
+        Projection usernameOnly = new Projection.Builder()
+                .fields(User.class, "username")
+                .build();
+        TraktSession session = mTrakt.newSession(token("first"));
+
+        User user = session.service(Users.class, usernameOnly).settings().execute().body().user;
+
+        assertEquals("first", user.username);
+        assertNull(user.name);
+        assertEquals("Name", session.users().settings().execute().body().user.name);
+    }
+
+    @Test
+    public void requestOfSessionCallIsTagged() {
+        TraktSession session = mTrakt.newSession(token("first"));
+
+        assertSame(session, TraktSession.from(session.users().settings().request()));
+        assertNull(TraktSession.from(mTrakt.users().settings().request()));
+    }
+
+    private static AccessToken token(String accessToken) {
+        AccessToken token = new AccessToken();
+        token.access_token = accessToken;
+        return token;
+    }
+
+}
@@ -0,0 +1,120 @@
+package me.rhespanhol.rxtraktjava;
+
+import com.google.gson.Gson;
+import me.rhespanhol.rxtraktjava.adapters.Projection;
+import me.rhespanhol.rxtraktjava.cache.IdIndex;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import me.rhespanhol.rxtraktjava.services.Shows;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class TraktTest {
+
+    private static final Projection IDS_ONLY = new Projection.Builder()
+            .fields(Show.class, "ids")
+            .build();
+    private static final String[] SHOW_FIELDS = { "title", "year", "ids", "overview", "runtime" };
+    private static final String SHOW = "{\"title\":\"Game of Thrones\",\"year\":2011,"
+            + "\"ids\":{\"trakt\":353,\"slug\":\"game-of-thrones\",\"tvdb\":121361,\"imdb\":\"tt0944947\"}}";
+
+    private MockWebServer mServer;
+    private Trakt mTrakt;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        mTrakt = new Trakt("client id", "client secret", "redirect uri") {
+            @Override
+            protected Retrofit.Builder getRetrofitBuilder(Gson responseGson) {
+                return super.getRetrofitBuilder(responseGson).baseUrl(mServer.url("/"));
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void serviceWithProjection() throws IOException {
+        mServer.enqueue(new MockResponse().setBody(SHOW));
+        mServer.enqueue(new MockResponse().setBody(SHOW));
+
+        Show projected = mTrakt.service(Shows.class, IDS_ONLY)
+                .summary("game-of-thrones", Extended.DEFAULT_MIN).execute().body();
+        assertEquals(Integer.valueOf(353), projected.ids.trakt);
+        assertNull(projected.title);
+        assertNull(projected.year);
+
+        Show show = mTrakt.shows().summary("game-of-thrones", Extended.DEFAULT_MIN).execute().body();
+        assertEquals(Integer.valueOf(353), show.ids.trakt);
+        assertEquals("Game of Thrones", show.title);
+
+        assertSame(mTrakt.service(Shows.class, IDS_ONLY), mTrakt.service(Shows.class, IDS_ONLY));
+    }
+
+    @Test
+    public void equalProjectionsShareServices() {
+        Projection idsOnly = new Projection.Builder()
+                .fields(Show.class, "ids")
+                .build();
+
+        assertEquals(IDS_ONLY, idsOnly);
+        assertEquals(IDS_ONLY.hashCode(), idsOnly.hashCode());
+        assertSame(mTrakt.service(Shows.class, IDS_ONLY), mTrakt.service(Shows.class, idsOnly));
+    }
+
+    @Test
+    public void projectedServicesAreBounded() {
+        Shows first = mTrakt.service(Shows.class, projection(0));
+        for (int i = 1; i <= Trakt.MAX_PROJECTIONS; i++) {
+            mTrakt.service(Shows.class, projection(i));
+        }
+
+        // the least recently used projection was dropped, the most recently used ones are kept
+        assertNotSame(first, mTrakt.service(Shows.class, projection(0)));
+        assertSame(mTrakt.service(Shows.class, projection(Trakt.MAX_PROJECTIONS)),
+                mTrakt.service(Shows.class, projection(Trakt.MAX_PROJECTIONS)));
+    }
+
+    @Test
+    public void projectedResponsesRegisterIds() throws IOException {
+        IdIndex index = new IdIndex();
+        mTrakt.setIdIndex(index);
+        mServer.enqueue(new MockResponse().setBody(SHOW));
+
+        mTrakt.service(Shows.class, IDS_ONLY).summary("game-of-thrones", Extended.DEFAULT_MIN).execute();
+
+        assertEquals(353, index.shows().traktIdForSlug("game-of-thrones"));
+        assertEquals(353, index.shows().traktIdForTvdb(121361));
+    }
+
+    /**
+     * Returns a projection of the fields of {@link Show} set in the bits of {@code i + 1}, a different one for each
+     * {@code i} below 31.
+     */
+    private static Projection projection(int i) {
+        Projection.Builder builder = new Projection.Builder();
+        for (int bit = 0; bit < SHOW_FIELDS.length; bit++) {
+            if (((i + 1) & (1 << bit)) != 0) {
+                builder.fields(Show.class, SHOW_FIELDS[bit]);
+            }
+        }
+        return builder.build();
+    }
+
+}
@@ -0,0 +1,196 @@
+package me.rhespanhol.rxtraktjava;
+
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.RxJavaCallAdapterFactory;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.Field;
+import retrofit2.http.FormUrlEncoded;
+import retrofit2.http.POST;
+import rx.Single;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Refreshes tokens of a {@link TraktTokenManager} against a local server standing in for the trakt OAuth endpoint.
+ */
+public class TraktTokenManagerTest {
+
+    private static final int THREADS = 8;
+
+    interface OAuth {
+
+        @FormUrlEncoded
+        @POST("oauth/token")
+        Single<AccessToken> refreshAccessToken(@Field("refresh_token") String refreshToken);
+
+    }
+
+    private MockWebServer mServer;
+    private TraktTokenManager mTokenManager;
+    private final List<AccessToken> mRefreshed = new ArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        final OAuth oAuth = new Retrofit.Builder()
+                .baseUrl(mServer.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(TraktHelper.getGsonBuilder().create()))
+                .addCallAdapterFactory(RxJavaCallAdapterFactory.create())
+                .build()
+                .create(OAuth.class);
+        mTokenManager = new TraktTokenManager(new TraktTokenManager.Refresher() {
+            @Override
+            public Single<AccessToken> refreshAccessToken(String refreshToken) {
+                return oAuth.refreshAccessToken(refreshToken);
+            }
+        });
+        mTokenManager.setListener(new TraktTokenManager.Listener() {
+            @Override
+            public void onAccessTokenRefreshed(AccessToken accessToken) {
+                synchronized (mRefreshed) {
+                    mRefreshed.add(accessToken);
+                }
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void expiredTokenIsRefreshedOnce() throws Exception {
+        mTokenManager.setAccessToken(token("old", "refresh", 0));
+        mServer.enqueue(tokenResponse("new", "refresh2").setBodyDelay(200, TimeUnit.MILLISECONDS));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<AccessToken>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(new Callable<AccessToken>() {
+                    @Override
+                    public AccessToken call() {
+                        return mTokenManager.getValidAccessToken();
+                    }
+                }));
+            }
+            for (Future<AccessToken> result : results) {
+                assertEquals("new", result.get(10, TimeUnit.SECONDS).access_token);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, mServer.getRequestCount());
+        assertEquals("refresh_token=refresh", mServer.takeRequest().getBody().readUtf8());
+        assertEquals(1, mRefreshed.size());
+        assertEquals("refresh2", mTokenManager.getAccessToken().refresh_token);
+    }
+
+    @Test
+    public void unauthorizedRequestIsRetriedWithRefreshedToken() throws Exception {
+        mTokenManager.setAccessToken(token("old", "refresh", null));
+        mServer.enqueue(tokenResponse("new", "refresh2"));
+
+        Request retry = TraktAuthenticator.handleAuthenticate(unauthorized("old"), mTokenManager);
+        assertNotNull(retry);
+        assertEquals("Bearer new", retry.header(Trakt.HEADER_AUTHORIZATION));
+        assertEquals(Trakt.API_URL + "sync/history", retry.url().toString());
+
+        // a request that was sent with the old token before the refresh finished does not refresh again
+        retry = TraktAuthenticator.handleAuthenticate(unauthorized("old"), mTokenManager);
+        assertNotNull(retry);
+        assertEquals("Bearer new", retry.header(Trakt.HEADER_AUTHORIZATION));
+
+        assertEquals(1, mServer.getRequestCount());
+        assertEquals(1, mRefreshed.size());
+    }
+
+    @Test
+    public void unauthorizedRetryIsNotRetriedAgain() throws Exception {
+        mTokenManager.setAccessToken(token("old", "refresh", null));
+        Response first = unauthorized("old");
+        Response second = unauthorized("new").newBuilder().priorResponse(first).build();
+
+        assertNull(TraktAuthenticator.handleAuthenticate(second, mTokenManager));
+        assertEquals(0, mServer.getRequestCount());
+    }
+
+    @Test
+    public void failedRefreshIsNotRetriedRightAway() throws Exception {
+        mTokenManager.setAccessToken(token("old", "refresh", 0));
+        mServer.enqueue(new MockResponse().setResponseCode(401));
+
+        // the refresh fails, keep sending the current token
+        assertEquals("old", mTokenManager.getValidAccessToken().access_token);
+        RecordedRequest request = mServer.takeRequest();
+        assertTrue(request.getPath().endsWith("oauth/token"));
+
+        // neither expired tokens nor rejected requests send another refresh for a while
+        assertEquals("old", mTokenManager.getValidAccessToken().access_token);
+        assertNull(TraktAuthenticator.handleAuthenticate(unauthorized("old"), mTokenManager));
+        assertEquals(1, mServer.getRequestCount());
+        assertTrue(mRefreshed.isEmpty());
+
+        // a new token resets the back off
+        mTokenManager.setAccessToken(token("other", "refresh3", 0));
+        mServer.enqueue(tokenResponse("new", "refresh4"));
+        assertEquals("new", mTokenManager.getValidAccessToken().access_token);
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    private static AccessToken token(String accessToken, String refreshToken, Integer expiresIn) {
+        AccessToken token = new AccessToken();
+        token.access_token = accessToken;
+        token.refresh_token = refreshToken;
+        token.expires_in = expiresIn;
+        return token;
+    }
+
+    private static MockResponse tokenResponse(String accessToken, String refreshToken) {
+        return new MockResponse()
+                .setHeader(Trakt.HEADER_CONTENT_TYPE, Trakt.CONTENT_TYPE_JSON)
+                .setBody("{\"access_token\":\"" + accessToken + "\",\"token_type\":\"bearer\","
+                        + "\"expires_in\":7776000,\"refresh_token\":\"" + refreshToken + "\",\"scope\":\"public\"}");
+    }
+
+    /**
+     * A 401 response of trakt to a request sent with the given access token.
+     */
+    private static Response unauthorized(String accessToken) {
+        Request request = new Request.Builder()
+                .url(Trakt.API_URL + "sync/history")
+                .header(Trakt.HEADER_AUTHORIZATION, "Bearer " + accessToken)
+                .build();
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(401)
+                .build();
+    }
+
+}
@@ -0,0 +1,85 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import me.rhespanhol.rxtraktjava.benchmark.Benchmarks;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * Compares parsing and formatting trakt timestamps with {@link DateTimeTypeAdapter} against the Joda ISO formatters
+ * it replaced.
+ */
+public class DateTimeTypeAdapterBenchmark {
+
+    private static final DateTimeFormatter JODA_PARSER = ISODateTimeFormat.dateTimeParser().withZoneUTC();
+    private static final DateTimeFormatter JODA_PRINTER = ISODateTimeFormat.dateTime().withZoneUTC();
+
+    private static final int COUNT = 10000;
+
+    private final long[] mMillis = new long[COUNT];
+    private final String[] mValues = new String[COUNT];
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < COUNT; i++) {
+            // a watched history spans years
+            mMillis[i] = now - (long) (random.nextDouble() * 10 * 365 * 86400000L);
+            mValues[i] = JODA_PRINTER.print(mMillis[i]);
+        }
+    }
+
+    @Test
+    public void parse() throws Exception {
+        Benchmarks.measure("parse: joda", COUNT, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                long sum = 0;
+                for (int i = 0; i < count; i++) {
+                    sum += JODA_PARSER.parseMillis(mValues[i]);
+                }
+                return sum;
+            }
+        });
+        Benchmarks.measure("parse: DateTimeTypeAdapter", COUNT, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                long sum = 0;
+                for (int i = 0; i < count; i++) {
+                    sum += DateTimeTypeAdapter.parseMillis(mValues[i]);
+                }
+                return sum;
+            }
+        });
+    }
+
+    @Test
+    public void format() throws Exception {
+        Benchmarks.measure("format: joda", COUNT, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                long sum = 0;
+                for (int i = 0; i < count; i++) {
+                    sum += JODA_PRINTER.print(mMillis[i]).length();
+                }
+                return sum;
+            }
+        });
+        Benchmarks.measure("format: DateTimeTypeAdapter", COUNT, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                long sum = 0;
+                for (int i = 0; i < count; i++) {
+                    sum += DateTimeTypeAdapter.format(mMillis[i]).length();
+                }
+                return sum;
+            }
+        });
+    }
+
+}
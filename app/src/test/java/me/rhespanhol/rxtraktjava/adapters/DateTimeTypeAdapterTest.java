@@ -0,0 +1,88 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.format.DateTimeFormatter;
+import org.joda.time.format.ISODateTimeFormat;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class DateTimeTypeAdapterTest {
+
+    private static final DateTimeFormatter JODA_PARSER = ISODateTimeFormat.dateTimeParser().withZoneUTC();
+    private static final DateTimeFormatter JODA_PRINTER = ISODateTimeFormat.dateTime().withZoneUTC();
+
+    /** 0000-01-01T00:00:00.000Z */
+    private static final long MIN_MILLIS = -62167219200000L;
+    /** 10000-01-01T00:00:00.000Z */
+    private static final long MAX_MILLIS = 253402300800000L;
+
+    @Test
+    public void parseAndFormatMatchJoda() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000000; i++) {
+            long millis = MIN_MILLIS + (long) (random.nextDouble() * (MAX_MILLIS - MIN_MILLIS));
+            String joda = JODA_PRINTER.print(millis);
+            assertEquals(joda, DateTimeTypeAdapter.format(millis));
+            assertEquals(joda, millis, DateTimeTypeAdapter.parseMillis(joda));
+        }
+    }
+
+    @Test
+    public void parseYearZero() {
+        assertMatchesJoda("0000-01-01T00:00:00.000Z");
+        assertMatchesJoda("0000-01-31T23:59:59.999Z");
+        assertMatchesJoda("0000-02-29T12:00:00.000Z");
+        assertMatchesJoda("0000-03-01T00:00:00.000Z");
+        assertMatchesJoda("0001-01-01T00:00:00.000Z");
+    }
+
+    @Test
+    public void parseEdgeDates() {
+        assertMatchesJoda("1970-01-01T00:00:00.000Z");
+        assertMatchesJoda("1969-12-31T23:59:59.999Z");
+        assertMatchesJoda("2000-02-29T00:00:00.000Z");
+        assertMatchesJoda("2100-02-28T23:59:59.999Z");
+        assertMatchesJoda("9999-12-31T23:59:59.999Z");
+    }
+
+    @Test
+    public void parseFractions() {
+        assertMatchesJoda("2014-09-01T09:10:11Z");
+        assertMatchesJoda("2014-09-01T09:10:11.1Z");
+        assertMatchesJoda("2014-09-01T09:10:11.12Z");
+        assertMatchesJoda("2014-09-01T09:10:11.123456789Z");
+    }
+
+    @Test
+    public void parseOtherFormatsWithJoda() {
+        assertMatchesJoda("2014-09-01");
+        assertMatchesJoda("2014-09-01T09:10:11.000+02:00");
+        // not a valid date, must not be accepted by the fast path
+        assertMatchesJoda("2015-02-28T09:10:11.000Z");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parseInvalid() {
+        DateTimeTypeAdapter.parseMillis("2015-02-29T09:10:11.000Z");
+    }
+
+    @Test
+    public void readAndWrite() throws IOException {
+        DateTimeTypeAdapter adapter = new DateTimeTypeAdapter();
+        DateTime dateTime = new DateTime(2014, 9, 1, 9, 10, 11, 12, DateTimeZone.UTC);
+        assertEquals("\"2014-09-01T09:10:11.012Z\"", adapter.toJson(dateTime));
+        assertEquals(dateTime, adapter.fromJson("\"2014-09-01T09:10:11.012Z\""));
+        assertNull(adapter.fromJson("null"));
+    }
+
+    private static void assertMatchesJoda(String value) {
+        assertEquals(value, JODA_PARSER.parseMillis(value), DateTimeTypeAdapter.parseMillis(value));
+    }
+
+}
@@ -0,0 +1,87 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+import me.rhespanhol.rxtraktjava.benchmark.Benchmarks;
+import me.rhespanhol.rxtraktjava.entities.BaseEpisode;
+import me.rhespanhol.rxtraktjava.entities.BaseSeason;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures reading a watched shows list, like {@link me.rhespanhol.rxtraktjava.services.Sync#watchedShows}, completely
+ * and with a projection skipping the seasons.
+ */
+public class ProjectionBenchmark {
+
+    private static final int SHOWS = 500;
+    private static final int SEASONS = 8;
+    private static final int EPISODES = 20;
+
+    private static final Type TYPE = new TypeToken<List<BaseShow>>() {
+    }.getType();
+
+    private final Gson mGson = TraktHelper.getGsonBuilder().create();
+    private final Projection mWithoutSeasons = new Projection.Builder()
+            .fields(BaseShow.class, "show", "plays", "last_watched_at")
+            .build();
+
+    private String mJson;
+
+    @Before
+    public void setUp() {
+        Benchmarks.assumeEnabled();
+        RandomEntities entities = new RandomEntities(42);
+        List<BaseShow> shows = new ArrayList<>(SHOWS);
+        for (int i = 0; i < SHOWS; i++) {
+            BaseShow show = new BaseShow();
+            show.show = entities.create(Show.class);
+            show.plays = SEASONS * EPISODES;
+            show.last_watched_at = new DateTime(DateTimeZone.UTC);
+            show.seasons = new ArrayList<>(SEASONS);
+            for (int s = 1; s <= SEASONS; s++) {
+                BaseSeason season = new BaseSeason();
+                season.number = s;
+                season.episodes = new ArrayList<>(EPISODES);
+                for (int e = 1; e <= EPISODES; e++) {
+                    BaseEpisode episode = new BaseEpisode();
+                    episode.number = e;
+                    episode.plays = 1;
+                    episode.last_watched_at = show.last_watched_at.minusDays(s * EPISODES + e);
+                    season.episodes.add(episode);
+                }
+                show.seasons.add(season);
+            }
+            shows.add(show);
+        }
+        mJson = mGson.toJson(shows, TYPE);
+    }
+
+    @Test
+    public void readWatchedShows() throws Exception {
+        Benchmarks.measure("read watched shows: complete", 1, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                List<BaseShow> shows = mGson.fromJson(mJson, TYPE);
+                return shows.size();
+            }
+        });
+        Benchmarks.measure("read watched shows: without seasons", 1, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                List<BaseShow> shows = mWithoutSeasons.getGson().fromJson(mJson, TYPE);
+                return shows.size();
+            }
+        });
+    }
+
+}
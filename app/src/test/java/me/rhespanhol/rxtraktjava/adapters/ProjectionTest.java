@@ -0,0 +1,63 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class ProjectionTest {
+
+    private final Gson mGson = TraktHelper.getGsonBuilder().create();
+    private final Gson mReflectiveGson = RandomEntities.reflectiveGson();
+
+    @Test
+    public void fields() {
+        Projection projection = new Projection.Builder()
+                .fields(Show.class, "ids", "title")
+                .build();
+        Show expected = new RandomEntities(42).create(Show.class);
+
+        Show show = projection.getGson().fromJson(mGson.toJson(expected), Show.class);
+
+        assertEquals(expected.title, show.title);
+        assertEquals(expected.ids.trakt, show.ids.trakt);
+        assertNull(show.year);
+        assertNull(show.images);
+    }
+
+    @Test
+    public void skippedNestedFields() {
+        Projection projection = new Projection.Builder()
+                .fields(BaseShow.class, "show", "plays")
+                .build();
+        BaseShow expected = new RandomEntities(42).create(BaseShow.class);
+
+        BaseShow show = projection.getGson().fromJson(mGson.toJson(expected), BaseShow.class);
+
+        assertNull(show.seasons);
+        assertNull(show.last_watched_at);
+        assertEquals(expected.plays, show.plays);
+        // entities without declared fields are read completely
+        assertEquals(mReflectiveGson.toJsonTree(expected.show), mReflectiveGson.toJsonTree(show.show));
+    }
+
+    @Test
+    public void unknownFields() {
+        try {
+            new Projection.Builder().fields(Show.class, "ids", "no_such_field");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            new Projection.Builder().fields(BaseShow.class, "show", "no_such_field");
+            fail();
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+}
@@ -0,0 +1,263 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import me.rhespanhol.rxtraktjava.entities.Account;
+import me.rhespanhol.rxtraktjava.entities.Airs;
+import me.rhespanhol.rxtraktjava.entities.BaseEpisode;
+import me.rhespanhol.rxtraktjava.entities.BaseMovie;
+import me.rhespanhol.rxtraktjava.entities.BaseRatedEntity;
+import me.rhespanhol.rxtraktjava.entities.BaseSeason;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.CalendarMovieEntry;
+import me.rhespanhol.rxtraktjava.entities.CalendarShowEntry;
+import me.rhespanhol.rxtraktjava.entities.CastMember;
+import me.rhespanhol.rxtraktjava.entities.CheckinError;
+import me.rhespanhol.rxtraktjava.entities.Comment;
+import me.rhespanhol.rxtraktjava.entities.Connections;
+import me.rhespanhol.rxtraktjava.entities.Credits;
+import me.rhespanhol.rxtraktjava.entities.Crew;
+import me.rhespanhol.rxtraktjava.entities.CrewMember;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.EpisodeCheckin;
+import me.rhespanhol.rxtraktjava.entities.EpisodeCheckinResponse;
+import me.rhespanhol.rxtraktjava.entities.EpisodeIds;
+import me.rhespanhol.rxtraktjava.entities.Followed;
+import me.rhespanhol.rxtraktjava.entities.Follower;
+import me.rhespanhol.rxtraktjava.entities.Friend;
+import me.rhespanhol.rxtraktjava.entities.Genre;
+import me.rhespanhol.rxtraktjava.entities.HistoryEntry;
+import me.rhespanhol.rxtraktjava.entities.ImageSizes;
+import me.rhespanhol.rxtraktjava.entities.Images;
+import me.rhespanhol.rxtraktjava.entities.LastActivities;
+import me.rhespanhol.rxtraktjava.entities.LastActivity;
+import me.rhespanhol.rxtraktjava.entities.LastActivityMore;
+import me.rhespanhol.rxtraktjava.entities.ListEntry;
+import me.rhespanhol.rxtraktjava.entities.ListIds;
+import me.rhespanhol.rxtraktjava.entities.MoreImageSizes;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.MovieCheckin;
+import me.rhespanhol.rxtraktjava.entities.MovieCheckinResponse;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.MovieTranslation;
+import me.rhespanhol.rxtraktjava.entities.Person;
+import me.rhespanhol.rxtraktjava.entities.PersonIds;
+import me.rhespanhol.rxtraktjava.entities.RatedEpisode;
+import me.rhespanhol.rxtraktjava.entities.RatedMovie;
+import me.rhespanhol.rxtraktjava.entities.RatedSeason;
+import me.rhespanhol.rxtraktjava.entities.RatedShow;
+import me.rhespanhol.rxtraktjava.entities.Ratings;
+import me.rhespanhol.rxtraktjava.entities.SearchResult;
+import me.rhespanhol.rxtraktjava.entities.Season;
+import me.rhespanhol.rxtraktjava.entities.SeasonIds;
+import me.rhespanhol.rxtraktjava.entities.Settings;
+import me.rhespanhol.rxtraktjava.entities.ShareSettings;
+import me.rhespanhol.rxtraktjava.entities.SharingText;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncErrors;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+import me.rhespanhol.rxtraktjava.entities.SyncStats;
+import me.rhespanhol.rxtraktjava.entities.TraktList;
+import me.rhespanhol.rxtraktjava.entities.Translation;
+import me.rhespanhol.rxtraktjava.entities.TrendingMovie;
+import me.rhespanhol.rxtraktjava.entities.TrendingShow;
+import me.rhespanhol.rxtraktjava.entities.User;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedEpisode;
+import me.rhespanhol.rxtraktjava.entities.WatchlistedSeason;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Builds entities with all fields set to random values, and a Gson instance that binds entities by reflection like
+ * before {@link TraktTypeAdapterFactory} existed, to compare the generated adapters with.
+ */
+final class RandomEntities {
+
+    /** All entities {@link TraktTypeAdapterFactory} has an adapter for. */
+    static final Class<?>[] ENTITIES = {
+            AccessToken.class,
+            Account.class,
+            Airs.class,
+            BaseEpisode.class,
+            BaseMovie.class,
+            BaseRatedEntity.class,
+            BaseSeason.class,
+            BaseShow.class,
+            CalendarMovieEntry.class,
+            CalendarShowEntry.class,
+            CastMember.class,
+            CheckinError.class,
+            Comment.class,
+            Connections.class,
+            Credits.class,
+            Crew.class,
+            CrewMember.class,
+            Episode.class,
+            EpisodeCheckin.class,
+            EpisodeCheckinResponse.class,
+            EpisodeIds.class,
+            Followed.class,
+            Follower.class,
+            Friend.class,
+            Genre.class,
+            HistoryEntry.class,
+            ImageSizes.class,
+            Images.class,
+            LastActivities.class,
+            LastActivity.class,
+            LastActivityMore.class,
+            ListEntry.class,
+            ListIds.class,
+            MoreImageSizes.class,
+            Movie.class,
+            MovieCheckin.class,
+            MovieCheckinResponse.class,
+            MovieIds.class,
+            MovieTranslation.class,
+            Person.class,
+            PersonIds.class,
+            RatedEpisode.class,
+            RatedMovie.class,
+            RatedSeason.class,
+            RatedShow.class,
+            Ratings.class,
+            SearchResult.class,
+            Season.class,
+            SeasonIds.class,
+            Settings.class,
+            ShareSettings.class,
+            SharingText.class,
+            Show.class,
+            ShowIds.class,
+            SyncEpisode.class,
+            SyncErrors.class,
+            SyncItems.class,
+            SyncMovie.class,
+            SyncResponse.class,
+            SyncSeason.class,
+            SyncShow.class,
+            SyncStats.class,
+            TraktList.class,
+            Translation.class,
+            TrendingMovie.class,
+            TrendingShow.class,
+            User.class,
+            WatchlistedEpisode.class,
+            WatchlistedSeason.class
+    };
+
+    private static final int MAX_DEPTH = 4;
+    private static final int LIST_SIZE = 2;
+
+    private final Random mRandom;
+
+    RandomEntities(long seed) {
+        this.mRandom = new Random(seed);
+    }
+
+    /**
+     * Returns a Gson instance that reads and writes entities by reflection. Enums and dates use the same adapters as
+     * {@link me.rhespanhol.rxtraktjava.TraktHelper#getGsonBuilder()}, they are not what is compared.
+     */
+    static Gson reflectiveGson() {
+        final TraktTypeAdapterFactory factory = new TraktTypeAdapterFactory();
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new TypeAdapterFactory() {
+                    @Override
+                    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+                        return type.getRawType().isEnum() ? factory.create(gson, type) : null;
+                    }
+                })
+                .registerTypeAdapter(DateTime.class, new DateTimeTypeAdapter())
+                .create();
+    }
+
+    <T> T create(Class<T> type) {
+        return type.cast(value(type, 0));
+    }
+
+    private Object value(Type type, int depth) {
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type[] arguments = parameterized.getActualTypeArguments();
+            if (parameterized.getRawType() == List.class) {
+                List<Object> list = new ArrayList<>();
+                for (int i = 0; i < LIST_SIZE; i++) {
+                    list.add(value(arguments[0], depth + 1));
+                }
+                return list;
+            }
+            if (parameterized.getRawType() == Map.class) {
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < LIST_SIZE; i++) {
+                    map.put("key" + i, value(arguments[1], depth + 1));
+                }
+                return map;
+            }
+            throw new IllegalArgumentException("unsupported type " + type);
+        }
+        Class<?> raw = (Class<?>) type;
+        if (raw == String.class) {
+            return "value " + mRandom.nextInt(1000);
+        }
+        if (raw == Integer.class || raw == int.class) {
+            return mRandom.nextInt(100000);
+        }
+        if (raw == Long.class || raw == long.class) {
+            return (long) mRandom.nextInt(Integer.MAX_VALUE);
+        }
+        if (raw == Double.class || raw == double.class) {
+            return mRandom.nextInt(1000) / 100d;
+        }
+        if (raw == Boolean.class || raw == boolean.class) {
+            return mRandom.nextBoolean();
+        }
+        if (raw == DateTime.class) {
+            return new DateTime(1400000000000L + mRandom.nextInt(Integer.MAX_VALUE) * 100L, DateTimeZone.UTC);
+        }
+        if (raw.isEnum()) {
+            Object[] constants = raw.getEnumConstants();
+            return constants[mRandom.nextInt(constants.length)];
+        }
+        if (depth > MAX_DEPTH) {
+            return null;
+        }
+        try {
+            Object entity = raw.newInstance();
+            for (Class<?> c = raw; c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    field.set(entity, value(field.getGenericType(), depth + 1));
+                }
+            }
+            return entity;
+        } catch (InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException(raw.getName(), e);
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import org.junit.Test;
+import retrofit2.Converter;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamingRequestBodyConverterFactoryTest {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+    @Test
+    public void writesJson() throws IOException {
+        Gson gson = TraktHelper.getGsonBuilder().create();
+        SyncItems items = new RandomEntities(42).create(SyncItems.class);
+
+        Buffer buffer = new Buffer();
+        convert(gson, items).writeTo(buffer);
+
+        assertEquals(gson.toJson(items), buffer.readUtf8());
+    }
+
+    @Test
+    public void failsWithIOException() throws IOException {
+        Gson gson = TraktHelper.getGsonBuilder()
+                .registerTypeAdapter(SyncItems.class, new TypeAdapter<SyncItems>() {
+                    @Override
+                    public void write(JsonWriter out, SyncItems value) {
+                        throw new IllegalStateException("changed while writing");
+                    }
+
+                    @Override
+                    public SyncItems read(JsonReader in) {
+                        throw new UnsupportedOperationException();
+                    }
+                })
+                .create();
+
+        try {
+            convert(gson, new SyncItems()).writeTo(new Buffer());
+            fail();
+        } catch (IOException expected) {
+            assertTrue(expected.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RequestBody convert(Gson gson, SyncItems items) throws IOException {
+        Converter<SyncItems, RequestBody> converter = (Converter<SyncItems, RequestBody>)
+                new StreamingRequestBodyConverterFactory(gson)
+                        .requestBodyConverter(SyncItems.class, NO_ANNOTATIONS, NO_ANNOTATIONS, null);
+        return converter.convert(items);
+    }
+
+}
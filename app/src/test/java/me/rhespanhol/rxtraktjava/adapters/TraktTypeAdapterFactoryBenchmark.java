@@ -0,0 +1,127 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+import me.rhespanhol.rxtraktjava.benchmark.Benchmarks;
+import me.rhespanhol.rxtraktjava.entities.HistoryEntry;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Compares reading and writing large lists with the adapters of {@link TraktTypeAdapterFactory} against Gson's
+ * reflective binding, using the {@link Benchmarks} harness, not JMH. The lists repeat the entries of fixtures shaped
+ * like real trakt responses: {@code sync/history} and {@code shows/popular?extended=full}.
+ * <p>
+ * <p>Each is measured twice: with one Gson instance reused, the steady state of an app, and with a new Gson instance
+ * per operation, as its adapters are created on first use.
+ */
+public class TraktTypeAdapterFactoryBenchmark {
+
+    private static final int ENTRIES = 2000;
+
+    private final Gson mReflectiveGson = RandomEntities.reflectiveGson();
+    private final Gson mGson = TraktHelper.getGsonBuilder().create();
+
+    private String mHistory;
+    private String mShows;
+
+    @Before
+    public void setUp() throws IOException {
+        Benchmarks.assumeEnabled();
+        mHistory = fixture("sync_history.json", ENTRIES);
+        mShows = fixture("shows_popular_full.json", ENTRIES);
+    }
+
+    @Test
+    public void readHistory() throws Exception {
+        measureRead("history", mHistory, new TypeToken<List<HistoryEntry>>() {
+        }.getType());
+    }
+
+    @Test
+    public void readShows() throws Exception {
+        measureRead("shows", mShows, new TypeToken<List<Show>>() {
+        }.getType());
+    }
+
+    @Test
+    public void writeShows() throws Exception {
+        final Type type = new TypeToken<List<Show>>() {
+        }.getType();
+        final List<Show> shows = mGson.fromJson(mShows, type);
+        Benchmarks.measure("write shows: reflection", 1, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                return mReflectiveGson.toJson(shows, type).length();
+            }
+        });
+        Benchmarks.measure("write shows: TraktTypeAdapterFactory", 1, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                return mGson.toJson(shows, type).length();
+            }
+        });
+    }
+
+    private void measureRead(String name, final String json, final Type type) throws Exception {
+        Benchmarks.measure("read " + name + ": reflection", 1, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                List<?> list = mReflectiveGson.fromJson(json, type);
+                return list.size();
+            }
+        });
+        Benchmarks.measure("read " + name + ": TraktTypeAdapterFactory", 1, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                List<?> list = mGson.fromJson(json, type);
+                return list.size();
+            }
+        });
+        Benchmarks.measure("read " + name + ", new Gson: reflection", 1, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                List<?> list = RandomEntities.reflectiveGson().fromJson(json, type);
+                return list.size();
+            }
+        });
+        Benchmarks.measure("read " + name + ", new Gson: TraktTypeAdapterFactory", 1, new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                List<?> list = TraktHelper.getGsonBuilder().create().fromJson(json, type);
+                return list.size();
+            }
+        });
+    }
+
+    /**
+     * Returns a JSON array of {@code size} entries, repeating the entries of the fixture.
+     */
+    private static String fixture(String name, int size) throws IOException {
+        InputStream in = TraktTypeAdapterFactoryBenchmark.class.getResourceAsStream("/fixtures/" + name);
+        Reader reader = new InputStreamReader(in, "UTF-8");
+        JsonArray entries;
+        try {
+            entries = new JsonParser().parse(reader).getAsJsonArray();
+        } finally {
+            reader.close();
+        }
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < size; i++) {
+            array.add(entries.get(i % entries.size()));
+        }
+        return array.toString();
+    }
+
+}
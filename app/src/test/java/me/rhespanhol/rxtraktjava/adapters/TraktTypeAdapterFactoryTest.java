@@ -0,0 +1,152 @@
+package me.rhespanhol.rxtraktjava.adapters;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.annotations.SerializedName;
+import com.google.gson.reflect.TypeToken;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+import me.rhespanhol.rxtraktjava.entities.AccessToken;
+import me.rhespanhol.rxtraktjava.entities.Username;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Checks that the adapters of {@link TraktTypeAdapterFactory} read and write every entity exactly like Gson's
+ * reflective binding.
+ */
+public class TraktTypeAdapterFactoryTest {
+
+    private static final int SAMPLES = 20;
+
+    private final Gson mGson = TraktHelper.getGsonBuilder().create();
+    private final Gson mReflectiveGson = RandomEntities.reflectiveGson();
+
+    @Test
+    public void writeMatchesReflection() {
+        RandomEntities entities = new RandomEntities(42);
+        for (Class<?> type : RandomEntities.ENTITIES) {
+            for (int i = 0; i < SAMPLES; i++) {
+                Object entity = entities.create(type);
+                assertEquals(type.getSimpleName(), mReflectiveGson.toJsonTree(entity), mGson.toJsonTree(entity));
+            }
+        }
+    }
+
+    @Test
+    public void readMatchesReflection() {
+        RandomEntities entities = new RandomEntities(43);
+        for (Class<?> type : RandomEntities.ENTITIES) {
+            for (int i = 0; i < SAMPLES; i++) {
+                JsonElement json = mReflectiveGson.toJsonTree(entities.create(type));
+                Object generated = mGson.fromJson(json, type);
+                Object reflective = mReflectiveGson.fromJson(json, type);
+                assertEquals(type.getSimpleName(), json, mReflectiveGson.toJsonTree(generated));
+                assertEquals(type.getSimpleName(), mReflectiveGson.toJsonTree(reflective),
+                        mReflectiveGson.toJsonTree(generated));
+            }
+        }
+    }
+
+    @Test
+    public void everyEntityHasAnAdapter() throws URISyntaxException {
+        // a path parameter, never serialized
+        Set<Class<?>> ignored = new HashSet<Class<?>>(Arrays.asList(Username.class));
+        Set<Class<?>> covered = new HashSet<>(Arrays.asList(RandomEntities.ENTITIES));
+        TraktTypeAdapterFactory factory = new TraktTypeAdapterFactory();
+        String entities = AccessToken.class.getPackage().getName();
+        URL directory = AccessToken.class.getClassLoader().getResource(entities.replace('.', '/'));
+        for (String file : new File(directory.toURI()).list()) {
+            if (!file.endsWith(".class") || file.contains("$")) {
+                continue;
+            }
+            Class<?> type;
+            try {
+                type = Class.forName(entities + "." + file.substring(0, file.length() - ".class".length()));
+            } catch (ClassNotFoundException e) {
+                throw new AssertionError(e);
+            }
+            if (Modifier.isAbstract(type.getModifiers()) || ignored.contains(type)) {
+                continue;
+            }
+            assertNotNull(type.getSimpleName(), factory.create(mGson, TypeToken.get(type)));
+            assertEquals(type.getSimpleName() + " is not compared", true, covered.contains(type));
+        }
+    }
+
+    @Test
+    public void everyFieldIsReadAndWritten() {
+        RandomEntities entities = new RandomEntities(45);
+        for (Class<?> type : RandomEntities.ENTITIES) {
+            Object entity = entities.create(type);
+            JsonObject json = mGson.toJsonTree(entity).getAsJsonObject();
+            Set<String> written = new TreeSet<>();
+            for (Map.Entry<String, JsonElement> field : json.entrySet()) {
+                written.add(field.getKey());
+            }
+            assertEquals(type.getSimpleName(), jsonNames(type), written);
+
+            // each field on its own, so one the adapter skips can not hide behind another
+            for (String name : written) {
+                JsonObject single = new JsonObject();
+                single.add(name, json.get(name));
+                assertEquals(type.getSimpleName() + "." + name,
+                        mReflectiveGson.toJsonTree(mReflectiveGson.fromJson(single, type)),
+                        mReflectiveGson.toJsonTree(mGson.fromJson(single, type)));
+            }
+        }
+    }
+
+    @Test
+    public void readIgnoresUnknownFields() {
+        RandomEntities entities = new RandomEntities(44);
+        for (Class<?> type : RandomEntities.ENTITIES) {
+            Object entity = entities.create(type);
+            JsonElement expected = mReflectiveGson.toJsonTree(entity);
+            JsonElement json = mReflectiveGson.toJsonTree(entity);
+            json.getAsJsonObject().addProperty("unknown_field", "value");
+            json.getAsJsonObject().add("unknown_object", mReflectiveGson.toJsonTree(entity));
+            assertEquals(type.getSimpleName(), expected, mReflectiveGson.toJsonTree(mGson.fromJson(json, type)));
+        }
+    }
+
+    @Test
+    public void writeAndReadNull() {
+        for (Class<?> type : RandomEntities.ENTITIES) {
+            assertEquals(type.getSimpleName(), "null", mGson.toJson(null, type));
+            assertEquals(type.getSimpleName(), null, mGson.fromJson("null", type));
+        }
+    }
+
+    /**
+     * Returns the names reflective binding reads and writes the fields of the entity with.
+     */
+    private static Set<String> jsonNames(Class<?> type) {
+        Set<String> names = new TreeSet<>();
+        for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                    continue;
+                }
+                SerializedName serializedName = field.getAnnotation(SerializedName.class);
+                names.add(serializedName == null ? field.getName() : serializedName.value());
+            }
+        }
+        return names;
+    }
+
+}
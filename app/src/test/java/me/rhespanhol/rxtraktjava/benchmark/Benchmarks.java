@@ -0,0 +1,84 @@
+package me.rhespanhol.rxtraktjava.benchmark;
+
+import org.junit.Assume;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal harness for the micro benchmarks next to the unit tests. Benchmarks are skipped unless the {@code benchmark}
+ * system property is {@code true}, run them with {@code ./gradlew test -Dbenchmark=true}.
+ * <p>
+ * <p>Each measurement warms up first and then reports the average time per operation of the fastest of several runs.
+ * Results are summed into {@link #sink(long)} so the JIT can not drop the measured work.
+ */
+public final class Benchmarks {
+
+    private static final int RUNS = 5;
+    private static final long WARMUP_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    private static volatile long sSink;
+
+    /**
+     * A piece of work to measure.
+     */
+    public interface Operation {
+
+        /**
+         * Runs the work {@code count} times.
+         *
+         * @return Any value derived from the results, it is passed to {@link #sink(long)}.
+         */
+        long run(int count) throws Exception;
+
+    }
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Skips the calling test unless benchmarks were enabled.
+     */
+    public static void assumeEnabled() {
+        Assume.assumeTrue("benchmarks are disabled, run with -Dbenchmark=true", Boolean.getBoolean("benchmark"));
+    }
+
+    /**
+     * Measures the operation and prints the result.
+     *
+     * @return The average nanoseconds per operation of the fastest run.
+     */
+    public static double measure(String name, int count, Operation operation) throws Exception {
+        long warmupEnd = System.nanoTime() + WARMUP_NANOS;
+        while (System.nanoTime() < warmupEnd) {
+            sink(operation.run(count));
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            sink(operation.run(count));
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double nanosPerOp = (double) best / count;
+        System.out.println(String.format(Locale.US, "%-50s %,14.1f ns/op", name, nanosPerOp));
+        return nanosPerOp;
+    }
+
+    /**
+     * Measures the wall clock time of a single run of the operation, e.g. one that is bound by I/O, and prints it.
+     *
+     * @return The wall clock time in milliseconds.
+     */
+    public static long measureOnce(String name, Operation operation) throws Exception {
+        long start = System.nanoTime();
+        sink(operation.run(1));
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        System.out.println(String.format(Locale.US, "%-50s %,14d ms", name, millis));
+        return millis;
+    }
+
+    public static void sink(long value) {
+        sSink += value;
+    }
+
+}
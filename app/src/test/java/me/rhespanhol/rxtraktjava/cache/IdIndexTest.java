@@ -0,0 +1,56 @@
+package me.rhespanhol.rxtraktjava.cache;
+
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.PersonIds;
+import me.rhespanhol.rxtraktjava.enums.IdType;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+public class IdIndexTest {
+
+    @Test
+    public void imdbPrefixes() {
+        IdIndex index = new IdIndex();
+        MovieIds movie = new MovieIds();
+        movie.trakt = 1;
+        movie.imdb = "tt0000123";
+        index.register(movie);
+        PersonIds person = new PersonIds();
+        person.trakt = 2;
+        person.imdb = "nm0000123";
+        index.register(person);
+
+        assertEquals(1, index.movies().traktIdFor(IdType.IMDB, "tt0000123"));
+        assertEquals(IdIndex.NOT_FOUND, index.movies().traktIdFor(IdType.IMDB, "nm0000123"));
+        assertEquals(2, index.people().traktIdFor(IdType.IMDB, "nm0000123"));
+        assertEquals(IdIndex.NOT_FOUND, index.people().traktIdFor(IdType.IMDB, "tt0000123"));
+        assertEquals(IdIndex.NOT_FOUND, index.shows().resolve("nm0000123"));
+    }
+
+    @Test
+    public void writeAndRead() throws IOException {
+        IdIndex index = new IdIndex();
+        MovieIds movie = new MovieIds();
+        movie.trakt = 1;
+        movie.slug = "movie";
+        movie.imdb = "tt0000123";
+        movie.tmdb = 456;
+        index.register(movie);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.writeTo(out);
+
+        IdIndex read = new IdIndex();
+        read.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(1, read.movies().resolve("movie"));
+        assertEquals(1, read.movies().resolve("tt0000123"));
+        assertEquals(1, read.movies().traktIdForTmdb(456));
+        assertEquals(IdIndex.NOT_FOUND, read.shows().traktIdForTmdb(456));
+    }
+
+}
@@ -0,0 +1,191 @@
+package me.rhespanhol.rxtraktjava.cache;
+
+import me.rhespanhol.rxtraktjava.MockTrakt;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.enums.IdType;
+import me.rhespanhol.rxtraktjava.enums.Type;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class IdResolverTest {
+
+    private static final String MOVIE = "{\"type\":\"movie\",\"movie\":{\"title\":\"Movie\",\"ids\":{\"trakt\":%d,"
+            + "\"tmdb\":%s}}}";
+    private static final String SHOW = "{\"type\":\"show\",\"show\":{\"title\":\"Show\",\"ids\":{\"trakt\":%d,"
+            + "\"tmdb\":%s}}}";
+
+    private MockWebServer mServer;
+    private IdIndex mIndex;
+    private IdResolver mResolver;
+    /** The lookups currently answered, and the most at the same time. */
+    private final AtomicInteger mActive = new AtomicInteger();
+    private final AtomicInteger mMaxActive = new AtomicInteger();
+    /** Answers by the id looked up, anything else is not found. */
+    private final Map<String, MockResponse> mResponses = Collections.synchronizedMap(
+            new HashMap<String, MockResponse>());
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                int active = mActive.incrementAndGet();
+                try {
+                    synchronized (mMaxActive) {
+                        mMaxActive.set(Math.max(mMaxActive.get(), active));
+                    }
+                    Thread.sleep(50);
+                    String id = HttpUrl.parse("http://localhost" + request.getPath()).queryParameter("id");
+                    MockResponse response = mResponses.get(id);
+                    return response != null ? response : new MockResponse().setBody("[]");
+                } finally {
+                    mActive.decrementAndGet();
+                }
+            }
+        });
+        mServer.start();
+        MockTrakt trakt = new MockTrakt(mServer);
+        trakt.setScheduler(Schedulers.io());
+        mIndex = new IdIndex();
+        mResolver = new IdResolver(trakt.rx(), mIndex);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void duplicatesAreLookedUpOnce() {
+        respond("tt0000001", movie(1, 11));
+
+        List<IdResolver.Resolution> resolutions = resolve(
+                new IdResolver.ExternalId(IdType.IMDB, "tt0000001"),
+                new IdResolver.ExternalId(IdType.IMDB, "tt0000001"),
+                new IdResolver.ExternalId(IdType.IMDB, "tt0000002"));
+
+        assertEquals(2, mServer.getRequestCount());
+        assertEquals(2, resolutions.size());
+    }
+
+    @Test
+    public void indexedIdsAreAnsweredLocally() {
+        MovieIds ids = MovieIds.trakt(1);
+        ids.imdb = "tt0000001";
+        mIndex.register(ids);
+
+        List<IdResolver.Resolution> resolutions = resolve(new IdResolver.ExternalId(IdType.IMDB, "tt0000001"));
+
+        assertEquals(0, mServer.getRequestCount());
+        assertEquals(1, resolutions.size());
+        assertEquals(Type.MOVIE, resolutions.get(0).type);
+        assertEquals(1, resolutions.get(0).traktId);
+    }
+
+    @Test
+    public void lookupsAreAddedToTheIndex() {
+        respond("11", movie(1, 11));
+        IdResolver.ExternalId id = new IdResolver.ExternalId(IdType.TMDB, "11", Type.MOVIE);
+
+        resolve(id);
+        List<IdResolver.Resolution> resolutions = resolve(id);
+
+        assertEquals(1, mServer.getRequestCount());
+        assertEquals(1, resolutions.get(0).traktId);
+    }
+
+    @Test
+    public void concurrencyIsBounded() {
+        mResolver.setMaxConcurrency(2);
+        List<IdResolver.ExternalId> ids = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            ids.add(new IdResolver.ExternalId(IdType.IMDB, "tt000000" + i));
+        }
+
+        List<IdResolver.Resolution> resolutions = mResolver.resolve(ids).toList().toBlocking().single();
+
+        assertEquals(8, resolutions.size());
+        assertEquals(8, mServer.getRequestCount());
+        assertEquals(2, mMaxActive.get());
+    }
+
+    @Test
+    public void resultsOfOtherTypesAreFilteredOut() {
+        // tmdb ids of movies and shows overlap
+        respond("11", movie(1, 11) + "," + show(2, 11));
+
+        List<IdResolver.Resolution> resolutions = resolve(new IdResolver.ExternalId(IdType.TMDB, "11", Type.SHOW));
+
+        assertEquals(1, resolutions.size());
+        assertEquals(Type.SHOW, resolutions.get(0).type);
+        assertEquals(2, resolutions.get(0).traktId);
+        // both are indexed anyway
+        assertEquals(1, mIndex.movies().traktIdForTmdb(11));
+        assertEquals(2, mIndex.shows().traktIdForTmdb(11));
+    }
+
+    @Test
+    public void failedLookupDoesNotStopTheOthers() {
+        respond("tt0000001", movie(1, 11));
+        mResponses.put("tt0000002", new MockResponse().setResponseCode(400));
+
+        List<IdResolver.Resolution> resolutions = resolve(
+                new IdResolver.ExternalId(IdType.IMDB, "tt0000001"),
+                new IdResolver.ExternalId(IdType.IMDB, "tt0000002"),
+                new IdResolver.ExternalId(IdType.IMDB, "tt0000003"));
+
+        assertEquals(3, resolutions.size());
+        for (IdResolver.Resolution resolution : resolutions) {
+            String id = resolution.externalId.id;
+            assertEquals(id, id.equals("tt0000001"), resolution.isFound());
+            assertEquals(id, id.equals("tt0000002"), resolution.isFailed());
+        }
+    }
+
+    @Test
+    public void notFoundIsNotFailed() {
+        IdResolver.Resolution resolution = resolve(new IdResolver.ExternalId(IdType.IMDB, "tt0000001")).get(0);
+
+        assertFalse(resolution.isFound());
+        assertFalse(resolution.isFailed());
+        assertNull(resolution.error);
+    }
+
+    private List<IdResolver.Resolution> resolve(IdResolver.ExternalId... ids) {
+        return mResolver.resolve(Arrays.asList(ids)).toList().toBlocking().single();
+    }
+
+    private void respond(String id, String results) {
+        mResponses.put(id, new MockResponse().setBody("[" + results + "]"));
+    }
+
+    private static String movie(int traktId, int tmdbId) {
+        return String.format(MOVIE, traktId, tmdbId);
+    }
+
+    private static String show(int traktId, int tmdbId) {
+        return String.format(SHOW, traktId, tmdbId);
+    }
+
+}
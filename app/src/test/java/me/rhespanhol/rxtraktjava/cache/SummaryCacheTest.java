@@ -0,0 +1,157 @@
+package me.rhespanhol.rxtraktjava.cache;
+
+import me.rhespanhol.rxtraktjava.MockTrakt;
+import me.rhespanhol.rxtraktjava.entities.Episode;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.enums.Extended;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class SummaryCacheTest {
+
+    private static final String SHOW = "{\"title\":\"Game of Thrones\",\"ids\":{\"trakt\":353,"
+            + "\"slug\":\"game-of-thrones\"}}";
+    private static final String EPISODE = "{\"season\":1,\"number\":1,\"title\":\"Winter Is Coming\","
+            + "\"ids\":{\"trakt\":73640}}";
+
+    private MockWebServer mServer;
+    private SummaryCache mCache;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody(request.getPath().contains("/episodes/") ? EPISODE : SHOW);
+            }
+        });
+        mServer.start();
+        mCache = new SummaryCache(new MockTrakt(mServer).rx());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void fullEntryAnswersMinimalRequests() {
+        Show full = show("353", Extended.FULL);
+
+        assertSame(full, show("353", Extended.DEFAULT_MIN));
+        assertSame(full, show("353", null));
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void minimalEntryDoesNotAnswerFullRequests() {
+        show("353", Extended.DEFAULT_MIN);
+        show("353", Extended.FULL);
+
+        assertEquals(2, mServer.getRequestCount());
+        // the full one replaced the minimal one
+        show("353", Extended.DEFAULT_MIN);
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    @Test
+    public void fullAndImagesDoNotAnswerEachOther() {
+        show("353", Extended.FULL);
+        show("353", Extended.IMAGES);
+        assertEquals(2, mServer.getRequestCount());
+
+        show("353", Extended.FULLIMAGES);
+        show("353", Extended.FULL);
+        show("353", Extended.IMAGES);
+        assertEquals(3, mServer.getRequestCount());
+    }
+
+    @Test
+    public void lowerLevelDoesNotReplaceHigherLevel() {
+        EntityCache<String> cache = new EntityCache<>(10, 1, TimeUnit.HOURS);
+        cache.put(1, Extended.FULLIMAGES, "full images");
+        cache.put(1, Extended.DEFAULT_MIN, "min");
+
+        assertEquals("full images", cache.get(1, Extended.FULLIMAGES));
+        // the same level does replace it
+        cache.put(1, Extended.FULLIMAGES, "refreshed");
+        assertEquals("refreshed", cache.get(1, Extended.FULL));
+    }
+
+    @Test
+    public void slugAndRequestedIdAreAliases() {
+        Show show = show("game-of-thrones", Extended.FULL);
+
+        assertSame(show, show("353", Extended.FULL));
+        assertSame(show, show("game-of-thrones", Extended.DEFAULT_MIN));
+        assertEquals(1, mServer.getRequestCount());
+        assertSame(show, mCache.shows().get("game-of-thrones", Extended.FULL));
+    }
+
+    @Test
+    public void episodesAreCachedByCoordinates() {
+        Episode episode = episode("game-of-thrones", 1, 1);
+
+        assertSame(episode, episode("game-of-thrones", 1, 1));
+        assertEquals(1, mServer.getRequestCount());
+        episode("game-of-thrones", 1, 2);
+        assertEquals(2, mServer.getRequestCount());
+        assertNotNull(mCache.episodes().get(73640, Extended.DEFAULT_MIN));
+    }
+
+    @Test
+    public void leastRecentlyUsedEntryIsEvicted() {
+        EntityCache<String> cache = new EntityCache<>(2, 1, TimeUnit.HOURS);
+        cache.put(1, Extended.DEFAULT_MIN, "one");
+        cache.put(2, Extended.DEFAULT_MIN, "two");
+        cache.get(1, Extended.DEFAULT_MIN);
+
+        cache.put(3, Extended.DEFAULT_MIN, "three");
+
+        assertEquals("one", cache.get(1, Extended.DEFAULT_MIN));
+        assertNull(cache.get(2, Extended.DEFAULT_MIN));
+        assertEquals("three", cache.get(3, Extended.DEFAULT_MIN));
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.evictionCount);
+        assertEquals(2, stats.size);
+        assertEquals(3, stats.hitCount);
+        assertEquals(1, stats.missCount);
+    }
+
+    @Test
+    public void expiredEntryIsFetchedAgain() throws InterruptedException {
+        mCache = new SummaryCache(new MockTrakt(mServer).rx(), 10, 10, TimeUnit.MILLISECONDS);
+        show("353", Extended.FULL);
+        Thread.sleep(50);
+
+        show("353", Extended.FULL);
+
+        assertEquals(2, mServer.getRequestCount());
+        CacheStats stats = mCache.shows().stats();
+        assertEquals(1, stats.evictionCount);
+        assertEquals(0, stats.hitCount);
+    }
+
+    private Show show(String showId, Extended extended) {
+        return mCache.show(showId, extended).toBlocking().single();
+    }
+
+    private Episode episode(String showId, int season, int episode) {
+        return mCache.episode(showId, season, episode, Extended.DEFAULT_MIN).toBlocking().single();
+    }
+
+}
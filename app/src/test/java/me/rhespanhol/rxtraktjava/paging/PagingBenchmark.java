@@ -0,0 +1,124 @@
+package me.rhespanhol.rxtraktjava.paging;
+
+import me.rhespanhol.rxtraktjava.Trakt;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+import me.rhespanhol.rxtraktjava.benchmark.Benchmarks;
+import me.rhespanhol.rxtraktjava.entities.Genre;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Measures how long {@link Paging#all(PageSource, int, int)} takes to read a list of {@link #PAGES} pages with
+ * different concurrency from a local server that answers each page after {@link #LATENCY_MILLIS}, like a trakt
+ * server far away would.
+ */
+public class PagingBenchmark {
+
+    private static final int PAGES = 20;
+    private static final int LIMIT = 100;
+    private static final int LATENCY_MILLIS = 100;
+
+    interface Items {
+
+        @GET("items")
+        Call<List<Genre>> items(@Query("page") int page, @Query("limit") int limit);
+
+    }
+
+    private MockWebServer mServer;
+    private PageSource<Genre> mSource;
+
+    @Before
+    public void setUp() throws IOException {
+        Benchmarks.assumeEnabled();
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new okhttp3.mockwebserver.Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                HttpUrl url = mServer.url(request.getPath());
+                int page = Integer.parseInt(url.queryParameter("page"));
+                StringBuilder body = new StringBuilder("[");
+                for (int i = 0; i < LIMIT; i++) {
+                    int item = (page - 1) * LIMIT + i;
+                    body.append(i == 0 ? "" : ",").append("{\"name\":\"").append(item).append("\"}");
+                }
+                body.append(']');
+                return new MockResponse()
+                        .setHeader(Trakt.HEADER_PAGINATION_PAGE, page)
+                        .setHeader(Trakt.HEADER_PAGINATION_LIMIT, LIMIT)
+                        .setHeader(Trakt.HEADER_PAGINATION_PAGE_COUNT, PAGES)
+                        .setHeader(Trakt.HEADER_PAGINATION_ITEM_COUNT, PAGES * LIMIT)
+                        .setBody(body.toString())
+                        .setBodyDelay(LATENCY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        });
+        mServer.start();
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(16);
+        final Items items = new Retrofit.Builder()
+                .baseUrl(mServer.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(TraktHelper.getGsonBuilder().create()))
+                .client(new OkHttpClient.Builder().dispatcher(dispatcher).build())
+                .build()
+                .create(Items.class);
+        mSource = new PageSource<Genre>() {
+            @Override
+            public Call<List<Genre>> page(int page, int limit) {
+                return items.items(page, limit);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (mServer != null) {
+            mServer.shutdown();
+        }
+    }
+
+    @Test
+    public void all() throws Exception {
+        Benchmarks.measureOnce("stream", new Benchmarks.Operation() {
+            @Override
+            public long run(int count) {
+                return checkOrder(Paging.stream(mSource, LIMIT).toList().toBlocking().single());
+            }
+        });
+        for (final int concurrency : new int[]{1, 2, 4, 8}) {
+            Benchmarks.measureOnce("all, " + concurrency + " concurrent", new Benchmarks.Operation() {
+                @Override
+                public long run(int count) {
+                    return checkOrder(Paging.all(mSource, LIMIT, concurrency).toList().toBlocking().single());
+                }
+            });
+        }
+    }
+
+    private static long checkOrder(List<Genre> items) {
+        assertEquals(PAGES * LIMIT, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(String.valueOf(i), items.get(i).name);
+        }
+        return items.size();
+    }
+
+}
@@ -0,0 +1,214 @@
+package me.rhespanhol.rxtraktjava.paging;
+
+import me.rhespanhol.rxtraktjava.Trakt;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+import me.rhespanhol.rxtraktjava.entities.Genre;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Call;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.HttpException;
+import retrofit2.converter.gson.GsonConverterFactory;
+import retrofit2.http.GET;
+import retrofit2.http.Query;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class PagingTest {
+
+    private static final int LIMIT = 10;
+
+    interface Items {
+
+        @GET("items")
+        Call<List<Genre>> items(@Query("page") int page, @Query("limit") int limit);
+
+    }
+
+    private MockWebServer mServer;
+    private PageSource<Genre> mSource;
+    /** The number of items the server has, the last page may be short. */
+    private volatile int mItemCount = 5 * LIMIT;
+    private volatile boolean mSendPageCount = true;
+    /** The page answered with an error, 0 for none. */
+    private volatile int mFailingPage;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                HttpUrl url = mServer.url(request.getPath());
+                int page = Integer.parseInt(url.queryParameter("page"));
+                int limit = Integer.parseInt(url.queryParameter("limit"));
+                if (page == mFailingPage) {
+                    return new MockResponse().setResponseCode(500);
+                }
+                StringBuilder body = new StringBuilder("[");
+                for (int item = (page - 1) * limit; item < Math.min(page * limit, mItemCount); item++) {
+                    body.append(body.length() == 1 ? "" : ",").append("{\"name\":\"").append(item).append("\"}");
+                }
+                body.append(']');
+                MockResponse response = new MockResponse().setBody(body.toString());
+                if (mSendPageCount) {
+                    response.setHeader(Trakt.HEADER_PAGINATION_PAGE, page)
+                            .setHeader(Trakt.HEADER_PAGINATION_LIMIT, limit)
+                            .setHeader(Trakt.HEADER_PAGINATION_PAGE_COUNT, (mItemCount + limit - 1) / limit)
+                            .setHeader(Trakt.HEADER_PAGINATION_ITEM_COUNT, mItemCount);
+                }
+                return response;
+            }
+        });
+        mServer.start();
+        final Items items = new Retrofit.Builder()
+                .baseUrl(mServer.url("/"))
+                .addConverterFactory(GsonConverterFactory.create(TraktHelper.getGsonBuilder().create()))
+                .build()
+                .create(Items.class);
+        mSource = new PageSource<Genre>() {
+            @Override
+            public Call<List<Genre>> page(int page, int limit) {
+                return items.items(page, limit);
+            }
+        };
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void pagesAreFetchedOnDemand() {
+        TestSubscriber<Genre> subscriber = new TestSubscriber<>(0);
+        Paging.stream(mSource, LIMIT).subscribe(subscriber);
+        assertEquals(0, mServer.getRequestCount());
+
+        subscriber.requestMore(5);
+        assertEquals(1, mServer.getRequestCount());
+        subscriber.requestMore(LIMIT - 5);
+        // the first page is used up, but nobody asked for more yet
+        assertEquals(1, mServer.getRequestCount());
+        subscriber.requestMore(1);
+        assertEquals(2, mServer.getRequestCount());
+
+        subscriber.assertValueCount(LIMIT + 1);
+        subscriber.assertNotCompleted();
+        assertInOrder(subscriber.getOnNextEvents());
+    }
+
+    @Test
+    public void streamEndsAtThePageCount() {
+        List<Genre> items = Paging.stream(mSource, LIMIT).toList().toBlocking().single();
+
+        assertEquals(5 * LIMIT, items.size());
+        assertInOrder(items);
+        assertEquals(5, mServer.getRequestCount());
+    }
+
+    @Test
+    public void withoutPageCountAShortPageIsTheLast() {
+        mSendPageCount = false;
+        mItemCount = 3 * LIMIT - 1;
+
+        List<Genre> items = Paging.stream(mSource, LIMIT).toList().toBlocking().single();
+
+        assertEquals(3 * LIMIT - 1, items.size());
+        assertEquals(3, mServer.getRequestCount());
+    }
+
+    @Test
+    public void withoutPageCountAnEmptyPageIsTheLast() {
+        mSendPageCount = false;
+        mItemCount = 2 * LIMIT;
+
+        List<Genre> items = Paging.stream(mSource, LIMIT).toList().toBlocking().single();
+
+        assertEquals(2 * LIMIT, items.size());
+        assertEquals(3, mServer.getRequestCount());
+    }
+
+    @Test
+    public void takeStopsFetchingPages() {
+        List<Genre> items = Paging.stream(mSource, LIMIT).take(LIMIT + 5).toList().toBlocking().single();
+
+        assertEquals(LIMIT + 5, items.size());
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    @Test
+    public void slowSubscriberGetsEveryItemInOrder() {
+        mItemCount = 20 * LIMIT;
+        TestSubscriber<Genre> subscriber = new TestSubscriber<>();
+
+        // observeOn requests in batches of its buffer size, smaller than all pages together
+        Paging.stream(mSource, LIMIT).subscribeOn(Schedulers.io()).observeOn(Schedulers.computation())
+                .subscribe(subscriber);
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertNoErrors();
+        subscriber.assertValueCount(20 * LIMIT);
+        assertInOrder(subscriber.getOnNextEvents());
+        assertEquals(20, mServer.getRequestCount());
+    }
+
+    @Test
+    public void failedPageEndsTheStreamWithAnError() {
+        mFailingPage = 2;
+        TestSubscriber<Genre> subscriber = new TestSubscriber<>();
+
+        Paging.stream(mSource, LIMIT).subscribe(subscriber);
+
+        subscriber.assertValueCount(LIMIT);
+        subscriber.assertError(HttpException.class);
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    @Test
+    public void allKeepsThePageOrder() {
+        mItemCount = 8 * LIMIT - 3;
+
+        TestSubscriber<Genre> subscriber = new TestSubscriber<>();
+        Paging.all(mSource, LIMIT, 4).subscribe(subscriber);
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertNoErrors();
+        subscriber.assertValueCount(8 * LIMIT - 3);
+        assertInOrder(subscriber.getOnNextEvents());
+        assertEquals(8, mServer.getRequestCount());
+    }
+
+    @Test
+    public void allWithoutPageCountFetchesPagesOneByOne() {
+        mSendPageCount = false;
+        mItemCount = 3 * LIMIT - 1;
+
+        TestSubscriber<Genre> subscriber = new TestSubscriber<>();
+        Paging.all(mSource, LIMIT, 4).subscribe(subscriber);
+
+        subscriber.awaitTerminalEvent(5, TimeUnit.SECONDS);
+        subscriber.assertValueCount(3 * LIMIT - 1);
+        assertInOrder(subscriber.getOnNextEvents());
+        assertEquals(3, mServer.getRequestCount());
+    }
+
+    private static void assertInOrder(List<Genre> items) {
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(String.valueOf(i), items.get(i).name);
+        }
+    }
+
+}
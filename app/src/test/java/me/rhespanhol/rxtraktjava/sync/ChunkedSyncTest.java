@@ -0,0 +1,161 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import com.google.gson.Gson;
+import me.rhespanhol.rxtraktjava.Trakt;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava.HttpException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ChunkedSyncTest {
+
+    private static final DateTime SHOW_WATCHED_AT = new DateTime(2016, 1, 1, 20, 0, DateTimeZone.UTC);
+    private static final DateTime SEASON_WATCHED_AT = new DateTime(2016, 2, 1, 20, 0, DateTimeZone.UTC);
+    private static final DateTime EPISODE_WATCHED_AT = new DateTime(2016, 3, 1, 20, 0, DateTimeZone.UTC);
+
+    private MockWebServer mServer;
+    private ChunkedSync mSync;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        Trakt trakt = new Trakt("client id", "client secret", "redirect uri") {
+            @Override
+            protected Retrofit.Builder getRetrofitBuilder(Gson responseGson) {
+                return super.getRetrofitBuilder(responseGson).baseUrl(mServer.url("/"));
+            }
+        };
+        mSync = new ChunkedSync(trakt.rx()).setChunkSize(1).setMaxConcurrency(1);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void splitKeepsShowAttributesOnFirstPart() {
+        SyncShow show = new SyncShow()
+                .id(ShowIds.trakt(1))
+                .watchedAt(SHOW_WATCHED_AT)
+                .rating(Rating.GREAT);
+        List<SyncSeason> seasons = new ArrayList<>();
+        seasons.add(new SyncSeason().number(1).watchedAt(SEASON_WATCHED_AT).rating(Rating.GOOD)
+                .episodes(episodes(new SyncEpisode().number(1), new SyncEpisode().number(2),
+                        new SyncEpisode().number(3).watchedAt(EPISODE_WATCHED_AT))));
+        seasons.add(new SyncSeason().number(2));
+        show.seasons(seasons);
+
+        List<SyncItems> chunks = ChunkedSync.split(new SyncItems().shows(show), 1);
+
+        assertEquals(4, chunks.size());
+        SyncShow first = chunks.get(0).shows.get(0);
+        assertEquals(SHOW_WATCHED_AT, first.watched_at);
+        assertEquals(Rating.GREAT, first.rating);
+        assertEquals(SEASON_WATCHED_AT, first.seasons.get(0).watched_at);
+        assertEquals(Rating.GOOD, first.seasons.get(0).rating);
+        assertSame(seasons.get(0).episodes.get(0), first.seasons.get(0).episodes.get(0));
+        for (int i = 1; i < 3; i++) {
+            SyncShow part = chunks.get(i).shows.get(0);
+            assertEquals(Integer.valueOf(1), part.ids.trakt);
+            assertNull(part.watched_at);
+            assertNull(part.rating);
+            SyncSeason season = part.seasons.get(0);
+            assertEquals(Integer.valueOf(1), season.number);
+            assertNull(season.watched_at);
+            assertNull(season.rating);
+        }
+        // the dates of the season move to the episodes of later parts, their own ones are kept
+        assertEquals(SEASON_WATCHED_AT, chunks.get(1).shows.get(0).seasons.get(0).episodes.get(0).watched_at);
+        assertEquals(EPISODE_WATCHED_AT, chunks.get(2).shows.get(0).seasons.get(0).episodes.get(0).watched_at);
+        // a whole season gets the dates of the show
+        SyncSeason last = chunks.get(3).shows.get(0).seasons.get(0);
+        assertEquals(Integer.valueOf(2), last.number);
+        assertEquals(SHOW_WATCHED_AT, last.watched_at);
+        assertNull(seasons.get(1).watched_at);
+    }
+
+    @Test
+    public void partialFailure() {
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getBody().readUtf8().contains("\"trakt\":2")) {
+                    return new MockResponse().setResponseCode(404);
+                }
+                return new MockResponse().setBody("{\"added\":{\"movies\":1}}");
+            }
+        });
+        SyncItems items = new SyncItems().movies(movies(1, 2, 3));
+
+        try {
+            mSync.add(SyncList.HISTORY, items).toBlocking().single();
+            fail();
+        } catch (PartialSyncException e) {
+            assertEquals(Integer.valueOf(2), e.getResponse().added.movies);
+            assertEquals(1, e.getFailedChunks().size());
+            assertEquals(Integer.valueOf(2), e.getFailedChunks().get(0).movies.get(0).ids.trakt);
+            assertTrue(e.getErrors().get(0) instanceof HttpException);
+        }
+        assertEquals(3, mServer.getRequestCount());
+    }
+
+    @Test
+    public void mergesResponses() {
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setBody("{\"added\":{\"movies\":1}}");
+            }
+        });
+
+        SyncResponse response = mSync.add(SyncList.HISTORY, new SyncItems().movies(movies(1, 2, 3)))
+                .toBlocking().single();
+
+        assertEquals(Integer.valueOf(3), response.added.movies);
+    }
+
+    private static List<SyncEpisode> episodes(SyncEpisode... episodes) {
+        List<SyncEpisode> list = new ArrayList<>();
+        for (SyncEpisode episode : episodes) {
+            list.add(episode);
+        }
+        return list;
+    }
+
+    private static List<SyncMovie> movies(int... traktIds) {
+        List<SyncMovie> movies = new ArrayList<>();
+        for (int traktId : traktIds) {
+            movies.add(new SyncMovie().id(MovieIds.trakt(traktId)));
+        }
+        return movies;
+    }
+
+}
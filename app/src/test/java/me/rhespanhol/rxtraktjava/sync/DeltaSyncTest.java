@@ -0,0 +1,210 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import com.google.gson.Gson;
+import me.rhespanhol.rxtraktjava.MockTrakt;
+import me.rhespanhol.rxtraktjava.TraktHelper;
+import me.rhespanhol.rxtraktjava.entities.LastActivities;
+import me.rhespanhol.rxtraktjava.entities.LastActivity;
+import me.rhespanhol.rxtraktjava.entities.LastActivityMore;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import rx.schedulers.Schedulers;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DeltaSyncTest {
+
+    private static final DateTime SYNCED_AT = new DateTime(2016, 6, 1, 20, 0, DateTimeZone.UTC);
+    private static final DateTime CHANGED_AT = SYNCED_AT.plusHours(1);
+
+    private final Gson mGson = TraktHelper.getGsonBuilder().create();
+    private MockWebServer mServer;
+    private MockTrakt mTrakt;
+    private DeltaSync mSync;
+    /** The activities the server answers with. */
+    private volatile LastActivities mActivities;
+    /** The paths of the lists requested, without the activities. */
+    private final List<String> mLists = new CopyOnWriteArrayList<>();
+    private final AtomicInteger mActive = new AtomicInteger();
+    private final AtomicInteger mMaxActive = new AtomicInteger();
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getPath().equals("/sync/last_activities")) {
+                    return new MockResponse().setBody(mGson.toJson(mActivities));
+                }
+                mLists.add(request.getPath());
+                int active = mActive.incrementAndGet();
+                try {
+                    synchronized (mMaxActive) {
+                        mMaxActive.set(Math.max(mMaxActive.get(), active));
+                    }
+                    Thread.sleep(20);
+                    return new MockResponse().setBody("[]");
+                } finally {
+                    mActive.decrementAndGet();
+                }
+            }
+        });
+        mServer.start();
+        mTrakt = new MockTrakt(mServer);
+        mSync = new DeltaSync(mTrakt.rx());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void firstSyncFetchesEverything() {
+        mActivities = activities(SYNCED_AT);
+
+        SyncChanges changes = mSync.changesSince(null, null).toBlocking().single();
+
+        assertEquals(EnumSet.allOf(SyncCategory.class), changes.changed);
+        assertEquals(SyncCategory.values().length, mLists.size());
+        assertNotNull(changes.watchedShows);
+        assertNotNull(changes.watchlistedSeasons);
+    }
+
+    @Test
+    public void nothingIsFetchedIfAllDidNotMove() {
+        LastActivities watermark = activities(SYNCED_AT);
+        mActivities = activities(SYNCED_AT);
+        // a category date alone does not count if the overall one did not move
+        mActivities.movies.watched_at = CHANGED_AT;
+
+        SyncChanges changes = mSync.changesSince(watermark, null).toBlocking().single();
+
+        assertTrue(mLists.isEmpty());
+        assertFalse(changes.hasChanges());
+        assertEquals(SYNCED_AT, changes.lastActivities.all);
+    }
+
+    @Test
+    public void onlyChangedCategoriesAreFetched() {
+        LastActivities watermark = activities(SYNCED_AT);
+        mActivities = activities(SYNCED_AT);
+        mActivities.all = CHANGED_AT;
+        mActivities.movies.watched_at = CHANGED_AT;
+        mActivities.seasons.rated_at = CHANGED_AT;
+        // comments are not synced
+        mActivities.shows.commented_at = CHANGED_AT;
+
+        SyncChanges changes = mSync.changesSince(watermark, null).toBlocking().single();
+
+        assertEquals(EnumSet.of(SyncCategory.MOVIES_WATCHED, SyncCategory.SEASONS_RATED), changes.changed);
+        assertEquals(2, mLists.size());
+        assertTrue(mLists.contains("/sync/watched/movies"));
+        assertNotNull(changes.watchedMovies);
+        assertNotNull(changes.ratedSeasons);
+        assertNull(changes.collectedMovies);
+        assertNull(changes.watchedShows);
+        // the next sync starts from the new activities
+        assertEquals(CHANGED_AT, changes.lastActivities.all);
+    }
+
+    @Test
+    public void categoriesWithoutDateAreFetched() {
+        LastActivities watermark = activities(SYNCED_AT);
+        mActivities = activities(SYNCED_AT);
+        mActivities.all = CHANGED_AT;
+        mActivities.episodes.collected_at = null;
+
+        SyncChanges changes = mSync.changesSince(watermark, null).toBlocking().single();
+
+        assertEquals(EnumSet.of(SyncCategory.EPISODES_COLLECTED), changes.changed);
+    }
+
+    @Test
+    public void refetchedCategoriesAreFetchedEvenIfUnchanged() {
+        LastActivities watermark = activities(SYNCED_AT);
+        mActivities = activities(SYNCED_AT);
+
+        SyncChanges changes = mSync.changesSince(watermark, EnumSet.of(SyncCategory.EPISODES_WATCHED), null)
+                .toBlocking().single();
+
+        assertEquals(EnumSet.of(SyncCategory.EPISODES_WATCHED), changes.changed);
+        assertEquals(Collections.singletonList("/sync/watched/shows"), mLists);
+    }
+
+    @Test
+    public void concurrencyIsBounded() {
+        mTrakt.setScheduler(Schedulers.io());
+        mSync = new DeltaSync(mTrakt.rx()).setMaxConcurrency(2);
+        mActivities = activities(SYNCED_AT);
+
+        SyncChanges changes = mSync.changesSince(null, null).toBlocking().single();
+
+        assertEquals(SyncCategory.values().length, changes.changed.size());
+        assertEquals(2, mMaxActive.get());
+    }
+
+    @Test
+    public void hasChangedComparesTheCategoryDate() {
+        LastActivities watermark = activities(SYNCED_AT);
+        LastActivities current = activities(SYNCED_AT);
+        current.episodes.watchlisted_at = CHANGED_AT;
+
+        assertTrue(SyncCategory.EPISODES_WATCHLISTED.hasChanged(watermark, current));
+        assertFalse(SyncCategory.EPISODES_WATCHED.hasChanged(watermark, current));
+        assertFalse(SyncCategory.EPISODES_WATCHLISTED.hasChanged(current, watermark));
+        // unknown dates count as changed
+        assertTrue(SyncCategory.EPISODES_WATCHED.hasChanged(null, current));
+        watermark.episodes.watched_at = null;
+        assertTrue(SyncCategory.EPISODES_WATCHED.hasChanged(watermark, current));
+        current.shows = null;
+        assertTrue(SyncCategory.SHOWS_RATED.hasChanged(watermark, current));
+    }
+
+    /**
+     * Returns activities with every date set to the given time.
+     */
+    private static LastActivities activities(DateTime at) {
+        LastActivities activities = new LastActivities();
+        activities.all = at;
+        activities.movies = more(at);
+        activities.episodes = more(at);
+        activities.shows = activity(new LastActivity(), at);
+        activities.seasons = activity(new LastActivity(), at);
+        return activities;
+    }
+
+    private static LastActivityMore more(DateTime at) {
+        LastActivityMore activity = activity(new LastActivityMore(), at);
+        activity.watched_at = at;
+        activity.collected_at = at;
+        return activity;
+    }
+
+    private static <T extends LastActivity> T activity(T activity, DateTime at) {
+        activity.rated_at = at;
+        activity.watchlisted_at = at;
+        activity.commented_at = at;
+        return activity;
+    }
+
+}
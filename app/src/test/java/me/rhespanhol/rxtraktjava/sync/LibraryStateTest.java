@@ -0,0 +1,182 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.MockTrakt;
+import me.rhespanhol.rxtraktjava.entities.BaseMovie;
+import me.rhespanhol.rxtraktjava.entities.LastActivities;
+import me.rhespanhol.rxtraktjava.entities.Movie;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+import me.rhespanhol.rxtraktjava.entities.SyncStats;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LibraryStateTest {
+
+    private static final int MOVIE = 1;
+
+    private LibraryState mState;
+
+    @Before
+    public void setUp() {
+        mState = new LibraryState();
+        mState.update(watchedMovies(1), mState.getGeneration());
+    }
+
+    @Test
+    public void appliesCountedPlay() {
+        mState.apply(SyncList.HISTORY, false, movie(), added(1));
+
+        assertEquals(2, mState.moviePlays(MOVIE));
+        assertFalse(mState.isStale(SyncCategory.MOVIES_WATCHED));
+    }
+
+    @Test
+    public void playNotCountedMarksStale() {
+        // e.g. sent again after a crash, trakt already had the play
+        mState.apply(SyncList.HISTORY, false, movie(), added(0));
+
+        assertTrue(mState.isStale(SyncCategory.MOVIES_WATCHED));
+    }
+
+    @Test
+    public void removalCountsAllPlays() {
+        mState.update(watchedMovies(3), mState.getGeneration());
+        SyncResponse response = new SyncResponse();
+        response.deleted = new SyncStats();
+        response.deleted.movies = 3;
+
+        mState.apply(SyncList.HISTORY, true, movie(), response);
+
+        assertEquals(0, mState.moviePlays(MOVIE));
+        assertFalse(mState.isStale(SyncCategory.MOVIES_WATCHED));
+    }
+
+    @Test
+    public void episodesAreKeptPerShow() {
+        SyncShow show = new SyncShow().id(ShowIds.trakt(MOVIE))
+                .seasons(new SyncSeason().number(2).episodes(new SyncEpisode().number(3)));
+        SyncResponse response = new SyncResponse();
+        response.added = new SyncStats();
+        response.added.episodes = 1;
+
+        mState.apply(SyncList.COLLECTION, false, new SyncItems().shows(show), response);
+
+        assertTrue(mState.isEpisodeCollected(MOVIE, 2, 3));
+        assertFalse(mState.isEpisodeCollected(MOVIE, 3, 2));
+        assertFalse(mState.isEpisodeCollected(MOVIE + 1, 2, 3));
+        // movies and shows share ids, but not their values
+        assertFalse(mState.isMovieCollected(MOVIE));
+
+        response = new SyncResponse();
+        response.deleted = new SyncStats();
+        response.deleted.episodes = 1;
+        mState.apply(SyncList.COLLECTION, true, new SyncItems().shows(show), response);
+        assertFalse(mState.isEpisodeCollected(MOVIE, 2, 3));
+    }
+
+    @Test
+    public void updateOlderThanWriteIsSkipped() {
+        long generation = mState.getGeneration();
+        mState.apply(SyncList.HISTORY, false, movie(), added(1));
+
+        // fetched before the write
+        mState.update(watchedMovies(1), generation);
+
+        assertEquals(2, mState.moviePlays(MOVIE));
+        assertTrue(mState.isStale(SyncCategory.MOVIES_WATCHED));
+
+        mState.update(watchedMovies(2), mState.getGeneration());
+        assertEquals(2, mState.moviePlays(MOVIE));
+        assertFalse(mState.isStale(SyncCategory.MOVIES_WATCHED));
+    }
+
+    @Test
+    public void skippedCategoryIsFetchedAgain() throws IOException {
+        final List<String> paths = new CopyOnWriteArrayList<>();
+        MockWebServer server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                paths.add(request.getPath());
+                if (request.getPath().equals("/sync/last_activities")) {
+                    return new MockResponse().setBody("{\"all\":\"2016-06-01T20:00:00.000Z\"}");
+                }
+                if (request.getPath().startsWith("/sync/watched/movies")) {
+                    return new MockResponse().setBody("[{\"plays\":2,\"movie\":{\"ids\":{\"trakt\":1}}}]");
+                }
+                return new MockResponse().setBody("[]");
+            }
+        });
+        server.start();
+        try {
+            LastActivities watermark = new LastActivities();
+            watermark.all = new DateTime(2016, 6, 1, 20, 0, DateTimeZone.UTC);
+            long generation = mState.getGeneration();
+            mState.apply(SyncList.HISTORY, false, movie(), added(1));
+            // a sync started before the write, its watermark already includes the write
+            mState.update(watchedMovies(1), generation);
+            DeltaSync sync = new DeltaSync(new MockTrakt(server).rx());
+
+            generation = mState.getGeneration();
+            SyncChanges changes = sync.changesSince(watermark, mState.getStaleCategories(), null)
+                    .toBlocking().single();
+            mState.update(changes, generation);
+
+            assertTrue(paths.contains("/sync/watched/movies"));
+            assertEquals(2, mState.moviePlays(MOVIE));
+            assertTrue(mState.getStaleCategories().isEmpty());
+
+            // nothing is stale and nothing changed, only the activities are requested
+            paths.clear();
+            sync.changesSince(watermark, mState.getStaleCategories(), null).toBlocking().single();
+            assertEquals(1, paths.size());
+        } finally {
+            server.shutdown();
+        }
+    }
+
+    private static SyncItems movie() {
+        return new SyncItems().movies(new SyncMovie().id(MovieIds.trakt(MOVIE)));
+    }
+
+    private static SyncResponse added(int movies) {
+        SyncResponse response = new SyncResponse();
+        response.added = new SyncStats();
+        response.added.movies = movies;
+        return response;
+    }
+
+    private static SyncChanges watchedMovies(int plays) {
+        BaseMovie watched = new BaseMovie();
+        watched.movie = new Movie();
+        watched.movie.ids = MovieIds.trakt(MOVIE);
+        watched.plays = plays;
+        SyncChanges changes = new SyncChanges();
+        changes.changed.add(SyncCategory.MOVIES_WATCHED);
+        changes.watchedMovies = new ArrayList<>();
+        changes.watchedMovies.add(watched);
+        return changes;
+    }
+
+}
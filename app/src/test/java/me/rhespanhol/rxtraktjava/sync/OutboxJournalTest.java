@@ -0,0 +1,218 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OutboxJournalTest {
+
+    private static final int HEADER_SIZE = 8;
+
+    @Rule
+    public final TemporaryFolder mFolder = new TemporaryFolder();
+
+    private File mFile;
+    private OutboxJournal mJournal;
+
+    @Before
+    public void setUp() throws IOException {
+        mFile = new File(mFolder.getRoot(), "outbox.journal");
+        mJournal = new OutboxJournal(mFile);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mJournal.close();
+    }
+
+    @Test
+    public void pendingOperationsAreReadAgain() throws IOException {
+        List<SyncOutbox.Operation> appended = mJournal.append(operations(1, 2, 3));
+        mJournal.markDone(appended.subList(0, 1));
+
+        reopen();
+
+        assertEquals(2, mJournal.getPendingCount());
+        assertEquals(movieIds(2, 3), movieIds(mJournal.nextBatch(10, 10)));
+        assertEquals(4, append(4).sequence);
+    }
+
+    @Test
+    public void tornTailIsTruncated() throws IOException {
+        mJournal.append(operations(1, 2));
+        mJournal.close();
+        long length = mFile.length();
+        // a crash while appending a third record, its header and part of its payload made it to disk
+        byte[] first = readRange(0, recordSize(0));
+        appendBytes(first, HEADER_SIZE + 3);
+
+        mJournal = new OutboxJournal(mFile);
+
+        assertEquals(length, mFile.length());
+        assertEquals(2, mJournal.getPendingCount());
+        // new records follow the intact ones
+        append(3);
+        reopen();
+        assertEquals(movieIds(1, 2, 3), movieIds(mJournal.nextBatch(10, 10)));
+    }
+
+    @Test
+    public void damagedRecordIsSkipped() throws IOException {
+        mJournal.append(operations(1, 2, 3));
+        mJournal.close();
+        long length = mFile.length();
+        corrupt(recordSize(0) + HEADER_SIZE + 2);
+
+        mJournal = new OutboxJournal(mFile);
+
+        assertEquals(movieIds(1, 3), movieIds(mJournal.nextBatch(10, 10)));
+        // the record after it is intact, nothing is cut off
+        assertEquals(length, mFile.length());
+    }
+
+    @Test
+    public void damagedLastRecordIsTruncated() throws IOException {
+        mJournal.append(operations(1, 2, 3));
+        mJournal.close();
+        long second = recordSize(0) + recordSize(recordSize(0));
+        corrupt(second + HEADER_SIZE + 2);
+
+        mJournal = new OutboxJournal(mFile);
+
+        assertEquals(movieIds(1, 2), movieIds(mJournal.nextBatch(10, 10)));
+        assertEquals(second, mFile.length());
+    }
+
+    @Test
+    public void completedOperationsAreCompactedAway() throws IOException {
+        List<SyncOutbox.Operation> appended = mJournal.append(firstOperations(300));
+        long length = mFile.length();
+        for (SyncOutbox.Operation operation : appended.subList(0, 299)) {
+            mJournal.markDone(Collections.singletonList(operation));
+        }
+
+        assertTrue(mFile.length() < length / 2);
+        reopen();
+        List<SyncOutbox.Operation> pending = mJournal.nextBatch(10, 10);
+        assertEquals(1, pending.size());
+        assertEquals(300, pending.get(0).sequence);
+        assertEquals(301, append(301).sequence);
+    }
+
+    @Test
+    public void sequenceNumbersAreNotReusedAfterCompaction() throws IOException {
+        List<SyncOutbox.Operation> appended = mJournal.append(firstOperations(256));
+        // completing all of them at once leaves an empty journal
+        mJournal.markDone(appended);
+
+        reopen();
+
+        assertEquals(0, mJournal.getPendingCount());
+        assertEquals(257, append(1).sequence);
+    }
+
+    private void reopen() throws IOException {
+        mJournal.close();
+        mJournal = new OutboxJournal(mFile);
+    }
+
+    private SyncOutbox.Operation append(int movieId) throws IOException {
+        return mJournal.append(operations(movieId)).get(0);
+    }
+
+    private static List<SyncOutbox.Operation> operations(int... movieIds) {
+        List<SyncOutbox.Operation> operations = new ArrayList<>();
+        for (int movieId : movieIds) {
+            operations.add(new SyncOutbox.Operation(0, SyncList.COLLECTION, false, null, null,
+                    new SyncItems().movies(new SyncMovie().id(MovieIds.trakt(movieId)))));
+        }
+        return operations;
+    }
+
+    private static List<SyncOutbox.Operation> firstOperations(int count) {
+        int[] movieIds = new int[count];
+        for (int i = 0; i < count; i++) {
+            movieIds[i] = i + 1;
+        }
+        return operations(movieIds);
+    }
+
+    private static List<Integer> movieIds(int... movieIds) {
+        List<Integer> list = new ArrayList<>();
+        for (int movieId : movieIds) {
+            list.add(movieId);
+        }
+        return list;
+    }
+
+    private static List<Integer> movieIds(List<SyncOutbox.Operation> operations) {
+        List<Integer> list = new ArrayList<>();
+        for (SyncOutbox.Operation operation : operations) {
+            list.add(operation.items.movies.get(0).ids.trakt);
+        }
+        return list;
+    }
+
+    /**
+     * Returns the size of the record at the offset, including its header.
+     */
+    private long recordSize(long offset) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(mFile, "r");
+        try {
+            raf.seek(offset);
+            return HEADER_SIZE + raf.readInt();
+        } finally {
+            raf.close();
+        }
+    }
+
+    private byte[] readRange(long offset, long size) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(mFile, "r");
+        try {
+            byte[] bytes = new byte[(int) size];
+            raf.seek(offset);
+            raf.readFully(bytes);
+            return bytes;
+        } finally {
+            raf.close();
+        }
+    }
+
+    private void appendBytes(byte[] bytes, int count) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(mFile, "rw");
+        try {
+            raf.seek(raf.length());
+            raf.write(bytes, 0, count);
+        } finally {
+            raf.close();
+        }
+    }
+
+    private void corrupt(long offset) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(mFile, "rw");
+        try {
+            raf.seek(offset);
+            int value = raf.read();
+            raf.seek(offset);
+            raf.write(value ^ 0xff);
+        } finally {
+            raf.close();
+        }
+    }
+
+}
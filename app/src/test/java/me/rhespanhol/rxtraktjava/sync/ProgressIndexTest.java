@@ -0,0 +1,217 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import me.rhespanhol.rxtraktjava.entities.BaseEpisode;
+import me.rhespanhol.rxtraktjava.entities.BaseSeason;
+import me.rhespanhol.rxtraktjava.entities.BaseShow;
+import me.rhespanhol.rxtraktjava.entities.Show;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+import org.joda.time.DateTime;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ProgressIndexTest {
+
+    private static final int SHOW = 1390;
+    private static final int OTHER_SHOW = 353;
+    private static final long AT = new DateTime(2016, 6, 1, 20, 0).getMillis();
+
+    @Test
+    public void watchedEpisodesAreAnswered() {
+        ProgressIndex index = new ProgressIndex(shows(show(SHOW,
+                season(1, watched(1, 2), watched(2, 1)),
+                season(2, watched(1, 1)))), null);
+
+        assertTrue(index.isWatched(SHOW, 1, 1));
+        assertTrue(index.isWatched(SHOW, 1, 2));
+        assertFalse(index.isWatched(SHOW, 1, 3));
+        assertFalse(index.isWatched(SHOW, 3, 1));
+        assertFalse(index.isWatched(OTHER_SHOW, 1, 1));
+        assertFalse(index.isCollected(SHOW, 1, 1));
+        assertEquals(2, index.plays(SHOW, 1, 1));
+        assertEquals(1, index.plays(SHOW, 2, 1));
+        assertEquals(0, index.plays(SHOW, 1, 3));
+        assertEquals(AT + 1, index.lastWatchedAt(SHOW, 1, 1));
+        assertEquals(0, index.lastWatchedAt(SHOW, 1, 3));
+        assertEquals(3, index.watchedCount(SHOW));
+        assertEquals(2, index.watchedCount(SHOW, 1));
+        assertEquals(0, index.watchedCount(OTHER_SHOW));
+        assertArrayEquals(new int[] { SHOW }, index.watchedShowIds());
+    }
+
+    @Test
+    public void collectedEpisodesAreAnswered() {
+        ProgressIndex index = new ProgressIndex(null, shows(show(SHOW,
+                season(0, collected(1)),
+                season(1, collected(1), collected(3)))));
+
+        assertTrue(index.isCollected(SHOW, 0, 1));
+        assertTrue(index.isCollected(SHOW, 1, 3));
+        assertFalse(index.isCollected(SHOW, 1, 2));
+        assertFalse(index.isWatched(SHOW, 1, 1));
+        assertEquals(0, index.plays(SHOW, 1, 1));
+        assertEquals(AT + 3, index.collectedAt(SHOW, 1, 3));
+        assertEquals(0, index.collectedAt(SHOW, 1, 2));
+        // specials count as well
+        assertEquals(3, index.collectedCount(SHOW));
+        assertEquals(2, index.collectedCount(SHOW, 1));
+        assertArrayEquals(new int[] { SHOW }, index.collectedShowIds());
+        assertEquals(0, index.watchedShowIds().length);
+    }
+
+    @Test
+    public void nextEpisodeFollowsTheFurthestSeason() {
+        ProgressIndex index = new ProgressIndex(shows(
+                show(SHOW,
+                        season(1, watched(1, 1), watched(2, 1), watched(3, 1)),
+                        season(2, watched(1, 1), watched(2, 1))),
+                show(OTHER_SHOW, season(1, watched(1, 1)))), null);
+
+        assertEquals(ProgressIndex.pack(2, 3), index.nextEpisode(SHOW));
+        assertEquals(2, ProgressIndex.season(index.nextEpisode(SHOW)));
+        assertEquals(3, ProgressIndex.episode(index.nextEpisode(SHOW)));
+        assertEquals(ProgressIndex.pack(1, 2), index.nextEpisode(OTHER_SHOW));
+    }
+
+    @Test
+    public void nextEpisodeIsTheFirstSkippedOne() {
+        ProgressIndex index = new ProgressIndex(shows(show(SHOW,
+                season(1, watched(1, 1), watched(2, 1), watched(4, 1)))), null);
+
+        assertEquals(ProgressIndex.pack(1, 3), index.nextEpisode(SHOW));
+    }
+
+    @Test
+    public void nextEpisodeIgnoresSpecials() {
+        ProgressIndex index = new ProgressIndex(shows(
+                show(SHOW, season(0, watched(1, 1), watched(2, 1)), season(1, watched(1, 1))),
+                show(OTHER_SHOW, season(0, watched(1, 1)))), null);
+
+        assertEquals(ProgressIndex.pack(1, 2), index.nextEpisode(SHOW));
+        assertEquals(-1, index.nextEpisode(OTHER_SHOW));
+        assertEquals(-1, index.nextEpisode(42));
+    }
+
+    @Test
+    public void updateReplacesTheChangedLists() {
+        ProgressIndex index = new ProgressIndex(
+                shows(show(SHOW, season(1, watched(1, 1)))),
+                shows(show(SHOW, season(1, collected(1)))));
+        SyncChanges changes = new SyncChanges();
+        changes.changed.add(SyncCategory.EPISODES_WATCHED);
+        changes.watchedShows = shows(show(SHOW, season(1, watched(1, 2), watched(2, 1))));
+
+        ProgressIndex updated = index.update(changes);
+
+        assertEquals(2, updated.plays(SHOW, 1, 1));
+        assertTrue(updated.isWatched(SHOW, 1, 2));
+        assertEquals(ProgressIndex.pack(1, 3), updated.nextEpisode(SHOW));
+        // the collection did not change
+        assertTrue(updated.isCollected(SHOW, 1, 1));
+        // the old index is left as it was
+        assertEquals(1, index.plays(SHOW, 1, 1));
+        assertFalse(index.isWatched(SHOW, 1, 2));
+    }
+
+    @Test
+    public void updateWithoutShowChangesReturnsTheSameIndex() {
+        ProgressIndex index = new ProgressIndex(shows(show(SHOW, season(1, watched(1, 1)))), null);
+        SyncChanges changes = new SyncChanges();
+        changes.changed.add(SyncCategory.MOVIES_WATCHED);
+        changes.watchedMovies = new ArrayList<>();
+
+        assertSame(index, index.update(changes));
+    }
+
+    @Test
+    public void numbersAboveTheMaximumAreLeftOut() {
+        int max = ProgressIndex.MAX_NUMBER;
+        ProgressIndex index = new ProgressIndex(shows(
+                show(SHOW, season(1, watched(1, 1), watched(max + 1, 1)), season(max + 1, watched(1, 1))),
+                show(OTHER_SHOW, season(max, watched(max, 1)))), null);
+
+        assertEquals(1, index.watchedCount(SHOW));
+        assertFalse(index.isWatched(SHOW, 1, max + 1));
+        assertFalse(index.isWatched(SHOW, max + 1, 1));
+        assertEquals(ProgressIndex.pack(1, 2), index.nextEpisode(SHOW));
+        assertTrue(index.isWatched(OTHER_SHOW, max, max));
+        assertEquals(ProgressIndex.pack(max, 1), index.nextEpisode(OTHER_SHOW));
+        assertEquals(max, ProgressIndex.season(index.nextEpisode(OTHER_SHOW)));
+    }
+
+    @Test
+    public void nextEpisodeAboveTheMaximumIsUnknown() {
+        BaseSeason season = season(1);
+        for (int number = 1; number <= ProgressIndex.MAX_NUMBER; number++) {
+            season.episodes.add(watched(number, 1));
+        }
+        ProgressIndex index = new ProgressIndex(shows(show(SHOW, season)), null);
+
+        assertEquals(ProgressIndex.MAX_NUMBER, index.watchedCount(SHOW));
+        assertEquals(-1, index.nextEpisode(SHOW));
+    }
+
+    @Test
+    public void packRejectsNumbersItCanNotHold() {
+        assertEquals(ProgressIndex.MAX_NUMBER, ProgressIndex.episode(ProgressIndex.pack(1, ProgressIndex.MAX_NUMBER)));
+        int[][] invalid = { { 1, ProgressIndex.MAX_NUMBER + 1 }, { ProgressIndex.MAX_NUMBER + 1, 1 }, { -1, 1 },
+                { 1, -1 } };
+        for (int[] numbers : invalid) {
+            try {
+                ProgressIndex.pack(numbers[0], numbers[1]);
+                fail(Arrays.toString(numbers));
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    private static List<BaseShow> shows(BaseShow... shows) {
+        return new ArrayList<>(Arrays.asList(shows));
+    }
+
+    private static BaseShow show(int traktId, BaseSeason... seasons) {
+        BaseShow show = new BaseShow();
+        show.show = new Show();
+        show.show.ids = ShowIds.trakt(traktId);
+        show.seasons = new ArrayList<>(Arrays.asList(seasons));
+        return show;
+    }
+
+    private static BaseSeason season(int number, BaseEpisode... episodes) {
+        BaseSeason season = new BaseSeason();
+        season.number = number;
+        season.episodes = new ArrayList<>(Arrays.asList(episodes));
+        return season;
+    }
+
+    /**
+     * Returns a watched episode, last watched {@code number} milliseconds after {@link #AT}.
+     */
+    private static BaseEpisode watched(int number, int plays) {
+        BaseEpisode episode = new BaseEpisode();
+        episode.number = number;
+        episode.plays = plays;
+        episode.last_watched_at = new DateTime(AT + number);
+        return episode;
+    }
+
+    /**
+     * Returns a collected episode, collected {@code number} milliseconds after {@link #AT}.
+     */
+    private static BaseEpisode collected(int number) {
+        BaseEpisode episode = new BaseEpisode();
+        episode.number = number;
+        episode.collected_at = new DateTime(AT + number);
+        return episode;
+    }
+
+}
@@ -0,0 +1,162 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import com.google.gson.Gson;
+import me.rhespanhol.rxtraktjava.Trakt;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import rx.schedulers.TestScheduler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SyncOutboxTest {
+
+    private static final String ADDED = "{\"added\":{\"movies\":1}}";
+
+    private MockWebServer mServer;
+    private Trakt mTrakt;
+    private File mFile;
+    private TestScheduler mScheduler;
+    private RecordingListener mListener;
+    private SyncOutbox mOutbox;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        mTrakt = new Trakt("client id", "client secret", "redirect uri") {
+            @Override
+            protected Retrofit.Builder getRetrofitBuilder(Gson responseGson) {
+                return super.getRetrofitBuilder(responseGson).baseUrl(mServer.url("/"));
+            }
+        };
+        mFile = File.createTempFile("outbox", ".journal");
+        mScheduler = new TestScheduler();
+        mListener = new RecordingListener();
+        mOutbox = open();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mOutbox.close();
+        mServer.shutdown();
+        assertTrue(mFile.delete());
+    }
+
+    @Test
+    public void sendsOnlyOnceStarted() throws IOException {
+        mServer.enqueue(new MockResponse().setBody(ADDED));
+        mOutbox.add(SyncList.HISTORY, new SyncItems().movies(movies(1)));
+        mScheduler.triggerActions();
+        assertEquals(0, mServer.getRequestCount());
+
+        mOutbox.start();
+        mScheduler.triggerActions();
+
+        assertEquals(1, mServer.getRequestCount());
+        assertEquals(1, mListener.mReplayed.size());
+        assertEquals(0, mOutbox.getPendingCount());
+    }
+
+    @Test
+    public void failedChunkIsSentAgainAlone() throws Exception {
+        mServer.enqueue(new MockResponse().setBody(ADDED));
+        mServer.enqueue(new MockResponse().setResponseCode(503));
+        mServer.enqueue(new MockResponse().setBody(ADDED));
+        mOutbox.add(SyncList.HISTORY, new SyncItems().movies(movies(ChunkedSync.DEFAULT_CHUNK_SIZE + 1)));
+        assertEquals(2, mOutbox.getPendingCount());
+
+        mOutbox.start();
+        mScheduler.triggerActions();
+        assertEquals(2, mServer.getRequestCount());
+        assertEquals(1, mOutbox.getPendingCount());
+
+        // the pending chunk survives reopening
+        mOutbox.close();
+        mOutbox = open();
+        assertEquals(1, mOutbox.getPendingCount());
+        mOutbox.start();
+        mScheduler.triggerActions();
+
+        assertEquals(3, mServer.getRequestCount());
+        mServer.takeRequest();
+        mServer.takeRequest();
+        String body = mServer.takeRequest().getBody().readUtf8();
+        assertEquals(1, body.split("\"trakt\"").length - 1);
+        assertEquals(0, mOutbox.getPendingCount());
+    }
+
+    @Test
+    public void retriesLater() throws IOException {
+        mServer.enqueue(new MockResponse().setResponseCode(503));
+        mServer.enqueue(new MockResponse().setBody(ADDED));
+        mOutbox.start();
+        mOutbox.add(SyncList.HISTORY, new SyncItems().movies(movies(1)));
+        mScheduler.triggerActions();
+        assertEquals(1, mServer.getRequestCount());
+
+        mScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        assertEquals(2, mServer.getRequestCount());
+        assertEquals(1, mListener.mReplayed.size());
+        assertEquals(0, mListener.mDropped.size());
+    }
+
+    @Test
+    public void unreadableResponseIsDropped() throws IOException {
+        mServer.enqueue(new MockResponse().setBody("[not json"));
+        mOutbox.start();
+        mOutbox.add(SyncList.HISTORY, new SyncItems().movies(movies(1)));
+        mScheduler.triggerActions();
+
+        assertEquals(1, mListener.mDropped.size());
+        assertEquals(0, mOutbox.getPendingCount());
+    }
+
+    private SyncOutbox open() throws IOException {
+        return new SyncOutbox(mTrakt.rx(), mFile)
+                .setScheduler(mScheduler)
+                .setRetryDelay(1, 10, TimeUnit.SECONDS)
+                .setListener(mListener);
+    }
+
+    private static List<SyncMovie> movies(int count) {
+        List<SyncMovie> movies = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            movies.add(new SyncMovie().id(MovieIds.trakt(i)));
+        }
+        return movies;
+    }
+
+    private static final class RecordingListener implements SyncOutbox.Listener {
+
+        final List<List<SyncOutbox.Operation>> mReplayed = new ArrayList<>();
+        final List<List<SyncOutbox.Operation>> mDropped = new ArrayList<>();
+
+        @Override
+        public synchronized void onReplayed(List<SyncOutbox.Operation> operations, SyncResponse response) {
+            mReplayed.add(operations);
+        }
+
+        @Override
+        public synchronized void onDropped(List<SyncOutbox.Operation> operations, Throwable error) {
+            mDropped.add(operations);
+        }
+
+    }
+
+}
@@ -0,0 +1,269 @@
+package me.rhespanhol.rxtraktjava.sync;
+
+import com.google.gson.Gson;
+import me.rhespanhol.rxtraktjava.Trakt;
+import me.rhespanhol.rxtraktjava.entities.EpisodeIds;
+import me.rhespanhol.rxtraktjava.entities.MovieIds;
+import me.rhespanhol.rxtraktjava.entities.ShowIds;
+import me.rhespanhol.rxtraktjava.entities.SyncEpisode;
+import me.rhespanhol.rxtraktjava.entities.SyncItems;
+import me.rhespanhol.rxtraktjava.entities.SyncMovie;
+import me.rhespanhol.rxtraktjava.entities.SyncResponse;
+import me.rhespanhol.rxtraktjava.entities.SyncSeason;
+import me.rhespanhol.rxtraktjava.entities.SyncShow;
+import me.rhespanhol.rxtraktjava.enums.Rating;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import retrofit2.Retrofit;
+import rx.schedulers.TestScheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+public class SyncWriteQueueTest {
+
+    private static final String ADDED = "{\"added\":{\"episodes\":1}}";
+
+    private MockWebServer mServer;
+    private TestScheduler mScheduler;
+    private RecordingListener mListener;
+    private SyncWriteQueue mQueue;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        Trakt trakt = new Trakt("client id", "client secret", "redirect uri") {
+            @Override
+            protected Retrofit.Builder getRetrofitBuilder(Gson responseGson) {
+                return super.getRetrofitBuilder(responseGson).baseUrl(mServer.url("/"));
+            }
+        };
+        mScheduler = new TestScheduler();
+        mListener = new RecordingListener();
+        mQueue = new SyncWriteQueue(trakt.rx())
+                .setScheduler(mScheduler)
+                .setRetryDelay(1, 10, TimeUnit.SECONDS)
+                .setListener(mListener);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void playsWithoutDateAreKept() throws Exception {
+        mServer.enqueue(new MockResponse().setBody(ADDED));
+        mQueue.add(SyncList.HISTORY, episode(1));
+        mQueue.add(SyncList.HISTORY, episode(1));
+        assertEquals(2, mQueue.getPendingCount());
+
+        mQueue.flush();
+
+        assertEquals(1, mListener.mFlushed.size());
+        assertEquals(2, mListener.mFlushed.get(0).episodes.size());
+    }
+
+    @Test
+    public void samePlayIsMerged() throws Exception {
+        enqueueAdded(2);
+        DateTime watchedAt = new DateTime(2016, 6, 1, 20, 0, DateTimeZone.UTC);
+        mQueue.add(SyncList.HISTORY, episode(1).watchedAt(watchedAt));
+        mQueue.add(SyncList.HISTORY, episode(1).watchedAt(watchedAt));
+        mQueue.add(SyncList.HISTORY, episode(1).watchedAt(watchedAt.plusDays(1)));
+        mQueue.add(SyncList.COLLECTION, episode(2));
+        mQueue.add(SyncList.COLLECTION, episode(2));
+        assertEquals(3, mQueue.getPendingCount());
+
+        mQueue.flush();
+
+        // lists are sent in the order of their constants
+        assertEquals(2, mListener.mFlushed.size());
+        assertEquals(1, mListener.mFlushed.get(0).episodes.size());
+        assertEquals(2, mListener.mFlushed.get(1).episodes.size());
+    }
+
+    @Test
+    public void removalCancelsAddition() throws Exception {
+        enqueueAdded(2);
+        mQueue.add(SyncList.COLLECTION, episode(1));
+        mQueue.remove(SyncList.COLLECTION, episode(1));
+        assertEquals(1, mQueue.getPendingCount());
+
+        mQueue.flush();
+
+        // the removal is still sent, the episode may have been collected before
+        assertEquals(1, mServer.getRequestCount());
+        assertEquals("/sync/collection/remove", mServer.takeRequest().getPath());
+        assertEquals(1, mListener.mFlushed.get(0).episodes.size());
+    }
+
+    @Test
+    public void additionCancelsRemoval() throws Exception {
+        enqueueAdded(2);
+        mQueue.remove(SyncList.WATCHLIST, movie(1));
+        mQueue.add(SyncList.WATCHLIST, movie(1));
+
+        mQueue.flush();
+
+        assertEquals(1, mServer.getRequestCount());
+        assertEquals("/sync/watchlist", mServer.takeRequest().getPath());
+    }
+
+    @Test
+    public void historyKeepsRemovalBeforePlays() throws Exception {
+        enqueueAdded(2);
+        mQueue.remove(SyncList.HISTORY, episode(1));
+        mQueue.add(SyncList.HISTORY, episode(1));
+
+        mQueue.flush();
+
+        assertEquals("/sync/history/remove", mServer.takeRequest().getPath());
+        assertEquals("/sync/history", mServer.takeRequest().getPath());
+    }
+
+    @Test
+    public void ratingIsReplaced() throws Exception {
+        enqueueAdded(2);
+        mQueue.add(SyncList.RATINGS, movie(1).rating(Rating.GREAT));
+        mQueue.add(SyncList.RATINGS, movie(2).rating(Rating.FAIR));
+        mQueue.add(SyncList.RATINGS, movie(1).rating(Rating.TOTALLYNINJA));
+        assertEquals(2, mQueue.getPendingCount());
+
+        mQueue.flush();
+
+        List<SyncMovie> movies = mListener.mFlushed.get(0).movies;
+        assertEquals(2, movies.size());
+        assertEquals(Integer.valueOf(2), movies.get(0).ids.trakt);
+        assertEquals(Rating.TOTALLYNINJA, movies.get(1).rating);
+    }
+
+    @Test
+    public void overlappingChangesKeepTheirOrder() throws Exception {
+        enqueueAdded(2);
+        // collect an episode of a show, then remove the whole show: the removal has to win
+        mQueue.add(SyncList.COLLECTION, show(1).seasons(new SyncSeason().number(1).episodes(
+                new SyncEpisode().number(2))));
+        mQueue.remove(SyncList.COLLECTION, show(1));
+        assertEquals(2, mQueue.getPendingCount());
+
+        mQueue.flush();
+
+        assertEquals("/sync/collection", mServer.takeRequest().getPath());
+        assertEquals("/sync/collection/remove", mServer.takeRequest().getPath());
+        assertEquals(false, mListener.mRemovals.get(0));
+        assertEquals(true, mListener.mRemovals.get(1));
+    }
+
+    @Test
+    public void unrelatedChangesShareBatches() throws Exception {
+        enqueueAdded(2);
+        mQueue.add(SyncList.COLLECTION, movie(1));
+        mQueue.remove(SyncList.COLLECTION, movie(2));
+        mQueue.add(SyncList.COLLECTION, movie(3));
+
+        mQueue.flush();
+
+        assertEquals(2, mServer.getRequestCount());
+        assertEquals("/sync/collection", mServer.takeRequest().getPath());
+        assertEquals(2, mListener.mFlushed.get(0).movies.size());
+        assertEquals("/sync/collection/remove", mServer.takeRequest().getPath());
+        assertEquals(Integer.valueOf(2), mListener.mFlushed.get(1).movies.get(0).ids.trakt);
+    }
+
+    @Test
+    public void failedBatchIsSentAgain() throws Exception {
+        mServer.enqueue(new MockResponse().setResponseCode(503));
+        mServer.enqueue(new MockResponse().setResponseCode(503));
+        mServer.enqueue(new MockResponse().setBody(ADDED));
+        mServer.enqueue(new MockResponse().setBody(ADDED));
+        mQueue.setMaxBatchSize(1);
+        mQueue.add(SyncList.HISTORY, episode(1));
+        // flushed right away, but waits for the failed batch
+        mQueue.add(SyncList.COLLECTION, episode(2));
+        assertEquals(1, mServer.getRequestCount());
+
+        mScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(2, mServer.getRequestCount());
+        // the delay doubled
+        mScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+        assertEquals(2, mServer.getRequestCount());
+        mScheduler.advanceTimeBy(1, TimeUnit.SECONDS);
+
+        assertEquals(4, mServer.getRequestCount());
+        assertEquals("/sync/history", mServer.takeRequest().getPath());
+        mServer.takeRequest();
+        assertEquals("/sync/history", mServer.takeRequest().getPath());
+        assertEquals("/sync/collection", mServer.takeRequest().getPath());
+        assertEquals(2, mListener.mFlushed.size());
+        assertEquals(0, mListener.mFailed.size());
+    }
+
+    @Test
+    public void rejectedBatchIsDropped() throws Exception {
+        mServer.enqueue(new MockResponse().setResponseCode(422));
+        mServer.enqueue(new MockResponse().setBody(ADDED));
+        mQueue.add(SyncList.HISTORY, episode(1));
+        mQueue.flush();
+        mQueue.add(SyncList.HISTORY, episode(2));
+        mQueue.flush();
+
+        assertEquals(2, mServer.getRequestCount());
+        assertEquals(1, mListener.mFailed.size());
+        assertEquals(1, mListener.mFlushed.size());
+    }
+
+    private void enqueueAdded(int count) {
+        for (int i = 0; i < count; i++) {
+            mServer.enqueue(new MockResponse().setBody(ADDED));
+        }
+    }
+
+    private static SyncMovie movie(int traktId) {
+        MovieIds ids = new MovieIds();
+        ids.trakt = traktId;
+        return new SyncMovie().id(ids);
+    }
+
+    private static SyncShow show(int traktId) {
+        ShowIds ids = new ShowIds();
+        ids.trakt = traktId;
+        return new SyncShow().id(ids);
+    }
+
+    private static SyncEpisode episode(int traktId) {
+        EpisodeIds ids = new EpisodeIds();
+        ids.trakt = traktId;
+        return new SyncEpisode().id(ids);
+    }
+
+    private static final class RecordingListener implements SyncWriteQueue.Listener {
+
+        final List<SyncItems> mFlushed = new ArrayList<>();
+        final List<Boolean> mRemovals = new ArrayList<>();
+        final List<SyncItems> mFailed = new ArrayList<>();
+
+        @Override
+        public synchronized void onFlushed(SyncList list, boolean removal, SyncItems items, SyncResponse response) {
+            mFlushed.add(items);
+            mRemovals.add(removal);
+        }
+
+        @Override
+        public synchronized void onFlushFailed(SyncList list, boolean removal, SyncItems items, Throwable error) {
+            mFailed.add(items);
+        }
+
+    }
+
+}